@@ -4,6 +4,8 @@
  */
 
 import boundary.UIEntry;
+import boundary.api.ApiServer;
+import boundary.server.SessionServer;
 
 /**
  * The Main class is the entry point of the program.
@@ -12,11 +14,19 @@ public class Main {
 
     /**
      * The main method is the entry point of the program.
-     * It initializes the UI and starts the program by invoking the start method of the UIEntry class.
+     * It initializes the UI and starts the program by invoking the start method of the UIEntry class,
+     * in server mode if the arguments are {@code server [port]},
+     * or as a JSON API over HTTP if they are {@code api [port]}.
      *
-     * @param args The command line arguments passed to the program (not used in this implementation).
+     * @param args The command line arguments passed to the program.
      */
     public static void main(String[] args) {
-        UIEntry.start();
+        if (args.length > 0 && args[0].equalsIgnoreCase("server")) {
+            UIEntry.startServer(args.length > 1 ? Integer.parseInt(args[1]) : SessionServer.DEFAULT_PORT);
+        } else if (args.length > 0 && args[0].equalsIgnoreCase("api")) {
+            UIEntry.startApi(args.length > 1 ? Integer.parseInt(args[1]) : ApiServer.DEFAULT_PORT);
+        } else {
+            UIEntry.start();
+        }
     }
 }
\ No newline at end of file
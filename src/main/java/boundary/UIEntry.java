@@ -1,8 +1,15 @@
 package boundary;
 
+import boundary.api.ApiServer;
+import boundary.server.SessionServer;
 import boundary.welcome.Welcome;
 import controller.account.AccountManager;
+import controller.importer.BulkImporter;
 import controller.project.ProjectManager;
+import repository.RepositoryBootstrap;
+import utils.config.Persistence;
+
+import java.io.IOException;
 
 /**
  * This class is the entry point of the application.
@@ -17,16 +24,67 @@ public class UIEntry {
         return AccountManager.repositoryIsEmpty() && ProjectManager.repositoryIsEmpty();
     }
 
+    /**
+     * Loads all repository files at the same time.
+     * If the application is being run for the first time, it imports the default users and projects in bulk.
+     */
+    private static void loadData() {
+        RepositoryBootstrap.Report report = RepositoryBootstrap.loadAll();
+        if (Persistence.REPORT_LOAD_TIMES) {
+            System.out.print(report.format());
+        }
+        if (firstStart()) {
+            BulkImporter.Report importReport = BulkImporter.importAll();
+            if (Persistence.REPORT_LOAD_TIMES) {
+                System.out.print(importReport.format());
+            }
+        }
+    }
+
     /**
      * Starts the application.
-     * If the application is being run for the afirst time, it loads the default users and projects.
+     * It first loads all repository files at the same time.
+     * If the application is being run for the afirst time, it imports the default users and projects in bulk.
      * Then it displays the welcome page.
      */
     public static void start() {
-        if (firstStart()) {
-            AccountManager.loadUsers();
-            ProjectManager.loadProjects();
-        }
+        loadData();
         Welcome.welcome();
     }
+
+    /**
+     * Starts the application in server mode, in which many users can work at once over a local TCP socket.
+     * It loads the data as {@link #start()} does, then serves sessions until the process is stopped.
+     *
+     * @param port the port to listen on
+     */
+    public static void startServer(int port) {
+        loadData();
+        try (SessionServer server = SessionServer.start(port, 1024)) {
+            System.out.println("Serving sessions on port " + server.getPort());
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.awaitClose();
+        } catch (IOException e) {
+            throw new RuntimeException("Server could not be started on port " + port, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts the application as a JSON API over HTTP, for use behind another front end.
+     * It loads the data as {@link #start()} does, then serves requests until the process is stopped.
+     *
+     * @param port the port to listen on
+     */
+    public static void startApi(int port) {
+        loadData();
+        try {
+            ApiServer server = ApiServer.start(port, 1024);
+            System.out.println("Serving the API on port " + server.getPort());
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        } catch (IOException e) {
+            throw new RuntimeException("API could not be started on port " + port, e);
+        }
+    }
 }
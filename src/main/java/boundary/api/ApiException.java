@@ -0,0 +1,34 @@
+package boundary.api;
+
+/**
+ * Thrown when an API request cannot be served; the API answers it with the HTTP status and message of the exception.
+ */
+public class ApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The HTTP status of the answer.
+     */
+    private final int status;
+
+    /**
+     * Constructs an ApiException with the specified HTTP status and message.
+     *
+     * @param status  the HTTP status of the answer
+     * @param message the reason the request cannot be served
+     */
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * Gets the HTTP status of the answer.
+     *
+     * @return the HTTP status
+     */
+    public int getStatus() {
+        return status;
+    }
+}
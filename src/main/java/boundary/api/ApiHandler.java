@@ -0,0 +1,606 @@
+package boundary.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import controller.account.AccountManager;
+import controller.enquiry.EnquiryManager;
+import controller.project.ProjectManager;
+import controller.report.ApplicantReportManager;
+import controller.request.ApplicantManager;
+import controller.request.RequestManager;
+import model.enquiry.Enquiry;
+import model.project.Project;
+import model.project.RoomType;
+import model.request.ProjectApplicationRequest;
+import model.request.ProjectBookingRequest;
+import model.request.Request;
+import model.request.RequestStatus;
+import model.request.RequestType;
+import model.user.ApplicantStatus;
+import model.user.MaritalStatus;
+import model.user.User;
+import model.user.UserType;
+import repository.RepositoryLock;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+import utils.exception.PasswordIncorrectException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The ApiHandler class serves the requests of the JSON API by calling the controllers.
+ * <p>
+ * A client logs in with {@code POST /api/login} and sends the token it gets back in the
+ * {@code Authorization: Bearer <token>} header of its later requests. Request bodies are flat JSON objects.
+ * The other endpoints are:
+ * <pre>
+ * POST /api/logout
+ * GET  /api/projects                        the projects the user can see, which for an applicant are those they are eligible for
+ * GET  /api/projects/{id}/eligibility       applicants only
+ * POST /api/applications   {projectID, roomType}  applicants only
+ * POST /api/bookings                        applicants only
+ * GET  /api/requests/pending                applications for a manager, bookings for an officer
+ * POST /api/requests/{id}/approve
+ * POST /api/requests/{id}/reject
+ * GET  /api/enquiries
+ * POST /api/enquiries      {title, content}  applicants only
+ * POST /api/enquiries/{id}/answer {answer}  officers and managers only
+ * GET  /api/reports/applicants?maritalStatus=&amp;roomType=&amp;project=&amp;minAge=&amp;maxAge=  managers only
+ * </pre>
+ * Lists are written to the response one item at a time as they are encoded, so they are never held in memory as
+ * text. The controllers are called under the {@link RepositoryLock}, which is released before the response is written
+ * so that a slow client does not hold it; the model objects in a list are not copied, and are written as they are then.
+ */
+public class ApiHandler implements HttpHandler {
+
+    /**
+     * The user a token has been given to.
+     *
+     * @param userType the type of the user
+     * @param nric     the NRIC of the user
+     * @param name     the name of the user
+     */
+    record Principal(UserType userType, String nric, String name) {
+    }
+
+    /**
+     * The outcome of approving or rejecting a request.
+     *
+     * @param status  the status of the request afterwards
+     * @param receipt the receipt of an approved booking, or null for the other requests
+     */
+    private record Decision(RequestStatus status, String receipt) {
+    }
+
+    /**
+     * The fields of a project sent to the client, copied while the read lock is held,
+     * as writers change the flat counts and the visibility of the project in place.
+     *
+     * @param projectID              the ID of the project
+     * @param title                  the title of the project
+     * @param neighbourhood          the neighbourhood of the project
+     * @param twoRoomFlatAvailable   the number of 2-room flats left
+     * @param twoRoomFlatPrice       the price of a 2-room flat
+     * @param threeRoomFlatAvailable the number of 3-room flats left
+     * @param threeRoomFlatPrice     the price of a 3-room flat
+     * @param applicationOpeningDate the first day applications are accepted
+     * @param applicationClosingDate the last day applications are accepted
+     * @param managerNRIC            the NRIC of the manager of the project
+     * @param visible                whether applicants can see the project
+     */
+    private record ProjectView(String projectID, String title, String neighbourhood, Integer twoRoomFlatAvailable,
+                               Double twoRoomFlatPrice, Integer threeRoomFlatAvailable, Double threeRoomFlatPrice,
+                               LocalDate applicationOpeningDate, LocalDate applicationClosingDate, String managerNRIC,
+                               Boolean visible) {
+
+        static ProjectView of(Project project) {
+            return new ProjectView(project.getID(), project.getProjectTitle(), project.getNeighbourhood(),
+                    project.getTwoRoomFlatAvailable(), project.getTwoRoomFlatPrice(), project.getThreeRoomFlatAvailable(),
+                    project.getThreeRoomFlatPrice(), project.getApplicationOpeningDate(), project.getApplicationClosingDate(),
+                    project.getManagerNRIC(), project.getVisibility());
+        }
+    }
+
+    /**
+     * The fields of a request sent to the client, copied while the read lock is held,
+     * as writers change the status of the request in place.
+     *
+     * @param requestID   the ID of the request
+     * @param requestType the type of the request
+     * @param projectID   the ID of the project of the request
+     * @param status      the status of the request
+     * @param applicantID the NRIC of the applicant of an application or a booking, null otherwise
+     * @param roomType    the type of flat of an application or a booking, null otherwise
+     */
+    private record RequestView(String requestID, RequestType requestType, String projectID, RequestStatus status,
+                               String applicantID, RoomType roomType) {
+
+        static RequestView of(Request request) {
+            if (request instanceof ProjectApplicationRequest application) {
+                return new RequestView(request.getID(), request.getRequestType(), request.getProjectID(), request.getStatus(),
+                        application.getApplicantID(), application.getRoomType());
+            }
+            if (request instanceof ProjectBookingRequest booking) {
+                return new RequestView(request.getID(), request.getRequestType(), request.getProjectID(), request.getStatus(),
+                        booking.getApplicantID(), booking.getRoomType());
+            }
+            return new RequestView(request.getID(), request.getRequestType(), request.getProjectID(), request.getStatus(), null, null);
+        }
+    }
+
+    /**
+     * The fields of an enquiry sent to the client, copied while the read lock is held,
+     * as writers answer the enquiry in place.
+     *
+     * @param enquiryID the ID of the enquiry
+     * @param title     the title of the enquiry
+     * @param creatorID the NRIC of the applicant who made the enquiry
+     * @param content   the content of the enquiry
+     * @param answer    the answer to the enquiry
+     * @param answered  whether the enquiry has been answered
+     */
+    private record EnquiryView(String enquiryID, String title, String creatorID, String content, String answer,
+                               Boolean answered) {
+
+        static EnquiryView of(Enquiry enquiry) {
+            return new EnquiryView(enquiry.getID(), enquiry.getEnquiryTitle(), enquiry.getCreatorID(), enquiry.getContent(),
+                    enquiry.getAnswer(), enquiry.getAnswered());
+        }
+    }
+
+    /**
+     * Writes one item of a list.
+     *
+     * @param <T> the type of the item
+     */
+    @FunctionalInterface
+    private interface ItemWriter<T> {
+        void write(JsonWriter json, T item) throws IOException;
+    }
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * The users logged in, by their tokens.
+     */
+    private final Map<String, Principal> principals = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the number of users logged in.
+     *
+     * @return the number of tokens given out and not yet logged out
+     */
+    public int getLoggedInCount() {
+        return principals.size();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (ApiException e) {
+                sendError(exchange, e.getStatus(), e.getMessage());
+            } catch (PasswordIncorrectException e) {
+                sendError(exchange, 401, e.getMessage());
+            } catch (ModelNotFoundException e) {
+                sendError(exchange, 404, e.getMessage());
+            } catch (ModelAlreadyExistsException e) {
+                sendError(exchange, 409, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+            } catch (IOException e) {
+                // The client has gone away
+            } catch (Exception e) {
+                sendError(exchange, 500, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sends a request to the endpoint for its method and path.
+     */
+    private void route(HttpExchange exchange) throws Exception {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().replaceAll("^/api/?|/$", "").split("/");
+        String route = path.length > 3 ? "" : method + " " + path[0]
+                + (path.length == 3 ? "/{id}/" + path[2] : path.length == 2 ? "/" + path[1] : "");
+        switch (route) {
+            case "POST login" -> login(exchange);
+            case "POST logout" -> logout(exchange);
+            case "GET projects" -> projects(exchange);
+            case "GET projects/{id}/eligibility" -> eligibility(exchange, path[1]);
+            case "POST applications" -> apply(exchange);
+            case "POST bookings" -> book(exchange);
+            case "GET requests/pending" -> pendingRequests(exchange);
+            case "POST requests/{id}/approve" -> decide(exchange, path[1], true);
+            case "POST requests/{id}/reject" -> decide(exchange, path[1], false);
+            case "GET enquiries" -> enquiries(exchange);
+            case "POST enquiries" -> enquire(exchange);
+            case "POST enquiries/{id}/answer" -> answer(exchange, path[1]);
+            case "GET reports/applicants" -> report(exchange);
+            default -> throw new ApiException(404, "No endpoint " + method + " " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private void login(HttpExchange exchange) throws Exception {
+        Map<String, String> body = readBody(exchange);
+        UserType userType = UserType.valueOf(required(body, "userType").toUpperCase(Locale.ROOT));
+        String nric = required(body, "nric");
+        User user = RepositoryLock.read(() -> AccountManager.login(userType, nric, required(body, "password")));
+        byte[] bytes = new byte[24];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        principals.put(token, new Principal(userType, user.getNRIC(), user.getName()));
+        JsonWriter json = beginResponse(exchange, 200);
+        json.beginObject().name("token").value(token).name("userType").value(userType).name("name").value(user.getName()).endObject();
+        json.flush();
+    }
+
+    private void logout(HttpExchange exchange) throws IOException {
+        authenticate(exchange);
+        principals.remove(token(exchange));
+        sendMessage(exchange, 200, "Logged out");
+    }
+
+    private void projects(HttpExchange exchange) throws Exception {
+        Principal principal = authenticate(exchange);
+        List<ProjectView> projects = RepositoryLock.read(() -> copy(switch (principal.userType()) {
+            case APPLICANT -> ProjectManager.getAvailableProject(principal.nric());
+            case OFFICER -> ProjectManager.viewVisibleProjects();
+            case MANAGER -> ProjectManager.getAllProjectsByManager(principal.nric());
+        }, ProjectView::of));
+        sendList(exchange, projects, ApiHandler::writeProject);
+    }
+
+    private void eligibility(HttpExchange exchange, String projectID) throws Exception {
+        Principal principal = authenticate(exchange, UserType.APPLICANT);
+        boolean eligible = RepositoryLock.read(() -> {
+            ProjectManager.getByID(projectID);
+            for (Project project : ProjectManager.getAvailableProject(principal.nric())) {
+                if (project.getID().equalsIgnoreCase(projectID)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        JsonWriter json = beginResponse(exchange, 200);
+        json.beginObject().name("projectID").value(projectID).name("eligible").value(eligible).endObject();
+        json.flush();
+    }
+
+    private void apply(HttpExchange exchange) throws Exception {
+        Principal principal = authenticate(exchange, UserType.APPLICANT);
+        Map<String, String> body = readBody(exchange);
+        String projectID = required(body, "projectID");
+        RoomType roomType = RoomType.valueOf(required(body, "roomType").toUpperCase(Locale.ROOT));
+        if (roomType == RoomType.NONE) {
+            throw new IllegalArgumentException("roomType must be TWO_ROOM_FLAT or THREE_ROOM_FLAT");
+        }
+        String requestID = RepositoryLock.write(() -> {
+            if (ApplicantManager.getApplicantStatus(principal.nric()) != ApplicantStatus.NO_REGISTRATION) {
+                throw new ApiException(409, "You already have an active application or registration");
+            }
+            return ApplicantManager.createProjectApplicationRequest(principal.nric(), projectID, roomType);
+        });
+        if (requestID == null) {
+            throw new ApiException(409, "The application was not accepted");
+        }
+        sendCreated(exchange, requestID);
+    }
+
+    private void book(HttpExchange exchange) throws Exception {
+        Principal principal = authenticate(exchange, UserType.APPLICANT);
+        String requestID = RepositoryLock.write(() -> {
+            if (ApplicantManager.getApplicantStatus(principal.nric()) != ApplicantStatus.SUCCESSFUL) {
+                throw new ApiException(409, "Only successful applicants can book a flat");
+            }
+            if (RequestManager.getBookingRequestByApplicant(principal.nric()) != null) {
+                throw new ApiException(409, "You have already asked to book a flat");
+            }
+            return ApplicantManager.createBookingRequest(principal.nric(), ApplicantManager.getApplicantRoomType(principal.nric()));
+        });
+        if (requestID == null) {
+            throw new ApiException(409, "No approved application to book a flat for");
+        }
+        sendCreated(exchange, requestID);
+    }
+
+    private void pendingRequests(HttpExchange exchange) throws Exception {
+        Principal principal = authenticate(exchange);
+        List<RequestView> requests = RepositoryLock.read(() -> copy(switch (principal.userType()) {
+            case MANAGER -> RequestManager.getAllPendingApplicationRequestsByManager(principal.nric());
+            case OFFICER -> RequestManager.getOfficerPendingBookingRequests(principal.nric());
+            case APPLICANT -> throw new ApiException(403, "Only officers and managers have pending requests to handle");
+        }, RequestView::of));
+        sendList(exchange, requests, ApiHandler::writeRequest);
+    }
+
+    /**
+     * Approves or rejects a pending request. Bookings are handled by the officers of the project,
+     * the other requests by its manager.
+     */
+    private void decide(HttpExchange exchange, String requestID, boolean approve) throws Exception {
+        Principal principal = authenticate(exchange);
+        Decision decision = RepositoryLock.write(() -> {
+            Request request = RequestManager.getRequest(requestID);
+            if (request.getStatus() != RequestStatus.PENDING) {
+                throw new ApiException(409, "Request " + requestID + " is not pending");
+            }
+            Project project = ProjectManager.getByID(request.getProjectID());
+            boolean allowed = request.getRequestType() == RequestType.PROJECT_BOOKING_REQUEST
+                    ? principal.userType() == UserType.OFFICER && project.getOfficerIDs().contains(principal.nric())
+                    : principal.userType() == UserType.MANAGER && project.getManagerID().equals(principal.nric());
+            if (!allowed) {
+                throw new ApiException(403, "You cannot handle request " + requestID);
+            }
+            String receipt = null;
+            switch (request.getRequestType()) {
+                case PROJECT_APPLICATION_REQUEST -> {
+                    if (approve) RequestManager.approveProjectApplication(requestID);
+                    else RequestManager.rejectProjectApplication(requestID);
+                }
+                case PROJECT_BOOKING_REQUEST -> {
+                    // The receipt goes back to the client rather than to the console of the server
+                    if (approve) receipt = RequestManager.approveBookingRequestWithReceipt(requestID);
+                    else RequestManager.rejectBookingRequest(requestID);
+                }
+                case OFFICER_APPLICATION_REQUEST -> {
+                    if (approve) RequestManager.approveOfficerApplicationRequest(requestID);
+                    else RequestManager.rejectOfficerApplicationRequest(requestID);
+                }
+                case PROJECT_WITHDRAWAL_REQUEST -> {
+                    if (approve) RequestManager.approveWithdrawalRequest(requestID);
+                    else RequestManager.rejectWithdrawalRequest(requestID);
+                }
+            }
+            return new Decision(RequestManager.getRequest(requestID).getStatus(), receipt);
+        });
+        JsonWriter json = beginResponse(exchange, 200);
+        json.beginObject().name("requestID").value(requestID).name("status").value(decision.status());
+        if (decision.receipt() != null) {
+            json.name("receipt").value(decision.receipt());
+        }
+        json.endObject();
+        json.flush();
+    }
+
+    private void enquiries(HttpExchange exchange) throws Exception {
+        Principal principal = authenticate(exchange);
+        List<EnquiryView> enquiries = RepositoryLock.read(() -> {
+            if (principal.userType() != UserType.APPLICANT) {
+                return copy(EnquiryManager.getUnansweredEnquiries(), EnquiryView::of);
+            }
+            List<EnquiryView> own = new ArrayList<>();
+            for (Enquiry enquiry : EnquiryManager.getAllEnquiries()) {
+                if (principal.nric().equals(enquiry.getCreatorID())) {
+                    own.add(EnquiryView.of(enquiry));
+                }
+            }
+            return own;
+        });
+        sendList(exchange, enquiries, ApiHandler::writeEnquiry);
+    }
+
+    private void enquire(HttpExchange exchange) throws Exception {
+        Principal principal = authenticate(exchange, UserType.APPLICANT);
+        Map<String, String> body = readBody(exchange);
+        String title = required(body, "title");
+        String content = required(body, "content");
+        String enquiryID = RepositoryLock.write(() -> EnquiryManager.createNewEnquiry(title, principal.nric(), content, "", false));
+        sendCreated(exchange, enquiryID);
+    }
+
+    private void answer(HttpExchange exchange, String enquiryID) throws Exception {
+        Principal principal = authenticate(exchange);
+        if (principal.userType() == UserType.APPLICANT) {
+            throw new ApiException(403, "Only officers and managers can answer enquiries");
+        }
+        String answer = required(readBody(exchange), "answer");
+        RepositoryLock.write(() -> {
+            EnquiryManager.answerEnquiry(enquiryID, answer);
+            return null;
+        });
+        sendMessage(exchange, 200, "Enquiry " + enquiryID + " answered");
+    }
+
+    private void report(HttpExchange exchange) throws Exception {
+        authenticate(exchange, UserType.MANAGER);
+        Map<String, String> query = readQuery(exchange);
+        MaritalStatus maritalStatus = query.containsKey("maritalStatus")
+                ? MaritalStatus.valueOf(query.get("maritalStatus").toUpperCase(Locale.ROOT)) : null;
+        RoomType roomType = query.containsKey("roomType")
+                ? RoomType.valueOf(query.get("roomType").toUpperCase(Locale.ROOT)) : null;
+        Integer minAge = query.containsKey("minAge") ? Integer.valueOf(query.get("minAge")) : null;
+        Integer maxAge = query.containsKey("maxAge") ? Integer.valueOf(query.get("maxAge")) : null;
+        List<ApplicantReportManager.ReportEntry> entries = RepositoryLock.read(() ->
+                new ApplicantReportManager().generateReport(maritalStatus, roomType, query.get("project"), minAge, maxAge));
+        sendList(exchange, entries, (json, entry) -> json.beginObject()
+                .name("applicantName").value(entry.applicantName)
+                .name("age").value(entry.age)
+                .name("maritalStatus").value(entry.maritalStatus)
+                .name("projectName").value(entry.projectName)
+                .name("roomType").value(entry.roomType)
+                .endObject());
+    }
+
+    private static void writeProject(JsonWriter json, ProjectView project) throws IOException {
+        json.beginObject()
+                .name("projectID").value(project.projectID())
+                .name("title").value(project.title())
+                .name("neighbourhood").value(project.neighbourhood())
+                .name("twoRoomFlatAvailable").value(project.twoRoomFlatAvailable())
+                .name("twoRoomFlatPrice").value(project.twoRoomFlatPrice())
+                .name("threeRoomFlatAvailable").value(project.threeRoomFlatAvailable())
+                .name("threeRoomFlatPrice").value(project.threeRoomFlatPrice())
+                .name("applicationOpeningDate").value(String.valueOf(project.applicationOpeningDate()))
+                .name("applicationClosingDate").value(String.valueOf(project.applicationClosingDate()))
+                .name("managerNRIC").value(project.managerNRIC())
+                .name("visible").value(project.visible())
+                .endObject();
+    }
+
+    private static void writeRequest(JsonWriter json, RequestView request) throws IOException {
+        json.beginObject()
+                .name("requestID").value(request.requestID())
+                .name("requestType").value(request.requestType())
+                .name("projectID").value(request.projectID())
+                .name("status").value(request.status());
+        if (request.applicantID() != null) {
+            json.name("applicantID").value(request.applicantID()).name("roomType").value(request.roomType());
+        }
+        json.endObject();
+    }
+
+    private static void writeEnquiry(JsonWriter json, EnquiryView enquiry) throws IOException {
+        json.beginObject()
+                .name("enquiryID").value(enquiry.enquiryID())
+                .name("title").value(enquiry.title())
+                .name("creatorID").value(enquiry.creatorID())
+                .name("content").value(enquiry.content())
+                .name("answer").value(enquiry.answer())
+                .name("answered").value(enquiry.answered())
+                .endObject();
+    }
+
+    /**
+     * Copies the fields of model objects the repositories hold, so that they can be sent once the read lock is released.
+     *
+     * @param items the model objects
+     * @param view  copies the fields of one model object
+     * @param <T>   the type of model object
+     * @param <V>   the type of the copy
+     * @return the copies, in the same order
+     */
+    private static <T, V> List<V> copy(List<? extends T> items, Function<T, V> view) {
+        List<V> copies = new ArrayList<>(items.size());
+        for (T item : items) {
+            copies.add(view.apply(item));
+        }
+        return copies;
+    }
+
+    /**
+     * Finds the user of the token sent with the request.
+     *
+     * @throws ApiException if the request has no valid token
+     */
+    private Principal authenticate(HttpExchange exchange) {
+        String token = token(exchange);
+        Principal principal = token == null ? null : principals.get(token);
+        if (principal == null) {
+            throw new ApiException(401, "Please log in first");
+        }
+        return principal;
+    }
+
+    /**
+     * Finds the user of the token sent with the request and checks that they are of the specified type.
+     *
+     * @throws ApiException if the request has no valid token or the user is of another type
+     */
+    private Principal authenticate(HttpExchange exchange, UserType userType) {
+        Principal principal = authenticate(exchange);
+        if (principal.userType() != userType) {
+            throw new ApiException(403, "This endpoint is only available to " + userType.name().toLowerCase(Locale.ROOT) + "s");
+        }
+        return principal;
+    }
+
+    private static String token(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return authorization.substring(7).strip();
+    }
+
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return JsonBody.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, String> readQuery(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0 && equals < pair.length() - 1) {
+                query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static String required(Map<String, String> body, String name) {
+        String value = body.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value;
+    }
+
+    /**
+     * Starts a JSON response with a body of unknown length, which is sent in chunks as it is written.
+     */
+    private static JsonWriter beginResponse(HttpExchange exchange, int status) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, 0);
+        return new JsonWriter(new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)));
+    }
+
+    private static <T> void sendList(HttpExchange exchange, List<? extends T> items, ItemWriter<T> itemWriter) throws IOException {
+        JsonWriter json = beginResponse(exchange, 200);
+        json.beginArray();
+        for (T item : items) {
+            itemWriter.write(json, item);
+        }
+        json.endArray();
+        json.flush();
+    }
+
+    private static void sendCreated(HttpExchange exchange, String id) throws IOException {
+        JsonWriter json = beginResponse(exchange, 201);
+        json.beginObject().name("id").value(id).endObject();
+        json.flush();
+    }
+
+    private static void sendMessage(HttpExchange exchange, int status, String message) throws IOException {
+        JsonWriter json = beginResponse(exchange, status);
+        json.beginObject().name("message").value(message).endObject();
+        json.flush();
+    }
+
+    /**
+     * Sends an error, unless the response has already started, in which case its status can no longer be changed
+     * and the client only sees the body end early when the exchange is closed.
+     */
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            return;
+        }
+        JsonWriter json = beginResponse(exchange, status);
+        json.beginObject().name("error").value(message).endObject();
+        json.flush();
+    }
+}
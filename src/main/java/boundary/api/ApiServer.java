@@ -0,0 +1,82 @@
+package boundary.api;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The ApiServer class serves the JSON API of the {@link ApiHandler} over HTTP with the JDK HTTP server,
+ * handling every exchange on a virtual thread of its own.
+ * <p>
+ * The server listens on all addresses so that a front end or a load balancer can be put in front of it.
+ */
+public final class ApiServer implements AutoCloseable {
+
+    /**
+     * The port used when none is given.
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * The longest time in seconds {@link #close()} waits for the exchanges in progress to finish.
+     */
+    private static final int STOP_DELAY_SECONDS = 2;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final ApiHandler handler;
+
+    private ApiServer(HttpServer httpServer, ExecutorService executor, ApiHandler handler) {
+        this.httpServer = httpServer;
+        this.executor = executor;
+        this.handler = handler;
+    }
+
+    /**
+     * Starts a server listening on the specified port.
+     *
+     * @param port    the port to listen on, or 0 to pick a free port
+     * @param backlog the number of connections that may wait to be accepted
+     * @return the started server
+     * @throws IOException if the port could not be opened
+     */
+    public static ApiServer start(int port, int backlog) throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(port), backlog);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        ApiHandler handler = new ApiHandler();
+        httpServer.createContext("/api", handler);
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        return new ApiServer(httpServer, executor, handler);
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Gets the handler serving the API.
+     *
+     * @return the handler
+     */
+    public ApiHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Stops accepting exchanges, waits a little for those in progress and stops their threads.
+     */
+    @Override
+    public void close() {
+        httpServer.stop(STOP_DELAY_SECONDS);
+        executor.shutdownNow();
+    }
+}
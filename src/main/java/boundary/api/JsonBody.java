@@ -0,0 +1,129 @@
+package boundary.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The JsonBody class reads the body of an API request, which is a flat JSON object whose members are strings,
+ * numbers, booleans or null, into a map from the names of the members to their values as text.
+ */
+public class JsonBody {
+
+    private final String text;
+    private int position;
+
+    private JsonBody(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Reads a flat JSON object. An empty body is read as an empty object.
+     *
+     * @param text the text of the body
+     * @return the members of the object; null values are left out
+     * @throws IllegalArgumentException if the text is not a flat JSON object
+     */
+    public static Map<String, String> parse(String text) {
+        Map<String, String> members = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return members;
+        }
+        JsonBody body = new JsonBody(text);
+        body.expect('{');
+        if (!body.consume('}')) {
+            do {
+                String name = body.readString();
+                body.expect(':');
+                String value = body.readValue();
+                if (value != null) {
+                    members.put(name, value);
+                }
+            } while (body.consume(','));
+            body.expect('}');
+        }
+        body.skipWhitespace();
+        if (body.position != text.length()) {
+            throw body.error("Unexpected text after the object");
+        }
+        return members;
+    }
+
+    private String readValue() {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == '"') {
+            return readString();
+        }
+        int start = position;
+        while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = text.substring(start, position);
+        if (literal.equals("null")) {
+            return null;
+        }
+        if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+            return literal;
+        }
+        throw error("Only strings, numbers, booleans and null are accepted");
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    if (position + 4 > text.length()) {
+                        throw error("Incomplete escape");
+                    }
+                    value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    position += 4;
+                }
+                default -> value.append(escaped);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private boolean consume(char c) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " of the request body");
+    }
+}
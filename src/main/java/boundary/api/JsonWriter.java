@@ -0,0 +1,215 @@
+package boundary.api;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The JsonWriter class writes a JSON document straight to a {@link Writer} as it is built,
+ * so that a long list never has to be held in memory as text.
+ * <p>
+ * Here is an example of how to use this class:
+ *
+ * <pre>
+ * json.beginObject().name("id").value("P001").name("units").value(3).endObject();
+ * </pre>
+ */
+public class JsonWriter {
+
+    /**
+     * The writer the document is written to.
+     */
+    private final Writer out;
+
+    /**
+     * For each object or array that is open, whether it is still empty.
+     */
+    private final Deque<Boolean> empty = new ArrayDeque<>();
+
+    /**
+     * Whether a name has just been written, so that the next value belongs to it.
+     */
+    private boolean afterName;
+
+    /**
+     * Creates a JsonWriter that writes to the specified writer.
+     *
+     * @param out the writer to write to
+     */
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Opens an object.
+     *
+     * @return this writer
+     * @throws IOException if the document could not be written
+     */
+    public JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+
+    /**
+     * Closes the innermost object.
+     *
+     * @return this writer
+     * @throws IOException if the document could not be written
+     */
+    public JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+
+    /**
+     * Opens an array.
+     *
+     * @return this writer
+     * @throws IOException if the document could not be written
+     */
+    public JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+
+    /**
+     * Closes the innermost array.
+     *
+     * @return this writer
+     * @throws IOException if the document could not be written
+     */
+    public JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+
+    /**
+     * Writes the name of the next member of the innermost object.
+     *
+     * @param name the name of the member
+     * @return this writer
+     * @throws IOException if the document could not be written
+     */
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes a string value, or null.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException if the document could not be written
+     */
+    public JsonWriter value(String value) throws IOException {
+        separate();
+        if (value == null) {
+            out.write("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a number value, or null.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException if the document could not be written
+     */
+    public JsonWriter value(Number value) throws IOException {
+        separate();
+        out.write(value == null ? "null" : value.toString());
+        return this;
+    }
+
+    /**
+     * Writes a boolean value, or null.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException if the document could not be written
+     */
+    public JsonWriter value(Boolean value) throws IOException {
+        separate();
+        out.write(value == null ? "null" : value.toString());
+        return this;
+    }
+
+    /**
+     * Writes the name of an enum constant, or null.
+     *
+     * @param value the value to write
+     * @return this writer
+     * @throws IOException if the document could not be written
+     */
+    public JsonWriter value(Enum<?> value) throws IOException {
+        return value(value == null ? null : value.name());
+    }
+
+    /**
+     * Writes the text buffered so far to the underlying writer.
+     *
+     * @throws IOException if the document could not be written
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private JsonWriter open(char bracket) throws IOException {
+        separate();
+        out.write(bracket);
+        empty.push(true);
+        return this;
+    }
+
+    private JsonWriter close(char bracket) throws IOException {
+        if (empty.isEmpty()) {
+            throw new IllegalStateException("Nothing to close");
+        }
+        empty.pop();
+        out.write(bracket);
+        return this;
+    }
+
+    /**
+     * Writes the comma before a value or name, unless it is the first in its object or array or follows a name.
+     */
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!empty.isEmpty()) {
+            if (!empty.pop()) {
+                out.write(',');
+            }
+            empty.push(false);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
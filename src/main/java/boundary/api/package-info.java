@@ -0,0 +1,4 @@
+/**
+ * This package contains the classes that serve the controllers as a JSON API over HTTP.
+ */
+package boundary.api;
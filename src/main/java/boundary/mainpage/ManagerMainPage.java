@@ -4,6 +4,7 @@ import boundary.account.Logout;
 import boundary.modelviewer.ListPrinter;
 import boundary.modelviewer.ProjectViewer;
 import controller.enquiry.EnquiryManager;
+import controller.project.FlatInventory;
 import controller.project.ProjectManager;
 //import controller.report.ApplicantReportManager;
 import controller.report.ApplicantReportManager;
@@ -16,6 +17,7 @@ import model.enquiry.Enquiry;
 import model.request.OfficerApplicationRequest;
 import model.request.ProjectWithdrawalRequest;
 import model.request.Request;
+import model.request.RequestType;
 import model.project.RoomType;
 import model.user.Applicant;
 import model.user.Manager;
@@ -275,6 +277,7 @@ public class ManagerMainPage {
                 }
             }
             ProjectRepository.getInstance().update(project);
+            FlatInventory.invalidate(project.getID());
             System.out.println("BTO project updated successfully!");
         } catch (Exception e) {
             System.out.println("Failed to update BTO project: " + e.getMessage());
@@ -311,11 +314,15 @@ public class ManagerMainPage {
         int actionChoice = InputHelper.getIntInput(scanner, "Enter your choice: ", 1, 2);
         try {
             if (actionChoice == 1) {
-                RequestManager.approveProjectApplication(request.getID());
-                System.out.println("BTO application approved successfully!");
-            } else {
-                RequestManager.rejectProjectApplication(request.getID());
+                if (RequestManager.approveProjectApplication(request.getID())) {
+                    System.out.println("BTO application approved successfully!");
+                } else {
+                    System.out.println("Failed to approve BTO application. It is no longer pending.");
+                }
+            } else if (RequestManager.rejectProjectApplication(request.getID())) {
                 System.out.println("BTO application rejected successfully!");
+            } else {
+                System.out.println("Failed to reject BTO application. It is no longer pending.");
             }
         } catch (Exception e) {
             System.out.println("Failed to process BTO application: " + e.getMessage());
@@ -557,8 +564,7 @@ public class ManagerMainPage {
 
     private void viewOfficerRequests() {
         System.out.println("=== Officer Requests ===");
-        List<OfficerApplicationRequest> requests = requestRepository.getAll().stream()
-                .filter(r -> r instanceof OfficerApplicationRequest)
+        List<OfficerApplicationRequest> requests = requestRepository.findByIndex(RequestRepository.TYPE_INDEX, RequestType.OFFICER_APPLICATION_REQUEST).stream()
                 .map(r -> (OfficerApplicationRequest) r)
                 .collect(Collectors.toList());
         if (requests.isEmpty()) {
@@ -572,8 +578,7 @@ public class ManagerMainPage {
 
     private void approveOfficerRequest() {
         System.out.println("\n=== Approve Officer Request ===");
-        List<OfficerApplicationRequest> requests = requestRepository.getAll().stream()
-                .filter(request -> request instanceof OfficerApplicationRequest)
+        List<OfficerApplicationRequest> requests = requestRepository.findByIndex(RequestRepository.TYPE_INDEX, RequestType.OFFICER_APPLICATION_REQUEST).stream()
                 .map(request -> (OfficerApplicationRequest) request)
                 .collect(Collectors.toList());
         if (requests.isEmpty()) {
@@ -1,15 +1,20 @@
 package boundary.modelviewer;
 
+import controller.project.ProjectCatalogue;
 import controller.project.ProjectManager;
 import model.project.Project;
+import model.project.RoomType;
 import model.user.Applicant;
 import model.user.Manager;
+import repository.Page;
+import repository.project.ProjectSortOrder;
 import utils.exception.ModelNotFoundException;
 import utils.exception.PageBackException;
 import utils.ui.ChangePage;
 
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * This class provides methods to display project information in a formatted way.
@@ -41,119 +46,92 @@ public class ProjectViewer {
         new Scanner(System.in).nextLine();
         throw new PageBackException();
     }
+    /**
+     * Displays the projects available to an applicant sorted by title, page by page.
+     *
+     * @param applicant    the applicant viewing the projects
+     * @param filterNumber 1 to only show projects with 2-room flats left, 2 for 3-room flats, 0 for no filter
+     * @throws PageBackException if the user chooses to go back
+     * @throws ModelNotFoundException if the applicant is not found
+     */
     public static void viewAvailableProjects(Applicant applicant, Integer filterNumber) throws PageBackException, ModelNotFoundException {
-        // 1 is filter 2 room flat, 2 is filter 3 room flat
         ChangePage.changePage();
         System.out.println("Available Projects for " + applicant.getName());
-        if(filterNumber == 0) {
-            System.out.println("No filter applied.");
-        } else if(filterNumber == 1) {
-            System.out.println("Filter: 2 Room Flat");
-        } else if(filterNumber == 2) {
-            System.out.println("Filter: 3 Room Flat");
-        } else {
-            System.out.println("Invalid filter number. No filter applied.");
-
-        }
-        List<Project> projects = ProjectManager.getAvailableProject(applicant.getNRIC());
-        List<Project> filteredProjects = new ArrayList<>();
-        if (projects.isEmpty()) {
-            System.out.println("No available projects found.");
-        } else if(filterNumber != 0) {
-            // Filter projects based on the filter number
-            for (Project project : projects) {
-                if(filterNumber == 1 && project.getTwoRoomFlatAvailable() > 0) {
-                    filteredProjects.add(project);
-                } else if (filterNumber == 2 && project.getThreeRoomFlatAvailable() > 0) {
-                    filteredProjects.add(project);
-                }
-            }
-            //System.out.println("Check if the project is there" + projects);
-            //if filter is 0 sort the project by the ProjectNames
-            if (projects.isEmpty()) {
-                System.out.println("No available projects found.");
-            } else {
-                displayProjects(filteredProjects);
-            }
-        } else {
-            // Sort projects by project title
-            //get the project title and sort it
-            List<String> projectTitles = new ArrayList<>();
-            for (Project project : projects) {
-                projectTitles.add(project.getProjectTitle());
-            }
-            Collections.sort(projectTitles);
-            List<Project> sortedProjects = new ArrayList<>();
-            for (String projectTitle : projectTitles) {
-                for (Project project : projects) {
-                    if (project.getProjectTitle().equals(projectTitle)) {
-                        sortedProjects.add(project);
-                    }
-                }
-            }
-            displayProjects(sortedProjects);
-        }
+        RoomType roomType = getFilterRoomType(filterNumber);
+        displayPages(after -> ProjectCatalogue.getAvailablePage(applicant, ProjectSortOrder.TITLE, roomType, after,
+                ProjectCatalogue.DEFAULT_PAGE_SIZE));
 
         System.out.println("\nPress Enter to go back to main menu...");
         new Scanner(System.in).nextLine();
         throw new PageBackException();
     }
 
-
+    /**
+     * Displays all projects sorted by title, page by page.
+     *
+     * @param filterNumber 1 to only show projects with 2-room flats left, 2 for 3-room flats, 0 for no filter
+     * @throws PageBackException if the user chooses to go back
+     * @throws ModelNotFoundException if a project is not found
+     */
     public static void viewAllProjects(Integer filterNumber) throws PageBackException, ModelNotFoundException {
-        // 1 is filter 2 room flat, 2 is filter 3 room flat
         ChangePage.changePage();
-        if(filterNumber == 0) {
+        RoomType roomType = getFilterRoomType(filterNumber);
+        displayPages(after -> ProjectCatalogue.getPage(ProjectSortOrder.TITLE, roomType, after, ProjectCatalogue.DEFAULT_PAGE_SIZE));
+    }
+
+    /**
+     * Prints the filter chosen and gets the type of flat it asks for.
+     *
+     * @param filterNumber 1 for 2-room flats, 2 for 3-room flats, 0 for no filter
+     * @return the type of flat, or {@link RoomType#NONE} for no filter
+     */
+    private static RoomType getFilterRoomType(Integer filterNumber) {
+        // 1 is filter 2 room flat, 2 is filter 3 room flat
+        if (filterNumber == 0) {
             System.out.println("No filter applied.");
-        } else if(filterNumber == 1) {
+        } else if (filterNumber == 1) {
             System.out.println("Filter: 2 Room Flat");
-        } else if(filterNumber == 2) {
+            return RoomType.TWO_ROOM_FLAT;
+        } else if (filterNumber == 2) {
             System.out.println("Filter: 3 Room Flat");
+            return RoomType.THREE_ROOM_FLAT;
         } else {
             System.out.println("Invalid filter number. No filter applied.");
-
         }
-        List<Project> projects = ProjectManager.getAllProjects();
-        List<Project> filteredProjects = new ArrayList<>();
-        if (projects.isEmpty()) {
-            System.out.println("No available projects found.");
-        } else if(filterNumber != 0) {
-            // Filter projects based on the filter number
-            for (Project project : projects) {
-                if(filterNumber == 1 && project.getTwoRoomFlatAvailable() > 0) {
-                    filteredProjects.add(project);
-                } else if (filterNumber == 2 && project.getThreeRoomFlatAvailable() > 0) {
-                    filteredProjects.add(project);
-                }
+        return RoomType.NONE;
+    }
+
+    /**
+     * Displays projects one page at a time, letting the user move to the next or previous page.
+     * Only the page shown is fetched and printed.
+     *
+     * @param pages gets the page that starts after a cursor, or the first page for a null cursor
+     */
+    private static void displayPages(Function<Page.Cursor, Page<Project>> pages) {
+        Scanner scanner = new Scanner(System.in);
+        // The cursors the pages before the current one started after
+        List<Page.Cursor> previous = new ArrayList<>();
+        Page.Cursor after = null;
+        while (true) {
+            Page<Project> page = pages.apply(after);
+            displayProjects(page.items());
+            if (!page.hasNext() && previous.isEmpty()) {
+                return;
             }
-            //System.out.println("Check if the project is there" + projects);
-            //if filter is 0 sort the project by the ProjectNames
-            if (projects.isEmpty()) {
-                System.out.println("No available projects found.");
+            System.out.print("Page " + (previous.size() + 1) + " - " + (page.hasNext() ? "[N]ext page, " : "")
+                    + (previous.isEmpty() ? "" : "[P]revious page, ") + "Enter to finish: ");
+            String choice = scanner.nextLine().trim().toUpperCase();
+            if (choice.equals("N") && page.hasNext()) {
+                previous.add(after);
+                after = page.next();
+            } else if (choice.equals("P") && !previous.isEmpty()) {
+                after = previous.remove(previous.size() - 1);
             } else {
-                displayProjects(filteredProjects);
+                return;
             }
-        } else {
-            // Sort projects by project title
-            //get the project title and sort it
-            List<String> projectTitles = new ArrayList<>();
-            for (Project project : projects) {
-                projectTitles.add(project.getProjectTitle());
-            }
-            Collections.sort(projectTitles);
-            List<Project> sortedProjects = new ArrayList<>();
-            for (String projectTitle : projectTitles) {
-                for (Project project : projects) {
-                    if (project.getProjectTitle().equals(projectTitle)) {
-                        sortedProjects.add(project);
-                    }
-                }
-            }
-            displayProjects(sortedProjects);
         }
-
-
     }
+
     public static void displayProjects(List<Project> projects) {
         // Determine the maximum width for each column dynamically
         if (projects.isEmpty()) {
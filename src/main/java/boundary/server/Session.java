@@ -0,0 +1,305 @@
+package boundary.server;
+
+import controller.account.AccountManager;
+import controller.enquiry.EnquiryManager;
+import controller.project.ProjectManager;
+import controller.request.ApplicantManager;
+import controller.request.RequestManager;
+import model.enquiry.Enquiry;
+import model.project.Project;
+import model.project.RoomType;
+import model.request.ProjectApplicationRequest;
+import model.request.Request;
+import model.request.RequestStatus;
+import model.user.ApplicantStatus;
+import model.user.User;
+import model.user.UserType;
+import repository.RepositoryLock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The Session class holds the state of one user connected to the {@link SessionServer}
+ * and carries out the commands they send through the controllers.
+ * <p>
+ * Each command is one line and is answered with one line, which starts with {@code OK} if the command succeeded
+ * or {@code ERR} followed by the reason if it did not. Queries run under the read lock of the {@link RepositoryLock}
+ * and changes under its write lock, so any number of sessions can use the same repositories at once.
+ * <p>
+ * The commands are:
+ * <pre>
+ * LOGIN APPLICANT|OFFICER|MANAGER &lt;NRIC&gt; &lt;password&gt;
+ * PROJECTS                                  the projects the user can see
+ * APPLY &lt;projectID&gt; TWO_ROOM_FLAT|THREE_ROOM_FLAT  applicants only
+ * STATUS                                    applicants only
+ * ENQUIRE &lt;title&gt; | &lt;content&gt;              applicants only
+ * ENQUIRIES                                 own enquiries for applicants, unanswered ones for the staff
+ * ANSWER &lt;enquiryID&gt; &lt;answer&gt;              officers and managers only
+ * PENDING                                   managers only
+ * APPROVE|REJECT &lt;requestID&gt;                managers only
+ * LOGOUT
+ * QUIT
+ * </pre>
+ */
+public class Session {
+
+    /**
+     * The separator of the items of a list in a reply.
+     */
+    public static final String ITEM_SEPARATOR = ";";
+
+    /**
+     * The type of the user logged in to this session, or null if nobody is logged in.
+     */
+    private UserType userType;
+
+    /**
+     * The user logged in to this session, or null if nobody is logged in.
+     */
+    private User user;
+
+    /**
+     * Whether the user has ended this session.
+     */
+    private boolean closed;
+
+    /**
+     * Checks whether the user has ended this session.
+     *
+     * @return true if the session has been ended with {@code QUIT}, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Carries out one command.
+     *
+     * @param line the command line sent by the user
+     * @return the reply to send back
+     */
+    public String handle(String line) {
+        String[] words = line == null ? new String[0] : line.strip().split("\\s+", 2);
+        String command = words.length == 0 ? "" : words[0].toUpperCase(Locale.ROOT);
+        String arguments = words.length < 2 ? "" : words[1];
+        try {
+            return switch (command) {
+                case "LOGIN" -> login(arguments);
+                case "PROJECTS" -> projects();
+                case "APPLY" -> apply(arguments);
+                case "STATUS" -> status();
+                case "ENQUIRE" -> enquire(arguments);
+                case "ENQUIRIES" -> enquiries();
+                case "ANSWER" -> answer(arguments);
+                case "PENDING" -> pending();
+                case "APPROVE" -> decide(arguments, true);
+                case "REJECT" -> decide(arguments, false);
+                case "LOGOUT" -> logout();
+                case "QUIT" -> {
+                    closed = true;
+                    yield "OK Bye";
+                }
+                default -> "ERR Unknown command: " + command;
+            };
+        } catch (Exception e) {
+            return "ERR " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Logs a user in to this session.
+     */
+    private String login(String arguments) throws Exception {
+        String[] parts = split(arguments, 3, "LOGIN <type> <NRIC> <password>");
+        UserType type = UserType.valueOf(parts[0].toUpperCase(Locale.ROOT));
+        User loggedIn = RepositoryLock.read(() -> AccountManager.login(type, parts[1], parts[2]));
+        userType = type;
+        user = loggedIn;
+        return "OK Welcome " + loggedIn.getName();
+    }
+
+    /**
+     * Logs the user out of this session.
+     */
+    private String logout() {
+        requireLogin();
+        userType = null;
+        user = null;
+        return "OK Logged out";
+    }
+
+    /**
+     * Lists the projects the user can see: those an applicant can apply for, the visible ones for an officer
+     * and their own ones for a manager.
+     */
+    private String projects() throws Exception {
+        requireLogin();
+        List<String> items = RepositoryLock.read(() -> {
+            List<Project> projects = switch (userType) {
+                case APPLICANT -> ProjectManager.getAvailableProject(user.getNRIC());
+                case OFFICER -> ProjectManager.viewVisibleProjects();
+                case MANAGER -> ProjectManager.getAllProjectsByManager(user.getNRIC());
+            };
+            List<String> result = new ArrayList<>();
+            for (Project project : projects) {
+                result.add(project.getID() + " " + project.getProjectTitle() + " 2-room:" + project.getTwoRoomFlatAvailable()
+                        + " 3-room:" + project.getThreeRoomFlatAvailable());
+            }
+            return result;
+        });
+        return list(items);
+    }
+
+    /**
+     * Applies for a flat in a project on behalf of the applicant.
+     */
+    private String apply(String arguments) throws Exception {
+        require(UserType.APPLICANT);
+        String[] parts = split(arguments, 2, "APPLY <projectID> <room type>");
+        RoomType roomType = RoomType.valueOf(parts[1].toUpperCase(Locale.ROOT));
+        if (roomType == RoomType.NONE) {
+            throw new IllegalArgumentException("Choose TWO_ROOM_FLAT or THREE_ROOM_FLAT");
+        }
+        String requestID = RepositoryLock.write(() -> {
+            if (ApplicantManager.getApplicantStatus(user.getNRIC()) != ApplicantStatus.NO_REGISTRATION) {
+                throw new IllegalStateException("You already have an active application or registration");
+            }
+            return ApplicantManager.createProjectApplicationRequest(user.getNRIC(), parts[0], roomType);
+        });
+        return requestID == null ? "ERR The application was not accepted" : "OK " + requestID;
+    }
+
+    /**
+     * Shows the application status of the applicant.
+     */
+    private String status() throws Exception {
+        require(UserType.APPLICANT);
+        return "OK " + RepositoryLock.read(() -> ApplicantManager.getApplicantStatus(user.getNRIC()));
+    }
+
+    /**
+     * Submits an enquiry on behalf of the applicant.
+     */
+    private String enquire(String arguments) throws Exception {
+        require(UserType.APPLICANT);
+        String[] parts = arguments.split("\\|", 2);
+        if (parts.length < 2 || parts[0].isBlank() || parts[1].isBlank()) {
+            throw new IllegalArgumentException("Usage: ENQUIRE <title> | <content>");
+        }
+        String enquiryID = RepositoryLock.write(() ->
+                EnquiryManager.createNewEnquiry(parts[0].strip(), user.getNRIC(), parts[1].strip(), "", false));
+        return "OK " + enquiryID;
+    }
+
+    /**
+     * Lists the enquiries of the applicant, or the unanswered enquiries for officers and managers.
+     */
+    private String enquiries() throws Exception {
+        requireLogin();
+        List<String> items = RepositoryLock.read(() -> {
+            List<String> result = new ArrayList<>();
+            List<Enquiry> enquiries = userType == UserType.APPLICANT
+                    ? EnquiryManager.getAllEnquiries() : EnquiryManager.getUnansweredEnquiries();
+            for (Enquiry enquiry : enquiries) {
+                if (userType != UserType.APPLICANT || user.getNRIC().equals(enquiry.getCreatorID())) {
+                    result.add(enquiry.getID() + " " + enquiry.getEnquiryTitle()
+                            + (enquiry.getAnswered() ? " answered" : " unanswered"));
+                }
+            }
+            return result;
+        });
+        return list(items);
+    }
+
+    /**
+     * Answers an enquiry on behalf of an officer or a manager.
+     */
+    private String answer(String arguments) throws Exception {
+        requireLogin();
+        if (userType == UserType.APPLICANT) {
+            throw new IllegalStateException("Only officers and managers can answer enquiries");
+        }
+        String[] parts = split(arguments, 2, "ANSWER <enquiryID> <answer>");
+        RepositoryLock.write(() -> {
+            EnquiryManager.answerEnquiry(parts[0], parts[1]);
+            return null;
+        });
+        return "OK " + parts[0];
+    }
+
+    /**
+     * Lists the pending applications for the projects of the manager.
+     */
+    private String pending() throws Exception {
+        require(UserType.MANAGER);
+        List<String> items = RepositoryLock.read(() -> {
+            List<String> result = new ArrayList<>();
+            for (Request request : RequestManager.getAllPendingApplicationRequestsByManager(user.getNRIC())) {
+                result.add(request.getID() + " " + request.getProjectID());
+            }
+            return result;
+        });
+        return list(items);
+    }
+
+    /**
+     * Approves or rejects a pending application for one of the projects of the manager.
+     */
+    private String decide(String arguments, boolean approve) throws Exception {
+        require(UserType.MANAGER);
+        String requestID = split(arguments, 1, (approve ? "APPROVE" : "REJECT") + " <requestID>")[0];
+        RepositoryLock.write(() -> {
+            Request request = RequestManager.getRequest(requestID);
+            if (!(request instanceof ProjectApplicationRequest) || request.getStatus() != RequestStatus.PENDING
+                    || !ProjectManager.getByID(request.getProjectID()).getManagerID().equals(user.getNRIC())) {
+                throw new IllegalStateException("Request " + requestID + " is not a pending application for your projects");
+            }
+            if (approve) {
+                RequestManager.approveProjectApplication(requestID);
+            } else {
+                RequestManager.rejectProjectApplication(requestID);
+            }
+            return null;
+        });
+        return "OK " + requestID;
+    }
+
+    /**
+     * Checks that a user is logged in to this session.
+     */
+    private void requireLogin() {
+        if (user == null) {
+            throw new IllegalStateException("Please log in first");
+        }
+    }
+
+    /**
+     * Checks that a user of the specified type is logged in to this session.
+     */
+    private void require(UserType type) {
+        requireLogin();
+        if (userType != type) {
+            throw new IllegalStateException("This command is only available to " + type.name().toLowerCase(Locale.ROOT) + "s");
+        }
+    }
+
+    /**
+     * Splits the arguments of a command into the specified number of parts; the last part keeps any spaces.
+     */
+    private static String[] split(String arguments, int count, String usage) {
+        String[] parts = arguments.strip().split("\\s+", count);
+        if (parts.length < count || parts[0].isEmpty()) {
+            throw new IllegalArgumentException("Usage: " + usage);
+        }
+        return parts;
+    }
+
+    /**
+     * Formats a list of items as a reply.
+     */
+    private static String list(List<String> items) {
+        return "OK " + items.size() + (items.isEmpty() ? "" : " " + String.join(ITEM_SEPARATOR, items));
+    }
+}
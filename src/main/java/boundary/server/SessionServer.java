@@ -0,0 +1,195 @@
+package boundary.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The SessionServer class lets many users work with the application at once over a local TCP socket.
+ * <p>
+ * Every connection gets its own {@link Session} running on its own virtual thread, so thousands of mostly idle
+ * sessions cost little more than their sockets. The sessions share the repositories, which they use through
+ * the {@link repository.RepositoryLock}.
+ * <p>
+ * The server only listens on the loopback address.
+ */
+public final class SessionServer implements AutoCloseable {
+
+    /**
+     * The port used when none is given.
+     */
+    public static final int DEFAULT_PORT = 5050;
+
+    /**
+     * The socket the server accepts connections on.
+     */
+    private final ServerSocket serverSocket;
+
+    /**
+     * Runs each session, and the accept loop, on a virtual thread of its own.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * The connections of the sessions that are still open, closed along with the server.
+     */
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The number of sessions that are still open.
+     */
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    /**
+     * The number of commands answered by all sessions.
+     */
+    private final LongAdder commandCount = new LongAdder();
+
+    private SessionServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    /**
+     * Starts a server listening on the specified port of the loopback address.
+     *
+     * @param port    the port to listen on, or 0 to pick a free port
+     * @param backlog the number of connections that may wait to be accepted
+     * @return the started server
+     * @throws IOException if the port could not be opened
+     */
+    public static SessionServer start(int port, int backlog) throws IOException {
+        SessionServer server = new SessionServer(new ServerSocket(port, backlog, InetAddress.getLoopbackAddress()));
+        server.executor.execute(server::acceptLoop);
+        return server;
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of sessions that are still open.
+     *
+     * @return the number of open sessions
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Gets the number of commands handled since the server started.
+     * A command is counted before its reply is sent.
+     *
+     * @return the number of commands handled
+     */
+    public long getCommandCount() {
+        return commandCount.sum();
+    }
+
+    /**
+     * Waits until the server has been closed.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitClose() throws InterruptedException {
+        synchronized (this) {
+            while (!serverSocket.isClosed()) {
+                wait();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections, ends the open sessions and waits for their threads to finish.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // The socket is being thrown away anyway
+        }
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+        executor.close();
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Accepts connections until the server is closed and starts a session for each of them.
+     */
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket connection = serverSocket.accept();
+                connections.add(connection);
+                executor.execute(() -> serve(connection));
+            } catch (SocketException e) {
+                // The server socket has been closed
+                return;
+            } catch (IOException e) {
+                System.out.println("Connection could not be accepted: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a session over a connection until the user quits or the connection is closed.
+     *
+     * @param connection the connection of the session
+     */
+    private void serve(Socket connection) {
+        activeSessions.incrementAndGet();
+        Session session = new Session();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while (!session.isClosed() && (line = in.readLine()) != null) {
+                String reply = session.handle(line);
+                // Counted before the reply is sent, so a user who has read the reply sees it counted
+                commandCount.increment();
+                out.write(reply);
+                out.newLine();
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The user has gone away; their session simply ends
+        } finally {
+            connections.remove(connection);
+            closeQuietly(connection);
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Closes a connection, ignoring any error.
+     */
+    private static void closeQuietly(Socket connection) {
+        try {
+            connection.close();
+        } catch (IOException e) {
+            // Nothing more can be done with the connection
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * This package contains the classes that serve many sessions at once over a local TCP socket.
+ */
+package boundary.server;
@@ -5,6 +5,7 @@ import controller.account.password.PasswordManager;
 import controller.account.user.UserAdder;
 import controller.account.user.UserFinder;
 import controller.account.user.UserUpdater;
+import controller.importer.BulkImporter;
 import model.project.RoomType;
 import model.user.*;
 import repository.user.ApplicantRepository;
@@ -14,7 +15,6 @@ import utils.config.Location;
 import utils.exception.PasswordIncorrectException;
 import utils.exception.ModelAlreadyExistsException;
 import utils.exception.ModelNotFoundException;
-import utils.iocontrol.CSVReader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -130,63 +130,14 @@ public class AccountManager {
         return NRIC;
     }
 
-    private static void loadApplicants() {
-        List<List<String>> applicantList = CSVReader.read(Location.RESOURCE_LOCATION + "/ApplicantList.csv", true);
-        for (List<String> row : applicantList) {
-            String name = row.get(0);
-            String applicantNRIC = row.get(1);
-            Integer Age = Integer.parseInt(row.get(2));
-            MaritalStatus maritalStatus = row.get(3).equals("Single") ? MaritalStatus.SINGLE : MaritalStatus.MARRIED;
-
-            String password = row.get(4);
-            try {
-                register(UserType.APPLICANT, applicantNRIC, password, name, Age, maritalStatus, "", RoomType.NONE);
-            } catch (ModelAlreadyExistsException e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
-    private static void loadManagers() {
-        List<List<String>> managerList = CSVReader.read(Location.RESOURCE_LOCATION + "/ManagerList.csv", true);
-        for (List<String> row : managerList) {
-            String name = row.get(0);
-            String managerNRIC = row.get(1);
-            Integer Age = Integer.parseInt(row.get(2));
-            MaritalStatus maritalStatus = row.get(3).equals("Single") ? MaritalStatus.SINGLE : MaritalStatus.MARRIED;
-            String password = row.get(4);
-            try {
-                register(UserType.MANAGER, managerNRIC, password, name, Age, maritalStatus, "", RoomType.NONE);
-            } catch (ModelAlreadyExistsException e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
-    private static void loadOfficers() {
-        List<List<String>> officerList = CSVReader.read(Location.RESOURCE_LOCATION + "/OfficerList.csv", true);
-        for (List<String> row : officerList) {
-            String name = row.get(0);
-            String applicantNRIC = row.get(1);
-            Integer Age = Integer.parseInt(row.get(2));
-            MaritalStatus maritalStatus = row.get(3).equals("Single") ? MaritalStatus.SINGLE : MaritalStatus.MARRIED;
-            String password = row.get(4);
-            try {
-                register(UserType.OFFICER, applicantNRIC, password, name, Age, maritalStatus, "", RoomType.NONE);
-            } catch (ModelAlreadyExistsException e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
     /**
      * Loads initial user data from CSV files for Applicants, Managers, and Officers.
      * This is typically called on the first start of the application.
+     * The rows are imported in bulk by the {@link BulkImporter}, so each repository file is written once.
      */
     public static void loadUsers() {
-        loadApplicants();
-        loadManagers();
-        loadOfficers();
+        BulkImporter.importAll(Location.RESOURCE_LOCATION + "/ApplicantList.csv", Location.RESOURCE_LOCATION + "/ManagerList.csv",
+                Location.RESOURCE_LOCATION + "/OfficerList.csv", null);
     }
 
     /**
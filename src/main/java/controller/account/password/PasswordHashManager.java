@@ -5,9 +5,11 @@ import utils.parameters.NotNull;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * The PasswordHashManager class provides a utility for hashing passwords using the SHA3-256 algorithm.
+ * It can be used by several threads at once, each hashing with its own MessageDigest.
  */
 public class PasswordHashManager {
     /**
@@ -15,19 +17,17 @@ public class PasswordHashManager {
      */
     private static final String HASH_ALGORITHM = "SHA3-256";
     /**
-     * The MessageDigest object used to perform the hashing
+     * The MessageDigest object used to perform the hashing, one per thread
+     * since a MessageDigest cannot be used by several threads at once
      */
-    private static final MessageDigest messageDigest;
-
-    // Static block used to initialize the MessageDigest object with the hashing algorithm
-    static {
+    private static final ThreadLocal<MessageDigest> messageDigest = ThreadLocal.withInitial(() -> {
         try {
-            messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return MessageDigest.getInstance(HASH_ALGORITHM);
         } catch (NoSuchAlgorithmException e) {
             // If the specified algorithm is not available, throw a runtime exception
             throw new RuntimeException(e);
         }
-    }
+    });
 
     /**
      * Hashes the specified password using the SHA3-256 algorithm.
@@ -36,6 +36,16 @@ public class PasswordHashManager {
      * @return a byte array containing the hashed password
      */
     public static String hashPassword(@NotNull String password) {
-        return Base64.getEncoder().encodeToString(messageDigest.digest(password.getBytes()));
+        return Base64.getEncoder().encodeToString(messageDigest.get().digest(password.getBytes()));
+    }
+
+    /**
+     * Hashes the specified passwords in parallel, on all available cores.
+     *
+     * @param passwords the passwords to be hashed
+     * @return the hashed passwords, in the same order as the passwords
+     */
+    public static List<String> hashPasswords(@NotNull List<String> passwords) {
+        return passwords.parallelStream().map(PasswordHashManager::hashPassword).toList();
     }
 }
@@ -65,30 +65,13 @@ public class EnquiryManager {
     }
 
     /**
-     * Generates a new unique ID for an enquiry.
-     * The ID is generated by finding the highest existing ID (e.g., "E1", "E2") and incrementing the number.
-     * Starts with "E1" if the repository is empty.
+     * Generates a new unique ID for an enquiry (e.g., "E3").
+     * The number is taken from the ID sequence of the {@link EnquiryRepository}, so the existing enquiries are not scanned.
      *
-     * @return A new unique enquiry ID string (e.g., "E3").
+     * @return A new unique enquiry ID string.
      */
     public static String getNewEnquiryID() {
-        // Generate a new enquiry ID based on the max ID in the repository
-        //loop to check
-        if(EnquiryRepository.getInstance().getAll().isEmpty()){
-            return "E1"; // Start with E1 if no enquiries exist
-        }
-        String maxID = null;
-        for (Enquiry enquiry : EnquiryRepository.getInstance().getAll()) {
-            if (maxID == null || enquiry.getID().compareTo(maxID) > 0) {
-                maxID = enquiry.getID();
-            }
-        }
-        if (maxID == null) {
-            return "E1"; // Start with E1 if no enquiries exist
-        } else {
-            int newID = Integer.parseInt(maxID.substring(1)) + 1; // Increment the ID
-            return "E" + newID; // Return the new ID
-        }
+        return EnquiryRepository.getInstance().getNewEnquiryID();
     }
 
     /**
@@ -0,0 +1,423 @@
+package controller.importer;
+
+import model.Model;
+import model.project.Project;
+import model.user.Applicant;
+import model.user.Manager;
+import model.user.MaritalStatus;
+import model.user.Officer;
+import model.user.User;
+import model.user.UserFactory;
+import model.user.UserType;
+import repository.Repository;
+import repository.project.ProjectRepository;
+import repository.user.ApplicantRepository;
+import repository.user.ManagerRepository;
+import repository.user.OfficerRepository;
+import utils.config.Location;
+import utils.exception.ModelAlreadyExistsException;
+import utils.iocontrol.CSVReader;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * The BulkImporter class seeds the user and project repositories from the CSV files on the first start.
+ * <p>
+ * Instead of registering the rows one by one, which rewrites a whole repository file per row, the rows go through
+ * a pipeline of stages: the CSV files are parsed, the rows are validated, duplicate NRICs are dropped,
+ * the passwords are hashed in parallel, the manager and officer names of the projects are resolved through a map
+ * built once, and each repository is written once. The time taken by each stage is reported.
+ */
+public class BulkImporter {
+
+    /**
+     * The format of an NRIC: S, T, F or G, seven digits and a letter.
+     */
+    private static final Pattern NRIC_PATTERN = Pattern.compile("[STFG]\\d{7}[A-Z]");
+
+    /**
+     * The time taken by one stage of the import.
+     *
+     * @param stage the name of the stage
+     * @param items the number of items that came out of the stage
+     * @param nanos the time taken by the stage, in nanoseconds
+     */
+    public record StageTime(String stage, int items, long nanos) {
+
+        /**
+         * Gets the number of items the stage handled per second.
+         *
+         * @return the throughput of the stage
+         */
+        public double itemsPerSecond() {
+            return nanos == 0 ? 0 : items * 1e9 / nanos;
+        }
+    }
+
+    /**
+     * The result of an import.
+     *
+     * @param stageTimes   the time taken by each stage, in order
+     * @param imported     the number of users and projects added to the repositories
+     * @param rejected     the rows that were not imported, each with the reason
+     * @param elapsedNanos the time taken by the whole import, in nanoseconds
+     */
+    public record Report(List<StageTime> stageTimes, int imported, List<String> rejected, long elapsedNanos) {
+
+        /**
+         * Gets a line per stage with its throughput, followed by the totals.
+         *
+         * @return the formatted report
+         */
+        public String format() {
+            StringBuilder stringBuilder = new StringBuilder();
+            for (StageTime stageTime : stageTimes) {
+                stringBuilder.append(String.format("%-10s %8d items %10.1f ms %12.0f items/s%n",
+                        stageTime.stage(), stageTime.items(), stageTime.nanos() / 1e6, stageTime.itemsPerSecond()));
+            }
+            stringBuilder.append(String.format("%-10s %8d items %10.1f ms %8d rejected%n",
+                    "Total", imported, elapsedNanos / 1e6, rejected.size()));
+            return stringBuilder.toString();
+        }
+    }
+
+    /**
+     * A user row that passed validation.
+     */
+    private record UserRow(UserType userType, String name, String NRIC, int age, MaritalStatus maritalStatus,
+                           String password) {
+    }
+
+    /**
+     * A project row that passed validation, with the manager and officers still given by name.
+     */
+    private record ProjectRow(String projectTitle, String neighbourhood, int twoRoomFlats, double twoRoomFlatPrice,
+                              int threeRoomFlats, double threeRoomFlatPrice, LocalDate openingDate,
+                              LocalDate closingDate, String managerName, List<String> officerNames) {
+    }
+
+    private final List<StageTime> stageTimes = new ArrayList<>();
+    private final List<String> rejected = new ArrayList<>();
+
+    private BulkImporter() {
+    }
+
+    /**
+     * Imports the users and projects from the CSV files in the resource folder.
+     *
+     * @return the time taken by each stage and the rows that were not imported
+     */
+    public static Report importAll() {
+        return importAll(Location.RESOURCE_LOCATION + "/ApplicantList.csv", Location.RESOURCE_LOCATION + "/ManagerList.csv",
+                Location.RESOURCE_LOCATION + "/OfficerList.csv", Location.RESOURCE_LOCATION + "/ProjectList.csv");
+    }
+
+    /**
+     * Imports the users and projects from the specified CSV files.
+     * A file path may be null to skip that file.
+     *
+     * @param APPLICANT_PATH the path of the applicant CSV file
+     * @param MANAGER_PATH   the path of the manager CSV file
+     * @param OFFICER_PATH   the path of the officer CSV file
+     * @param PROJECT_PATH   the path of the project CSV file
+     * @return the time taken by each stage and the rows that were not imported
+     */
+    public static Report importAll(final String APPLICANT_PATH, final String MANAGER_PATH,
+                                   final String OFFICER_PATH, final String PROJECT_PATH) {
+        return new BulkImporter().run(APPLICANT_PATH, MANAGER_PATH, OFFICER_PATH, PROJECT_PATH);
+    }
+
+    /**
+     * Runs the stages of the import one after another.
+     */
+    private Report run(final String APPLICANT_PATH, final String MANAGER_PATH,
+                       final String OFFICER_PATH, final String PROJECT_PATH) {
+        long start = System.nanoTime();
+        Map<UserType, List<List<String>>> userCSVs = new EnumMap<>(UserType.class);
+        List<List<String>> projectCSV = stage("parse", () -> {
+            userCSVs.put(UserType.APPLICANT, read(APPLICANT_PATH));
+            userCSVs.put(UserType.MANAGER, read(MANAGER_PATH));
+            userCSVs.put(UserType.OFFICER, read(OFFICER_PATH));
+            return read(PROJECT_PATH);
+        }, rows -> rows.size() + userCSVs.values().stream().mapToInt(List::size).sum());
+
+        List<UserRow> userRows = new ArrayList<>();
+        List<ProjectRow> projectRows = stage("validate", () -> {
+            for (Map.Entry<UserType, List<List<String>>> entry : userCSVs.entrySet()) {
+                for (List<String> row : entry.getValue()) {
+                    UserRow userRow = validateUser(entry.getKey(), row);
+                    if (userRow != null) {
+                        userRows.add(userRow);
+                    }
+                }
+            }
+            List<ProjectRow> validated = new ArrayList<>();
+            for (List<String> row : projectCSV) {
+                ProjectRow projectRow = validateProject(row);
+                if (projectRow != null) {
+                    validated.add(projectRow);
+                }
+            }
+            return validated;
+        }, rows -> rows.size() + userRows.size());
+
+        List<UserRow> uniqueUserRows = stage("dedupe", () -> dedupe(userRows), List::size);
+
+        // Hashing is the expensive part of creating a user, and the rows do not depend on each other
+        List<User> users = stage("hash", () -> uniqueUserRows.parallelStream()
+                .map(row -> UserFactory.create(row.userType(), row.NRIC(), row.password(), row.name(), row.age(), row.maritalStatus()))
+                .toList(), List::size);
+
+        List<Project> projects = stage("resolve", () -> resolve(projectRows, users), List::size);
+
+        int imported = stage("write", () -> write(users, projects), count -> count);
+        return new Report(stageTimes, imported, rejected, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs a stage and records the time it took.
+     *
+     * @param name  the name of the stage
+     * @param work  the work of the stage
+     * @param items counts the items that came out of the stage
+     * @param <T>   the result of the stage
+     * @return the result of the stage
+     */
+    private <T> T stage(String name, Supplier<T> work, ToIntFunction<T> items) {
+        long start = System.nanoTime();
+        T result = work.get();
+        stageTimes.add(new StageTime(name, items.applyAsInt(result), System.nanoTime() - start));
+        return result;
+    }
+
+    /**
+     * Reads the rows of a CSV file, skipping its header.
+     *
+     * @param FILE_PATH the path of the CSV file, or null
+     * @return the rows of the file, or an empty list if the path is null
+     */
+    private static List<List<String>> read(final String FILE_PATH) {
+        return FILE_PATH == null ? List.of() : CSVReader.read(FILE_PATH, true);
+    }
+
+    /**
+     * Checks a user row, recording why it is rejected if it is not valid.
+     *
+     * @param userType the type of the users in the file
+     * @param row      the values of the row: name, NRIC, age, marital status and password
+     * @return the validated row, or null if it is rejected
+     */
+    private UserRow validateUser(UserType userType, List<String> row) {
+        if (row.size() < 5) {
+            rejected.add(userType + " " + row + ": expected 5 columns");
+            return null;
+        }
+        String NRIC = row.get(1);
+        if (!NRIC_PATTERN.matcher(NRIC).matches()) {
+            rejected.add(userType + " " + row + ": invalid NRIC");
+            return null;
+        }
+        int age;
+        try {
+            age = Integer.parseInt(row.get(2));
+        } catch (NumberFormatException e) {
+            rejected.add(userType + " " + row + ": invalid age");
+            return null;
+        }
+        if (row.get(4).isEmpty()) {
+            rejected.add(userType + " " + row + ": missing password");
+            return null;
+        }
+        MaritalStatus maritalStatus = row.get(3).equals("Single") ? MaritalStatus.SINGLE : MaritalStatus.MARRIED;
+        return new UserRow(userType, row.get(0), NRIC, age, maritalStatus, row.get(4));
+    }
+
+    /**
+     * Checks a project row, recording why it is rejected if it is not valid.
+     *
+     * @param row the values of the row, in the columns of ProjectList.csv
+     * @return the validated row, or null if it is rejected
+     */
+    private ProjectRow validateProject(List<String> row) {
+        if (row.size() < 11) {
+            rejected.add("PROJECT " + row + ": expected at least 11 columns");
+            return null;
+        }
+        try {
+            List<String> officerNames = new ArrayList<>();
+            if (row.size() > 12 && !row.get(12).isEmpty()) {
+                for (String officerName : row.get(12).split(",")) {
+                    officerNames.add(officerName.trim());
+                }
+            }
+            return new ProjectRow(row.get(0), row.get(1),
+                    Integer.parseInt(row.get(3)), Double.parseDouble(row.get(4)),
+                    Integer.parseInt(row.get(6)), Double.parseDouble(row.get(7)),
+                    parseDate(row.get(8)), parseDate(row.get(9)), row.get(10), officerNames);
+        } catch (RuntimeException e) {
+            rejected.add("PROJECT " + row + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parses a date in the DD/MM/YYYY format.
+     *
+     * @param date the date to parse
+     * @return the parsed date
+     * @throws RuntimeException if the date is not valid
+     */
+    private static LocalDate parseDate(String date) {
+        String[] parts = date.split("/");
+        return LocalDate.of(Integer.parseInt(parts[2]), Integer.parseInt(parts[1]), Integer.parseInt(parts[0]));
+    }
+
+    /**
+     * Drops the rows whose NRIC appeared earlier in the same file or is already in the repository of their type.
+     *
+     * @param userRows the validated rows
+     * @return the rows to import, in their original order
+     */
+    private List<UserRow> dedupe(List<UserRow> userRows) {
+        Map<UserType, Repository<? extends User>> repositories = new EnumMap<>(UserType.class);
+        for (UserType userType : UserType.values()) {
+            repositories.put(userType, getRepository(userType));
+        }
+        Map<String, UserRow> uniqueRows = new LinkedHashMap<>();
+        for (UserRow userRow : userRows) {
+            String key = userRow.userType() + " " + userRow.NRIC();
+            if (uniqueRows.containsKey(key) || repositories.get(userRow.userType()).contains(userRow.NRIC())) {
+                rejected.add(userRow.userType() + " " + userRow.NRIC() + ": duplicate NRIC");
+            } else {
+                uniqueRows.put(key, userRow);
+            }
+        }
+        return new ArrayList<>(uniqueRows.values());
+    }
+
+    /**
+     * Creates the projects, resolving the names of their managers and officers through maps from name to NRIC
+     * built once from the repositories and the imported users.
+     *
+     * @param projectRows the validated project rows
+     * @param users       the imported users
+     * @return the projects to import
+     */
+    private List<Project> resolve(List<ProjectRow> projectRows, List<User> users) {
+        Map<String, String> managerNRICs = new HashMap<>();
+        Map<String, String> officerNRICs = new HashMap<>();
+        for (Manager manager : ManagerRepository.getInstance()) {
+            managerNRICs.putIfAbsent(manager.getName(), manager.getID());
+        }
+        for (Officer officer : OfficerRepository.getInstance()) {
+            officerNRICs.putIfAbsent(officer.getName(), officer.getID());
+        }
+        for (User user : users) {
+            if (user instanceof Manager manager) {
+                managerNRICs.putIfAbsent(manager.getName(), manager.getID());
+            } else if (user instanceof Officer officer) {
+                officerNRICs.putIfAbsent(officer.getName(), officer.getID());
+            }
+        }
+
+        // The projects of each manager, to reject projects whose application period overlaps another one
+        Map<String, List<Project>> projectsByManager = new HashMap<>();
+        for (Project project : ProjectRepository.getInstance()) {
+            projectsByManager.computeIfAbsent(project.getManagerNRIC(), key -> new ArrayList<>()).add(project);
+        }
+        List<Project> projects = new ArrayList<>();
+        for (ProjectRow row : projectRows) {
+            String managerNRIC = managerNRICs.get(row.managerName());
+            if (managerNRIC == null) {
+                rejected.add("PROJECT " + row.projectTitle() + ": unknown manager " + row.managerName());
+                continue;
+            }
+            List<Project> managerProjects = projectsByManager.computeIfAbsent(managerNRIC, key -> new ArrayList<>());
+            boolean overlaps = managerProjects.stream().anyMatch(p ->
+                    !p.getApplicationClosingDate().isBefore(row.openingDate()) &&
+                            !p.getApplicationOpeningDate().isAfter(row.closingDate()));
+            if (overlaps) {
+                rejected.add("PROJECT " + row.projectTitle() + ": manager has overlapping projects");
+                continue;
+            }
+            List<String> officerIDs = new ArrayList<>();
+            for (String officerName : row.officerNames()) {
+                String officerNRIC = officerNRICs.get(officerName);
+                if (officerNRIC != null) {
+                    officerIDs.add(officerNRIC);
+                }
+            }
+            Project project = new Project(ProjectRepository.getInstance().getNewProjectID(), row.projectTitle(),
+                    row.neighbourhood(), row.openingDate(), row.closingDate(), row.twoRoomFlats(), row.threeRoomFlats(),
+                    row.twoRoomFlatPrice(), row.threeRoomFlatPrice(), managerNRIC, officerIDs, true);
+            managerProjects.add(project);
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    /**
+     * Adds the users and projects to their repositories, writing each repository file once.
+     *
+     * @param users    the users to add
+     * @param projects the projects to add
+     * @return the number of users and projects added
+     */
+    private int write(List<User> users, List<Project> projects) {
+        List<Applicant> applicants = new ArrayList<>();
+        List<Manager> managers = new ArrayList<>();
+        List<Officer> officers = new ArrayList<>();
+        for (User user : users) {
+            if (user instanceof Applicant applicant) {
+                applicants.add(applicant);
+            } else if (user instanceof Manager manager) {
+                managers.add(manager);
+            } else if (user instanceof Officer officer) {
+                officers.add(officer);
+            }
+        }
+        try {
+            addAll(ApplicantRepository.getInstance(), applicants);
+            addAll(ManagerRepository.getInstance(), managers);
+            addAll(OfficerRepository.getInstance(), officers);
+            addAll(ProjectRepository.getInstance(), projects);
+        } catch (ModelAlreadyExistsException e) {
+            // The rows were checked against the repositories while deduplicating
+            throw new IllegalStateException(e);
+        }
+        return users.size() + projects.size();
+    }
+
+    /**
+     * Adds the model objects to the repository, unless there are none.
+     */
+    private static <T extends Model> void addAll(Repository<T> repository, List<T> modelObjects)
+            throws ModelAlreadyExistsException {
+        if (!modelObjects.isEmpty()) {
+            repository.addAll(modelObjects);
+        }
+    }
+
+    /**
+     * Gets the repository of the users of the specified type.
+     *
+     * @param userType the type of the users
+     * @return the repository
+     */
+    private static Repository<? extends User> getRepository(UserType userType) {
+        return switch (userType) {
+            case APPLICANT -> ApplicantRepository.getInstance();
+            case MANAGER -> ManagerRepository.getInstance();
+            case OFFICER -> OfficerRepository.getInstance();
+        };
+    }
+}
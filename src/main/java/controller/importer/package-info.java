@@ -0,0 +1,4 @@
+/**
+ * This package contains the controller classes for importing the initial data from CSV files.
+ */
+package controller.importer;
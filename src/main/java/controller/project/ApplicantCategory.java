@@ -0,0 +1,74 @@
+package controller.project;
+
+import model.project.RoomType;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+import repository.project.ProjectRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The categories applicants fall into for the projects they are eligible for.
+ * Each category maps to the flags of the {@link ProjectRepository#ELIGIBILITY_INDEX} a project needs to have,
+ * so the projects open to a category are found by ANDing the bitsets of those flags.
+ */
+public enum ApplicantCategory {
+    /**
+     * Single applicants under 35, who cannot apply for any flat.
+     */
+    SINGLE_UNDER_35,
+    /**
+     * Single applicants aged 35 and above, who can only apply for 2-room flats.
+     */
+    SINGLE_35_AND_ABOVE,
+    /**
+     * Married applicants, who can apply for any flat.
+     */
+    MARRIED;
+
+    /**
+     * Gets the category of an applicant.
+     *
+     * @param applicant the applicant
+     * @return the category of the applicant
+     */
+    public static ApplicantCategory of(Applicant applicant) {
+        if (applicant.getMaritalStatus() == MaritalStatus.SINGLE) {
+            return applicant.getAge() < 35 ? SINGLE_UNDER_35 : SINGLE_35_AND_ABOVE;
+        }
+        return MARRIED;
+    }
+
+    /**
+     * Checks whether applicants of this category can apply for a type of flat.
+     *
+     * @param roomType the type of flat, or {@link RoomType#NONE} for any type
+     * @return true if they can apply for it, false otherwise
+     */
+    public boolean canApplyFor(RoomType roomType) {
+        return switch (this) {
+            case SINGLE_UNDER_35 -> false;
+            case SINGLE_35_AND_ABOVE -> roomType != RoomType.THREE_ROOM_FLAT;
+            case MARRIED -> true;
+        };
+    }
+
+    /**
+     * Gets the flags a project needs to have for applicants of this category to apply for a type of flat in it.
+     * Single applicants can only apply to projects with a 2-room flat left.
+     *
+     * @param roomType the type of flat, or {@link RoomType#NONE} for any type
+     * @return the names of the flags
+     */
+    List<String> getFlags(RoomType roomType) {
+        List<String> flags = new ArrayList<>();
+        flags.add(ProjectRepository.VISIBLE_FLAG);
+        if (roomType == RoomType.TWO_ROOM_FLAT || this == SINGLE_35_AND_ABOVE) {
+            flags.add(ProjectRepository.TWO_ROOM_AVAILABLE_FLAG);
+        } else if (roomType == RoomType.THREE_ROOM_FLAT) {
+            flags.add(ProjectRepository.THREE_ROOM_AVAILABLE_FLAG);
+        }
+        return flags;
+    }
+}
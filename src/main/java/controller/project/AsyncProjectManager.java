@@ -0,0 +1,91 @@
+package controller.project;
+
+import model.project.Project;
+import model.project.RoomType;
+import repository.RepositoryExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variants of the operations of the {@link ProjectManager}.
+ * Each operation runs on the {@link RepositoryExecutor} and completes its future with the result,
+ * or exceptionally with the exception the blocking operation would have thrown.
+ */
+public class AsyncProjectManager {
+
+    /**
+     * Gets a project by ID.
+     *
+     * @param projectID the ID of the project
+     * @return a future of the project
+     */
+    public static CompletableFuture<Project> getByID(String projectID) {
+        return RepositoryExecutor.read(() -> ProjectManager.getByID(projectID));
+    }
+
+    /**
+     * Gets the projects that are visible.
+     *
+     * @return a future of the visible projects
+     */
+    public static CompletableFuture<List<Project>> viewVisibleProjects() {
+        return RepositoryExecutor.read(ProjectManager::viewVisibleProjects);
+    }
+
+    /**
+     * Gets the projects an applicant is eligible to apply for.
+     *
+     * @param applicantNRIC the NRIC of the applicant
+     * @return a future of the projects
+     */
+    public static CompletableFuture<List<Project>> getAvailableProject(String applicantNRIC) {
+        return RepositoryExecutor.read(() -> ProjectManager.getAvailableProject(applicantNRIC));
+    }
+
+    /**
+     * Gets the projects of a manager.
+     *
+     * @param managerNRIC the NRIC of the manager
+     * @return a future of the projects
+     */
+    public static CompletableFuture<List<Project>> getAllProjectsByManager(String managerNRIC) {
+        return RepositoryExecutor.read(() -> ProjectManager.getAllProjectsByManager(managerNRIC));
+    }
+
+    /**
+     * Takes a flat of a type from a project.
+     *
+     * @param projectID the ID of the project
+     * @param flatType  the type of flat
+     * @return a future of whether a flat was taken
+     */
+    public static CompletableFuture<Boolean> removeFlat(String projectID, RoomType flatType) {
+        return RepositoryExecutor.write(() -> ProjectManager.removeFlat(projectID, flatType));
+    }
+
+    /**
+     * Returns a flat of a type to a project.
+     *
+     * @param projectID the ID of the project
+     * @param flatType  the type of flat
+     * @return a future completed once the flat has been returned
+     */
+    public static CompletableFuture<Void> addFlat(String projectID, RoomType flatType) {
+        return RepositoryExecutor.write(() -> {
+            ProjectManager.addFlat(projectID, flatType);
+            return null;
+        });
+    }
+
+    /**
+     * Adds an officer to the officers of a project.
+     *
+     * @param projectID the ID of the project
+     * @param officerID the NRIC of the officer
+     * @return a future of whether the officer was added
+     */
+    public static CompletableFuture<Boolean> addOfficerToProject(String projectID, String officerID) {
+        return RepositoryExecutor.write(() -> ProjectManager.addOfficerToProject(projectID, officerID));
+    }
+}
@@ -0,0 +1,202 @@
+package controller.project;
+
+import model.project.Project;
+import model.project.RoomType;
+import repository.project.ProjectRepository;
+import utils.exception.ModelNotFoundException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the number of available flats of each project in atomic counters, so that concurrent applications
+ * reserve flats without locking the project and can never take more flats than there are.
+ * <p>
+ * The counters are seeded from the {@link Project} the first time they are used, and {@link #commit(String)}
+ * writes them back to the project through the {@link ProjectRepository}. If the project repository is reloaded
+ * (for example when a unit of work is rolled back), the counters are seeded again from the reloaded project,
+ * keeping the reservations that had not been committed yet.
+ */
+public class FlatInventory {
+
+    /**
+     * The counters of each project, keyed by project ID in lower case, so that IDs the {@link ProjectRepository}
+     * resolves to the same project share one set of counters.
+     */
+    private static final Map<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    /**
+     * The available flats of one project.
+     *
+     * @param project        The project the counters were seeded from.
+     * @param twoRoomFlats   The number of available 2-room flats.
+     * @param threeRoomFlats The number of available 3-room flats.
+     */
+    private record Counters(Project project, AtomicInteger twoRoomFlats, AtomicInteger threeRoomFlats) {
+
+        /**
+         * Gets the counter of the specified type of flat.
+         *
+         * @param roomType The type of flat.
+         * @return The counter, or null if the type is not a flat.
+         */
+        AtomicInteger get(RoomType roomType) {
+            return switch (roomType) {
+                case TWO_ROOM_FLAT -> twoRoomFlats;
+                case THREE_ROOM_FLAT -> threeRoomFlats;
+                case NONE -> null;
+            };
+        }
+    }
+
+    /**
+     * Reserves a flat of the specified type, unless none is left.
+     * The reservation is only persisted by {@link #commit(String)}.
+     *
+     * @param projectID The ID of the project.
+     * @param roomType  The type of flat.
+     * @return true if a flat was reserved or the type is {@link RoomType#NONE}, false if no flat of the type is left.
+     * @throws ModelNotFoundException If the project with the specified ID is not found.
+     */
+    public static boolean tryReserve(String projectID, RoomType roomType) throws ModelNotFoundException {
+        AtomicInteger counter = getCounters(projectID).get(roomType);
+        if (counter == null) {
+            return true;
+        }
+        int available;
+        do {
+            available = counter.get();
+            if (available <= 0) {
+                return false;
+            }
+        } while (!counter.compareAndSet(available, available - 1));
+        return true;
+    }
+
+    /**
+     * Gives back a flat of the specified type, for example when an application is rejected or withdrawn.
+     * The release is only persisted by {@link #commit(String)}.
+     *
+     * @param projectID The ID of the project.
+     * @param roomType  The type of flat.
+     * @throws ModelNotFoundException If the project with the specified ID is not found.
+     */
+    public static void release(String projectID, RoomType roomType) throws ModelNotFoundException {
+        AtomicInteger counter = getCounters(projectID).get(roomType);
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes the current counters of a project to the project and updates it in the repository.
+     *
+     * @param projectID The ID of the project.
+     * @throws ModelNotFoundException If the project with the specified ID is not found.
+     */
+    public static void commit(String projectID) throws ModelNotFoundException {
+        Counters counters = getCounters(projectID);
+        // Reading the counters under the lock makes the last commit write the latest counts
+        synchronized (counters) {
+            Project project = counters.project();
+            project.setTwoRoomFlatAvailable(counters.twoRoomFlats().get());
+            project.setThreeRoomFlatAvailable(counters.threeRoomFlats().get());
+            ProjectRepository.getInstance().update(project);
+        }
+    }
+
+    /**
+     * Gets the number of available flats of the specified type, including reservations that have not been committed.
+     *
+     * @param projectID The ID of the project.
+     * @param roomType  The type of flat.
+     * @return The number of available flats, or 0 if the type is {@link RoomType#NONE}.
+     * @throws ModelNotFoundException If the project with the specified ID is not found.
+     */
+    public static int getAvailable(String projectID, RoomType roomType) throws ModelNotFoundException {
+        AtomicInteger counter = getCounters(projectID).get(roomType);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Drops the counters of a project, so that they are seeded again from the project the next time they are used.
+     * Called when the flat counts of the project are set directly.
+     *
+     * @param projectID The ID of the project.
+     */
+    public static void invalidate(String projectID) {
+        COUNTERS.remove(key(projectID));
+    }
+
+    /**
+     * Gets the counters of a project, seeding them from the project in the repository if they do not exist yet
+     * or were seeded from a project that has since been reloaded.
+     *
+     * @param projectID The ID of the project.
+     * @return The counters of the project.
+     * @throws ModelNotFoundException If the project with the specified ID is not found.
+     */
+    private static Counters getCounters(String projectID) throws ModelNotFoundException {
+        Project project = ProjectRepository.getInstance().getByID(projectID);
+        Counters counters = COUNTERS.get(key(projectID));
+        if (counters != null && counters.project() == project) {
+            return counters;
+        }
+        return COUNTERS.compute(key(projectID), (ID, current) -> current != null && current.project() == project
+                ? current
+                : reseed(current, project));
+    }
+
+    /**
+     * Seeds the counters of a project from the project, carrying over the reservations and releases made on the
+     * counters they replace that have not been committed yet, so that reloading the project does not drop them.
+     *
+     * @param current The counters seeded from the project before it was reloaded, or null.
+     * @param project The project to seed the counters from.
+     * @return The new counters.
+     */
+    private static Counters reseed(Counters current, Project project) {
+        if (current == null) {
+            return new Counters(project, seed(project.getTwoRoomFlatAvailable()), seed(project.getThreeRoomFlatAvailable()));
+        }
+        // A commit writes the counters to the project they were seeded from, so any difference has not been committed
+        synchronized (current) {
+            Project seededFrom = current.project();
+            return new Counters(project,
+                    seed(count(project.getTwoRoomFlatAvailable()) - count(seededFrom.getTwoRoomFlatAvailable()) + current.twoRoomFlats().get()),
+                    seed(count(project.getThreeRoomFlatAvailable()) - count(seededFrom.getThreeRoomFlatAvailable()) + current.threeRoomFlats().get()));
+        }
+    }
+
+    /**
+     * Gets a count stored in a project, treating a missing or negative count as 0.
+     *
+     * @param count The count stored in the project.
+     * @return The count.
+     */
+    private static int count(Integer count) {
+        return count == null ? 0 : Math.max(0, count);
+    }
+
+    /**
+     * Gets the key of the counters of a project, matching IDs regardless of case as the {@link ProjectRepository} does.
+     *
+     * @param projectID The ID of the project.
+     * @return The key of the counters.
+     */
+    private static String key(String projectID) {
+        return projectID.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Creates a counter holding the specified count, or 0 if the count is missing or negative.
+     *
+     * @param count The count stored in the project.
+     * @return The counter.
+     */
+    private static AtomicInteger seed(Integer count) {
+        return new AtomicInteger(count(count));
+    }
+}
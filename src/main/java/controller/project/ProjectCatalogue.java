@@ -0,0 +1,102 @@
+package controller.project;
+
+import model.project.Project;
+import model.project.RoomType;
+import model.user.Applicant;
+import repository.Page;
+import repository.Repository;
+import repository.project.ProjectRepository;
+import repository.project.ProjectSortOrder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lists projects sorted in a {@link ProjectSortOrder}, one page at a time.
+ * Each page ends with a {@link Page.Cursor} the next page starts after, so a page of the whole catalogue is read
+ * straight from the sorted indexes of the {@link ProjectRepository} without sorting or even looking at the other projects.
+ */
+public class ProjectCatalogue {
+
+    /**
+     * The number of projects on a page unless another size is asked for.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 10;
+
+    /**
+     * Gets a page of all the projects that have a flat of the specified type left.
+     *
+     * @param sortOrder the order to list the projects in
+     * @param roomType  the type of flat that has to be left, or {@link RoomType#NONE} for any project
+     * @param after     the cursor the page starts after, or null for the first page
+     * @param size      the largest number of projects on the page
+     * @return the page
+     */
+    public static Page<Project> getPage(ProjectSortOrder sortOrder, RoomType roomType, Page.Cursor after, int size) {
+        return ProjectRepository.getInstance().findPage(sortOrder.getIndexName(), after, sortOrder.isDescending(),
+                hasFlatLeft(roomType), size);
+    }
+
+    /**
+     * Gets a page of the projects in which an applicant can apply for a flat of the specified type.
+     * The applicant's projects come from the eligibility bitsets and are few, so they are sorted on the spot.
+     *
+     * @param applicant the applicant
+     * @param sortOrder the order to list the projects in
+     * @param roomType  the type of flat, or {@link RoomType#NONE} for any type
+     * @param after     the cursor the page starts after, or null for the first page
+     * @param size      the largest number of projects on the page
+     * @return the page
+     */
+    public static Page<Project> getAvailablePage(Applicant applicant, ProjectSortOrder sortOrder, RoomType roomType,
+                                                 Page.Cursor after, int size) {
+        return getPage(ProjectManager.getAvailableProject(applicant, roomType), sortOrder, after, size);
+    }
+
+    /**
+     * Gets a page of a list of projects, sorted in the same order as the sorted index of the sort order.
+     *
+     * @param projects  the projects to list
+     * @param sortOrder the order to list the projects in
+     * @param after     the cursor the page starts after, or null for the first page
+     * @param size      the largest number of projects on the page
+     * @return the page
+     */
+    static Page<Project> getPage(List<Project> projects, ProjectSortOrder sortOrder, Page.Cursor after, int size) {
+        Comparator<Page.Cursor> order = sortOrder.isDescending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        TreeMap<Page.Cursor, Project> sorted = new TreeMap<>(order);
+        for (Project project : projects) {
+            Page.Cursor position = sortOrder.cursorOf(project);
+            if (position != null) {
+                sorted.put(position, project);
+            }
+        }
+        List<Project> items = new ArrayList<>(size);
+        Page.Cursor last = null;
+        for (Map.Entry<Page.Cursor, Project> entry : (after == null ? sorted : sorted.tailMap(after, false)).entrySet()) {
+            if (items.size() == size) {
+                return new Page<>(items, last);
+            }
+            items.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page<>(items, null);
+    }
+
+    /**
+     * Gets the rule of the projects that have a flat of the specified type left.
+     *
+     * @param roomType the type of flat, or {@link RoomType#NONE} for any project
+     * @return the rule, or null if every project matches
+     */
+    private static Repository.RepositoryRule<Project> hasFlatLeft(RoomType roomType) {
+        return switch (roomType) {
+            case TWO_ROOM_FLAT -> project -> project.getTwoRoomFlatAvailable() != null && project.getTwoRoomFlatAvailable() > 0;
+            case THREE_ROOM_FLAT -> project -> project.getThreeRoomFlatAvailable() != null && project.getThreeRoomFlatAvailable() > 0;
+            case NONE -> null;
+        };
+    }
+}
@@ -1,21 +1,23 @@
 package controller.project;
 
+import controller.importer.BulkImporter;
 import controller.request.ApplicantManager;
 import controller.request.ManagerManager;
 import controller.request.OfficerManager;
 import model.project.Project;
 import model.project.RoomType;
 import model.user.Applicant;
-import model.user.MaritalStatus;
 import repository.project.ProjectRepository;
 import utils.config.Location;
 import utils.exception.ModelAlreadyExistsException;
 import utils.exception.ModelNotFoundException;
-import utils.iocontrol.CSVReader;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Manages BTO projects, including creation, retrieval, updates, and deletion.
@@ -48,11 +50,8 @@ public class ProjectManager {
                                        String managerNRIC, List<String> officerIDs, Boolean visibility) throws ModelAlreadyExistsException {
 
         // Check for overlapping projects by the same manager
-        List<Project> overlap = ProjectRepository.getInstance().findByRules(p ->
-                p.getManagerNRIC().equals(managerNRIC) &&
-                        !p.getApplicationClosingDate().isBefore(applicationOpeningDate) &&
-                        !p.getApplicationOpeningDate().isAfter(applicationClosingDate)
-        );
+        List<Project> overlap = ProjectRepository.getInstance().findByInterval(ProjectRepository.APPLICATION_WINDOW_INDEX,
+                managerNRIC, applicationOpeningDate, applicationClosingDate);
 
         if (!overlap.isEmpty()) {
             throw new ModelAlreadyExistsException("Manager has overlapping projects.");
@@ -95,11 +94,8 @@ public class ProjectManager {
         //check if the Manager has overlapping projects
         //check if the Manager has overlapping projects where the application closing date of any projct is after the application opening date of the new project
         // Check for overlapping projects by the same manager
-        List<Project> overlap = ProjectRepository.getInstance().findByRules(p ->
-                p.getManagerNRIC().equals(managerNRIC) &&
-                        !p.getApplicationClosingDate().isBefore(applicationOpeningDate) &&
-                        !p.getApplicationOpeningDate().isAfter(applicationClosingDate)
-        );
+        List<Project> overlap = ProjectRepository.getInstance().findByInterval(ProjectRepository.APPLICATION_WINDOW_INDEX,
+                managerNRIC, applicationOpeningDate, applicationClosingDate);
 
         if (!overlap.isEmpty()) {
             throw new ModelAlreadyExistsException("Manager has overlapping projects.");
@@ -176,6 +172,7 @@ public class ProjectManager {
 
         // persist update
         repo.update(project);
+        FlatInventory.invalidate(projectID);
     }
 
     /**
@@ -189,26 +186,24 @@ public class ProjectManager {
     public static List<Project> viewApplicantEligibleProjects(String applicantNRIC) {
         //get applicant details
 
-        return ProjectRepository.getInstance().findByRules(p -> p.getVisibility() == Boolean.TRUE && p.getApplicationOpeningDate().isBefore(LocalDate.now()) && p.getApplicationClosingDate().isAfter(LocalDate.now()));
+        return ProjectRepository.getInstance().findOpenByFlags(LocalDate.now(), List.of(ProjectRepository.VISIBLE_FLAG));
     }
 
     /**
      * Decrements the count of available flats of a specific type for a given project.
-     * Used when a flat is allocated or booked.
+     * Used when a flat is allocated or booked. The count never goes below zero.
      *
      * @param projectID The ID of the project.
      * @param flatType  The type of flat ({@link RoomType#TWO_ROOM_FLAT} or {@link RoomType#THREE_ROOM_FLAT}).
+     * @return true if a flat was taken, false if no flat of the type is left.
      * @throws ModelNotFoundException If the project with the specified ID is not found.
      */
-    public static void removeFlat(String projectID, RoomType flatType) throws ModelNotFoundException {
-        Project project = ProjectRepository.getInstance().getByID(projectID);
-        if (flatType == RoomType.TWO_ROOM_FLAT) {
-            project.setTwoRoomFlatAvailable(project.getTwoRoomFlatAvailable() - 1);
-        } else if (flatType == RoomType.THREE_ROOM_FLAT) {
-            project.setThreeRoomFlatAvailable(project.getThreeRoomFlatAvailable() - 1);
+    public static boolean removeFlat(String projectID, RoomType flatType) throws ModelNotFoundException {
+        if (!FlatInventory.tryReserve(projectID, flatType)) {
+            return false;
         }
-        ProjectRepository.getInstance().update(project);
-
+        FlatInventory.commit(projectID);
+        return true;
     }
 
     /**
@@ -220,13 +215,8 @@ public class ProjectManager {
      * @throws ModelNotFoundException If the project with the specified ID is not found.
      */
     public static void addFlat(String projectID, RoomType flatType) throws ModelNotFoundException {
-        Project project = ProjectRepository.getInstance().getByID(projectID);
-        if (flatType == RoomType.TWO_ROOM_FLAT) {
-            project.setTwoRoomFlatAvailable(project.getTwoRoomFlatAvailable() + 1);
-        } else if (flatType == RoomType.THREE_ROOM_FLAT) {
-            project.setThreeRoomFlatAvailable(project.getThreeRoomFlatAvailable() + 1);
-        }
-        ProjectRepository.getInstance().update(project);
+        FlatInventory.release(projectID, flatType);
+        FlatInventory.commit(projectID);
     }
 
     /**
@@ -276,26 +266,33 @@ public class ProjectManager {
      * @throws ModelNotFoundException If the applicant with the specified NRIC is not found.
      */
     public static List<Project> getAvailableProject(String applicantNRIC) throws ModelNotFoundException {
-        //get all projects
-        List<Project> allProjects = ProjectRepository.getInstance().getList();
-        Applicant applicant = ApplicantManager.getByNRIC(applicantNRIC);
-        //if applicant is SINGLE and Under 35, return empty list
-        if (applicant.getMaritalStatus() == MaritalStatus.SINGLE && applicant.getAge() < 35) {
-            return new ArrayList<Project>();
+        return getAvailableProject(ApplicantManager.getByNRIC(applicantNRIC), RoomType.NONE);
+    }
+
+    /**
+     * Retrieves a list of projects in which an applicant can apply for a specific type of flat.
+     * The projects open to the applicant's {@link ApplicantCategory} come from ANDing the bitsets of the
+     * {@link ProjectRepository#ELIGIBILITY_INDEX}; the projects the applicant manages or is an officer of are then
+     * looked up through the {@link ProjectRepository#MANAGER_INDEX} and {@link ProjectRepository#OFFICER_INDEX}
+     * and taken out, which an applicant who is neither skips entirely.
+     *
+     * @param applicant The applicant.
+     * @param roomType  The type of flat, or {@link RoomType#NONE} for any type.
+     * @return A list of {@link Project} objects the applicant is eligible to apply for.
+     */
+    public static List<Project> getAvailableProject(Applicant applicant, RoomType roomType) {
+        ApplicantCategory category = ApplicantCategory.of(applicant);
+        //if applicant cannot apply for the room type, such as when SINGLE and Under 35, return empty list
+        if (!category.canApplyFor(roomType)) {
+            return new ArrayList<>();
         }
-        //filter projects that are available
-        List<Project> availableProjects = allProjects.stream()
-                .filter(project -> project.getVisibility() == Boolean.TRUE && project.getApplicationOpeningDate().isBefore(LocalDate.now()) && project.getApplicationClosingDate().isAfter(LocalDate.now()))
-                .toList();
-        //check if the applicantNRIC is equal to the project managerNRIC or in the officerID list, return empty list if yes
-        availableProjects = availableProjects.stream()
-                .filter(project -> !project.getManagerNRIC().equals(applicantNRIC) && !project.getOfficerIDs().contains(applicantNRIC))
-                .toList();
-        //if project has no 2 room flat available, remove from list if applicant not married
-        if (applicant.getMaritalStatus() == MaritalStatus.SINGLE) {
-            availableProjects = availableProjects.stream()
-                    .filter(project -> project.getTwoRoomFlatAvailable() > 0)
-                    .toList();
+        List<Project> availableProjects = ProjectRepository.getInstance().findOpenByFlags(LocalDate.now(), category.getFlags(roomType));
+        //remove the projects the applicant is the manager or an officer of
+        Set<Project> excluded = Collections.newSetFromMap(new IdentityHashMap<>());
+        excluded.addAll(ProjectRepository.getInstance().findByIndex(ProjectRepository.MANAGER_INDEX, applicant.getNRIC()));
+        excluded.addAll(ProjectRepository.getInstance().findByIndex(ProjectRepository.OFFICER_INDEX, applicant.getNRIC()));
+        if (!excluded.isEmpty()) {
+            availableProjects.removeIf(excluded::contains);
         }
         return availableProjects;
     }
@@ -311,76 +308,13 @@ public class ProjectManager {
 
     /**
      * Loads initial project data from a CSV file (ProjectList.csv).
-     * Parses project details, dates, manager, and officers, then creates project objects.
-     * Handles potential parsing errors.
+     * The projects are imported in bulk by the {@link BulkImporter}, which resolves the manager and officer names
+     * and writes the project file once; rows that cannot be imported are reported.
      */
     public static void loadProjects() {
-        List<List<String>> projects = CSVReader.read(Location.RESOURCE_LOCATION + "/ProjectList.csv", true);
-        for (List<String> project : projects) {
-            try {
-                // Extract project information from CSV columns
-                String projectName = project.get(0);
-                String projectID = "P0";
-                String neighbourhood = project.get(1);
-                // Parse room information
-                int twoRoomUnits = Integer.parseInt(project.get(3));
-                double twoRoomPrice = Double.parseDouble(project.get(4));
-                int threeRoomUnits = Integer.parseInt(project.get(6));
-                double threeRoomPrice = Double.parseDouble(project.get(7));
-
-                // Parse dates using DD/MM/YYYY format
-                String[] openDateParts = project.get(8).split("/");
-                LocalDate openingDate = LocalDate.of(
-                        Integer.parseInt(openDateParts[2]),
-                        Integer.parseInt(openDateParts[1]),
-                        Integer.parseInt(openDateParts[0])
-                );
-
-                String[] closeDateParts = project.get(9).split("/");
-                LocalDate closingDate = LocalDate.of(
-                        Integer.parseInt(closeDateParts[2]),
-                        Integer.parseInt(closeDateParts[1]),
-                        Integer.parseInt(closeDateParts[0])
-                );
-
-                // Get manager NRIC
-                String managerName = project.get(10);
-                String managerNRIC = ManagerManager.getIDByManagerName(managerName);
-
-                // Parse officers
-                List<String> officerIDs = new ArrayList<>();
-                if (!project.get(12).isEmpty()) {
-                    String[] officerNames = project.get(12).split(",");
-                    for (String officerName : officerNames) {
-                        String officerNRIC = OfficerManager.getIDByOfficerName(officerName.trim());
-                        if (officerNRIC != null) {
-                            officerIDs.add(officerNRIC);
-                        }
-                    }
-                }
-
-                // Create the project with default visibility set to true
-                createProject(
-                        projectID,
-                        projectName,
-                        neighbourhood,
-                        openingDate,
-                        closingDate,
-                        twoRoomUnits,
-                        threeRoomUnits,
-                        twoRoomPrice,
-                        threeRoomPrice,
-                        managerNRIC,
-                        officerIDs,
-                        true
-                );
-
-                //System.out.println("Project " + projectName + " loaded successfully");
-
-            } catch (Exception e) {
-                System.out.println("Error loading project: " + e.getMessage());
-                e.printStackTrace();
-            }
+        BulkImporter.Report report = BulkImporter.importAll(null, null, null, Location.RESOURCE_LOCATION + "/ProjectList.csv");
+        for (String rejectedRow : report.rejected()) {
+            System.out.println("Error loading project: " + rejectedRow);
         }
     }
 
@@ -394,7 +328,7 @@ public class ProjectManager {
         return ProjectRepository.getInstance().getList();
     }
     public static List<Project> getAllProjectsByManager(String managerNRIC) {
-        return ProjectRepository.getInstance().findByRules(p -> p.getManagerNRIC().equals(managerNRIC));
+        return ProjectRepository.getInstance().findByIndex(ProjectRepository.MANAGER_INDEX, managerNRIC);
     }
     /**
      * Deletes a project from the repository.
@@ -408,5 +342,6 @@ public class ProjectManager {
             throw new ModelNotFoundException("Project with ID " + projectID + " not found");
         }
         ProjectRepository.getInstance().remove(projectID);
+        FlatInventory.invalidate(projectID);
     }
 }
@@ -1,5 +1,6 @@
 package controller.request;
 
+import controller.project.FlatInventory;
 import controller.project.ProjectManager;
 import model.project.Project;
 import model.project.RoomType;
@@ -10,51 +11,51 @@ import repository.request.RequestRepository;
 import repository.user.ApplicantRepository;
 import utils.exception.ModelAlreadyExistsException;
 import utils.exception.ModelNotFoundException;
+import utils.iocontrol.UnitOfWork;
 
-import java.util.ArrayList;
 import java.util.List;
 
 // TODO: Add method for registration of new users and updating of user password
 public class ApplicantManager {
 
     public static String createProjectApplicationRequest(String applicantNRIC, String projectID, RoomType roomType) throws ModelNotFoundException, ModelAlreadyExistsException {
-        // Check if the applicant is also a Manager or Officer included in the Project
-        Project project = ProjectManager.getByID(projectID);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            // Check if the applicant is also a Manager or Officer included in the Project
+            Project project = ProjectManager.getByID(projectID);
 
-        if (project.getOfficerIDs().contains(applicantNRIC) || applicantNRIC.equals(project.getManagerNRIC())) {
-            System.out.println("Applicant is a manager or officer in the project. Cannot apply for the project.");
-            return null;
-        }
+            if (project.getOfficerIDs().contains(applicantNRIC) || applicantNRIC.equals(project.getManagerNRIC())) {
+                System.out.println("Applicant is a manager or officer in the project. Cannot apply for the project.");
+                return null;
+            }
 
-        String requestID = RequestManager.getNewRequestID();
-        ProjectApplicationRequest request = new ProjectApplicationRequest(requestID, projectID,applicantNRIC, roomType);
-        RequestRepository.getInstance().getAll().add(request);
+            // Reserve the room for the applicant by decreasing the available room count
+            if (!FlatInventory.tryReserve(projectID, roomType)) {
+                System.out.println("No flats of this type are left in the project. Cannot apply for the project.");
+                return null;
+            }
+            FlatInventory.commit(projectID);
+
+            String requestID = RequestManager.getNewRequestID();
+            ProjectApplicationRequest request = new ProjectApplicationRequest(requestID, projectID,applicantNRIC, roomType);
 
-        // Update the applicant's status to PENDING
-        updateApplicantStatus(applicantNRIC, ApplicantStatus.PENDING);
+            // Update the applicant's status to PENDING
+            updateApplicantStatus(applicantNRIC, ApplicantStatus.PENDING);
 
-        // Reserve the room for the applicant by decreasing the available room count
-        ProjectManager.removeFlat(projectID, roomType);
-        RequestRepository.getInstance().add(request);
+            RequestRepository.getInstance().add(request);
 
-        return requestID;
+            unitOfWork.commit();
+            return requestID;
+        }
     }
     public static List<Applicant> getBookedApplicants(){
-        List<Applicant> applicants = ApplicantRepository.getInstance().getAll();
-        List<Applicant> bookedApplicants = new ArrayList<>();
-        for (Applicant applicant : applicants) {
-            if (applicant.getApplicantStatus() == ApplicantStatus.BOOKED) {
-                bookedApplicants.add(applicant);
-            }
-        }
-        return bookedApplicants;
+        return ApplicantRepository.getInstance().findByIndex(ApplicantRepository.APPLICANT_STATUS_INDEX, ApplicantStatus.BOOKED);
 
     }
     public static String createBookingRequest(String applicantNRIC, RoomType roomType) throws ModelNotFoundException, ModelAlreadyExistsException {
         String requestID = RequestManager.getNewRequestID();
 
         // Find the successful application request
-        List<Request> requests = RequestRepository.getInstance().getAll();
+        List<Request> requests = RequestRepository.getInstance().findByIndex(RequestRepository.APPLICANT_INDEX, applicantNRIC);
         for (Request request : requests) {
             if (request instanceof ProjectApplicationRequest) {
                 ProjectApplicationRequest applicationRequest = (ProjectApplicationRequest) request;
@@ -77,13 +78,15 @@ public class ApplicantManager {
     }
 
     public static String createWithdrawalRequest(String projectID, String applicantID, RoomType roomType, String reason) throws ModelNotFoundException, ModelAlreadyExistsException {
-        String requestID = RequestManager.getNewRequestID();
-        ProjectWithdrawalRequest withdrawalRequest = new ProjectWithdrawalRequest(requestID, projectID, applicantID, roomType, reason);
-
-        RequestRepository.getInstance().add(withdrawalRequest);
-        updateApplicantStatus(applicantID, ApplicantStatus.PENDING);
-        return requestID;
-
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            String requestID = RequestManager.getNewRequestID();
+            ProjectWithdrawalRequest withdrawalRequest = new ProjectWithdrawalRequest(requestID, projectID, applicantID, roomType, reason);
+
+            RequestRepository.getInstance().add(withdrawalRequest);
+            updateApplicantStatus(applicantID, ApplicantStatus.PENDING);
+            unitOfWork.commit();
+            return requestID;
+        }
     }
 
     /**
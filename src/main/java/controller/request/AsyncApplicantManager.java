@@ -0,0 +1,72 @@
+package controller.request;
+
+import model.project.RoomType;
+import model.user.Applicant;
+import model.user.ApplicantStatus;
+import repository.RepositoryExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variants of the operations of the {@link ApplicantManager}.
+ * Each operation runs on the {@link RepositoryExecutor} and completes its future with the result,
+ * or exceptionally with the exception the blocking operation would have thrown.
+ */
+public class AsyncApplicantManager {
+
+    /**
+     * Applies for a flat in a project.
+     *
+     * @param applicantNRIC the NRIC of the applicant
+     * @param projectID     the ID of the project
+     * @param roomType      the type of flat
+     * @return a future of the ID of the application, or of null if the application was not accepted
+     */
+    public static CompletableFuture<String> createProjectApplicationRequest(String applicantNRIC, String projectID, RoomType roomType) {
+        return RepositoryExecutor.write(() -> ApplicantManager.createProjectApplicationRequest(applicantNRIC, projectID, roomType));
+    }
+
+    /**
+     * Asks to book the flat of an approved application.
+     *
+     * @param applicantNRIC the NRIC of the applicant
+     * @param roomType      the type of flat
+     * @return a future of the ID of the booking request, or of null if the applicant has no approved application
+     */
+    public static CompletableFuture<String> createBookingRequest(String applicantNRIC, RoomType roomType) {
+        return RepositoryExecutor.write(() -> ApplicantManager.createBookingRequest(applicantNRIC, roomType));
+    }
+
+    /**
+     * Asks to withdraw from a project.
+     *
+     * @param projectID   the ID of the project
+     * @param applicantID the NRIC of the applicant
+     * @param roomType    the type of flat
+     * @param reason      the reason for the withdrawal
+     * @return a future of the ID of the withdrawal request
+     */
+    public static CompletableFuture<String> createWithdrawalRequest(String projectID, String applicantID, RoomType roomType, String reason) {
+        return RepositoryExecutor.write(() -> ApplicantManager.createWithdrawalRequest(projectID, applicantID, roomType, reason));
+    }
+
+    /**
+     * Gets an applicant by their NRIC.
+     *
+     * @param applicantNRIC the NRIC of the applicant
+     * @return a future of the applicant
+     */
+    public static CompletableFuture<Applicant> getByNRIC(String applicantNRIC) {
+        return RepositoryExecutor.read(() -> ApplicantManager.getByNRIC(applicantNRIC));
+    }
+
+    /**
+     * Gets the application status of an applicant.
+     *
+     * @param applicantNRIC the NRIC of the applicant
+     * @return a future of the status
+     */
+    public static CompletableFuture<ApplicantStatus> getApplicantStatus(String applicantNRIC) {
+        return RepositoryExecutor.read(() -> ApplicantManager.getApplicantStatus(applicantNRIC));
+    }
+}
@@ -0,0 +1,149 @@
+package controller.request;
+
+import controller.project.ProjectManager;
+import model.project.Project;
+import model.request.ProjectBookingRequest;
+import model.request.Request;
+import model.user.Applicant;
+import repository.RepositoryExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variants of the operations of the {@link RequestManager}.
+ * Each operation runs on the {@link RepositoryExecutor} and completes its future with the result,
+ * or exceptionally with the exception the blocking operation would have thrown.
+ */
+public class AsyncRequestManager {
+
+    /**
+     * Gets a request by ID.
+     *
+     * @param requestID the request ID
+     * @return a future of the request
+     */
+    public static CompletableFuture<Request> getRequest(String requestID) {
+        return RepositoryExecutor.read(() -> RequestManager.getRequest(requestID));
+    }
+
+    /**
+     * Approves a project application.
+     *
+     * @param requestID the ID of the application
+     * @return a future completed once the approval has been saved
+     */
+    public static CompletableFuture<Boolean> approveProjectApplication(String requestID) {
+        return RepositoryExecutor.write(() -> RequestManager.approveProjectApplication(requestID));
+    }
+
+    /**
+     * Rejects a project application.
+     *
+     * @param requestID the ID of the application
+     * @return a future completed once the rejection has been saved
+     */
+    public static CompletableFuture<Boolean> rejectProjectApplication(String requestID) {
+        return RepositoryExecutor.write(() -> RequestManager.rejectProjectApplication(requestID));
+    }
+
+    /**
+     * Approves a booking request. Once the booking has been saved, the applicant and the project needed for
+     * the receipt are looked up at the same time.
+     *
+     * @param requestID the ID of the booking request
+     * @return a future of the booking receipt
+     */
+    public static CompletableFuture<String> approveBookingRequest(String requestID) {
+        return RepositoryExecutor.write(() -> RequestManager.confirmBooking(requestID))
+                .thenCompose(AsyncRequestManager::formatBookingReceipt);
+    }
+
+    /**
+     * Rejects a booking request.
+     *
+     * @param requestID the ID of the booking request
+     * @return a future completed once the rejection has been saved
+     */
+    public static CompletableFuture<Void> rejectBookingRequest(String requestID) {
+        return RepositoryExecutor.write(() -> {
+            RequestManager.rejectBookingRequest(requestID);
+            return null;
+        });
+    }
+
+    /**
+     * Approves an officer's application to handle a project.
+     *
+     * @param requestID the ID of the application
+     * @return a future completed once the approval has been saved
+     */
+    public static CompletableFuture<Void> approveOfficerApplicationRequest(String requestID) {
+        return RepositoryExecutor.write(() -> {
+            RequestManager.approveOfficerApplicationRequest(requestID);
+            return null;
+        });
+    }
+
+    /**
+     * Rejects an officer's application to handle a project.
+     *
+     * @param requestID the ID of the application
+     * @return a future completed once the rejection has been saved
+     */
+    public static CompletableFuture<Void> rejectOfficerApplicationRequest(String requestID) {
+        return RepositoryExecutor.write(() -> {
+            RequestManager.rejectOfficerApplicationRequest(requestID);
+            return null;
+        });
+    }
+
+    /**
+     * Approves a withdrawal request.
+     *
+     * @param requestID the ID of the withdrawal request
+     * @return a future completed once the approval has been saved
+     */
+    public static CompletableFuture<Boolean> approveWithdrawalRequest(String requestID) {
+        return RepositoryExecutor.write(() -> RequestManager.approveWithdrawalRequest(requestID));
+    }
+
+    /**
+     * Rejects a withdrawal request.
+     *
+     * @param requestID the ID of the withdrawal request
+     * @return a future completed once the rejection has been saved
+     */
+    public static CompletableFuture<Boolean> rejectWithdrawalRequest(String requestID) {
+        return RepositoryExecutor.write(() -> RequestManager.rejectWithdrawalRequest(requestID));
+    }
+
+    /**
+     * Gets the pending project applications for the projects of a manager.
+     *
+     * @param managerID the NRIC of the manager
+     * @return a future of the pending applications
+     */
+    public static CompletableFuture<List<Request>> getAllPendingApplicationRequestsByManager(String managerID) {
+        return RepositoryExecutor.read(() -> RequestManager.getAllPendingApplicationRequestsByManager(managerID));
+    }
+
+    /**
+     * Gets the pending booking requests for the projects of an officer.
+     *
+     * @param officerID the NRIC of the officer
+     * @return a future of the pending booking requests
+     */
+    public static CompletableFuture<List<ProjectBookingRequest>> getOfficerPendingBookingRequests(String officerID) {
+        return RepositoryExecutor.read(() -> RequestManager.getOfficerPendingBookingRequests(officerID));
+    }
+
+    /**
+     * Looks up the applicant and the project of a booking at the same time and formats its receipt.
+     */
+    private static CompletableFuture<String> formatBookingReceipt(ProjectBookingRequest booking) {
+        CompletableFuture<Applicant> applicant = RepositoryExecutor.read(() -> ApplicantManager.getByNRIC(booking.getApplicantID()));
+        CompletableFuture<Project> project = RepositoryExecutor.read(() -> ProjectManager.getByID(booking.getProjectID()));
+        return applicant.thenCombine(project, (a, p) -> RequestManager.formatBookingReceipt(a, p, booking.getRoomType()));
+    }
+}
@@ -0,0 +1,74 @@
+package controller.request;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The outcome of approving or rejecting a batch of requests, with one item per request ID in the order given.
+ *
+ * @param items the outcome of each request
+ */
+public record BatchResult(List<Item> items) {
+
+    /**
+     * The outcome of one request of the batch.
+     *
+     * @param requestID the ID of the request
+     * @param succeeded whether the request was approved or rejected as asked
+     * @param reason    why the request was left as it was, or null if it succeeded
+     */
+    public record Item(String requestID, boolean succeeded, String reason) {
+    }
+
+    /**
+     * Builds the result of a batch from the requests that failed.
+     * A request ID listed more than once only counts once; its repeats fail.
+     *
+     * @param requestIDs the IDs of the requests of the batch, in the order given
+     * @param failures   the reasons the failed requests were left as they were, keyed by request ID
+     * @return the result of the batch
+     */
+    static BatchResult of(Collection<String> requestIDs, Map<String, String> failures) {
+        List<Item> items = new ArrayList<>(requestIDs.size());
+        Set<String> seen = new HashSet<>();
+        for (String requestID : requestIDs) {
+            String reason = seen.add(requestID) ? failures.get(requestID) : "Listed more than once";
+            items.add(new Item(requestID, reason == null, reason));
+        }
+        return new BatchResult(items);
+    }
+
+    /**
+     * Gets the number of requests that were approved or rejected as asked.
+     *
+     * @return the number of requests that succeeded
+     */
+    public int getSucceededCount() {
+        int count = 0;
+        for (Item item : items) {
+            if (item.succeeded()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the requests that were left as they were.
+     *
+     * @return the outcomes of the requests that failed
+     */
+    public List<Item> getFailures() {
+        List<Item> failures = new ArrayList<>();
+        for (Item item : items) {
+            if (!item.succeeded()) {
+                failures.add(item);
+            }
+        }
+        return failures;
+    }
+}
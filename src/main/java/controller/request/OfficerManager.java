@@ -37,23 +37,19 @@ public class OfficerManager {
     }
     //get projects that the officer is in charge of
     public static List<String> getProjectsByOfficerID(String officerID) {
-        List<Project> projects = ProjectRepository.getInstance().getAll();
+        List<Project> projects = ProjectRepository.getInstance().findByIndex(ProjectRepository.OFFICER_INDEX, officerID);
         //create empty list of projects
         List<String> projectIDs = new java.util.ArrayList<>();
         for (Project project : projects) {
-            if (project.getOfficerIDs().contains(officerID)) {
-                projectIDs.add(project.getID());
-            }
+            projectIDs.add(project.getID());
         }
         return projectIDs;
     }
     public static List<OfficerApplicationRequest> getOfficerApplicationsByOfficerID(String officerID) {
-        List<Request> requests = RequestRepository.getInstance().getAll();
-        //we loop through the requests and get the ones that are officer applications that contain the officerID
+        List<Request> requests = RequestRepository.getInstance().findByIndex(RequestRepository.OFFICER_INDEX, officerID);
+        //only officer applications are indexed by officer ID
         return requests.stream()
-                .filter(request -> request instanceof OfficerApplicationRequest)
                 .map(request -> (OfficerApplicationRequest) request)
-                .filter(request -> request.getOfficerID().equals(officerID))
                 .toList();
     }
 }
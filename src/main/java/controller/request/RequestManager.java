@@ -1,5 +1,6 @@
 package controller.request;
 
+import controller.project.FlatInventory;
 import controller.project.ProjectManager;
 import model.project.Project;
 import model.project.RoomType;
@@ -8,13 +9,21 @@ import model.user.Applicant;
 import model.user.ApplicantStatus;
 import repository.project.ProjectRepository;
 import repository.request.RequestRepository;
+import repository.user.ApplicantRepository;
 import utils.exception.ModelAlreadyExistsException;
 import utils.exception.ModelNotFoundException;
+import utils.iocontrol.UnitOfWork;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-
-import static controller.project.ProjectManager.removeFlat;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 public class RequestManager {
     /**
@@ -28,15 +37,13 @@ public class RequestManager {
         return RequestRepository.getInstance().getByID(requestID);
     }
 
+    /**
+     * Generates a new unique request ID.
+     *
+     * @return the new request ID
+     */
     public static String getNewRequestID() {
-        int max = 0;
-        for (Request p : RequestRepository.getInstance()) {
-            int id = Integer.parseInt(p.getID().substring(1));
-            if (id > max) {
-                max = id;
-            }
-        }
-        return "R" + (max + 1);
+        return RequestRepository.getInstance().getNewRequestID();
     }
 
     //only changes status nothing else
@@ -60,75 +67,134 @@ public class RequestManager {
         }
     }
 
+    /**
+     * Approves a project application. The flat was already taken from the project by
+     * {@link FlatInventory#tryReserve} when the applicant applied, and is held for as long as the application
+     * is pending, so no further flat is taken here.
+     *
+     * @param requestID the ID of the application
+     * @return true if the application was approved, false if it is no longer pending and so holds no flat
+     * @throws ModelNotFoundException if the request or its applicant is not found
+     */
     public static boolean approveProjectApplication(String requestID) throws ModelNotFoundException {
-        //we would change the status of the project to approved
-        //which can be done by approveRequestForStatus
-        // we would change Status of the Applicant to Registered
-        // Deduct the house from the Project by calling removeFlat from ProjectManager
-        //get the projectID from the request
-        //get the applicantID from the request
-        Request request = RequestRepository.getInstance().getByID(requestID);
-        //cast to ProjectApplicationRequest
-        //get the projectID and applicantID from the request
-        ProjectApplicationRequest projectApplicationRequest = (ProjectApplicationRequest) request;
-        String projectID = projectApplicationRequest.getProjectID();
-        String applicantID = projectApplicationRequest.getApplicantID();
-        RoomType roomType = projectApplicationRequest.getRoomType();
-        //get the project from the projectID
-        //get the applicant from the applicantID
-        //change the status of the applicant to registered
-        removeFlat(projectID, roomType);
-        //change the status of the applicant to registered
-        ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.SUCCESSFUL);
-        //change the status of the request to approved
-        approveRequestForStatus(requestID);
-        return true;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            //we would change the status of the project to approved
+            //which can be done by approveRequestForStatus
+            // we would change Status of the Applicant to Registered
+            //get the applicantID from the request
+            Request request = RequestRepository.getInstance().getByID(requestID);
+            //cast to ProjectApplicationRequest
+            ProjectApplicationRequest projectApplicationRequest = (ProjectApplicationRequest) request;
+            String applicantID = projectApplicationRequest.getApplicantID();
+            // A rejected or withdrawn application has given its flat back, so there is no flat to approve it with
+            if (projectApplicationRequest.getStatus() != RequestStatus.PENDING) {
+                return false;
+            }
+            //change the status of the applicant to registered
+            ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.SUCCESSFUL);
+            //change the status of the request to approved
+            approveRequestForStatus(requestID);
+            unitOfWork.commit();
+            return true;
+        }
     }
 
+    /**
+     * Rejects a project application and gives the flat it reserved when the applicant applied back to the project.
+     *
+     * @param requestID the ID of the application
+     * @return true if the application was rejected, false if it is no longer pending and so holds no flat
+     * @throws ModelNotFoundException if the request, its project or its applicant is not found
+     */
     public static Boolean rejectProjectApplication(String requestID) throws ModelNotFoundException {
-        //Since we are rejecting the request and we will deduct the house from the project we have to add it back
-        //get the projectID from the request
-        //get the applicantID from the request
-        Request request = RequestRepository.getInstance().getByID(requestID);
-        //cast to ProjectApplicationRequest
-        //get the projectID and applicantID from the request
-        ProjectApplicationRequest projectApplicationRequest = (ProjectApplicationRequest) request;
-        String projectID = projectApplicationRequest.getProjectID();
-        String applicantID = projectApplicationRequest.getApplicantID();
-        RoomType roomType = projectApplicationRequest.getRoomType();
-        //get the project from the projectID
-        //get the applicant from the applicantID
-        //change the status of the applicant to registered
-        ProjectManager.addFlat(projectID, roomType);
-        //change the status of the applicant to registered
-        ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.REJECTED);
-        //change the status of the request to rejected
-        rejectRequestForStatus(requestID);
-        return true;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            //Since we are rejecting the request and we will deduct the house from the project we have to add it back
+            //get the projectID from the request
+            //get the applicantID from the request
+            Request request = RequestRepository.getInstance().getByID(requestID);
+            //cast to ProjectApplicationRequest
+            //get the projectID and applicantID from the request
+            ProjectApplicationRequest projectApplicationRequest = (ProjectApplicationRequest) request;
+            // A decided or withdrawn application has already given its flat back or kept it for good
+            if (projectApplicationRequest.getStatus() != RequestStatus.PENDING) {
+                return false;
+            }
+            String projectID = projectApplicationRequest.getProjectID();
+            String applicantID = projectApplicationRequest.getApplicantID();
+            RoomType roomType = projectApplicationRequest.getRoomType();
+            //get the project from the projectID
+            //get the applicant from the applicantID
+            //change the status of the applicant to registered
+            ProjectManager.addFlat(projectID, roomType);
+            //change the status of the applicant to registered
+            ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.REJECTED);
+            //change the status of the request to rejected
+            rejectRequestForStatus(requestID);
+            unitOfWork.commit();
+            return true;
+        }
     }
 
     // Java
     public static void approveBookingRequest(String requestID) throws ModelNotFoundException {
-        Request request = RequestRepository.getInstance().getByID(requestID);
-        // cast to ProjectBookingRequest
-        ProjectBookingRequest projectBookingRequest = (ProjectBookingRequest) request;
-        String projectID = projectBookingRequest.getProjectID();
-        String applicantID = projectBookingRequest.getApplicantID();
-        RoomType roomType = projectBookingRequest.getRoomType();
-        // change the status of the request to approved
-        request.setStatus(RequestStatus.APPROVED);
-        // change the status of the applicant to Booked
-        ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.BOOKED);
-        // update applicant fields for applicantProjectID and applicantRoomType
-        ApplicantManager.updateApplicantProjectID(applicantID, projectID);
-        ApplicantManager.updateApplicantRoomType(applicantID, roomType);
-        // get the applicant from the applicantID
-        Applicant applicant = ApplicantManager.getByNRIC(applicantID);
-        // get the project from the projectID
-        Project project = ProjectManager.getByID(projectID);
-        RequestRepository.getInstance().update(request);
+        // print out the receipt details
+        System.out.println(approveBookingRequestWithReceipt(requestID));
+    }
+
+    /**
+     * Approves a booking request and books the flat for its applicant, returning the receipt instead of printing it.
+     *
+     * @param requestID the ID of the booking request
+     * @return the receipt of the booking
+     * @throws ModelNotFoundException if the request, its applicant or its project is not found
+     */
+    public static String approveBookingRequestWithReceipt(String requestID) throws ModelNotFoundException {
+        ProjectBookingRequest projectBookingRequest = confirmBooking(requestID);
+        // get the applicant and the project of the booking
+        Applicant applicant = ApplicantManager.getByNRIC(projectBookingRequest.getApplicantID());
+        Project project = ProjectManager.getByID(projectBookingRequest.getProjectID());
+        return formatBookingReceipt(applicant, project, projectBookingRequest.getRoomType());
+    }
+
+    /**
+     * Approves a booking request and books the flat for its applicant, without printing the receipt.
+     *
+     * @param requestID the ID of the booking request
+     * @return the approved booking request
+     * @throws ModelNotFoundException if the request or its applicant is not found
+     */
+    static ProjectBookingRequest confirmBooking(String requestID) throws ModelNotFoundException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Request request = RequestRepository.getInstance().getByID(requestID);
+            // cast to ProjectBookingRequest
+            ProjectBookingRequest projectBookingRequest = (ProjectBookingRequest) request;
+            String projectID = projectBookingRequest.getProjectID();
+            String applicantID = projectBookingRequest.getApplicantID();
+            RoomType roomType = projectBookingRequest.getRoomType();
+            // change the status of the request to approved
+            request.setStatus(RequestStatus.APPROVED);
+            // change the status of the applicant to Booked
+            ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.BOOKED);
+            // update applicant fields for applicantProjectID and applicantRoomType
+            ApplicantManager.updateApplicantProjectID(applicantID, projectID);
+            ApplicantManager.updateApplicantRoomType(applicantID, roomType);
+            RequestRepository.getInstance().update(request);
+            unitOfWork.commit();
+            return projectBookingRequest;
+        }
+    }
+
+    /**
+     * Formats the receipt of a booked flat.
+     *
+     * @param applicant the applicant who booked the flat
+     * @param project   the project of the flat
+     * @param roomType  the type of the flat
+     * @return the receipt
+     */
+    public static String formatBookingReceipt(Applicant applicant, Project project, RoomType roomType) {
         // create a receipt string with nicely formatted details
-        String receipt = "\n===== Booking Receipt =====\n" +
+        return "\n===== Booking Receipt =====\n" +
                 "Applicant Details:\n" +
                 "\tName           : " + applicant.getName() + "\n" +
                 "\tNRIC           : " + applicant.getNRIC() + "\n" +
@@ -139,118 +205,130 @@ public class RequestManager {
                 "\tProject ID     : " + project.getID() + "\n" +
                 "\tProject Name   : " + project.getProjectTitle() + "\n" +
                 "=============================\n";
-
-        // print out the receipt details
-        System.out.println(receipt);
     }
 
     public static void rejectBookingRequest(String requestID) throws ModelNotFoundException {
-        Request request = RequestRepository.getInstance().getByID(requestID);
-        //cast to ProjectBookingRequest
-        ProjectBookingRequest projectBookingRequest = (ProjectBookingRequest) request;
-        String projectID = projectBookingRequest.getProjectID();
-        String applicantID = projectBookingRequest.getApplicantID();
-        RoomType roomType = projectBookingRequest.getRoomType();
-        //change the status of the request to rejected
-        rejectRequestForStatus(requestID);
-        //change the status of the applicant to Booked
-        ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.REJECTED);
-        //add back the flat
-        ProjectManager.addFlat(projectID, roomType);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Request request = RequestRepository.getInstance().getByID(requestID);
+            //cast to ProjectBookingRequest
+            ProjectBookingRequest projectBookingRequest = (ProjectBookingRequest) request;
+            String projectID = projectBookingRequest.getProjectID();
+            String applicantID = projectBookingRequest.getApplicantID();
+            RoomType roomType = projectBookingRequest.getRoomType();
+            //change the status of the request to rejected
+            rejectRequestForStatus(requestID);
+            //change the status of the applicant to Booked
+            ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.REJECTED);
+            //add back the flat
+            ProjectManager.addFlat(projectID, roomType);
+            unitOfWork.commit();
+        }
     }
 
     // Java
     public static void approveOfficerApplicationRequest(String requestID) throws ModelNotFoundException {
-        // get the request by its ID
-        Request request = RequestRepository.getInstance().getByID(requestID);
-        if (!(request instanceof OfficerApplicationRequest)) {
-            throw new IllegalArgumentException("Request is not an OfficerApplicationRequest.");
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            // get the request by its ID
+            Request request = RequestRepository.getInstance().getByID(requestID);
+            if (!(request instanceof OfficerApplicationRequest)) {
+                throw new IllegalArgumentException("Request is not an OfficerApplicationRequest.");
+            }
+            // cast to OfficerApplicationRequest
+            OfficerApplicationRequest officerRequest = (OfficerApplicationRequest) request;
+            // retrieve officerID and projectID from the request
+            String officerID = officerRequest.getOfficerID();
+            String projectID = officerRequest.getProjectID();
+            // retrieve the officer using an assumed repository method from OfficerRepository
+            // (this assumes that OfficerRepository.getInstance().getByID(officerID) exists)
+            // update the request status to approved
+            officerRequest.setStatus(RequestStatus.APPROVED);
+            RequestRepository.getInstance().update(officerRequest);
+            // add the officer to the project via ProjectManager
+            ProjectManager.addOfficerToProject(projectID, officerID);
+            unitOfWork.commit();
         }
-        // cast to OfficerApplicationRequest
-        OfficerApplicationRequest officerRequest = (OfficerApplicationRequest) request;
-        // retrieve officerID and projectID from the request
-        String officerID = officerRequest.getOfficerID();
-        String projectID = officerRequest.getProjectID();
-        // retrieve the officer using an assumed repository method from OfficerRepository
-        // (this assumes that OfficerRepository.getInstance().getByID(officerID) exists)
-        // update the request status to approved
-        officerRequest.setStatus(RequestStatus.APPROVED);
-        RequestRepository.getInstance().update(officerRequest);
-        // add the officer to the project via ProjectManager
-        ProjectManager.addOfficerToProject(projectID, officerID);
-
     }
 
     public static Boolean approveWithdrawalRequest(String requestID) throws ModelNotFoundException {
-        // get the request by its ID
-        Request request = RequestRepository.getInstance().getByID(requestID);
-        if (!(request instanceof ProjectWithdrawalRequest)) {
-            throw new IllegalArgumentException("Request is not a ProjectWithdrawalRequest.");
-        }
-        // cast to ProjectWithdrawalRequest
-        ProjectWithdrawalRequest withdrawalRequest = (ProjectWithdrawalRequest) request;
-        // update the request status to approved
-        withdrawalRequest.setStatus(RequestStatus.APPROVED);
-        RequestRepository.getInstance().update(withdrawalRequest);
-        // get the projectID and applicantID from the request
-        String projectID = withdrawalRequest.getProjectID();
-        String applicantID = withdrawalRequest.getApplicantID();
-        // get the project from the projectID
-        Project project = ProjectManager.getByID(projectID);
-        ProjectManager.addFlat(projectID, withdrawalRequest.getRoomType());
-        // change the status of the applicant to Not Registered
-        ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.NO_REGISTRATION);
-        // remove the project from the applicant's list
-        ApplicantManager.updateApplicantProjectID(applicantID, null);
-        // remove the room type from the applicant's list
-        ApplicantManager.updateApplicantRoomType(applicantID, RoomType.NONE);
-        //find all requests that are pending and have the same projectID and applicantID and set to rejected
-        List<Request> allRequests = RequestRepository.getInstance().getAll();
-        for (Request r : allRequests) {
-            if (r instanceof ProjectApplicationRequest projectApplicationRequest) {
-                if (projectApplicationRequest.getProjectID().equals(projectID) && projectApplicationRequest.getApplicantID().equals(applicantID)) {
-                    projectApplicationRequest.setStatus(RequestStatus.REJECTED);
-                    RequestRepository.getInstance().update(projectApplicationRequest);
-                }
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            // get the request by its ID
+            Request request = RequestRepository.getInstance().getByID(requestID);
+            if (!(request instanceof ProjectWithdrawalRequest)) {
+                throw new IllegalArgumentException("Request is not a ProjectWithdrawalRequest.");
             }
-            if (r instanceof ProjectBookingRequest projectBookingRequest) {
-                if (projectBookingRequest.getProjectID().equals(projectID) && projectBookingRequest.getApplicantID().equals(applicantID)) {
-                    projectBookingRequest.setStatus(RequestStatus.REJECTED);
-                    RequestRepository.getInstance().update(projectBookingRequest);
+            // cast to ProjectWithdrawalRequest
+            ProjectWithdrawalRequest withdrawalRequest = (ProjectWithdrawalRequest) request;
+            // update the request status to approved
+            withdrawalRequest.setStatus(RequestStatus.APPROVED);
+            RequestRepository.getInstance().update(withdrawalRequest);
+            // get the projectID and applicantID from the request
+            String projectID = withdrawalRequest.getProjectID();
+            String applicantID = withdrawalRequest.getApplicantID();
+            // get the project from the projectID
+            Project project = ProjectManager.getByID(projectID);
+            ProjectManager.addFlat(projectID, withdrawalRequest.getRoomType());
+            // change the status of the applicant to Not Registered
+            ApplicantManager.updateApplicantStatus(applicantID, ApplicantStatus.NO_REGISTRATION);
+            // remove the project from the applicant's list
+            ApplicantManager.updateApplicantProjectID(applicantID, null);
+            // remove the room type from the applicant's list
+            ApplicantManager.updateApplicantRoomType(applicantID, RoomType.NONE);
+            //find all requests that are pending and have the same projectID and applicantID and set to rejected
+            List<Request> applicantRequests = RequestRepository.getInstance().findByIndex(RequestRepository.APPLICANT_INDEX, applicantID);
+            for (Request r : applicantRequests) {
+                if (r instanceof ProjectApplicationRequest projectApplicationRequest) {
+                    if (projectApplicationRequest.getProjectID().equals(projectID) && projectApplicationRequest.getApplicantID().equals(applicantID)) {
+                        projectApplicationRequest.setStatus(RequestStatus.REJECTED);
+                        RequestRepository.getInstance().update(projectApplicationRequest);
+                    }
+                }
+                if (r instanceof ProjectBookingRequest projectBookingRequest) {
+                    if (projectBookingRequest.getProjectID().equals(projectID) && projectBookingRequest.getApplicantID().equals(applicantID)) {
+                        projectBookingRequest.setStatus(RequestStatus.REJECTED);
+                        RequestRepository.getInstance().update(projectBookingRequest);
+                    }
                 }
             }
+            unitOfWork.commit();
+            return true;
         }
-        return true;
     }
     public static Boolean rejectWithdrawalRequest(String requestID) throws ModelNotFoundException {
-        // get the request by its ID
-        Request request = RequestRepository.getInstance().getByID(requestID);
-        if (!(request instanceof ProjectWithdrawalRequest)) {
-            throw new IllegalArgumentException("Request is not a ProjectWithdrawalRequest.");
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            // get the request by its ID
+            Request request = RequestRepository.getInstance().getByID(requestID);
+            if (!(request instanceof ProjectWithdrawalRequest)) {
+                throw new IllegalArgumentException("Request is not a ProjectWithdrawalRequest.");
+            }
+            // cast to ProjectWithdrawalRequest
+            ProjectWithdrawalRequest withdrawalRequest = (ProjectWithdrawalRequest) request;
+            // update the request status to approved
+            withdrawalRequest.setStatus(RequestStatus.REJECTED);
+            RequestRepository.getInstance().update(withdrawalRequest);
+            unitOfWork.commit();
+            return true;
         }
-        // cast to ProjectWithdrawalRequest
-        ProjectWithdrawalRequest withdrawalRequest = (ProjectWithdrawalRequest) request;
-        // update the request status to approved
-        withdrawalRequest.setStatus(RequestStatus.REJECTED);
-        return true;
     }
 
 
     public static void rejectOfficerApplicationRequest(String requestID) throws ModelNotFoundException {
-        // get the request by its ID
-        Request request = RequestRepository.getInstance().getByID(requestID);
-        if (!(request instanceof OfficerApplicationRequest)) {
-            throw new IllegalArgumentException("Request is not an OfficerApplicationRequest.");
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            // get the request by its ID
+            Request request = RequestRepository.getInstance().getByID(requestID);
+            if (!(request instanceof OfficerApplicationRequest)) {
+                throw new IllegalArgumentException("Request is not an OfficerApplicationRequest.");
+            }
+            // cast to OfficerApplicationRequest
+            OfficerApplicationRequest officerRequest = (OfficerApplicationRequest) request;
+            // update the request status to rejected
+            officerRequest.setStatus(RequestStatus.REJECTED);
+            RequestRepository.getInstance().update(officerRequest);
+            unitOfWork.commit();
         }
-        // cast to OfficerApplicationRequest
-        OfficerApplicationRequest officerRequest = (OfficerApplicationRequest) request;
-        // update the request status to rejected
-        officerRequest.setStatus(RequestStatus.REJECTED);
-        RequestRepository.getInstance().update(officerRequest);
     }
 
     public static Request getAllApplicationRequestsByUser(String userID) throws ModelNotFoundException {
-        List<Request> requestList = RequestRepository.getInstance().getAll();
+        List<Request> requestList = RequestRepository.getInstance().findByIndex(RequestRepository.APPLICANT_INDEX, userID);
         for (Request request : requestList) {
             if (request instanceof ProjectApplicationRequest projectApplicationRequest) {
                 if (projectApplicationRequest.getApplicantID().equals(userID)) {
@@ -262,39 +340,16 @@ public class RequestManager {
         return null;
     }
     public static List<Request> getAllPendingApplicationRequests() throws ModelNotFoundException {
-        List<Request> requestList = RequestRepository.getInstance().getAll();
-        List<Request> pendingRequests = new ArrayList<>();
-
-        for (Request request : requestList) {
-            if (request instanceof ProjectApplicationRequest projectApplicationRequest) {
-                if (projectApplicationRequest.getStatus() == RequestStatus.PENDING) {
-                    pendingRequests.add(projectApplicationRequest);
-                }
-            }
-        }
-
-        return pendingRequests;
+        return RequestRepository.getInstance().findByIndex(RequestRepository.TYPE_AND_STATUS_INDEX,
+                RequestRepository.RequestKey.of(RequestType.PROJECT_APPLICATION_REQUEST, RequestStatus.PENDING));
     }
     public static List<Request> getAllPendingApplicationRequestsByManager(String managerID) throws ModelNotFoundException {
-        List<Request> requestList = RequestRepository.getInstance().getAll();
-        List<Request> pendingRequests = new ArrayList<>();
-
-        for (Request request : requestList) {
-            if (request instanceof ProjectApplicationRequest projectApplicationRequest) {
-                String projectID = projectApplicationRequest.getProjectID();
-                Project project = ProjectRepository.getInstance().getByID(projectID); // may throw ModelNotFoundException
-
-                if (project.getManagerID().equals(managerID) && projectApplicationRequest.getStatus() == RequestStatus.PENDING) {
-                    pendingRequests.add(projectApplicationRequest);
-                }
-            }
-        }
-
-        return pendingRequests;
+        List<Project> projects = ProjectRepository.getInstance().findByIndex(ProjectRepository.MANAGER_INDEX, managerID);
+        return findPendingRequestsOfProjects(projects, RequestType.PROJECT_APPLICATION_REQUEST);
     }
 
     public static Request getAllApprovedApplicationRequestsByUser(String userID) throws ModelNotFoundException {
-        List<Request> requestList = RequestRepository.getInstance().getAll();
+        List<Request> requestList = RequestRepository.getInstance().findByIndex(RequestRepository.APPLICANT_INDEX, userID);
         for (Request request : requestList) {
             if (request instanceof ProjectApplicationRequest projectApplicationRequest) {
                 if (projectApplicationRequest.getApplicantID().equals(userID) && projectApplicationRequest.getStatus() == RequestStatus.APPROVED) {
@@ -306,59 +361,45 @@ public class RequestManager {
         return null;
     }
     public static List<Request> getAllPendingOfficerApplicationRequestsForManager(String managerID) throws ModelNotFoundException {
-        List<Request> allRequests = RequestRepository.getInstance().getAll();
-        List<Request> managerSpecificRequests = new ArrayList<>(); // List to store matching requests
-
-        for (Request request : allRequests) {
-            // Check if the request is specifically an OfficerApplicationRequest
-            if (request instanceof OfficerApplicationRequest officerApplicationRequest) {
-                // Get the project associated with this application request
-                // This might throw ModelNotFoundException if the project was deleted
-                Project project = ProjectManager.getByID(officerApplicationRequest.getProjectID());
-
-                // Get the manager's ID from the project
-                String projectManagerID = project.getManagerNRIC();
-
-                // Check if the project's manager is the manager we're looking for
-                if (projectManagerID.equals(managerID) && officerApplicationRequest.getStatus() == RequestStatus.PENDING) {
-                    managerSpecificRequests.add(request); // Add the request to our result list
-                }
-            }
-        }
-        // Return the list containing only the requests relevant to the specified manager
-        return managerSpecificRequests;
+        // Only the projects the manager is in charge of are looked at, so the queue costs nothing per other request
+        List<Project> projects = ProjectRepository.getInstance().findByIndex(ProjectRepository.MANAGER_INDEX, managerID);
+        return findPendingRequestsOfProjects(projects, RequestType.OFFICER_APPLICATION_REQUEST);
     }
 
     public List<ProjectWithdrawalRequest> getAllPendingWithdrawalRequests() {
         List<ProjectWithdrawalRequest> pendingRequests = new ArrayList<>();
-        for (Request request : RequestRepository.getInstance().getAll()) {
-            if (request instanceof ProjectWithdrawalRequest projectDeregistrationRequest) {
-                if (projectDeregistrationRequest.getStatus() == RequestStatus.PENDING) {
-                    pendingRequests.add(projectDeregistrationRequest);
-                }
-            }
+        for (Request request : RequestRepository.getInstance().findByIndex(RequestRepository.TYPE_AND_STATUS_INDEX,
+                RequestRepository.RequestKey.of(RequestType.PROJECT_WITHDRAWAL_REQUEST, RequestStatus.PENDING))) {
+            pendingRequests.add((ProjectWithdrawalRequest) request);
         }
         return pendingRequests;
     }
     public static List<ProjectBookingRequest> getOfficerPendingBookingRequests(String officerID)
             throws ModelNotFoundException {
-        List<Request> all = RequestRepository.getInstance().getAll();
-        List<ProjectBookingRequest> pending = new ArrayList<>(); // Changed the list type
-        for (Request req : all) {
-            if (req instanceof ProjectBookingRequest pbr
-                    && pbr.getStatus() == RequestStatus.PENDING) {
-                // Only include if this officer is assigned to the project
-                Project proj = ProjectManager.getByID(pbr.getProjectID());
-                if (proj.getOfficerIDs().contains(officerID)) {
-                    // Add the properly typed ProjectBookingRequest
-                    pending.add(pbr); // No need to cast since pbr is already a ProjectBookingRequest
-                }
-            }
+        List<Project> projects = ProjectRepository.getInstance().findByIndex(ProjectRepository.OFFICER_INDEX, officerID);
+        List<ProjectBookingRequest> pending = new ArrayList<>();
+        for (Request request : findPendingRequestsOfProjects(projects, RequestType.PROJECT_BOOKING_REQUEST)) {
+            pending.add((ProjectBookingRequest) request);
         }
         return pending;
     }
+
+    /**
+     * Finds the pending requests of a type made for any of the specified projects.
+     *
+     * @param projects the projects the requests are made for
+     * @param type     the type of the requests
+     * @return the pending requests of the projects, in the order they were submitted
+     */
+    private static List<Request> findPendingRequestsOfProjects(List<Project> projects, RequestType type) {
+        List<RequestRepository.RequestKey> keys = new ArrayList<>();
+        for (Project project : projects) {
+            keys.add(RequestRepository.RequestKey.of(project.getID(), type, RequestStatus.PENDING));
+        }
+        return RequestRepository.getInstance().findByIndexKeys(RequestRepository.TYPE_AND_STATUS_INDEX, keys);
+    }
     public static Request getBookingRequestByApplicant(String applicantID) throws ModelNotFoundException {
-        List<Request> requestList = RequestRepository.getInstance().getAll();
+        List<Request> requestList = RequestRepository.getInstance().findByIndex(RequestRepository.APPLICANT_INDEX, applicantID);
         for (Request request : requestList) {
             if (request instanceof ProjectBookingRequest projectBookingRequest) {
                 if (projectBookingRequest.getApplicantID().equals(applicantID)) {
@@ -369,7 +410,7 @@ public class RequestManager {
         return null;
     }
     public static Request getApplicationRequestByApplicant(String applicantID) throws ModelNotFoundException {
-        List<Request> requestList = RequestRepository.getInstance().getAll();
+        List<Request> requestList = RequestRepository.getInstance().findByIndex(RequestRepository.APPLICANT_INDEX, applicantID);
         for (Request request : requestList) {
             if (request instanceof ProjectApplicationRequest projectApplicationRequest) {
                 if (projectApplicationRequest.getApplicantID().equals(applicantID)) {
@@ -394,4 +435,326 @@ public class RequestManager {
         return requestID;
 
     }
+
+    /**
+     * Approves a batch of project applications at once.
+     * Each application already holds the flat reserved when the applicant applied, so only the applications
+     * that are still pending, and whose applicant and project still exist, are approved. They are approved in memory
+     * and all the changes are saved together, so each file is written once for the whole batch.
+     *
+     * @param requestIDs the IDs of the applications to approve
+     * @return the outcome of each application
+     * @throws ModelNotFoundException if the changes could not be applied
+     */
+    public static BatchResult approveProjectApplications(Collection<String> requestIDs) throws ModelNotFoundException {
+        Map<String, String> failures = new HashMap<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Map<String, ProjectApplicationRequest> requests = findPendingRequests(requestIDs, ProjectApplicationRequest.class, failures);
+            removeInvalid(requests, failures, request -> checkApplicantAndProject(request.getApplicantID(), request.getProjectID()));
+            for (ProjectApplicationRequest request : requests.values()) {
+                ApplicantManager.updateApplicantStatus(request.getApplicantID(), ApplicantStatus.SUCCESSFUL);
+                request.setStatus(RequestStatus.APPROVED);
+                RequestRepository.getInstance().update(request);
+            }
+            unitOfWork.commit();
+        }
+        return BatchResult.of(requestIDs, failures);
+    }
+
+    /**
+     * Rejects a batch of project applications at once, giving their flats back to their projects.
+     * All the changes are saved together, so each file is written once for the whole batch.
+     *
+     * @param requestIDs the IDs of the applications to reject
+     * @return the outcome of each application
+     * @throws ModelNotFoundException if the changes could not be applied
+     */
+    public static BatchResult rejectProjectApplications(Collection<String> requestIDs) throws ModelNotFoundException {
+        Map<String, String> failures = new HashMap<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Map<String, ProjectApplicationRequest> requests = findPendingRequests(requestIDs, ProjectApplicationRequest.class, failures);
+            removeInvalid(requests, failures, request -> checkApplicantAndProject(request.getApplicantID(), request.getProjectID()));
+            releaseFlats(requests.values(), ProjectApplicationRequest::getProjectID, ProjectApplicationRequest::getRoomType);
+            for (ProjectApplicationRequest request : requests.values()) {
+                ApplicantManager.updateApplicantStatus(request.getApplicantID(), ApplicantStatus.REJECTED);
+                request.setStatus(RequestStatus.REJECTED);
+                RequestRepository.getInstance().update(request);
+            }
+            unitOfWork.commit();
+        }
+        return BatchResult.of(requestIDs, failures);
+    }
+
+    /**
+     * Approves a batch of booking requests at once, booking the flat of each applicant.
+     * All the changes are saved together, so each file is written once for the whole batch.
+     *
+     * @param requestIDs the IDs of the booking requests to approve
+     * @return the outcome of each booking request
+     * @throws ModelNotFoundException if the changes could not be applied
+     */
+    public static BatchResult approveBookingRequests(Collection<String> requestIDs) throws ModelNotFoundException {
+        Map<String, String> failures = new HashMap<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Map<String, ProjectBookingRequest> requests = findPendingRequests(requestIDs, ProjectBookingRequest.class, failures);
+            removeInvalid(requests, failures, request -> checkApplicantAndProject(request.getApplicantID(), request.getProjectID()));
+            for (ProjectBookingRequest request : requests.values()) {
+                Applicant applicant = ApplicantManager.getByNRIC(request.getApplicantID());
+                applicant.setApplicantStatus(ApplicantStatus.BOOKED);
+                applicant.setProjectID(request.getProjectID());
+                applicant.setRoomType(request.getRoomType());
+                ApplicantRepository.getInstance().update(applicant);
+                request.setStatus(RequestStatus.APPROVED);
+                RequestRepository.getInstance().update(request);
+            }
+            unitOfWork.commit();
+        }
+        return BatchResult.of(requestIDs, failures);
+    }
+
+    /**
+     * Rejects a batch of booking requests at once, giving their flats back to their projects.
+     * All the changes are saved together, so each file is written once for the whole batch.
+     *
+     * @param requestIDs the IDs of the booking requests to reject
+     * @return the outcome of each booking request
+     * @throws ModelNotFoundException if the changes could not be applied
+     */
+    public static BatchResult rejectBookingRequests(Collection<String> requestIDs) throws ModelNotFoundException {
+        Map<String, String> failures = new HashMap<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Map<String, ProjectBookingRequest> requests = findPendingRequests(requestIDs, ProjectBookingRequest.class, failures);
+            removeInvalid(requests, failures, request -> checkApplicantAndProject(request.getApplicantID(), request.getProjectID()));
+            releaseFlats(requests.values(), ProjectBookingRequest::getProjectID, ProjectBookingRequest::getRoomType);
+            for (ProjectBookingRequest request : requests.values()) {
+                ApplicantManager.updateApplicantStatus(request.getApplicantID(), ApplicantStatus.REJECTED);
+                request.setStatus(RequestStatus.REJECTED);
+                RequestRepository.getInstance().update(request);
+            }
+            unitOfWork.commit();
+        }
+        return BatchResult.of(requestIDs, failures);
+    }
+
+    /**
+     * Approves a batch of withdrawal requests at once. The flat of each applicant goes back to the project,
+     * the applicant is no longer registered, and their applications and bookings for the project are rejected
+     * in a single pass over the requests. All the changes are saved together, so each file is written once.
+     *
+     * @param requestIDs the IDs of the withdrawal requests to approve
+     * @return the outcome of each withdrawal request
+     * @throws ModelNotFoundException if the changes could not be applied
+     */
+    public static BatchResult approveWithdrawalRequests(Collection<String> requestIDs) throws ModelNotFoundException {
+        Map<String, String> failures = new HashMap<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Map<String, ProjectWithdrawalRequest> requests = findPendingRequests(requestIDs, ProjectWithdrawalRequest.class, failures);
+            removeInvalid(requests, failures, request -> checkApplicantAndProject(request.getApplicantID(), request.getProjectID()));
+            releaseFlats(requests.values(), ProjectWithdrawalRequest::getProjectID, ProjectWithdrawalRequest::getRoomType);
+            for (ProjectWithdrawalRequest request : requests.values()) {
+                request.setStatus(RequestStatus.APPROVED);
+                RequestRepository.getInstance().update(request);
+                Applicant applicant = ApplicantManager.getByNRIC(request.getApplicantID());
+                applicant.setApplicantStatus(ApplicantStatus.NO_REGISTRATION);
+                applicant.setProjectID(null);
+                applicant.setRoomType(RoomType.NONE);
+                ApplicantRepository.getInstance().update(applicant);
+            }
+            // Reject the applications and bookings of the withdrawn applicants for their projects
+            List<Request> withdrawn = new ArrayList<>();
+            for (ProjectWithdrawalRequest withdrawal : requests.values()) {
+                for (Request request : RequestRepository.getInstance().findByIndex(RequestRepository.APPLICANT_INDEX, withdrawal.getApplicantID())) {
+                    if ((request instanceof ProjectApplicationRequest || request instanceof ProjectBookingRequest)
+                            && request.getProjectID().equals(withdrawal.getProjectID())) {
+                        withdrawn.add(request);
+                    }
+                }
+            }
+            for (Request request : withdrawn) {
+                request.setStatus(RequestStatus.REJECTED);
+                RequestRepository.getInstance().update(request);
+            }
+            unitOfWork.commit();
+        }
+        return BatchResult.of(requestIDs, failures);
+    }
+
+    /**
+     * Rejects a batch of withdrawal requests at once.
+     * All the changes are saved together, so the request file is written once for the whole batch.
+     *
+     * @param requestIDs the IDs of the withdrawal requests to reject
+     * @return the outcome of each withdrawal request
+     * @throws ModelNotFoundException if the changes could not be applied
+     */
+    public static BatchResult rejectWithdrawalRequests(Collection<String> requestIDs) throws ModelNotFoundException {
+        return rejectPendingRequests(requestIDs, ProjectWithdrawalRequest.class);
+    }
+
+    /**
+     * Approves a batch of officer registrations at once, adding each officer to their project.
+     * The registrations of officers already in the project, or for a project that has no officer slot left,
+     * are not approved. All the changes are saved together, so each file is written once for the whole batch.
+     *
+     * @param requestIDs the IDs of the officer registrations to approve
+     * @return the outcome of each officer registration
+     * @throws ModelNotFoundException if the changes could not be applied
+     */
+    public static BatchResult approveOfficerApplicationRequests(Collection<String> requestIDs) throws ModelNotFoundException {
+        Map<String, String> failures = new HashMap<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Map<String, OfficerApplicationRequest> requests = findPendingRequests(requestIDs, OfficerApplicationRequest.class, failures);
+            Map<String, Project> projects = new LinkedHashMap<>();
+            for (Iterator<OfficerApplicationRequest> iterator = requests.values().iterator(); iterator.hasNext(); ) {
+                OfficerApplicationRequest request = iterator.next();
+                if (!ProjectRepository.getInstance().contains(request.getProjectID())) {
+                    failures.put(request.getID(), "Project " + request.getProjectID() + " does not exist");
+                    iterator.remove();
+                    continue;
+                }
+                Project project = ProjectManager.getByID(request.getProjectID());
+                if (!project.addOfficerID(request.getOfficerID())) {
+                    failures.put(request.getID(), "Officer " + request.getOfficerID() + " is already in project "
+                            + request.getProjectID() + " or it has no officer slot left");
+                    iterator.remove();
+                    continue;
+                }
+                projects.put(project.getID(), project);
+            }
+            for (Project project : projects.values()) {
+                ProjectRepository.getInstance().update(project);
+            }
+            for (OfficerApplicationRequest request : requests.values()) {
+                request.setStatus(RequestStatus.APPROVED);
+                RequestRepository.getInstance().update(request);
+            }
+            unitOfWork.commit();
+        }
+        return BatchResult.of(requestIDs, failures);
+    }
+
+    /**
+     * Rejects a batch of officer registrations at once.
+     * All the changes are saved together, so the request file is written once for the whole batch.
+     *
+     * @param requestIDs the IDs of the officer registrations to reject
+     * @return the outcome of each officer registration
+     * @throws ModelNotFoundException if the changes could not be applied
+     */
+    public static BatchResult rejectOfficerApplicationRequests(Collection<String> requestIDs) throws ModelNotFoundException {
+        return rejectPendingRequests(requestIDs, OfficerApplicationRequest.class);
+    }
+
+    /**
+     * Checks a property of a request of a batch.
+     *
+     * @param <R> the type of the request
+     */
+    @FunctionalInterface
+    private interface BatchCheck<R> {
+        /**
+         * Checks a request.
+         *
+         * @param request the request to check
+         * @return why the request cannot be handled, or null if it can
+         */
+        String check(R request);
+    }
+
+    /**
+     * Finds the pending requests of a type among the requests of a batch.
+     * The requests that do not exist, are of another type or are no longer pending are recorded as failures.
+     */
+    private static <R extends Request> Map<String, R> findPendingRequests(Collection<String> requestIDs, Class<R> type,
+                                                                         Map<String, String> failures) {
+        Map<String, R> requests = new LinkedHashMap<>();
+        for (String requestID : requestIDs) {
+            if (requests.containsKey(requestID) || failures.containsKey(requestID)) {
+                continue;
+            }
+            Request request;
+            try {
+                request = RequestRepository.getInstance().getByID(requestID);
+            } catch (ModelNotFoundException e) {
+                failures.put(requestID, "Request " + requestID + " does not exist");
+                continue;
+            }
+            if (!type.isInstance(request)) {
+                failures.put(requestID, "Request " + requestID + " is a " + request.getRequestType());
+            } else if (request.getStatus() != RequestStatus.PENDING) {
+                failures.put(requestID, "Request " + requestID + " is " + request.getStatus());
+            } else {
+                requests.put(requestID, type.cast(request));
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * Removes the requests that fail a check from a batch and records them as failures.
+     */
+    private static <R extends Request> void removeInvalid(Map<String, R> requests, Map<String, String> failures, BatchCheck<R> check) {
+        for (Iterator<Map.Entry<String, R>> iterator = requests.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<String, R> entry = iterator.next();
+            String failure = check.check(entry.getValue());
+            if (failure != null) {
+                failures.put(entry.getKey(), failure);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Rejects the pending requests of a type in a batch, without any other change.
+     */
+    private static <R extends Request> BatchResult rejectPendingRequests(Collection<String> requestIDs, Class<R> type)
+            throws ModelNotFoundException {
+        Map<String, String> failures = new HashMap<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            for (R request : findPendingRequests(requestIDs, type, failures).values()) {
+                request.setStatus(RequestStatus.REJECTED);
+                RequestRepository.getInstance().update(request);
+            }
+            unitOfWork.commit();
+        }
+        return BatchResult.of(requestIDs, failures);
+    }
+
+    /**
+     * Gives the flats of a batch of requests back to their projects and saves each project once.
+     */
+    private static <R extends Request> void releaseFlats(Collection<R> requests, Function<R, String> projectID,
+                                                         Function<R, RoomType> roomType)
+            throws ModelNotFoundException {
+        Set<String> projectIDs = new LinkedHashSet<>();
+        for (R request : requests) {
+            FlatInventory.release(projectID.apply(request), roomType.apply(request));
+            projectIDs.add(projectID.apply(request));
+        }
+        for (String ID : projectIDs) {
+            FlatInventory.commit(ID);
+        }
+    }
+
+    /**
+     * Checks that the applicant of a request exists.
+     *
+     * @return why the request cannot be handled, or null if it can
+     */
+    private static String checkApplicant(String applicantID) {
+        return ApplicantRepository.getInstance().contains(applicantID) ? null : "Applicant " + applicantID + " does not exist";
+    }
+
+    /**
+     * Checks that the applicant and the project of a request exist.
+     *
+     * @return why the request cannot be handled, or null if it can
+     */
+    private static String checkApplicantAndProject(String applicantID, String projectID) {
+        String failure = checkApplicant(applicantID);
+        if (failure == null && !ProjectRepository.getInstance().contains(projectID)) {
+            failure = "Project " + projectID + " does not exist";
+        }
+        return failure;
+    }
 }
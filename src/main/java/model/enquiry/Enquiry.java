@@ -20,6 +20,11 @@ public class Enquiry implements Model, Displayable {
         this.answer = answer;
         this.answered = answered;
     }
+    /**
+     * Creates an empty Enquiry, to be filled in from a record by its record codec.
+     */
+    Enquiry() {
+    }
     public Enquiry(Map<String, String> map) {
         fromMap(map);
     }
@@ -39,6 +39,11 @@ public class Project implements Model, Displayable {
              this.officerIDs = officerIDs;
                 this.visibility = visibility;
     }
+    /**
+     * Creates an empty Project, to be filled in from a record by its record codec.
+     */
+    Project() {
+    }
     /**
      * Get the ID of the project
      * @param map the map of the project
@@ -15,6 +15,11 @@ public class OfficerApplicationRequest implements Request {
         this.projectID = projectID;
         this.officerID = officerID;
     }
+    /**
+     * Creates an empty OfficerApplicationRequest, to be filled in from a record by its record codec.
+     */
+    OfficerApplicationRequest() {
+    }
     public OfficerApplicationRequest(Map<String, String> map) {fromMap(map);}
     @Override
     public String getID() {
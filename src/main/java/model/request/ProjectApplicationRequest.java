@@ -18,6 +18,11 @@ public class ProjectApplicationRequest implements Request {
         this.applicantID = applicantID;
         this.roomType = roomType;
     }
+    /**
+     * Creates an empty ProjectApplicationRequest, to be filled in from a record by its record codec.
+     */
+    ProjectApplicationRequest() {
+    }
     public ProjectApplicationRequest(Map<String, String> map) {fromMap(map);}
     @Override
     public String getID() {
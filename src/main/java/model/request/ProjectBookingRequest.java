@@ -20,6 +20,11 @@ public class ProjectBookingRequest implements Request {
         this.projectApplicationRequestID = projectApplicationRequestID;
         this.roomType = roomType;
     }
+    /**
+     * Creates an empty ProjectBookingRequest, to be filled in from a record by its record codec.
+     */
+    ProjectBookingRequest() {
+    }
     public ProjectBookingRequest(Map<String, String> map) {fromMap(map);}
 
 
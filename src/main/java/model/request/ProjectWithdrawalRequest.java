@@ -20,6 +20,11 @@ public class ProjectWithdrawalRequest implements Request {
         this.roomType = roomType;
         this.reason = reason;
     }
+    /**
+     * Creates an empty ProjectWithdrawalRequest, to be filled in from a record by its record codec.
+     */
+    ProjectWithdrawalRequest() {
+    }
     public ProjectWithdrawalRequest(Map<String, String> map) {fromMap(map);}
     @Override
     public String getID() {
@@ -1,5 +1,8 @@
 package model.request;
 
+import utils.iocontrol.RecordCodecs;
+import utils.iocontrol.RecordDecoder;
+
 import java.util.Map;
 
 /**
@@ -22,4 +25,20 @@ public class RequestFactory {
             case PROJECT_BOOKING_REQUEST -> new ProjectBookingRequest(map);
         };
     }
+
+    /**
+     * Creates a Request object straight from a record, without building its map.
+     *
+     * @param record a record of key-value pairs representing the parameters of the Request
+     * @return a Request object of the specified type, or null if it has to be created from its map instead
+     * @throws IllegalArgumentException if the RequestType is not valid or if the record is not valid
+     */
+    public static Request createRequest(CharSequence record) {
+        return switch (RequestType.valueOf(RecordDecoder.findValue(record, "requestType"))) {
+            case OFFICER_APPLICATION_REQUEST -> RecordCodecs.forClass(OfficerApplicationRequest.class).decode(record);
+            case PROJECT_APPLICATION_REQUEST -> RecordCodecs.forClass(ProjectApplicationRequest.class).decode(record);
+            case PROJECT_WITHDRAWAL_REQUEST -> RecordCodecs.forClass(ProjectWithdrawalRequest.class).decode(record);
+            case PROJECT_BOOKING_REQUEST -> RecordCodecs.forClass(ProjectBookingRequest.class).decode(record);
+        };
+    }
 }
@@ -0,0 +1,39 @@
+package repository;
+
+import java.util.List;
+
+/**
+ * A page of model objects listed in the order of a sort key, together with the cursor the next page starts after.
+ *
+ * @param items the model objects on the page
+ * @param next  the cursor of the last model object on the page, or null if there is no next page
+ * @param <ModelObject> the type of model object listed
+ */
+public record Page<ModelObject>(List<ModelObject> items, Cursor next) {
+
+    /**
+     * The position of a model object in the order of a sort key: by key, then by ID for model objects with equal keys.
+     * A cursor stays valid when the model objects around it change, as the next page simply starts after its position.
+     *
+     * @param key the sort key of the model object
+     * @param ID  the ID of the model object
+     */
+    public record Cursor(Comparable<?> key, String ID) implements Comparable<Cursor> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compareTo(Cursor other) {
+            int byKey = ((Comparable<Object>) key).compareTo(other.key);
+            return byKey != 0 ? byKey : ID.compareTo(other.ID);
+        }
+    }
+
+    /**
+     * Checks whether there is a page after this one.
+     *
+     * @return true if there is a next page, false otherwise
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -1,17 +1,38 @@
 package repository;
 
 import model.Model;
+import utils.config.Persistence;
+import utils.config.PersistenceMode;
 import utils.exception.ModelAlreadyExistsException;
 import utils.exception.ModelNotFoundException;
+import utils.iocontrol.AppendLog;
+import utils.iocontrol.FileChange;
+import utils.iocontrol.LogRecord;
 import utils.iocontrol.Savable;
+import utils.iocontrol.SnapshotManifest;
+import utils.iocontrol.StringAndMapConvertor;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The Repository abstract class provides the basic functionality for storing, retrieving, and managing a list of model objects.
  * It implements the Savable interface and provides methods for adding, removing, updating, and finding model objects.
+ * <p>
+ * Changes are persisted according to {@link #getPersistenceMode()}: either by rewriting the repository file,
+ * or by appending one record per changed model object to a log that is replayed on {@link #load()} and periodically
+ * compacted into the repository file.
+ * <p>
+ * Until they are written, changes are tracked per model object, so that several changes to the same model object
+ * (for example a burst of updates collected by the write-behind flusher) cost a single log record holding its latest state.
  *
  * @param <ModelObject> the type of model object stored in the repository
  */
@@ -22,6 +43,43 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      */
     List<ModelObject> listOfModelObjects;
 
+    /**
+     * The model objects in the repository, keyed by their normalized ID (see {@link #normalizeID(String)}).
+     * Kept in sync with {@link #listOfModelObjects} so that lookups by ID do not have to scan the list.
+     */
+    private Map<String, ModelObject> modelObjectsByID = new HashMap<>();
+
+    /**
+     * The secondary indexes registered by the subclass, by name.
+     */
+    private final Map<String, SecondaryIndex<ModelObject>> indexes = new HashMap<>();
+
+    /**
+     * The log of changes made since the repository file was last written, created on first use.
+     */
+    private AppendLog log;
+
+    /**
+     * The model objects changed since the last write, keyed by their normalized ID,
+     * in the order in which their latest position in the list was taken.
+     */
+    private final LinkedHashMap<String, DirtyRecord<ModelObject>> dirtyRecords = new LinkedHashMap<>();
+
+    /**
+     * Whether the repository has been cleared since the last write.
+     */
+    private boolean clearPending = false;
+
+    /**
+     * Whether the next write has to rewrite the whole repository file.
+     */
+    private boolean snapshotRequired = false;
+
+    /**
+     * The number of log records appended by the write in progress, or -1 if it rewrites the repository file.
+     */
+    private int writtenLogRecords = 0;
+
     /**
      * Creates a new instance of the Repository class.
      */
@@ -55,12 +113,11 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @throws ModelNotFoundException if the model object with the given ID does not exist
      */
     public ModelObject getByID(String modelObjectID) throws ModelNotFoundException {
-        for (ModelObject modelObject : listOfModelObjects) {
-            if (modelObject.getID().equalsIgnoreCase(modelObjectID)) {
-                return modelObject;
-            }
+        ModelObject modelObject = modelObjectID == null ? null : modelObjectsByID.get(normalizeID(modelObjectID));
+        if (modelObject == null) {
+            throw new ModelNotFoundException("No model object with ID " + modelObjectID + " exists.");
         }
-        throw new ModelNotFoundException("No model object with ID " + modelObjectID + " exists.");
+        return modelObject;
     }
 
     /**
@@ -70,12 +127,7 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @return true if the repository contains a model object with the given ID, false otherwise
      */
     public boolean contains(String modelObjectID) {
-        try {
-            getByID(modelObjectID);
-            return true;
-        } catch (ModelNotFoundException e) {
-            return false;
-        }
+        return modelObjectID != null && modelObjectsByID.containsKey(normalizeID(modelObjectID));
     }
 
     /**
@@ -84,13 +136,43 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @param modelObject the model object to add
      * @throws ModelAlreadyExistsException if a model object with the same ID already exists in the repository
      */
-    public void add(ModelObject modelObject) throws ModelAlreadyExistsException {
+    public synchronized void add(ModelObject modelObject) throws ModelAlreadyExistsException {
         if (contains(modelObject.getID())) {
             throw new ModelAlreadyExistsException("A model object with ID " + modelObject.getID() + " already exists.");
         } else {
             listOfModelObjects.add(modelObject);
-            save(getFilePath());
+            modelObjectsByID.put(normalizeID(modelObject.getID()), modelObject);
+            for (SecondaryIndex<ModelObject> index : indexes.values()) {
+                index.add(modelObject);
+            }
+            markAdded(modelObject);
+            persist();
+        }
+    }
+
+    /**
+     * Adds several model objects to the repository and writes the repository file once,
+     * instead of once per model object.
+     *
+     * @param modelObjects the model objects to add
+     * @throws ModelAlreadyExistsException if one of the model objects has the same ID as another one or as a model object
+     *                                     already in the repository, in which case none of them is added
+     */
+    public synchronized void addAll(Collection<? extends ModelObject> modelObjects) throws ModelAlreadyExistsException {
+        Set<String> IDs = new HashSet<>();
+        for (ModelObject modelObject : modelObjects) {
+            if (contains(modelObject.getID()) || !IDs.add(normalizeID(modelObject.getID()))) {
+                throw new ModelAlreadyExistsException("A model object with ID " + modelObject.getID() + " already exists.");
+            }
+        }
+        for (ModelObject modelObject : modelObjects) {
+            listOfModelObjects.add(modelObject);
+            modelObjectsByID.put(normalizeID(modelObject.getID()), modelObject);
+            for (SecondaryIndex<ModelObject> index : indexes.values()) {
+                index.add(modelObject);
+            }
         }
+        save();
     }
 
     /**
@@ -99,9 +181,15 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @param modelObjectID the ID of the model object to remove
      * @throws ModelNotFoundException if the model object with the given ID does not exist
      */
-    public void remove(String modelObjectID) throws ModelNotFoundException {
-        listOfModelObjects.remove(getByID(modelObjectID));
-        save(getFilePath());
+    public synchronized void remove(String modelObjectID) throws ModelNotFoundException {
+        ModelObject modelObject = getByID(modelObjectID);
+        listOfModelObjects.remove(modelObject);
+        modelObjectsByID.remove(normalizeID(modelObject.getID()));
+        for (SecondaryIndex<ModelObject> index : indexes.values()) {
+            index.remove(modelObject);
+        }
+        markRemoved(modelObject.getID());
+        persist();
     }
 
     /**
@@ -125,9 +213,15 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
     /**
      * Removes all model objects from this repository.
      */
-    public void clear() {
+    public synchronized void clear() {
         listOfModelObjects.clear();
-        save(getFilePath());
+        modelObjectsByID.clear();
+        for (SecondaryIndex<ModelObject> index : indexes.values()) {
+            index.clear();
+        }
+        dirtyRecords.clear();
+        clearPending = true;
+        persist();
     }
 
     /**
@@ -136,10 +230,19 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @param modelObject the model object to update
      * @throws ModelNotFoundException if the specified model object is not found in the repository
      */
-    public void update(ModelObject modelObject) throws ModelNotFoundException {
+    public synchronized void update(ModelObject modelObject) throws ModelNotFoundException {
         ModelObject oldModelObject = getByID(modelObject.getID());
-        listOfModelObjects.set(listOfModelObjects.indexOf(oldModelObject), modelObject);
-        save(getFilePath());
+        // Callers usually modify the stored object itself, which is then already in place
+        if (oldModelObject != modelObject) {
+            listOfModelObjects.set(listOfModelObjects.indexOf(oldModelObject), modelObject);
+            modelObjectsByID.put(normalizeID(modelObject.getID()), modelObject);
+        }
+        // The keys may have changed even if the object itself is the same
+        for (SecondaryIndex<ModelObject> index : indexes.values()) {
+            index.replace(oldModelObject, modelObject);
+        }
+        markUpdated(modelObject);
+        persist();
     }
 
     /**
@@ -147,26 +250,614 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      *
      * @param modelObjects the list of model objects to update
      */
-    public void updateAll(List<ModelObject> modelObjects) {
+    public synchronized void updateAll(List<ModelObject> modelObjects) {
         listOfModelObjects = modelObjects;
-        save(getFilePath());
+        rebuildIndex();
+        save();
     }
 
     /**
      * Loads the list of model objects from the repository file.
      */
-    public void load() {
+    public synchronized void load() {
         this.listOfModelObjects = new ArrayList<>();
+        dirtyRecords.clear();
+        clearPending = false;
+        snapshotRequired = false;
         load(getFilePath());
+        discardStaleLog();
+        replayLog();
+        rebuildIndex();
     }
 
     /**
      * Saves the list of model objects to the repository file.
      */
-    public void save() {
+    public synchronized void save() {
+        snapshotRequired = true;
+        save(getFilePath());
+    }
+
+    /**
+     * Prepares the changes that write the pending changes of the repository.
+     * The whole repository file is rewritten (and the log, whose changes it now contains, discarded)
+     * if a full save was requested, if the repository is in {@link PersistenceMode#SNAPSHOT} mode,
+     * or if the log has reached the compaction threshold; otherwise one record per changed model object
+     * is appended to the log, so the cost of the write does not depend on the size of the repository.
+     * The pending changes count as written from here on; {@link #completeWrite(String)} catches the log up
+     * once the changes have been applied.
+     *
+     * @param FILE_PATH the path of the repository file
+     * @return the changes to apply, in order
+     */
+    @Override
+    protected synchronized List<FileChange> prepareWrite(final String FILE_PATH) {
+        List<LogRecord> logRecords = snapshotRequired ? List.of() : getDirtyLogRecords();
+        List<FileChange> fileChanges = new ArrayList<>();
+        if (snapshotRequired || getLog().size() + logRecords.size() >= getCompactionThreshold()) {
+            byte[] snapshot = encodeAll();
+            fileChanges.add(FileChange.replace(FILE_PATH, snapshot));
+            // The manifest follows the snapshot before the log goes, so that a log still there after a crash
+            // only holds changes the snapshot already contains, and a log appended later is never discarded
+            if (getPersistenceMode() == PersistenceMode.LOG) {
+                fileChanges.add(FileChange.replace(getManifestFilePath(),
+                        SnapshotManifest.of(snapshot, listOfModelObjects.size()).toBytes()));
+            } else {
+                // Without a log there is nothing for the manifest to protect
+                fileChanges.add(FileChange.delete(getManifestFilePath()));
+            }
+            fileChanges.add(FileChange.delete(getLogFilePath()));
+            writtenLogRecords = -1;
+        } else {
+            if (!logRecords.isEmpty()) {
+                fileChanges.add(getLog().prepareAppend(logRecords));
+            }
+            writtenLogRecords = logRecords.size();
+        }
+        dirtyRecords.clear();
+        clearPending = false;
+        snapshotRequired = false;
+        return fileChanges;
+    }
+
+    /**
+     * Records that the changes prepared by {@link #prepareWrite(String)} have been applied.
+     *
+     * @param FILE_PATH the path of the repository file
+     */
+    @Override
+    protected synchronized void completeWrite(final String FILE_PATH) {
+        super.completeWrite(FILE_PATH);
+        if (writtenLogRecords < 0) {
+            getLog().truncated();
+        } else if (writtenLogRecords > 0) {
+            getLog().appended(writtenLogRecords);
+        }
+        writtenLogRecords = 0;
+    }
+
+    /**
+     * Throws away the changes that have not been written and loads the repository again.
+     *
+     * @param FILE_PATH the path of the repository file
+     */
+    @Override
+    protected synchronized void discardChanges(final String FILE_PATH) {
+        load();
+    }
+
+    /**
+     * Gets the number of model objects whose changes have not been written yet.
+     *
+     * @return the number of changed model objects waiting to be written
+     */
+    public synchronized int getDirtyCount() {
+        return dirtyRecords.size();
+    }
+
+    /**
+     * Checks whether the repository file or its log has been changed on disk since this repository last loaded or saved it.
+     *
+     * @return true if the repository file has been modified by someone else, false otherwise
+     */
+    public boolean isModifiedOnDisk() {
+        return isFileModified(getFilePath()) || getLog().isModified();
+    }
+
+    /**
+     * Gets the way this repository persists its changes.
+     * Defaults to the mode configured in {@link Persistence#MODE}.
+     *
+     * @return the persistence mode of the repository
+     */
+    protected PersistenceMode getPersistenceMode() {
+        return Persistence.MODE;
+    }
+
+    /**
+     * Gets the number of log records after which the log is compacted into the repository file.
+     * Defaults to the threshold configured in {@link Persistence#COMPACTION_THRESHOLD}.
+     *
+     * @return the compaction threshold of the repository
+     */
+    protected int getCompactionThreshold() {
+        return Persistence.COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Gets the path of the log file, which sits next to the repository file.
+     *
+     * @return the path of the log file
+     */
+    public String getLogFilePath() {
+        return getFilePath() + ".log";
+    }
+
+    /**
+     * Gets the path of the manifest file, which records the snapshot the log applies to.
+     *
+     * @return the path of the manifest file
+     */
+    public String getManifestFilePath() {
+        return getFilePath() + ".manifest";
+    }
+
+    /**
+     * Gets the path of the sequence file, which records the next free number for the IDs of new model objects.
+     *
+     * @return the path of the sequence file
+     */
+    public String getSequenceFilePath() {
+        return sequenceFilePathOf(getFilePath());
+    }
+
+    /**
+     * Gets the path of the sequence file of a repository file, for subclasses that create their
+     * {@link utils.iocontrol.IdSequence} while they are being constructed.
+     *
+     * @param filePath the path of the repository file
+     * @return the path of the sequence file
+     */
+    protected static String sequenceFilePathOf(String filePath) {
+        return filePath + ".sequence";
+    }
+
+    /**
+     * Gets the highest number in the IDs of the model objects that start with the specified prefix.
+     * Numbers are compared as numbers, so "E10" is higher than "E9".
+     * Used to seed the ID sequence of a repository the first time it is used.
+     *
+     * @param prefix the prefix of the IDs, for example "R"
+     * @return the highest number found, or 0 if no ID has the prefix followed by a number
+     */
+    protected synchronized long getMaxIDNumber(String prefix) {
+        long max = 0;
+        for (ModelObject modelObject : listOfModelObjects) {
+            String ID = modelObject.getID();
+            if (ID == null || !ID.startsWith(prefix)) {
+                continue;
+            }
+            try {
+                max = Math.max(max, Long.parseLong(ID.substring(prefix.length())));
+            } catch (NumberFormatException e) {
+                // Not a generated ID
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Gets the log of this repository.
+     *
+     * @return the log of this repository
+     */
+    private AppendLog getLog() {
+        if (log == null) {
+            log = new AppendLog(getLogFilePath());
+        }
+        return log;
+    }
+
+    /**
+     * Persists the changes tracked so far.
+     * In {@link PersistenceMode#LOG} mode the changed model objects are appended to the log, which is compacted
+     * once it reaches the compaction threshold; otherwise the whole repository file is marked to be rewritten.
+     */
+    private void persist() {
+        if (getPersistenceMode() != PersistenceMode.LOG) {
+            snapshotRequired = true;
+        }
         save(getFilePath());
     }
 
+    /**
+     * Marks a model object that has been appended to the end of the list as changed.
+     *
+     * @param modelObject the model object that has been added
+     */
+    private void markAdded(ModelObject modelObject) {
+        String ID = normalizeID(modelObject.getID());
+        // A model object removed and added again before the write moves to the end, after the other new ones
+        boolean removed = dirtyRecords.remove(ID) != null;
+        dirtyRecords.put(ID, new DirtyRecord<>(modelObject.getID(), modelObject, removed));
+    }
+
+    /**
+     * Marks a model object that has been changed in place as changed.
+     *
+     * @param modelObject the model object that has been updated
+     */
+    private void markUpdated(ModelObject modelObject) {
+        String ID = normalizeID(modelObject.getID());
+        DirtyRecord<ModelObject> dirtyRecord = dirtyRecords.get(ID);
+        // Replacing the value of an existing key keeps its position
+        dirtyRecords.put(ID, new DirtyRecord<>(modelObject.getID(), modelObject, dirtyRecord != null && dirtyRecord.removed()));
+    }
+
+    /**
+     * Marks a model object that has been removed as changed.
+     *
+     * @param modelObjectID the ID of the model object that has been removed
+     */
+    private void markRemoved(String modelObjectID) {
+        dirtyRecords.put(normalizeID(modelObjectID), new DirtyRecord<>(modelObjectID, null, true));
+    }
+
+    /**
+     * Gets the log records that bring the log up to date with the changed model objects,
+     * holding the latest state of each of them.
+     *
+     * @return the log records to append, in the order in which they have to be replayed
+     */
+    private List<LogRecord> getDirtyLogRecords() {
+        List<LogRecord> logRecords = new ArrayList<>();
+        if (clearPending) {
+            logRecords.add(LogRecord.clear());
+        }
+        for (DirtyRecord<ModelObject> dirtyRecord : dirtyRecords.values()) {
+            if (dirtyRecord.removed()) {
+                logRecords.add(LogRecord.delete(dirtyRecord.ID()));
+            }
+            if (dirtyRecord.modelObject() != null) {
+                logRecords.add(LogRecord.put(dirtyRecord.modelObject()));
+            }
+        }
+        return logRecords;
+    }
+
+    /**
+     * Discards the log if the repository file has been rewritten since the manifest was written,
+     * in which case the process stopped after compacting the log but before discarding it.
+     * The manifest is rewritten for the current repository file first, or the changes appended to the log
+     * from now on would be discarded as stale again on the next load.
+     */
+    private void discardStaleLog() {
+        SnapshotManifest manifest = SnapshotManifest.read(getManifestFilePath());
+        if (manifest == null || manifest.matches(getFilePath())) {
+            return;
+        }
+        SnapshotManifest current = SnapshotManifest.of(getFilePath(), listOfModelObjects.size());
+        if (current != null) {
+            FileChange.replace(getManifestFilePath(), current.toBytes()).apply();
+        } else {
+            FileChange.delete(getManifestFilePath()).apply();
+        }
+        getLog().truncate();
+    }
+
+    /**
+     * Applies the changes recorded in the log on top of the model objects loaded from the repository file.
+     */
+    private void replayLog() {
+        List<LogRecord> logRecords = getLog().readAll();
+        if (logRecords.isEmpty()) {
+            return;
+        }
+        // Replaying in an insertion-ordered map keeps every model object at its original position
+        Map<String, ModelObject> replayed = new LinkedHashMap<>();
+        for (ModelObject modelObject : listOfModelObjects) {
+            replayed.putIfAbsent(normalizeID(modelObject.getID()), modelObject);
+        }
+        for (LogRecord logRecord : logRecords) {
+            switch (logRecord.operation()) {
+                case PUT -> {
+                    ModelObject modelObject = decodeRecord(logRecord.payload());
+                    if (modelObject == null) {
+                        // setAll appends the decoded model object to the end of the list
+                        int size = listOfModelObjects.size();
+                        setAll(List.of(StringAndMapConvertor.stringToMap(logRecord.payload())));
+                        modelObject = listOfModelObjects.remove(size);
+                    }
+                    replayed.put(normalizeID(modelObject.getID()), modelObject);
+                }
+                case DELETE -> replayed.remove(normalizeID(logRecord.payload()));
+                case CLEAR -> replayed.clear();
+            }
+        }
+        listOfModelObjects = new ArrayList<>(replayed.values());
+    }
+
+    /**
+     * Rebuilds the ID index and the secondary indexes from the list of model objects.
+     * If several model objects share an ID, the first one is found by {@link #getByID(String)}.
+     */
+    private void rebuildIndex() {
+        Map<String, ModelObject> index = new HashMap<>();
+        for (ModelObject modelObject : listOfModelObjects) {
+            index.putIfAbsent(normalizeID(modelObject.getID()), modelObject);
+        }
+        modelObjectsByID = index;
+        for (SecondaryIndex<ModelObject> secondaryIndex : indexes.values()) {
+            secondaryIndex.rebuild(listOfModelObjects);
+        }
+    }
+
+    /**
+     * Registers a secondary index under the specified name, so that {@link #findByIndex(String, Object)}
+     * can find the model objects with a given key without scanning the repository.
+     * <p>
+     * The index is kept up to date by {@link #add(Model)}, {@link #remove(String)}, {@link #update(Model)},
+     * {@link #updateAll(List)}, {@link #clear()} and {@link #load()}.
+     * A model object changed in place has to be passed to {@link #update(Model)} to be re-indexed.
+     * Model objects whose key is null are not indexed.
+     * <p>
+     * Here is an example of how a subclass registers an index in its constructor:
+     *
+     * <pre>
+     * registerIndex("status", Request::getStatus);
+     * </pre>
+     *
+     * @param indexName the name of the index
+     * @param extractor extracts the key of a model object
+     */
+    protected final void registerIndex(String indexName, IndexKeyExtractor<ModelObject> extractor) {
+        registerMultiValuedIndex(indexName, modelObject -> {
+            Object key = extractor.getKey(modelObject);
+            return key == null ? List.of() : List.of(key);
+        });
+    }
+
+    /**
+     * Registers a secondary index under the specified name in which a model object can have several keys,
+     * such as the officers of a project.
+     *
+     * @param indexName the name of the index
+     * @param extractor extracts the keys of a model object
+     * @see #registerIndex(String, IndexKeyExtractor)
+     */
+    protected final synchronized void registerMultiValuedIndex(String indexName, IndexKeysExtractor<ModelObject> extractor) {
+        RepositoryIndex<ModelObject> index = new RepositoryIndex<>(extractor);
+        index.rebuild(listOfModelObjects);
+        indexes.put(indexName, index);
+    }
+
+    /**
+     * Finds all model objects in the repository that are indexed under the specified key.
+     * This takes time proportional to the number of model objects found, not to the size of the repository.
+     *
+     * @param indexName the name of the index, as registered by the subclass
+     * @param key       the key to look up
+     * @return a list of the model objects indexed under the key, in repository order
+     * @throws IllegalArgumentException if no index with the specified name has been registered
+     */
+    public synchronized List<ModelObject> findByIndex(String indexName, Object key) {
+        return getKeyIndex(indexName).find(key);
+    }
+
+    /**
+     * Finds all model objects in the repository that are indexed under any of the specified keys.
+     * This takes time proportional to the number of model objects found, not to the size of the repository.
+     *
+     * @param indexName the name of the index, as registered by the subclass
+     * @param keys      the keys to look up
+     * @return a list of the model objects indexed under any of the keys, each once, in repository order
+     * @throws IllegalArgumentException if no index with the specified name has been registered
+     */
+    public synchronized List<ModelObject> findByIndexKeys(String indexName, Collection<?> keys) {
+        return getKeyIndex(indexName).find(keys);
+    }
+
+    /**
+     * Counts the model objects in the repository that are indexed under the specified key.
+     *
+     * @param indexName the name of the index, as registered by the subclass
+     * @param key       the key to look up
+     * @return the number of model objects indexed under the key
+     * @throws IllegalArgumentException if no index with the specified name has been registered
+     */
+    public synchronized int countByIndex(String indexName, Object key) {
+        return getKeyIndex(indexName).count(key);
+    }
+
+    /**
+     * Registers an interval index under the specified name, so that {@link #findByInterval(String, Object, Comparable, Comparable)}
+     * can find the model objects whose interval overlaps a given one without scanning the repository.
+     * The index is kept up to date like the indexes registered by {@link #registerIndex(String, IndexKeyExtractor)}.
+     * <p>
+     * Here is an example of how a subclass registers an index of application windows by manager in its constructor:
+     *
+     * <pre>
+     * registerIntervalIndex("applicationWindow", Project::getManagerNRIC,
+     *         Project::getApplicationOpeningDate, Project::getApplicationClosingDate);
+     * </pre>
+     *
+     * @param indexName      the name of the index
+     * @param groupExtractor extracts the group a model object can also be looked up in, or null if it is in no group
+     * @param startExtractor extracts the start of the interval of a model object, or null if it should not be indexed
+     * @param endExtractor   extracts the end of the interval of a model object, or null if it should not be indexed
+     * @param <Endpoint>     the type of the endpoints of the intervals
+     */
+    protected final synchronized <Endpoint extends Comparable<? super Endpoint>> void registerIntervalIndex(
+            String indexName, IndexKeyExtractor<ModelObject> groupExtractor,
+            IntervalEndpointExtractor<ModelObject, Endpoint> startExtractor, IntervalEndpointExtractor<ModelObject, Endpoint> endExtractor) {
+        RepositoryIntervalIndex<ModelObject, Endpoint> index = new RepositoryIntervalIndex<>(groupExtractor, startExtractor, endExtractor);
+        index.rebuild(listOfModelObjects);
+        indexes.put(indexName, index);
+    }
+
+    /**
+     * Finds all model objects in the repository whose interval overlaps the closed interval from {@code from} to {@code to}.
+     * This only visits the model objects that can overlap it, not the whole repository.
+     *
+     * @param indexName  the name of the interval index, as registered by the subclass
+     * @param group      the group to look in, or null to look among all model objects
+     * @param from       the start of the interval
+     * @param to         the end of the interval
+     * @param <Endpoint> the type of the endpoints of the intervals
+     * @return a list of the model objects found, in repository order
+     * @throws IllegalArgumentException if no interval index with the specified name has been registered
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <Endpoint extends Comparable<? super Endpoint>> List<ModelObject> findByInterval(
+            String indexName, Object group, Endpoint from, Endpoint to) {
+        if (!(getIndex(indexName) instanceof RepositoryIntervalIndex<?, ?> index)) {
+            throw new IllegalArgumentException("Index " + indexName + " is not an interval index.");
+        }
+        return ((RepositoryIntervalIndex<ModelObject, Endpoint>) index).findOverlapping(group, from, to);
+    }
+
+    /**
+     * Registers a flag index under the specified name, holding one bitset per flag with a bit for each model object
+     * that matches the flag's rule, so that {@link #findByFlags(String, Collection)} can find the model objects
+     * with several flags at once by ANDing their bitsets.
+     * The index is kept up to date like the indexes registered by {@link #registerIndex(String, IndexKeyExtractor)}.
+     *
+     * @param indexName the name of the index
+     * @param rules     the rule of each flag, by name
+     */
+    protected final synchronized void registerFlagIndex(String indexName, Map<String, RepositoryRule<ModelObject>> rules) {
+        RepositoryFlagIndex<ModelObject> index = new RepositoryFlagIndex<>(rules);
+        index.rebuild(listOfModelObjects);
+        indexes.put(indexName, index);
+    }
+
+    /**
+     * Finds all model objects in the repository that have all the specified flags of a flag index.
+     *
+     * @param indexName the name of the flag index, as registered by the subclass
+     * @param flags     the names of the flags
+     * @return a list of the model objects found, in repository order
+     * @throws IllegalArgumentException if no flag index with the specified name, or no flag with one of the names, exists
+     */
+    public synchronized List<ModelObject> findByFlags(String indexName, Collection<String> flags) {
+        return getFlagIndex(indexName).find(flags);
+    }
+
+    /**
+     * Checks the rule of a flag again for every model object in the repository,
+     * for a rule whose outcome depends on something other than the model object, such as the current date.
+     *
+     * @param indexName the name of the flag index, as registered by the subclass
+     * @param flag      the name of the flag
+     * @throws IllegalArgumentException if no flag index with the specified name, or no flag with the name, exists
+     */
+    protected final synchronized void refreshFlag(String indexName, String flag) {
+        getFlagIndex(indexName).refresh(flag);
+    }
+
+    /**
+     * Checks the rule of a flag again for the specified candidates only, and takes the flag away from every other
+     * model object in the repository, for a rule that can only match model objects another index has already found.
+     *
+     * @param indexName  the name of the flag index, as registered by the subclass
+     * @param flag       the name of the flag
+     * @param candidates the only model objects the rule can match
+     * @throws IllegalArgumentException if no flag index with the specified name, or no flag with the name, exists
+     */
+    protected final synchronized void refreshFlag(String indexName, String flag, Collection<ModelObject> candidates) {
+        getFlagIndex(indexName).refresh(flag, candidates);
+    }
+
+    /**
+     * Registers a sorted index under the specified name, keeping the model objects sorted by a key so that
+     * {@link #findPage(String, Page.Cursor, boolean, RepositoryRule, int)} can list them page by page.
+     * The index is kept up to date like the indexes registered by {@link #registerIndex(String, IndexKeyExtractor)}.
+     * Model objects whose key is null are not indexed.
+     *
+     * @param indexName the name of the index
+     * @param extractor extracts the sort key of a model object
+     */
+    protected final synchronized void registerSortedIndex(String indexName, SortKeyExtractor<ModelObject> extractor) {
+        RepositorySortedIndex<ModelObject> index = new RepositorySortedIndex<>(extractor);
+        index.rebuild(listOfModelObjects);
+        indexes.put(indexName, index);
+    }
+
+    /**
+     * Lists a page of the model objects in the repository that match a rule, in the order of a sorted index.
+     * This takes time proportional to the size of the page, plus the model objects skipped because they do not match
+     * the rule, not to the size of the repository.
+     *
+     * @param indexName  the name of the sorted index, as registered by the subclass
+     * @param after      the cursor the page starts after, such as the {@link Page#next()} of the previous page,
+     *                   or null to start from the first model object
+     * @param descending whether to list the model objects from the largest key down
+     * @param rule       the rule the model objects have to match, or null to list all of them
+     * @param size       the largest number of model objects on the page
+     * @return the page
+     * @throws IllegalArgumentException if no sorted index with the specified name has been registered
+     */
+    public synchronized Page<ModelObject> findPage(String indexName, Page.Cursor after, boolean descending,
+                                                   RepositoryRule<ModelObject> rule, int size) {
+        if (!(getIndex(indexName) instanceof RepositorySortedIndex<ModelObject> index)) {
+            throw new IllegalArgumentException("Index " + indexName + " is not a sorted index.");
+        }
+        return index.findPage(after, descending, rule, size);
+    }
+
+    /**
+     * Gets the secondary index with the specified name.
+     *
+     * @param indexName the name of the index
+     * @return the index
+     * @throws IllegalArgumentException if no index with the specified name has been registered
+     */
+    private SecondaryIndex<ModelObject> getIndex(String indexName) {
+        SecondaryIndex<ModelObject> index = indexes.get(indexName);
+        if (index == null) {
+            throw new IllegalArgumentException("No index named " + indexName + " exists.");
+        }
+        return index;
+    }
+
+    /**
+     * Gets the secondary index with the specified name, which maps keys to model objects.
+     *
+     * @param indexName the name of the index
+     * @return the index
+     * @throws IllegalArgumentException if no key index with the specified name has been registered
+     */
+    private RepositoryIndex<ModelObject> getKeyIndex(String indexName) {
+        if (!(getIndex(indexName) instanceof RepositoryIndex<ModelObject> index)) {
+            throw new IllegalArgumentException("Index " + indexName + " is not a key index.");
+        }
+        return index;
+    }
+
+    /**
+     * Gets the flag index with the specified name.
+     *
+     * @param indexName the name of the index
+     * @return the index
+     * @throws IllegalArgumentException if no flag index with the specified name has been registered
+     */
+    private RepositoryFlagIndex<ModelObject> getFlagIndex(String indexName) {
+        if (!(getIndex(indexName) instanceof RepositoryFlagIndex<ModelObject> index)) {
+            throw new IllegalArgumentException("Index " + indexName + " is not a flag index.");
+        }
+        return index;
+    }
+
+    /**
+     * Normalizes an ID so that IDs which differ only in case map to the same key.
+     *
+     * @param modelObjectID the ID to normalize
+     * @return the normalized ID
+     */
+    private static String normalizeID(String modelObjectID) {
+        return modelObjectID == null ? null : modelObjectID.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Returns an iterator over the list of model objects of type {@code T}.
      *
@@ -239,4 +930,76 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
          */
         boolean isMatch(ModelObject modelObject);
     }
+
+    /**
+     * Provides the key of a model object for a secondary index.
+     *
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    public interface IndexKeyExtractor<ModelObject> {
+        /**
+         * Gets the key the specified model object is indexed under.
+         *
+         * @param modelObject the model object
+         * @return the key, or null if the model object should not be indexed
+         */
+        Object getKey(ModelObject modelObject);
+    }
+
+    /**
+     * Provides the keys of a model object for a multi-valued secondary index.
+     *
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    public interface IndexKeysExtractor<ModelObject> {
+        /**
+         * Gets the keys the specified model object is indexed under.
+         *
+         * @param modelObject the model object
+         * @return the keys, or an empty collection if the model object should not be indexed
+         */
+        Collection<?> getKeys(ModelObject modelObject);
+    }
+
+    /**
+     * Provides an endpoint of the interval of a model object for an interval index.
+     *
+     * @param <ModelObject> the type of model object stored in the repository
+     * @param <Endpoint>    the type of the endpoints of the intervals
+     */
+    public interface IntervalEndpointExtractor<ModelObject, Endpoint> {
+        /**
+         * Gets the endpoint of the interval of the specified model object.
+         *
+         * @param modelObject the model object
+         * @return the endpoint, or null if the model object should not be indexed
+         */
+        Endpoint getEndpoint(ModelObject modelObject);
+    }
+
+    /**
+     * Provides the sort key of a model object for a sorted index.
+     *
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    public interface SortKeyExtractor<ModelObject> {
+        /**
+         * Gets the key the specified model object is sorted by.
+         *
+         * @param modelObject the model object
+         * @return the key, or null if the model object should not be indexed
+         */
+        Comparable<?> getSortKey(ModelObject modelObject);
+    }
+
+    /**
+     * The latest unwritten change to a model object.
+     *
+     * @param ID          the ID of the model object
+     * @param modelObject the model object to write, or null if it has been removed
+     * @param removed     whether the model object has to be removed before it is written, which moves it to the end
+     * @param <ModelObject> the type of the model object
+     */
+    private record DirtyRecord<ModelObject>(String ID, ModelObject modelObject, boolean removed) {
+    }
 }
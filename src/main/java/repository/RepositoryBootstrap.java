@@ -0,0 +1,127 @@
+package repository;
+
+import repository.enquiry.EnquiryRepository;
+import repository.project.ProjectRepository;
+import repository.request.RequestRepository;
+import repository.user.ApplicantRepository;
+import repository.user.ManagerRepository;
+import repository.user.OfficerRepository;
+import utils.iocontrol.UnitOfWork;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * The RepositoryBootstrap class loads the data files of all repositories at the same time when the application starts,
+ * so that the start-up time is bounded by the largest file rather than the sum of all of them.
+ * <p>
+ * Each repository is read and decoded on its own virtual thread and published through the {@link RepositoryRegistry}
+ * once it is fully built, so the later {@code getInstance()} calls of the controllers are served from the cache.
+ */
+public final class RepositoryBootstrap {
+
+    /**
+     * The time it took to load one repository.
+     *
+     * @param repositoryClass the class of the repository
+     * @param filePath        the path of the data file of the repository
+     * @param size            the number of model objects loaded
+     * @param nanos           the time taken to load the repository, in nanoseconds
+     */
+    public record LoadTime(Class<?> repositoryClass, String filePath, int size, long nanos) {
+    }
+
+    /**
+     * The result of loading all repositories.
+     *
+     * @param loadTimes    the time taken by each repository, in the order in which they were started
+     * @param elapsedNanos the time taken to load all repositories, in nanoseconds
+     */
+    public record Report(List<LoadTime> loadTimes, long elapsedNanos) {
+
+        /**
+         * Gets a line per repository with the time it took to load, followed by the total.
+         *
+         * @return the formatted report
+         */
+        public String format() {
+            StringBuilder stringBuilder = new StringBuilder();
+            for (LoadTime loadTime : loadTimes) {
+                stringBuilder.append(String.format("%-22s %8d records %8.1f ms%n",
+                        loadTime.repositoryClass().getSimpleName(), loadTime.size(), loadTime.nanos() / 1e6));
+            }
+            stringBuilder.append(String.format("%-22s %25.1f ms%n", "Total", elapsedNanos / 1e6));
+            return stringBuilder.toString();
+        }
+    }
+
+    private RepositoryBootstrap() {
+    }
+
+    /**
+     * Loads the applicant, officer, manager, project, request and enquiry repositories at the same time
+     * and waits until all of them are loaded.
+     * A unit of work interrupted by the previous run is completed first, so that the files are consistent with each other.
+     *
+     * @return the time taken by each repository and in total
+     * @throws RuntimeException if a data file could not be loaded
+     */
+    public static Report loadAll() {
+        UnitOfWork.recover(UnitOfWork.DEFAULT_JOURNAL_PATH);
+        return loadAll(List.of(
+                ApplicantRepository::getInstance,
+                OfficerRepository::getInstance,
+                ManagerRepository::getInstance,
+                ProjectRepository::getInstance,
+                RequestRepository::getInstance,
+                EnquiryRepository::getInstance));
+    }
+
+    /**
+     * Loads the specified repositories at the same time and waits until all of them are loaded.
+     *
+     * @param repositories gets the shared instance of each repository, loading it if needed
+     * @return the time taken by each repository and in total
+     * @throws RuntimeException if a data file could not be loaded
+     */
+    public static Report loadAll(List<Supplier<? extends Repository<?>>> repositories) {
+        long start = System.nanoTime();
+        List<Future<LoadTime>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Supplier<? extends Repository<?>> supplier : repositories) {
+                futures.add(executor.submit(() -> load(supplier)));
+            }
+            List<LoadTime> loadTimes = new ArrayList<>();
+            for (Future<LoadTime> future : futures) {
+                loadTimes.add(future.get());
+            }
+            return new Report(loadTimes, System.nanoTime() - start);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Data could not be loaded: " + e.getCause(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Data loading was interrupted", e);
+        }
+    }
+
+    /**
+     * Loads one repository and measures the time it takes.
+     *
+     * @param supplier gets the shared instance of the repository
+     * @return the time taken
+     */
+    private static LoadTime load(Supplier<? extends Repository<?>> supplier) {
+        long start = System.nanoTime();
+        Repository<?> repository = supplier.get();
+        long nanos = System.nanoTime() - start;
+        return new LoadTime(repository.getClass(), repository.getFilePath(), repository.size(), nanos);
+    }
+}
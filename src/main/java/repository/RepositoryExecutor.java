@@ -0,0 +1,60 @@
+package repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The RepositoryExecutor class runs operations on the repositories, and the file I/O they do,
+ * on a dedicated executor and hands back their results as {@link CompletableFuture}s,
+ * so that the caller does not block a thread of its own while the disk is written.
+ * <p>
+ * Each operation runs on a virtual thread of its own under the {@link RepositoryLock}, so reads run in parallel with
+ * each other and writes run alone. As a {@link utils.iocontrol.UnitOfWork} belongs to the thread that began it,
+ * an operation started here never joins a unit of work of the caller.
+ */
+public final class RepositoryExecutor {
+
+    /**
+     * The executor the operations run on.
+     */
+    private static final ExecutorService IO_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("repository-io-", 0).factory());
+
+    private RepositoryExecutor() {
+    }
+
+    /**
+     * Runs an operation that only reads the repositories.
+     *
+     * @param action the operation to run
+     * @param <T>    the type of the result
+     * @return a future completed with the result of the operation, or with the exception it threw
+     */
+    public static <T> CompletableFuture<T> read(RepositoryLock.Action<T, ? extends Exception> action) {
+        return submit(action, false);
+    }
+
+    /**
+     * Runs an operation that changes the repositories.
+     *
+     * @param action the operation to run
+     * @param <T>    the type of the result
+     * @return a future completed with the result of the operation, or with the exception it threw
+     */
+    public static <T> CompletableFuture<T> write(RepositoryLock.Action<T, ? extends Exception> action) {
+        return submit(action, true);
+    }
+
+    private static <T> CompletableFuture<T> submit(RepositoryLock.Action<T, ? extends Exception> action, boolean write) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        IO_EXECUTOR.execute(() -> {
+            try {
+                future.complete(write ? RepositoryLock.write(action) : RepositoryLock.read(action));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+}
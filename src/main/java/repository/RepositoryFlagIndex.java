@@ -0,0 +1,218 @@
+package repository;
+
+import model.Model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A secondary index of a {@link Repository} holding one bitset per named flag, such as whether a project is visible,
+ * with one bit per model object for whether the flag's rule matches it.
+ * <p>
+ * The model objects that have several flags at once are found by ANDing the bitsets of the flags, which takes
+ * a word of work per 64 model objects, however complex the rules are, plus the work of listing the model objects found.
+ * A model object keeps its bit across updates, so the bits follow the order of the repository. Removing a model object
+ * leaves its bit unused until the unused bits outnumber the bits in use, when the bits are compacted, so the bitsets
+ * never grow much beyond the number of model objects however many have been removed.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+final class RepositoryFlagIndex<ModelObject extends Model> implements SecondaryIndex<ModelObject> {
+
+    /**
+     * The rule of each flag, by name.
+     */
+    private final Map<String, Repository.RepositoryRule<ModelObject>> rules;
+
+    /**
+     * The bitset of each flag, by name.
+     */
+    private final Map<String, BitSet> flags = new LinkedHashMap<>();
+
+    /**
+     * The model object of each bit, or null if the bit is not in use.
+     */
+    private final List<ModelObject> modelObjects = new ArrayList<>();
+
+    /**
+     * The bit of each model object.
+     */
+    private final Map<ModelObject, Integer> bits = new IdentityHashMap<>();
+
+    /**
+     * The number of bits left unused by removed model objects.
+     */
+    private int unusedBits;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param rules the rule of each flag, by name
+     */
+    RepositoryFlagIndex(Map<String, Repository.RepositoryRule<ModelObject>> rules) {
+        this.rules = new LinkedHashMap<>(rules);
+        for (String flag : rules.keySet()) {
+            flags.put(flag, new BitSet());
+        }
+    }
+
+    /**
+     * Finds the model objects that have all the specified flags.
+     *
+     * @param names the names of the flags, or none to find all model objects
+     * @return the model objects found, in repository order
+     * @throws IllegalArgumentException if a flag with one of the names does not exist
+     */
+    List<ModelObject> find(Collection<String> names) {
+        BitSet matches = new BitSet(modelObjects.size());
+        matches.set(0, modelObjects.size());
+        for (String name : names) {
+            matches.and(getFlag(name));
+        }
+        List<ModelObject> found = new ArrayList<>(matches.cardinality());
+        for (int bit = matches.nextSetBit(0); bit >= 0; bit = matches.nextSetBit(bit + 1)) {
+            ModelObject modelObject = modelObjects.get(bit);
+            if (modelObject != null) {
+                found.add(modelObject);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks the rule of a flag again for every model object, for a rule whose outcome depends on something
+     * other than the model object, such as the current date.
+     *
+     * @param name the name of the flag
+     * @throws IllegalArgumentException if a flag with the name does not exist
+     */
+    void refresh(String name) {
+        BitSet flag = getFlag(name);
+        Repository.RepositoryRule<ModelObject> rule = rules.get(name);
+        flag.clear();
+        for (int bit = 0; bit < modelObjects.size(); bit++) {
+            ModelObject modelObject = modelObjects.get(bit);
+            if (modelObject != null && rule.isMatch(modelObject)) {
+                flag.set(bit);
+            }
+        }
+    }
+
+    /**
+     * Checks the rule of a flag again for a few candidate model objects only, such as those another index has found
+     * to possibly match, and takes the flag away from every other model object.
+     *
+     * @param name       the name of the flag
+     * @param candidates the only model objects the rule can match
+     * @throws IllegalArgumentException if a flag with the name does not exist
+     */
+    void refresh(String name, Collection<ModelObject> candidates) {
+        BitSet flag = getFlag(name);
+        Repository.RepositoryRule<ModelObject> rule = rules.get(name);
+        flag.clear();
+        for (ModelObject modelObject : candidates) {
+            Integer bit = bits.get(modelObject);
+            if (bit != null && rule.isMatch(modelObject)) {
+                flag.set(bit);
+            }
+        }
+    }
+
+    @Override
+    public void rebuild(List<ModelObject> modelObjects) {
+        clear();
+        for (ModelObject modelObject : modelObjects) {
+            add(modelObject);
+        }
+    }
+
+    @Override
+    public void add(ModelObject modelObject) {
+        int bit = modelObjects.size();
+        modelObjects.add(modelObject);
+        bits.put(modelObject, bit);
+        setFlags(modelObject, bit);
+    }
+
+    @Override
+    public void remove(ModelObject modelObject) {
+        Integer bit = bits.remove(modelObject);
+        if (bit == null) {
+            return;
+        }
+        modelObjects.set(bit, null);
+        for (BitSet flag : flags.values()) {
+            flag.clear(bit);
+        }
+        if (++unusedBits > Long.SIZE && unusedBits > bits.size()) {
+            compact();
+        }
+    }
+
+    @Override
+    public void replace(ModelObject oldModelObject, ModelObject newModelObject) {
+        Integer bit = bits.remove(oldModelObject);
+        if (bit == null) {
+            add(newModelObject);
+            return;
+        }
+        modelObjects.set(bit, newModelObject);
+        bits.put(newModelObject, bit);
+        setFlags(newModelObject, bit);
+    }
+
+    @Override
+    public void clear() {
+        modelObjects.clear();
+        bits.clear();
+        unusedBits = 0;
+        for (BitSet flag : flags.values()) {
+            flag.clear();
+        }
+    }
+
+    /**
+     * Gives the model objects new bits with no unused bits between them, in the same order.
+     */
+    private void compact() {
+        List<ModelObject> inUse = new ArrayList<>(bits.size());
+        for (ModelObject modelObject : modelObjects) {
+            if (modelObject != null) {
+                inUse.add(modelObject);
+            }
+        }
+        rebuild(inUse);
+    }
+
+    /**
+     * Sets the bit of a model object in each flag to whether the flag's rule matches it.
+     *
+     * @param modelObject the model object
+     * @param bit         the bit of the model object
+     */
+    private void setFlags(ModelObject modelObject, int bit) {
+        for (Map.Entry<String, Repository.RepositoryRule<ModelObject>> rule : rules.entrySet()) {
+            flags.get(rule.getKey()).set(bit, rule.getValue().isMatch(modelObject));
+        }
+    }
+
+    /**
+     * Gets the bitset of a flag.
+     *
+     * @param name the name of the flag
+     * @return the bitset of the flag
+     * @throws IllegalArgumentException if a flag with the name does not exist
+     */
+    private BitSet getFlag(String name) {
+        BitSet flag = flags.get(name);
+        if (flag == null) {
+            throw new IllegalArgumentException("No flag named " + name + " exists.");
+        }
+        return flag;
+    }
+}
@@ -0,0 +1,197 @@
+package repository;
+
+import model.Model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A secondary index of a {@link Repository}, mapping the keys extracted from each model object to the model objects.
+ * <p>
+ * The index remembers the keys each model object was indexed under, so a model object that is changed in place
+ * and then passed to {@link Repository#update(Model)} is moved to the buckets of its new keys.
+ * Model objects are returned in the same order as in the repository list.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+final class RepositoryIndex<ModelObject extends Model> implements SecondaryIndex<ModelObject> {
+
+    /**
+     * The position and keys of a model object in the index.
+     *
+     * @param sequence the position of the model object relative to the other model objects in the repository
+     * @param keys     the keys the model object is indexed under
+     */
+    private record Entry(long sequence, List<Object> keys) {
+    }
+
+    /**
+     * Extracts the keys of a model object.
+     */
+    private final Repository.IndexKeysExtractor<ModelObject> extractor;
+
+    /**
+     * The model objects indexed under each key, ordered by their position in the repository.
+     */
+    private final Map<Object, TreeMap<Long, ModelObject>> buckets = new HashMap<>();
+
+    /**
+     * The entry of each model object in the index.
+     */
+    private final Map<ModelObject, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * The sequence number given to the next model object added to the end of the repository.
+     */
+    private long nextSequence = 0;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param extractor extracts the keys of a model object
+     */
+    RepositoryIndex(Repository.IndexKeysExtractor<ModelObject> extractor) {
+        this.extractor = extractor;
+    }
+
+    /**
+     * Finds the model objects indexed under the specified key.
+     *
+     * @param key the key to look up
+     * @return the model objects indexed under the key, in repository order
+     */
+    List<ModelObject> find(Object key) {
+        TreeMap<Long, ModelObject> bucket = buckets.get(key);
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket.values());
+    }
+
+    /**
+     * Finds the model objects indexed under any of the specified keys.
+     *
+     * @param keys the keys to look up
+     * @return the model objects indexed under any of the keys, each once, in repository order
+     */
+    List<ModelObject> find(Collection<?> keys) {
+        TreeMap<Long, ModelObject> found = new TreeMap<>();
+        for (Object key : keys) {
+            TreeMap<Long, ModelObject> bucket = buckets.get(key);
+            if (bucket != null) {
+                found.putAll(bucket);
+            }
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    /**
+     * Counts the model objects indexed under the specified key.
+     *
+     * @param key the key to look up
+     * @return the number of model objects indexed under the key
+     */
+    int count(Object key) {
+        TreeMap<Long, ModelObject> bucket = buckets.get(key);
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /**
+     * Discards the index and indexes the specified model objects.
+     *
+     * @param modelObjects the model objects in the repository, in order
+     */
+    @Override
+    public void rebuild(List<ModelObject> modelObjects) {
+        clear();
+        for (ModelObject modelObject : modelObjects) {
+            add(modelObject);
+        }
+    }
+
+    /**
+     * Indexes a model object that was added to the end of the repository.
+     *
+     * @param modelObject the model object that was added
+     */
+    @Override
+    public void add(ModelObject modelObject) {
+        insert(modelObject, nextSequence++);
+    }
+
+    /**
+     * Removes a model object from the index.
+     *
+     * @param modelObject the model object that was removed
+     */
+    @Override
+    public void remove(ModelObject modelObject) {
+        Entry entry = entries.remove(modelObject);
+        if (entry == null) {
+            return;
+        }
+        for (Object key : entry.keys()) {
+            TreeMap<Long, ModelObject> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(entry.sequence());
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-indexes a model object that was updated, keeping its position.
+     * The new model object may be the old one changed in place.
+     *
+     * @param oldModelObject the model object before the update
+     * @param newModelObject the model object after the update
+     */
+    @Override
+    public void replace(ModelObject oldModelObject, ModelObject newModelObject) {
+        Entry entry = entries.get(oldModelObject);
+        if (entry == null) {
+            add(newModelObject);
+            return;
+        }
+        remove(oldModelObject);
+        insert(newModelObject, entry.sequence());
+    }
+
+    /**
+     * Removes all model objects from the index.
+     */
+    @Override
+    public void clear() {
+        buckets.clear();
+        entries.clear();
+        nextSequence = 0;
+    }
+
+    /**
+     * Indexes a model object at the specified position.
+     *
+     * @param modelObject the model object to index
+     * @param sequence    the position of the model object
+     */
+    private void insert(ModelObject modelObject, long sequence) {
+        Collection<?> extracted = extractor.getKeys(modelObject);
+        List<Object> keys = new ArrayList<>();
+        if (extracted != null) {
+            // A model object listed twice under the same key is only indexed once
+            for (Object key : new LinkedHashSet<>(extracted)) {
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+        }
+        for (Object key : keys) {
+            buckets.computeIfAbsent(key, k -> new TreeMap<>()).put(sequence, modelObject);
+        }
+        entries.put(modelObject, new Entry(sequence, keys));
+    }
+}
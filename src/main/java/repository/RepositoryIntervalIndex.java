@@ -0,0 +1,330 @@
+package repository;
+
+import model.Model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A secondary index of a {@link Repository} over an interval of each model object, such as the application window
+ * of a project, which finds the model objects whose interval overlaps a given one.
+ * <p>
+ * Intervals are closed, and model objects whose interval has a null endpoint are not indexed.
+ * Each model object is indexed once among all the model objects and once within its group, such as the projects
+ * of one manager, so a query within a group never looks at the model objects of the other groups.
+ * <p>
+ * The intervals of a group are kept in a treap ordered by start and augmented with the latest end in each subtree.
+ * A query skips every subtree whose intervals all end before the queried interval starts, and every subtree whose
+ * intervals all start after it ends, so it only visits the path down the tree and the intervals it finds.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ * @param <Endpoint>    the type of the endpoints of the intervals
+ */
+final class RepositoryIntervalIndex<ModelObject extends Model, Endpoint extends Comparable<? super Endpoint>>
+        implements SecondaryIndex<ModelObject> {
+
+    /**
+     * A node of a treap, holding the interval of one model object.
+     *
+     * @param <ModelObject> the type of model object stored in the repository
+     * @param <Endpoint>    the type of the endpoints of the intervals
+     */
+    private static final class Node<ModelObject, Endpoint extends Comparable<? super Endpoint>> {
+        final ModelObject modelObject;
+        final long sequence;
+        final Endpoint start;
+        final Endpoint end;
+        final int priority;
+        Endpoint maxEnd;
+        Node<ModelObject, Endpoint> left;
+        Node<ModelObject, Endpoint> right;
+
+        Node(ModelObject modelObject, long sequence, Endpoint start, Endpoint end, int priority) {
+            this.modelObject = modelObject;
+            this.sequence = sequence;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    /**
+     * The nodes of a model object in the index.
+     *
+     * @param group     the group of the model object, or null if it is in no group
+     * @param allNode   the node of the model object in the treap of all model objects
+     * @param groupNode the node of the model object in the treap of its group, or null if it is in no group
+     * @param <ModelObject> the type of model object stored in the repository
+     * @param <Endpoint>    the type of the endpoints of the intervals
+     */
+    private record Entry<ModelObject, Endpoint extends Comparable<? super Endpoint>>(
+            Object group, Node<ModelObject, Endpoint> allNode, Node<ModelObject, Endpoint> groupNode) {
+    }
+
+    /**
+     * Extracts the group of a model object.
+     */
+    private final Repository.IndexKeyExtractor<ModelObject> groupExtractor;
+
+    /**
+     * Extracts the start of the interval of a model object.
+     */
+    private final Repository.IntervalEndpointExtractor<ModelObject, Endpoint> startExtractor;
+
+    /**
+     * Extracts the end of the interval of a model object.
+     */
+    private final Repository.IntervalEndpointExtractor<ModelObject, Endpoint> endExtractor;
+
+    /**
+     * The root of the treap of all model objects.
+     */
+    private Node<ModelObject, Endpoint> allRoot;
+
+    /**
+     * The root of the treap of each group.
+     */
+    private final Map<Object, Node<ModelObject, Endpoint>> groupRoots = new HashMap<>();
+
+    /**
+     * The entry of each model object in the index.
+     */
+    private final Map<ModelObject, Entry<ModelObject, Endpoint>> entries = new IdentityHashMap<>();
+
+    /**
+     * The source of the priorities that keep the treaps balanced.
+     */
+    private final SplittableRandom priorities = new SplittableRandom();
+
+    /**
+     * The sequence number given to the next model object added to the end of the repository.
+     */
+    private long nextSequence = 0;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param groupExtractor extracts the group of a model object, or null if it is in no group
+     * @param startExtractor extracts the start of the interval of a model object
+     * @param endExtractor   extracts the end of the interval of a model object
+     */
+    RepositoryIntervalIndex(Repository.IndexKeyExtractor<ModelObject> groupExtractor,
+                            Repository.IntervalEndpointExtractor<ModelObject, Endpoint> startExtractor,
+                            Repository.IntervalEndpointExtractor<ModelObject, Endpoint> endExtractor) {
+        this.groupExtractor = groupExtractor;
+        this.startExtractor = startExtractor;
+        this.endExtractor = endExtractor;
+    }
+
+    /**
+     * Finds the model objects whose interval overlaps the specified one.
+     *
+     * @param group the group to look in, or null to look among all model objects
+     * @param from  the start of the interval
+     * @param to    the end of the interval
+     * @return the model objects found, in repository order
+     */
+    List<ModelObject> findOverlapping(Object group, Endpoint from, Endpoint to) {
+        List<Node<ModelObject, Endpoint>> found = new ArrayList<>();
+        collect(group == null ? allRoot : groupRoots.get(group), from, to, found);
+        found.sort(Comparator.comparingLong(node -> node.sequence));
+        List<ModelObject> modelObjects = new ArrayList<>(found.size());
+        for (Node<ModelObject, Endpoint> node : found) {
+            modelObjects.add(node.modelObject);
+        }
+        return modelObjects;
+    }
+
+    @Override
+    public void rebuild(List<ModelObject> modelObjects) {
+        clear();
+        for (ModelObject modelObject : modelObjects) {
+            add(modelObject);
+        }
+    }
+
+    @Override
+    public void add(ModelObject modelObject) {
+        insert(modelObject, nextSequence++);
+    }
+
+    @Override
+    public void remove(ModelObject modelObject) {
+        Entry<ModelObject, Endpoint> entry = entries.remove(modelObject);
+        if (entry == null) {
+            return;
+        }
+        allRoot = delete(allRoot, entry.allNode());
+        if (entry.groupNode() != null) {
+            Node<ModelObject, Endpoint> root = delete(groupRoots.get(entry.group()), entry.groupNode());
+            if (root == null) {
+                groupRoots.remove(entry.group());
+            } else {
+                groupRoots.put(entry.group(), root);
+            }
+        }
+    }
+
+    @Override
+    public void replace(ModelObject oldModelObject, ModelObject newModelObject) {
+        Entry<ModelObject, Endpoint> entry = entries.get(oldModelObject);
+        if (entry == null) {
+            add(newModelObject);
+            return;
+        }
+        remove(oldModelObject);
+        insert(newModelObject, entry.allNode().sequence);
+    }
+
+    @Override
+    public void clear() {
+        allRoot = null;
+        groupRoots.clear();
+        entries.clear();
+        nextSequence = 0;
+    }
+
+    /**
+     * Indexes a model object at the specified position, unless its interval has a null endpoint.
+     *
+     * @param modelObject the model object to index
+     * @param sequence    the position of the model object
+     */
+    private void insert(ModelObject modelObject, long sequence) {
+        Endpoint start = startExtractor.getEndpoint(modelObject);
+        Endpoint end = endExtractor.getEndpoint(modelObject);
+        if (start == null || end == null) {
+            return;
+        }
+        Node<ModelObject, Endpoint> allNode = new Node<>(modelObject, sequence, start, end, priorities.nextInt());
+        allRoot = insert(allRoot, allNode);
+        Object group = groupExtractor.getKey(modelObject);
+        Node<ModelObject, Endpoint> groupNode = null;
+        if (group != null) {
+            groupNode = new Node<>(modelObject, sequence, start, end, priorities.nextInt());
+            groupRoots.put(group, insert(groupRoots.get(group), groupNode));
+        }
+        entries.put(modelObject, new Entry<>(group, allNode, groupNode));
+    }
+
+    /**
+     * Collects the nodes of a subtree whose interval overlaps the specified one.
+     *
+     * @param node  the root of the subtree
+     * @param from  the start of the interval
+     * @param to    the end of the interval
+     * @param found the list the nodes found are added to
+     */
+    private void collect(Node<ModelObject, Endpoint> node, Endpoint from, Endpoint to, List<Node<ModelObject, Endpoint>> found) {
+        if (node == null || node.maxEnd.compareTo(from) < 0) {
+            return;
+        }
+        collect(node.left, from, to, found);
+        // The node and its right subtree start after the interval ends
+        if (node.start.compareTo(to) > 0) {
+            return;
+        }
+        if (node.end.compareTo(from) >= 0) {
+            found.add(node);
+        }
+        collect(node.right, from, to, found);
+    }
+
+    private Node<ModelObject, Endpoint> insert(Node<ModelObject, Endpoint> root, Node<ModelObject, Endpoint> node) {
+        if (root == null) {
+            return node;
+        }
+        if (compare(node, root) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        updateMaxEnd(root);
+        return root;
+    }
+
+    private Node<ModelObject, Endpoint> delete(Node<ModelObject, Endpoint> root, Node<ModelObject, Endpoint> node) {
+        if (root == null) {
+            return null;
+        }
+        if (root == node) {
+            return merge(root.left, root.right);
+        }
+        if (compare(node, root) < 0) {
+            root.left = delete(root.left, node);
+        } else {
+            root.right = delete(root.right, node);
+        }
+        updateMaxEnd(root);
+        return root;
+    }
+
+    /**
+     * Merges two treaps, all of whose nodes in the first come before those in the second.
+     */
+    private Node<ModelObject, Endpoint> merge(Node<ModelObject, Endpoint> first, Node<ModelObject, Endpoint> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            updateMaxEnd(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        updateMaxEnd(second);
+        return second;
+    }
+
+    private Node<ModelObject, Endpoint> rotateRight(Node<ModelObject, Endpoint> node) {
+        Node<ModelObject, Endpoint> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        updateMaxEnd(node);
+        updateMaxEnd(left);
+        return left;
+    }
+
+    private Node<ModelObject, Endpoint> rotateLeft(Node<ModelObject, Endpoint> node) {
+        Node<ModelObject, Endpoint> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        updateMaxEnd(node);
+        updateMaxEnd(right);
+        return right;
+    }
+
+    private void updateMaxEnd(Node<ModelObject, Endpoint> node) {
+        Endpoint maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.compareTo(maxEnd) > 0) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.compareTo(maxEnd) > 0) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    /**
+     * Orders nodes by the start of their interval, then by their position in the repository.
+     */
+    private int compare(Node<ModelObject, Endpoint> first, Node<ModelObject, Endpoint> second) {
+        int byStart = first.start.compareTo(second.start);
+        return byStart != 0 ? byStart : Long.compare(first.sequence, second.sequence);
+    }
+}
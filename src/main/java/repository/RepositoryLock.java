@@ -0,0 +1,99 @@
+package repository;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The RepositoryLock class guards the repositories when several sessions use them at the same time.
+ * <p>
+ * Each repository method is synchronized on its own, but the controllers also walk the lists returned by
+ * {@link Repository#getAll()} and combine several repositories in one operation, which is only safe while no other
+ * thread changes them. Sessions therefore run their queries while holding the shared read lock, so that any number of
+ * them can run at once, and their changes while holding the exclusive write lock.
+ * <p>
+ * The lock is reentrant, and a thread holding the write lock may also take the read lock, but a thread holding only
+ * the read lock must not ask for the write lock.
+ */
+public final class RepositoryLock {
+
+    /**
+     * The lock shared by all sessions. It is fair so that a stream of queries cannot starve the changes.
+     */
+    private static final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock(true);
+
+    /**
+     * An operation on the repositories.
+     *
+     * @param <T> the type of the result
+     * @param <E> the type of exception the operation may throw
+     */
+    @FunctionalInterface
+    public interface Action<T, E extends Exception> {
+        /**
+         * Runs the operation.
+         *
+         * @return the result of the operation
+         * @throws E if the operation fails
+         */
+        T run() throws E;
+    }
+
+    private RepositoryLock() {
+    }
+
+    /**
+     * Runs an operation that only reads the repositories, at the same time as other reads.
+     *
+     * @param action the operation to run
+     * @param <T>    the type of the result
+     * @param <E>    the type of exception the operation may throw
+     * @return the result of the operation
+     * @throws E if the operation fails
+     */
+    public static <T, E extends Exception> T read(Action<T, E> action) throws E {
+        return run(LOCK.readLock(), action);
+    }
+
+    /**
+     * Runs an operation that changes the repositories, while no other operation is running.
+     *
+     * @param action the operation to run
+     * @param <T>    the type of the result
+     * @param <E>    the type of exception the operation may throw
+     * @return the result of the operation
+     * @throws E if the operation fails
+     */
+    public static <T, E extends Exception> T write(Action<T, E> action) throws E {
+        return run(LOCK.writeLock(), action);
+    }
+
+    /**
+     * Checks whether the current thread holds the write lock.
+     *
+     * @return true if the current thread holds the write lock, false otherwise
+     */
+    static boolean isWriteLockedByCurrentThread() {
+        return LOCK.isWriteLockedByCurrentThread();
+    }
+
+    /**
+     * Checks whether the current thread holds the read lock or the write lock.
+     *
+     * @return true if the current thread holds either lock, false otherwise
+     */
+    static boolean isHeldByCurrentThread() {
+        return LOCK.isWriteLockedByCurrentThread() || LOCK.getReadHoldCount() > 0;
+    }
+
+    /**
+     * Runs an operation while holding the specified lock.
+     */
+    private static <T, E extends Exception> T run(Lock lock, Action<T, E> action) throws E {
+        lock.lock();
+        try {
+            return action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
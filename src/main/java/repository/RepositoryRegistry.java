@@ -0,0 +1,144 @@
+package repository;
+
+import utils.iocontrol.UnitOfWork;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The RepositoryRegistry class keeps one shared instance of every repository for the whole process,
+ * so that each data file is read and decoded once instead of on every {@code getInstance()} call.
+ * <p>
+ * Before a cached repository is handed out, the modification time and size of its data file are compared
+ * with the values recorded when the repository last loaded or saved it.
+ * If another process has edited the file in the meantime, the repository is reloaded.
+ * <p>
+ * A reload replaces the list and the indexes of the repository, so it only happens under the write lock of the
+ * {@link RepositoryLock}, while no other thread can be reading the repository. A thread that holds only the read lock
+ * cannot take the write lock, so it is handed the cached repository and the reload waits for a later lookup.
+ * Nor is a repository reloaded while a unit of work is open on the thread, as that would discard the changes it
+ * has staged.
+ * <p>
+ * The registry counts cache hits (the cached repository was still current) and misses
+ * (the data file had to be read), which can be inspected through {@link #getHitCount()} and {@link #getMissCount()}.
+ */
+public final class RepositoryRegistry {
+
+    /**
+     * The shared repositories, keyed by their class.
+     */
+    private static final Map<Class<?>, Repository<?>> repositories = new ConcurrentHashMap<>();
+
+    /**
+     * The locks that make sure each repository class is created only once, keyed by the class.
+     */
+    private static final Map<Class<?>, Object> creationLocks = new ConcurrentHashMap<>();
+
+    /**
+     * The number of lookups served from the cache without reading the data file.
+     */
+    private static final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * The number of lookups that had to read the data file, either for the first time or to reload it.
+     */
+    private static final AtomicLong missCount = new AtomicLong();
+
+    private RepositoryRegistry() {
+    }
+
+    /**
+     * Gets the shared instance of the specified repository class.
+     * The repository is created (and therefore loaded) by the factory the first time it is requested,
+     * and reloaded later on if its data file has been modified by someone else.
+     *
+     * @param repositoryClass the class of the repository
+     * @param factory         creates and loads a new repository of the given class
+     * @param <R>             the type of the repository
+     * @return the shared instance of the repository
+     */
+    public static <R extends Repository<?>> R getInstance(Class<R> repositoryClass, Supplier<R> factory) {
+        Repository<?> repository = repositories.get(repositoryClass);
+        if (repository == null) {
+            // Load outside the map so that repositories of different classes can be loaded at the same time
+            synchronized (creationLocks.computeIfAbsent(repositoryClass, key -> new Object())) {
+                repository = repositories.get(repositoryClass);
+                if (repository == null) {
+                    R created = factory.get();
+                    repositories.put(repositoryClass, created);
+                    missCount.incrementAndGet();
+                    return created;
+                }
+            }
+        }
+        if (repository.isModifiedOnDisk() && canReload()) {
+            Repository<?> stale = repository;
+            RepositoryLock.write(() -> {
+                synchronized (stale) {
+                    // Another thread may have reloaded it while this one waited for the lock
+                    if (stale.isModifiedOnDisk()) {
+                        stale.load();
+                        missCount.incrementAndGet();
+                    } else {
+                        hitCount.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return repositoryClass.cast(repository);
+    }
+
+    /**
+     * Checks whether the current thread may reload a repository.
+     * It may if it holds the write lock or can take it, and no unit of work is open on it.
+     *
+     * @return true if the current thread may reload a repository, false otherwise
+     */
+    private static boolean canReload() {
+        if (UnitOfWork.isOpen()) {
+            return false;
+        }
+        return RepositoryLock.isWriteLockedByCurrentThread() || !RepositoryLock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Drops the shared instance of the specified repository class, so that the next lookup reads its data file again.
+     *
+     * @param repositoryClass the class of the repository
+     */
+    public static void invalidate(Class<? extends Repository<?>> repositoryClass) {
+        repositories.remove(repositoryClass);
+    }
+
+    /**
+     * Drops all shared repositories and resets the cache counters.
+     */
+    public static void clear() {
+        repositories.clear();
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    /**
+     * Gets the number of lookups that were served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of lookups that had to read the data file.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissCount() {
+        return missCount.get();
+    }
+}
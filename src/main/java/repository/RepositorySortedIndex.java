@@ -0,0 +1,116 @@
+package repository;
+
+import model.Model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A secondary index of a {@link Repository} keeping the model objects sorted by a key, such as the title of a project,
+ * so that they can be listed page by page from a {@link Page.Cursor}.
+ * <p>
+ * Model objects with equal keys are sorted by ID, and model objects whose key is null are not indexed.
+ * Finding the start of a page takes logarithmic time, and listing the page takes time proportional to its size
+ * plus the number of model objects skipped because they do not match the rule of the listing.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+final class RepositorySortedIndex<ModelObject extends Model> implements SecondaryIndex<ModelObject> {
+
+    /**
+     * Extracts the sort key of a model object.
+     */
+    private final Repository.SortKeyExtractor<ModelObject> extractor;
+
+    /**
+     * The model objects, by their position in the order of the index.
+     */
+    private final TreeMap<Page.Cursor, ModelObject> sorted = new TreeMap<>();
+
+    /**
+     * The position of each model object in the order of the index.
+     */
+    private final Map<ModelObject, Page.Cursor> positions = new IdentityHashMap<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param extractor extracts the sort key of a model object
+     */
+    RepositorySortedIndex(Repository.SortKeyExtractor<ModelObject> extractor) {
+        this.extractor = extractor;
+    }
+
+    /**
+     * Lists a page of the model objects that match a rule, in the order of the index.
+     *
+     * @param after      the cursor the page starts after, or null to start from the first model object
+     * @param descending whether to list the model objects from the largest key down
+     * @param rule       the rule the model objects have to match, or null to list all of them
+     * @param size       the largest number of model objects on the page
+     * @return the page
+     */
+    Page<ModelObject> findPage(Page.Cursor after, boolean descending, Repository.RepositoryRule<ModelObject> rule, int size) {
+        NavigableMap<Page.Cursor, ModelObject> view = descending ? sorted.descendingMap() : sorted;
+        if (after != null) {
+            view = view.tailMap(after, false);
+        }
+        List<ModelObject> items = new ArrayList<>(size);
+        Page.Cursor last = null;
+        for (Map.Entry<Page.Cursor, ModelObject> entry : view.entrySet()) {
+            if (rule != null && !rule.isMatch(entry.getValue())) {
+                continue;
+            }
+            // A further match means there is a next page
+            if (items.size() == size) {
+                return new Page<>(items, last);
+            }
+            items.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page<>(items, null);
+    }
+
+    @Override
+    public void rebuild(List<ModelObject> modelObjects) {
+        clear();
+        for (ModelObject modelObject : modelObjects) {
+            add(modelObject);
+        }
+    }
+
+    @Override
+    public void add(ModelObject modelObject) {
+        Comparable<?> key = extractor.getSortKey(modelObject);
+        if (key == null) {
+            return;
+        }
+        Page.Cursor position = new Page.Cursor(key, modelObject.getID());
+        sorted.put(position, modelObject);
+        positions.put(modelObject, position);
+    }
+
+    @Override
+    public void remove(ModelObject modelObject) {
+        Page.Cursor position = positions.remove(modelObject);
+        if (position != null) {
+            sorted.remove(position);
+        }
+    }
+
+    @Override
+    public void replace(ModelObject oldModelObject, ModelObject newModelObject) {
+        remove(oldModelObject);
+        add(newModelObject);
+    }
+
+    @Override
+    public void clear() {
+        sorted.clear();
+        positions.clear();
+    }
+}
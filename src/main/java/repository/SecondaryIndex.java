@@ -0,0 +1,49 @@
+package repository;
+
+import model.Model;
+
+import java.util.List;
+
+/**
+ * A secondary index of a {@link Repository}, kept up to date by the repository as model objects are added,
+ * updated and removed.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+interface SecondaryIndex<ModelObject extends Model> {
+
+    /**
+     * Discards the index and indexes the specified model objects.
+     *
+     * @param modelObjects the model objects in the repository, in order
+     */
+    void rebuild(List<ModelObject> modelObjects);
+
+    /**
+     * Indexes a model object that was added to the end of the repository.
+     *
+     * @param modelObject the model object that was added
+     */
+    void add(ModelObject modelObject);
+
+    /**
+     * Removes a model object from the index.
+     *
+     * @param modelObject the model object that was removed
+     */
+    void remove(ModelObject modelObject);
+
+    /**
+     * Re-indexes a model object that was updated, keeping its position.
+     * The new model object may be the old one changed in place.
+     *
+     * @param oldModelObject the model object before the update
+     * @param newModelObject the model object after the update
+     */
+    void replace(ModelObject oldModelObject, ModelObject newModelObject);
+
+    /**
+     * Removes all model objects from the index.
+     */
+    void clear();
+}
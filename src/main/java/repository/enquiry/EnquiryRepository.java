@@ -3,6 +3,10 @@ package repository.enquiry;
 import model.enquiry.Enquiry;
 import model.project.Project;
 import repository.Repository;
+import repository.RepositoryRegistry;
+import utils.config.Persistence;
+import utils.iocontrol.IdSequence;
+import utils.iocontrol.RecordCodecs;
 
 import java.util.List;
 import java.util.Map;
@@ -21,21 +25,28 @@ public class EnquiryRepository extends Repository<Enquiry> {
      */
     private static final String FILE_PATH = "/data/enquiry/enquiry.txt";
 
+    /**
+     * The sequence the numbers of new enquiry IDs are taken from, seeded from the highest existing ID.
+     */
+    private final IdSequence idSequence;
+
     /**
      * Constructs a new ProjectRepository object and loads the data from the project data file.
      */
     public EnquiryRepository() {
         super();
+        idSequence = new IdSequence(sequenceFilePathOf(RESOURCE_LOCATION + FILE_PATH), Persistence.ID_BLOCK_SIZE);
         load();
     }
 
     /**
-     * Gets a new ProjectRepository object.
+     * Gets the shared instance of the EnquiryRepository, loading the data file only if it has not been read yet
+     * or has been modified since.
      *
-     * @return a new ProjectRepository object
+     * @return the shared instance of the EnquiryRepository
      */
     public static EnquiryRepository getInstance() {
-        return new EnquiryRepository();
+        return RepositoryRegistry.getInstance(EnquiryRepository.class, EnquiryRepository::new);
     }
 
     /**
@@ -60,9 +71,29 @@ public class EnquiryRepository extends Repository<Enquiry> {
         }
     }
 
+    /**
+     * Creates an Enquiry object straight from a record.
+     *
+     * @param record the record to decode
+     * @return the decoded Enquiry object, or null if it has to be decoded through {@link #setAll(List)}
+     */
+    @Override
+    protected Enquiry decodeRecord(CharSequence record) {
+        return RecordCodecs.forClass(Enquiry.class).decode(record);
+    }
+
     public List<Enquiry> getUnansweredEnquiries() {
         return getAll().stream()
                 .filter(enquiry -> !enquiry.getAnswered())
                 .toList();
     }
+
+    /**
+     * Generates a new unique enquiry ID, such as "E12", without looking at the existing enquiries.
+     *
+     * @return the new enquiry ID
+     */
+    public String getNewEnquiryID() {
+        return "E" + idSequence.next(() -> getMaxIDNumber("E"));
+    }
 }
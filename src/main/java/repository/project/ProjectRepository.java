@@ -2,7 +2,14 @@ package repository.project;
 
 import model.project.Project;
 import repository.Repository;
+import repository.RepositoryRegistry;
+import utils.config.Persistence;
+import utils.iocontrol.IdSequence;
+import utils.iocontrol.RecordCodecs;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -20,21 +27,85 @@ public class ProjectRepository extends Repository<Project> {
      */
     private static final String FILE_PATH = "/data/project/project.txt";
 
+    /**
+     * The name of the index of projects by the NRIC of their manager.
+     */
+    public static final String MANAGER_INDEX = "managerNRIC";
+
+    /**
+     * The name of the index of projects by the NRICs of their officers.
+     */
+    public static final String OFFICER_INDEX = "officerIDs";
+
+    /**
+     * The name of the interval index of projects by their application window, grouped by the NRIC of their manager.
+     */
+    public static final String APPLICATION_WINDOW_INDEX = "applicationWindow";
+
+    /**
+     * The name of the flag index of projects by the conditions applicants are matched against.
+     */
+    public static final String ELIGIBILITY_INDEX = "eligibility";
+
+    /**
+     * The flag of the projects that are visible to applicants.
+     */
+    public static final String VISIBLE_FLAG = "visible";
+
+    /**
+     * The flag of the projects that have a 2-room flat left.
+     */
+    public static final String TWO_ROOM_AVAILABLE_FLAG = "twoRoomAvailable";
+
+    /**
+     * The flag of the projects that have a 3-room flat left.
+     */
+    public static final String THREE_ROOM_AVAILABLE_FLAG = "threeRoomAvailable";
+
+    /**
+     * The flag of the projects whose application window is open on {@link #openDate}.
+     */
+    private static final String OPEN_FLAG = "open";
+
+    /**
+     * The sequence the numbers of new project IDs are taken from, seeded from the highest existing ID.
+     */
+    private final IdSequence idSequence;
+
+    /**
+     * The date the {@link #OPEN_FLAG} was last checked for, or null if it has not been checked yet.
+     */
+    private LocalDate openDate;
+
     /**
      * Constructs a new ProjectRepository object and loads the data from the project data file.
      */
     ProjectRepository() {
         super();
+        idSequence = new IdSequence(sequenceFilePathOf(RESOURCE_LOCATION + FILE_PATH), Persistence.ID_BLOCK_SIZE);
+        registerIndex(MANAGER_INDEX, Project::getManagerNRIC);
+        registerMultiValuedIndex(OFFICER_INDEX, Project::getOfficerIDs);
+        registerIntervalIndex(APPLICATION_WINDOW_INDEX, Project::getManagerNRIC,
+                Project::getApplicationOpeningDate, Project::getApplicationClosingDate);
+        registerFlagIndex(ELIGIBILITY_INDEX, Map.of(
+                VISIBLE_FLAG, project -> project.getVisibility() == Boolean.TRUE,
+                TWO_ROOM_AVAILABLE_FLAG, project -> project.getTwoRoomFlatAvailable() != null && project.getTwoRoomFlatAvailable() > 0,
+                THREE_ROOM_AVAILABLE_FLAG, project -> project.getThreeRoomFlatAvailable() != null && project.getThreeRoomFlatAvailable() > 0,
+                OPEN_FLAG, this::isOpen));
+        for (ProjectSortOrder sortOrder : ProjectSortOrder.values()) {
+            registerSortedIndex(sortOrder.getIndexName(), sortOrder.getExtractor());
+        }
         load();
     }
 
     /**
-     * Gets a new ProjectRepository object.
+     * Gets the shared instance of the ProjectRepository, loading the data file only if it has not been read yet
+     * or has been modified since.
      *
-     * @return a new ProjectRepository object
+     * @return the shared instance of the ProjectRepository
      */
     public static ProjectRepository getInstance() {
-        return new ProjectRepository();
+        return RepositoryRegistry.getInstance(ProjectRepository.class, ProjectRepository::new);
     }
 
     /**
@@ -58,21 +129,55 @@ public class ProjectRepository extends Repository<Project> {
             getAll().add(new Project(map));
         }
     }
-    public String getNewProjectID() {
-        int maxID = 0;
-        for (Project project : getAll()) {
-            String id = project.getID();
-            if (id != null && !id.isEmpty()) {
-                try {
-                    int numericID = Integer.parseInt(id.substring(1));
-                    if (numericID > maxID) {
-                        maxID = numericID;
-                    }
-                } catch (NumberFormatException e) {
-                    System.err.println("Invalid project ID format: " + id);
-                }
-            }
+
+    /**
+     * Creates a Project object straight from a record.
+     *
+     * @param record the record to decode
+     * @return the decoded Project object, or null if it has to be decoded through {@link #setAll(List)}
+     */
+    @Override
+    protected Project decodeRecord(CharSequence record) {
+        return RecordCodecs.forClass(Project.class).decode(record);
+    }
+    /**
+     * Finds the projects whose application window is open on the specified date and that have all the specified flags
+     * of the {@link #ELIGIBILITY_INDEX}.
+     * The open flag is only checked again when the date changes, such as on the first listing of a day, and then only
+     * for the projects the {@link #APPLICATION_WINDOW_INDEX} finds open on the date rather than for every project.
+     *
+     * @param date  the date the application window has to be open on
+     * @param flags the names of the other flags the projects have to have
+     * @return the projects found, in repository order
+     */
+    public synchronized List<Project> findOpenByFlags(LocalDate date, Collection<String> flags) {
+        if (!date.equals(openDate)) {
+            openDate = date;
+            refreshFlag(ELIGIBILITY_INDEX, OPEN_FLAG, findByInterval(APPLICATION_WINDOW_INDEX, null, date, date));
         }
-        return "P" + String.format("%03d", maxID + 1);
+        List<String> allFlags = new ArrayList<>(flags);
+        allFlags.add(OPEN_FLAG);
+        return findByFlags(ELIGIBILITY_INDEX, allFlags);
+    }
+
+    /**
+     * Checks whether the application window of a project is open on {@link #openDate},
+     * that is strictly after its opening date and before its closing date.
+     *
+     * @param project the project
+     * @return true if the window is open, false otherwise
+     */
+    private boolean isOpen(Project project) {
+        return openDate != null && project.getApplicationOpeningDate() != null && project.getApplicationClosingDate() != null
+                && project.getApplicationOpeningDate().isBefore(openDate) && project.getApplicationClosingDate().isAfter(openDate);
+    }
+
+    /**
+     * Generates a new unique project ID, such as "P012", without looking at the existing projects.
+     *
+     * @return the new project ID
+     */
+    public String getNewProjectID() {
+        return "P" + String.format("%03d", idSequence.next(() -> getMaxIDNumber("P")));
     }
 }
@@ -0,0 +1,96 @@
+package repository.project;
+
+import model.project.Project;
+import repository.Page;
+import repository.Repository;
+
+/**
+ * The orders projects can be listed in, each backed by a sorted index of the {@link ProjectRepository}.
+ */
+public enum ProjectSortOrder {
+    /**
+     * By project title, from A to Z.
+     */
+    TITLE(Project::getProjectTitle, false),
+    /**
+     * By neighbourhood, from A to Z.
+     */
+    NEIGHBOURHOOD(Project::getNeighbourhood, false),
+    /**
+     * By the price of a 2-room flat, from the cheapest.
+     */
+    TWO_ROOM_PRICE(Project::getTwoRoomFlatPrice, false),
+    /**
+     * By the price of a 3-room flat, from the cheapest.
+     */
+    THREE_ROOM_PRICE(Project::getThreeRoomFlatPrice, false),
+    /**
+     * By the number of flats left, from the most.
+     */
+    AVAILABILITY(ProjectSortOrder::getFlatsAvailable, true);
+
+    /**
+     * Extracts the sort key of a project.
+     */
+    private final Repository.SortKeyExtractor<Project> extractor;
+
+    /**
+     * Whether the projects are listed from the largest key down.
+     */
+    private final boolean descending;
+
+    ProjectSortOrder(Repository.SortKeyExtractor<Project> extractor, boolean descending) {
+        this.extractor = extractor;
+        this.descending = descending;
+    }
+
+    /**
+     * Gets the name of the sorted index of the {@link ProjectRepository} backing this order.
+     *
+     * @return the name of the index
+     */
+    public String getIndexName() {
+        return "sortedBy" + name();
+    }
+
+    /**
+     * Checks whether the projects are listed from the largest key down.
+     *
+     * @return true if the order is descending, false otherwise
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Gets the position of a project in this order.
+     *
+     * @param project the project
+     * @return the position of the project, or null if it has no sort key and is left out of this order
+     */
+    public Page.Cursor cursorOf(Project project) {
+        Comparable<?> key = extractor.getSortKey(project);
+        return key == null ? null : new Page.Cursor(key, project.getID());
+    }
+
+    /**
+     * Gets the extractor of the sort key of a project.
+     *
+     * @return the extractor
+     */
+    Repository.SortKeyExtractor<Project> getExtractor() {
+        return extractor;
+    }
+
+    /**
+     * Gets the number of flats left in a project.
+     *
+     * @param project the project
+     * @return the number of 2-room and 3-room flats left
+     */
+    private static Integer getFlatsAvailable(Project project) {
+        Integer twoRoomFlats = project.getTwoRoomFlatAvailable();
+        Integer threeRoomFlats = project.getThreeRoomFlatAvailable();
+        return Math.max(twoRoomFlats == null ? 0 : twoRoomFlats, 0) + Math.max(threeRoomFlats == null ? 0 : threeRoomFlats, 0);
+    }
+}
@@ -1,9 +1,18 @@
 package repository.request;
 
+import model.request.OfficerApplicationRequest;
+import model.request.ProjectApplicationRequest;
+import model.request.ProjectBookingRequest;
+import model.request.ProjectWithdrawalRequest;
 import model.request.Request;
 import model.request.RequestFactory;
+import model.request.RequestStatus;
+import model.request.RequestType;
 import repository.Repository;
+import repository.RepositoryRegistry;
 import utils.config.Location;
+import utils.config.Persistence;
+import utils.iocontrol.IdSequence;
 
 import java.util.List;
 import java.util.Map;
@@ -20,21 +29,120 @@ public class RequestRepository extends Repository<Request> {
      */
     private static final String FILE_PATH = "/data/request/request.txt";
 
+    /**
+     * The name of the index of requests by {@link model.request.RequestStatus}.
+     */
+    public static final String STATUS_INDEX = "status";
+
+    /**
+     * The name of the index of requests by {@link RequestType}.
+     */
+    public static final String TYPE_INDEX = "requestType";
+
+    /**
+     * The name of the index of application, booking and withdrawal requests by the NRIC of the applicant.
+     */
+    public static final String APPLICANT_INDEX = "applicantID";
+
+    /**
+     * The name of the index of officer application requests by the ID of the officer.
+     */
+    public static final String OFFICER_INDEX = "officerID";
+
+    /**
+     * The name of the index of requests by the ID of their project.
+     */
+    public static final String PROJECT_INDEX = "projectID";
+
+    /**
+     * The name of the index of requests by their {@link RequestKey}, that is by type and status,
+     * both across all projects and within their own project.
+     */
+    public static final String TYPE_AND_STATUS_INDEX = "typeAndStatus";
+
+    /**
+     * The key of a request in the {@link #TYPE_AND_STATUS_INDEX}.
+     *
+     * @param projectID the ID of the project of the request, or null to match the requests of every project
+     * @param type      the type of the request
+     * @param status    the status of the request
+     */
+    public record RequestKey(String projectID, RequestType type, RequestStatus status) {
+
+        /**
+         * Creates the key of the requests of every project with the specified type and status.
+         *
+         * @param type   the type of the requests
+         * @param status the status of the requests
+         * @return the key of the requests
+         */
+        public static RequestKey of(RequestType type, RequestStatus status) {
+            return new RequestKey(null, type, status);
+        }
+
+        /**
+         * Creates the key of the requests of a project with the specified type and status.
+         *
+         * @param projectID the ID of the project of the requests
+         * @param type      the type of the requests
+         * @param status    the status of the requests
+         * @return the key of the requests
+         */
+        public static RequestKey of(String projectID, RequestType type, RequestStatus status) {
+            return new RequestKey(projectID, type, status);
+        }
+    }
+
+    /**
+     * The sequence the numbers of new request IDs are taken from, seeded from the highest existing ID.
+     */
+    private final IdSequence idSequence;
+
     /**
      * Constructor to create an instance of RequestRepository.
      */
     public RequestRepository() {
         super();
+        idSequence = new IdSequence(sequenceFilePathOf(Location.RESOURCE_LOCATION + FILE_PATH), Persistence.ID_BLOCK_SIZE);
+        registerIndex(STATUS_INDEX, Request::getStatus);
+        registerIndex(TYPE_INDEX, Request::getRequestType);
+        registerIndex(APPLICANT_INDEX, RequestRepository::getApplicantID);
+        registerIndex(OFFICER_INDEX, request ->
+                request instanceof OfficerApplicationRequest officerApplicationRequest ? officerApplicationRequest.getOfficerID() : null);
+        registerIndex(PROJECT_INDEX, Request::getProjectID);
+        registerMultiValuedIndex(TYPE_AND_STATUS_INDEX, request -> List.of(
+                RequestKey.of(request.getRequestType(), request.getStatus()),
+                RequestKey.of(request.getProjectID(), request.getRequestType(), request.getStatus())));
         load();
     }
 
     /**
-     * Gets a new instance of RequestRepository.
+     * Gets the NRIC of the applicant of a request.
+     *
+     * @param request the request
+     * @return the NRIC of the applicant, or null if the request is not made by an applicant
+     */
+    private static String getApplicantID(Request request) {
+        if (request instanceof ProjectApplicationRequest applicationRequest) {
+            return applicationRequest.getApplicantID();
+        }
+        if (request instanceof ProjectBookingRequest bookingRequest) {
+            return bookingRequest.getApplicantID();
+        }
+        if (request instanceof ProjectWithdrawalRequest withdrawalRequest) {
+            return withdrawalRequest.getApplicantID();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the shared instance of the RequestRepository, loading the data file only if it has not been read yet
+     * or has been modified since.
      *
-     * @return the instance of RequestRepository
+     * @return the shared instance of the RequestRepository
      */
     public static RequestRepository getInstance() {
-        return new RequestRepository();
+        return RepositoryRegistry.getInstance(RequestRepository.class, RequestRepository::new);
     }
 
     /**
@@ -60,4 +168,24 @@ public class RequestRepository extends Repository<Request> {
             requests.add(request);
         }
     }
+
+    /**
+     * Creates a Request object straight from a record.
+     *
+     * @param record the record to decode
+     * @return the decoded Request object, or null if it has to be decoded through {@link #setAll(List)}
+     */
+    @Override
+    protected Request decodeRecord(CharSequence record) {
+        return RequestFactory.createRequest(record);
+    }
+
+    /**
+     * Generates a new unique request ID, such as "R12", without looking at the existing requests.
+     *
+     * @return the new request ID
+     */
+    public String getNewRequestID() {
+        return "R" + idSequence.next(() -> getMaxIDNumber("R"));
+    }
 }
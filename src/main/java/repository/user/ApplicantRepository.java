@@ -2,6 +2,8 @@ package repository.user;
 
 import model.user.Applicant;
 import repository.Repository;
+import repository.RepositoryRegistry;
+import utils.iocontrol.RecordCodecs;
 
 import java.util.List;
 import java.util.Map;
@@ -20,21 +22,28 @@ public class ApplicantRepository extends Repository<Applicant> {
      */
     private static final String FILE_PATH = "/data/user/ApplicantList.txt";
 
+    /**
+     * The name of the index of applicants by {@link model.user.ApplicantStatus}.
+     */
+    public static final String APPLICANT_STATUS_INDEX = "applicantStatus";
+
     /**
      * Constructor for the StudentRepository class.
      */
     ApplicantRepository() {
         super();
+        registerIndex(APPLICANT_STATUS_INDEX, Applicant::getApplicantStatus);
         load();
     }
 
     /**
-     * Gets a new instance of the StudentRepository class.
+     * Gets the shared instance of the ApplicantRepository, loading the data file only if it has not been read yet
+     * or has been modified since.
      *
-     * @return a new instance of the StudentRepository class
+     * @return the shared instance of the ApplicantRepository
      */
     public static ApplicantRepository getInstance() {
-        return new ApplicantRepository();
+        return RepositoryRegistry.getInstance(ApplicantRepository.class, ApplicantRepository::new);
     }
 
     /**
@@ -58,4 +67,15 @@ public class ApplicantRepository extends Repository<Applicant> {
             getAll().add(new Applicant(map));
         }
     }
+
+    /**
+     * Creates an Applicant object straight from a record.
+     *
+     * @param record the record to decode
+     * @return the decoded Applicant object, or null if it has to be decoded through {@link #setAll(List)}
+     */
+    @Override
+    protected Applicant decodeRecord(CharSequence record) {
+        return RecordCodecs.forClass(Applicant.class).decode(record);
+    }
 }
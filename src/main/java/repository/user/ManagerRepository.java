@@ -2,6 +2,8 @@ package repository.user;
 
 import model.user.Manager;
 import repository.Repository;
+import repository.RepositoryRegistry;
+import utils.iocontrol.RecordCodecs;
 
 import java.util.List;
 import java.util.Map;
@@ -29,12 +31,13 @@ public class ManagerRepository extends Repository<Manager> {
     }
 
     /**
-     * Gets a new instance of CoordinatorRepository.
+     * Gets the shared instance of the ManagerRepository, loading the data file only if it has not been read yet
+     * or has been modified since.
      *
-     * @return a new instance of CoordinatorRepository
+     * @return the shared instance of the ManagerRepository
      */
     public static ManagerRepository getInstance() {
-        return new ManagerRepository();
+        return RepositoryRegistry.getInstance(ManagerRepository.class, ManagerRepository::new);
     }
 
     /**
@@ -58,4 +61,15 @@ public class ManagerRepository extends Repository<Manager> {
             getAll().add(new Manager(map));
         }
     }
+
+    /**
+     * Creates a Manager object straight from a record.
+     *
+     * @param record the record to decode
+     * @return the decoded Manager object, or null if it has to be decoded through {@link #setAll(List)}
+     */
+    @Override
+    protected Manager decodeRecord(CharSequence record) {
+        return RecordCodecs.forClass(Manager.class).decode(record);
+    }
 }
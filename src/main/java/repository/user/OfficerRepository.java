@@ -2,6 +2,8 @@ package repository.user;
 
 
 import repository.Repository;
+import repository.RepositoryRegistry;
+import utils.iocontrol.RecordCodecs;
 import utils.config.Location;
 import model.user.Officer;
 
@@ -29,12 +31,13 @@ public class OfficerRepository extends Repository<Officer> {
     }
 
     /**
-     * Gets a new instance of the FacultyRepository class.
+     * Gets the shared instance of the OfficerRepository, loading the data file only if it has not been read yet
+     * or has been modified since.
      *
-     * @return a new instance of the FacultyRepository class
+     * @return the shared instance of the OfficerRepository
      */
     public static OfficerRepository getInstance() {
-        return new OfficerRepository();
+        return RepositoryRegistry.getInstance(OfficerRepository.class, OfficerRepository::new);
     }
 
     /**
@@ -58,4 +61,15 @@ public class OfficerRepository extends Repository<Officer> {
             getAll().add(new Officer(map));
         }
     }
+
+    /**
+     * Creates a Officer object straight from a record.
+     *
+     * @param record the record to decode
+     * @return the decoded Officer object, or null if it has to be decoded through {@link #setAll(List)}
+     */
+    @Override
+    protected Officer decodeRecord(CharSequence record) {
+        return RecordCodecs.forClass(Officer.class).decode(record);
+    }
 }
@@ -0,0 +1,494 @@
+package utils.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The CodecProcessor class generates a record codec for every class that implements {@code model.Model}.
+ * <p>
+ * For a model class {@code Xxx} it writes {@code XxxCodec} into the same package. The generated codec
+ * implements {@code utils.iocontrol.RecordCodec} and reads and writes each field through a constant
+ * method handle, following the same conversion rules as {@code utils.iocontrol.Mappable}.
+ * {@code utils.iocontrol.RecordCodecs} picks up the generated codec when it exists,
+ * so no fields have to be looked up at runtime.
+ * <p>
+ * The generated codec also streams records: it writes the fields straight to an {@code Appendable} in the order
+ * a HashMap would iterate them, and reads them from the slices handed out by {@code utils.iocontrol.RecordDecoder}.
+ * <p>
+ * The processor is compiled on its own before the rest of the sources (see the pom), and must therefore
+ * not depend on any other class of the project.
+ */
+@SupportedAnnotationTypes("*")
+public class CodecProcessor extends AbstractProcessor {
+
+    /**
+     * The interface implemented by the classes to generate codecs for.
+     */
+    private static final String MODEL_INTERFACE = "model.Model";
+
+    /**
+     * The suffix of the generated codec classes.
+     */
+    private static final String CODEC_SUFFIX = "Codec";
+
+    /**
+     * The ways a field value is parsed from its string representation, as in Mappable.
+     */
+    private enum FieldKind {
+        LIST, ENUM, INTEGER, BOOLEAN, DOUBLE, LOCAL_DATE, STRING, UNSUPPORTED
+    }
+
+    /**
+     * The names of the model classes a codec has been generated for, across rounds.
+     */
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement model = processingEnv.getElementUtils().getTypeElement(MODEL_INTERFACE);
+        if (model == null) {
+            return false;
+        }
+        TypeMirror modelType = processingEnv.getTypeUtils().erasure(model.asType());
+        for (Element element : roundEnv.getRootElements()) {
+            if (element.getKind() != ElementKind.CLASS
+                    || element.getModifiers().contains(Modifier.ABSTRACT)
+                    || ((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL
+                    || !processingEnv.getTypeUtils().isAssignable(element.asType(), modelType)) {
+                continue;
+            }
+            TypeElement modelClass = (TypeElement) element;
+            if (generated.add(modelClass.getQualifiedName().toString())) {
+                generateCodec(modelClass);
+            }
+        }
+        // Other processors may still want to see the model classes
+        return false;
+    }
+
+    /**
+     * Writes the codec of the specified model class.
+     *
+     * @param modelClass the model class
+     */
+    private void generateCodec(TypeElement modelClass) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(modelClass).getQualifiedName().toString();
+        String modelName = modelClass.getSimpleName().toString();
+        String codecName = modelName + CODEC_SUFFIX;
+        String qualifiedCodecName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(modelClass.getEnclosedElements())) {
+            // skip static or transient fields
+            if (!field.getModifiers().contains(Modifier.STATIC) && !field.getModifiers().contains(Modifier.TRANSIENT)) {
+                fields.add(field);
+            }
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import utils.iocontrol.RecordCodec;\n")
+                .append("import utils.iocontrol.RecordCodecSupport;\n")
+                .append("import utils.iocontrol.RecordDecoder;\n")
+                .append("import utils.iocontrol.RecordEncoder;\n\n")
+                .append("import java.io.IOException;\n")
+                .append("import java.lang.invoke.MethodHandle;\n")
+                .append("import java.lang.invoke.MethodHandles;\n")
+                .append("import java.util.HashMap;\n")
+                .append("import java.util.Map;\n")
+                .append("import java.util.Objects;\n\n")
+                .append("/**\n")
+                .append(" * The record codec of {@link ").append(modelName).append("}, generated by ")
+                .append(CodecProcessor.class.getName()).append(".\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(CodecProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(codecName).append(" implements RecordCodec<").append(modelName).append("> {\n\n");
+
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            source.append("    private static final MethodHandle GET_").append(name).append(";\n")
+                    .append("    private static final MethodHandle SET_").append(name).append(";\n");
+            if (kindOf(field.asType()) == FieldKind.ENUM) {
+                String type = erasedName(field.asType());
+                source.append("    private static final ").append(type).append("[] VALUES_").append(name)
+                        .append(" = ").append(type).append(".values();\n");
+            }
+        }
+        source.append("\n    static {\n")
+                .append("        try {\n")
+                .append("            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(")
+                .append(modelName).append(".class, MethodHandles.lookup());\n");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            String type = erasedName(field.asType());
+            source.append("            GET_").append(name).append(" = lookup.findGetter(").append(modelName)
+                    .append(".class, \"").append(name).append("\", ").append(type).append(".class);\n");
+            if (field.getModifiers().contains(Modifier.FINAL)) {
+                source.append("            SET_").append(name).append(" = RecordCodecSupport.finalFieldSetter(")
+                        .append(modelName).append(".class, \"").append(name).append("\");\n");
+            } else {
+                source.append("            SET_").append(name).append(" = lookup.findSetter(").append(modelName)
+                        .append(".class, \"").append(name).append("\", ").append(type).append(".class);\n");
+            }
+        }
+        source.append("        } catch (ReflectiveOperationException e) {\n")
+                .append("            throw new ExceptionInInitializerError(e);\n")
+                .append("        }\n")
+                .append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public Map<String, String> toMap(").append(modelName).append(" object) {\n")
+                .append("        Map<String, String> map = new HashMap<>();\n")
+                .append("        try {\n");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            source.append("            map.put(\"").append(name).append("\", RecordCodecSupport.encode(\"").append(name)
+                    .append("\", (").append(erasedName(field.asType())).append(") GET_").append(name)
+                    .append(".invokeExact(object)));\n");
+        }
+        source.append("        } catch (Throwable e) {\n")
+                .append("            throw RecordCodecSupport.rethrow(e);\n")
+                .append("        }\n")
+                .append("        return map;\n")
+                .append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public void fromMap(").append(modelName).append(" object, Map<String, String> map) {\n")
+                .append("        Objects.requireNonNull(map, \"Input map cannot be null for fromMap\");\n")
+                .append("        String value;\n");
+        for (int i = 0; i < fields.size(); i++) {
+            source.append("        value = map.get(\"").append(fields.get(i).getSimpleName()).append("\");\n")
+                    .append("        if (value == null) {\n")
+                    .append("            setNullValue(object, ").append(i).append(");\n")
+                    .append("        } else {\n")
+                    .append("            decodeField(object, ").append(i).append(", value, 0, value.length());\n")
+                    .append("        }\n");
+        }
+        source.append("    }\n\n");
+
+        appendEncode(source, modelName, fields);
+        appendDecode(source, modelName, fields);
+        if (hasNoArgumentConstructor(modelClass)) {
+            source.append("    @Override\n")
+                    .append("    public ").append(modelName).append(" decode(CharSequence record) {\n")
+                    .append("        ").append(modelName).append(" object = new ").append(modelName).append("();\n")
+                    .append("        decode(object, record);\n")
+                    .append("        return object;\n")
+                    .append("    }\n\n");
+        } else {
+            source.append("    @Override\n")
+                    .append("    public ").append(modelName).append(" decode(CharSequence record) {\n")
+                    .append("        return null;\n")
+                    .append("    }\n\n");
+        }
+        appendFieldIndex(source, fields);
+        appendSetNullValue(source, modelName, fields);
+        appendDecodeField(source, modelName, fields);
+        source.append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedCodecName, modelClass);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Codec could not be generated: " + e.getMessage(), modelClass);
+        }
+    }
+
+    /**
+     * Writes the method that writes an object as a record, visiting the fields in the order
+     * in which toMap() iterates them so that the record is the same.
+     *
+     * @param source    the source of the codec
+     * @param modelName the simple name of the model class
+     * @param fields    the fields, in declaration order
+     */
+    private void appendEncode(StringBuilder source, String modelName, List<VariableElement> fields) {
+        // A HashMap filled in the same order as toMap() iterates its keys in the same order
+        Map<String, VariableElement> byName = new HashMap<>();
+        for (VariableElement field : fields) {
+            byName.put(field.getSimpleName().toString(), field);
+        }
+        source.append("    @Override\n")
+                .append("    public void encode(").append(modelName).append(" object, Appendable writer) throws IOException {\n")
+                .append("        try {\n");
+        boolean first = true;
+        for (Map.Entry<String, VariableElement> entry : byName.entrySet()) {
+            String name = entry.getKey();
+            source.append("            RecordEncoder.writeKey(writer, \"").append(name).append("\", ").append(first).append(");\n")
+                    .append("            RecordEncoder.writeValue(writer, \"").append(name).append("\", (")
+                    .append(erasedName(entry.getValue().asType())).append(") GET_").append(name)
+                    .append(".invokeExact(object));\n");
+            first = false;
+        }
+        source.append("        } catch (IOException e) {\n")
+                .append("            throw e;\n")
+                .append("        } catch (Throwable e) {\n")
+                .append("            throw RecordCodecSupport.rethrow(e);\n")
+                .append("        }\n")
+                .append("    }\n\n");
+    }
+
+    /**
+     * Writes the method that populates an object from a record.
+     *
+     * @param source    the source of the codec
+     * @param modelName the simple name of the model class
+     * @param fields    the fields, in declaration order
+     */
+    private void appendDecode(StringBuilder source, String modelName, List<VariableElement> fields) {
+        source.append("    @Override\n")
+                .append("    public void decode(").append(modelName).append(" object, CharSequence record) {\n")
+                .append("        boolean[] decoded = new boolean[").append(fields.size()).append("];\n")
+                .append("        RecordDecoder.decode(record, (line, keyStart, keyEnd, valueStart, valueEnd) -> {\n")
+                .append("            int field = fieldIndex(line, keyStart, keyEnd);\n")
+                .append("            if (field != -1) {\n")
+                .append("                decodeField(object, field, line, valueStart, valueEnd);\n")
+                .append("                decoded[field] = true;\n")
+                .append("            }\n")
+                .append("        });\n")
+                .append("        for (int field = 0; field < decoded.length; field++) {\n")
+                .append("            if (!decoded[field]) {\n")
+                .append("                setNullValue(object, field);\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("    }\n\n");
+    }
+
+    /**
+     * Writes the method that maps a key slice to the index of its field.
+     *
+     * @param source the source of the codec
+     * @param fields the fields, in declaration order
+     */
+    private void appendFieldIndex(StringBuilder source, List<VariableElement> fields) {
+        source.append("    private static int fieldIndex(CharSequence record, int start, int end) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            source.append("        if (RecordDecoder.keyEquals(record, start, end, \"").append(fields.get(i).getSimpleName())
+                    .append("\")) {\n")
+                    .append("            return ").append(i).append(";\n")
+                    .append("        }\n");
+        }
+        source.append("        return -1;\n")
+                .append("    }\n\n");
+    }
+
+    /**
+     * Writes the method that sets a field to the value used when the record has no value for it.
+     *
+     * @param source    the source of the codec
+     * @param modelName the simple name of the model class
+     * @param fields    the fields, in declaration order
+     */
+    private void appendSetNullValue(StringBuilder source, String modelName, List<VariableElement> fields) {
+        source.append("    private static void setNullValue(").append(modelName).append(" object, int field) {\n")
+                .append("        try {\n")
+                .append("            switch (field) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            source.append("                case ").append(i).append(" -> SET_").append(field.getSimpleName())
+                    .append(".invokeExact(object, ").append(nullValue(field.asType(), erasedName(field.asType())))
+                    .append(");\n");
+        }
+        source.append("                default -> throw new IllegalArgumentException(\"No field with index \" + field);\n")
+                .append("            }\n")
+                .append("        } catch (Throwable e) {\n")
+                .append("            throw RecordCodecSupport.rethrow(e);\n")
+                .append("        }\n")
+                .append("    }\n\n");
+    }
+
+    /**
+     * Writes the method that sets a field from a value slice of a record.
+     *
+     * @param source    the source of the codec
+     * @param modelName the simple name of the model class
+     * @param fields    the fields, in declaration order
+     */
+    private void appendDecodeField(StringBuilder source, String modelName, List<VariableElement> fields) {
+        source.append("    private static void decodeField(").append(modelName)
+                .append(" object, int field, CharSequence record, int start, int end) {\n")
+                .append("        try {\n")
+                .append("            switch (field) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            source.append("                case ").append(i).append(" -> {\n");
+            appendFieldDecoder(source, fields.get(i));
+            source.append("                }\n");
+        }
+        source.append("                default -> throw new IllegalArgumentException(\"No field with index \" + field);\n")
+                .append("            }\n")
+                .append("        } catch (Throwable e) {\n")
+                .append("            throw RecordCodecSupport.rethrow(e);\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the statements that read one field from a value slice of a record.
+     *
+     * @param source the source of the codec
+     * @param field  the field
+     */
+    private void appendFieldDecoder(StringBuilder source, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        TypeMirror type = field.asType();
+        String typeName = erasedName(type);
+        boolean primitive = type.getKind().isPrimitive();
+        String setter = "SET_" + name + ".invokeExact(object, ";
+
+        source.append("                    try {\n")
+                .append("                        if (RecordCodecSupport.isNull(record, start, end)) {\n")
+                .append("                            ").append(setter).append(nullValue(type, typeName)).append(");\n")
+                .append("                        } else {\n");
+        if (kindOf(type) == FieldKind.UNSUPPORTED) {
+            source.append("                            throw RecordCodecSupport.unsupportedType(").append(typeName)
+                    .append(".class, \"").append(name).append("\", RecordCodecSupport.slice(record, start, end));\n");
+        } else {
+            source.append("                            ").append(setter).append(parseExpression(type, typeName, name))
+                    .append(");\n");
+        }
+        source.append("                        }\n")
+                .append("                    } catch (RuntimeException e) {\n")
+                .append("                        RecordCodecSupport.handleFieldError(\"").append(name)
+                .append("\", RecordCodecSupport.slice(record, start, end), e);\n");
+        if (!primitive) {
+            source.append("                        ").append(setter).append("(").append(typeName).append(") null);\n");
+        }
+        source.append("                    }\n");
+    }
+
+    /**
+     * Gets the expression that parses the slice {@code record[start, end)} into a value of the specified type.
+     *
+     * @param type      the type of the field
+     * @param typeName  the erased name of the type
+     * @param fieldName the name of the field
+     * @return the expression, with exactly the type of the field
+     */
+    private String parseExpression(TypeMirror type, String typeName, String fieldName) {
+        boolean primitive = type.getKind().isPrimitive();
+        String slice = "RecordCodecSupport.slice(record, start, end)";
+        return switch (kindOf(type)) {
+            case LIST -> "(" + typeName + ") RecordCodecSupport.decodeList(record, start, end)";
+            case ENUM -> "RecordCodecSupport.parseEnum(" + typeName + ".class, VALUES_" + fieldName + ", record, start, end)";
+            case INTEGER -> primitive ? "RecordCodecSupport.parseInt(record, start, end)"
+                    : "Integer.valueOf(RecordCodecSupport.parseInt(record, start, end))";
+            case BOOLEAN -> primitive ? "RecordCodecSupport.parseBoolean(record, start, end)"
+                    : "Boolean.valueOf(RecordCodecSupport.parseBoolean(record, start, end))";
+            case DOUBLE -> primitive ? "Double.parseDouble(" + slice + ")" : "Double.valueOf(Double.parseDouble(" + slice + "))";
+            case LOCAL_DATE -> "java.time.LocalDate.parse(" + slice + ")";
+            case STRING -> slice;
+            case UNSUPPORTED -> throw new IllegalStateException("Unsupported fields have no parse expression");
+        };
+    }
+
+    /**
+     * Checks whether the codec can create objects of the specified model class,
+     * that is whether it has a no-argument constructor that is not private.
+     *
+     * @param modelClass the model class
+     * @return true if the model class has such a constructor, false otherwise
+     */
+    private boolean hasNoArgumentConstructor(TypeElement modelClass) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(modelClass.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the expression of the value a field is set to when the map has no value for it:
+     * the default value for primitives and null otherwise.
+     *
+     * @param type     the type of the field
+     * @param typeName the erased name of the type
+     * @return the expression, with exactly the type of the field
+     */
+    private String nullValue(TypeMirror type, String typeName) {
+        return switch (type.getKind()) {
+            case INT -> "0";
+            case BOOLEAN -> "false";
+            case DOUBLE -> "0.0";
+            case LONG -> "0L";
+            case FLOAT -> "0.0f";
+            case SHORT -> "(short) 0";
+            case BYTE -> "(byte) 0";
+            case CHAR -> "'\\u0000'";
+            default -> "(" + typeName + ") null";
+        };
+    }
+
+    /**
+     * Works out how a value of the specified type is parsed, in the same order as Mappable.
+     *
+     * @param type the type of the field
+     * @return how the value is parsed
+     */
+    private FieldKind kindOf(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        TypeElement list = processingEnv.getElementUtils().getTypeElement("java.util.List");
+        if (type.getKind() == TypeKind.DECLARED
+                && processingEnv.getTypeUtils().isAssignable(erased, processingEnv.getTypeUtils().erasure(list.asType()))) {
+            return FieldKind.LIST;
+        }
+        if (type.getKind() == TypeKind.DECLARED
+                && processingEnv.getTypeUtils().asElement(type).getKind() == ElementKind.ENUM) {
+            return FieldKind.ENUM;
+        }
+        return switch (erasedName(type)) {
+            case "java.lang.Integer", "int" -> FieldKind.INTEGER;
+            case "java.lang.Boolean", "boolean" -> FieldKind.BOOLEAN;
+            case "java.lang.Double", "double" -> FieldKind.DOUBLE;
+            case "java.time.LocalDate" -> FieldKind.LOCAL_DATE;
+            case "java.lang.String" -> FieldKind.STRING;
+            default -> FieldKind.UNSUPPORTED;
+        };
+    }
+
+    /**
+     * Gets the name of the erasure of the specified type, as it is written in source code.
+     *
+     * @param type the type
+     * @return the erased type name
+     */
+    private String erasedName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) processingEnv.getTypeUtils().asElement(erased)).getQualifiedName().toString();
+        }
+        return erased.toString();
+    }
+}
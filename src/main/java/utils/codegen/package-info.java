@@ -0,0 +1,4 @@
+/**
+ * This package contains the annotation processor that generates the record codecs of the model classes at compile time.
+ */
+package utils.codegen;
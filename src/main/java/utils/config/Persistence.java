@@ -0,0 +1,56 @@
+package utils.config;
+
+/**
+ * This class holds the persistence settings of the repositories.
+ * Each setting can be overridden with a system property, e.g. {@code -Dbto.persistence.mode=LOG}.
+ */
+public class Persistence {
+    /**
+     * The way repositories persist their changes, set by the {@code bto.persistence.mode} property.
+     * Defaults to {@link PersistenceMode#SNAPSHOT}.
+     */
+    public static final PersistenceMode MODE =
+            PersistenceMode.valueOf(System.getProperty("bto.persistence.mode", PersistenceMode.SNAPSHOT.name()));
+
+    /**
+     * The number of log records after which a repository in {@link PersistenceMode#LOG} mode
+     * compacts its log into the snapshot, set by the {@code bto.persistence.compactionThreshold} property.
+     */
+    public static final int COMPACTION_THRESHOLD = Integer.getInteger("bto.persistence.compactionThreshold", 1000);
+
+    /**
+     * Whether saves are deferred to a background flusher, set by the {@code bto.persistence.writeBehind} property.
+     * Defaults to false, in which case every save is written straight away.
+     */
+    public static final boolean WRITE_BEHIND = Boolean.getBoolean("bto.persistence.writeBehind");
+
+    /**
+     * The longest time in milliseconds a deferred save may wait before it is flushed,
+     * set by the {@code bto.persistence.flushDelayMillis} property.
+     */
+    public static final long FLUSH_DELAY_MILLIS = Long.getLong("bto.persistence.flushDelayMillis", 200L);
+
+    /**
+     * The number of deferred saves after which the flusher writes them without waiting for the delay,
+     * set by the {@code bto.persistence.flushDirtyRecords} property.
+     */
+    public static final int FLUSH_DIRTY_RECORDS = Integer.getInteger("bto.persistence.flushDirtyRecords", 1000);
+
+    /**
+     * Whether the time taken to load each repository file at start-up is printed,
+     * set by the {@code bto.persistence.reportLoadTimes} property.
+     */
+    public static final boolean REPORT_LOAD_TIMES = Boolean.getBoolean("bto.persistence.reportLoadTimes");
+
+    /**
+     * The size in bytes from which a repository file is memory-mapped and decoded in parallel chunks
+     * instead of line by line, set by the {@code bto.persistence.parallelLoadBytes} property.
+     */
+    public static final long PARALLEL_LOAD_BYTES = Long.getLong("bto.persistence.parallelLoadBytes", 8L << 20);
+
+    /**
+     * The number of model IDs a repository leases from its sequence file at a time,
+     * set by the {@code bto.persistence.idBlockSize} property.
+     */
+    public static final int ID_BLOCK_SIZE = Integer.getInteger("bto.persistence.idBlockSize", 64);
+}
@@ -0,0 +1,16 @@
+package utils.config;
+
+/**
+ * The ways in which a repository can persist its changes to disk.
+ */
+public enum PersistenceMode {
+    /**
+     * Every change rewrites the whole repository file.
+     */
+    SNAPSHOT,
+    /**
+     * Every change appends one record to a log next to the repository file.
+     * The log is folded back into the repository file (the snapshot) once it grows past the compaction threshold.
+     */
+    LOG
+}
@@ -0,0 +1,173 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only file of {@link LogRecord}s, one per line.
+ * Appending a record costs one small write regardless of how many records the log already holds.
+ * <p>
+ * A line is only considered written once its line terminator is on disk,
+ * so a record torn by a crash in the middle of an append is ignored when the log is read back.
+ */
+public class AppendLog {
+
+    /**
+     * The path of the log file.
+     */
+    private final String FILE_PATH;
+
+    /**
+     * The number of records in the log file.
+     */
+    private int size;
+
+    /**
+     * The stamp of the log file as of the last time it was read or written by this object.
+     */
+    private volatile FileStamp fileStamp = FileStamp.MISSING;
+
+    /**
+     * Creates a log backed by the specified file.
+     *
+     * @param FILE_PATH the path of the log file
+     */
+    public AppendLog(final String FILE_PATH) {
+        this.FILE_PATH = FILE_PATH;
+    }
+
+    /**
+     * Gets the path of the log file.
+     *
+     * @return the path of the log file
+     */
+    public String getFilePath() {
+        return FILE_PATH;
+    }
+
+    /**
+     * Appends the specified records to the end of the log.
+     *
+     * @param records the records to append
+     * @throws RuntimeException if the records could not be written to the log
+     */
+    public synchronized void append(List<LogRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        prepareAppend(records).apply();
+        appended(records.size());
+    }
+
+    /**
+     * Prepares the change that appends the specified records to the end of the log, without writing it.
+     * Once the change has been applied, {@link #appended(int)} has to be called.
+     *
+     * @param records the records to append
+     * @return the change to apply to the log file
+     * @throws RuntimeException if the length of the log file could not be read
+     */
+    public FileChange prepareAppend(List<LogRecord> records) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (LogRecord record : records) {
+            stringBuilder.append(record.toLine()).append(System.lineSeparator());
+        }
+        return FileChange.append(FILE_PATH, stringBuilder.toString().getBytes(Charset.defaultCharset()));
+    }
+
+    /**
+     * Records that a change prepared by {@link #prepareAppend(List)} has been applied to the log file.
+     *
+     * @param records the number of records that have been appended
+     */
+    public synchronized void appended(int records) {
+        size += records;
+        fileStamp = FileStamp.of(FILE_PATH);
+    }
+
+    /**
+     * Appends the specified record to the end of the log.
+     *
+     * @param record the record to append
+     */
+    public void append(LogRecord record) {
+        append(List.of(record));
+    }
+
+    /**
+     * Reads all complete records from the log, in the order in which they were appended.
+     *
+     * @return the records in the log, or an empty list if the log does not exist
+     * @throws RuntimeException if the log could not be read
+     */
+    public synchronized List<LogRecord> readAll() {
+        fileStamp = FileStamp.of(FILE_PATH);
+        String content;
+        try {
+            content = Files.readString(Paths.get(FILE_PATH), Charset.defaultCharset());
+        } catch (NoSuchFileException e) {
+            size = 0;
+            return new ArrayList<>();
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+        }
+        List<LogRecord> records = new ArrayList<>();
+        int lineStart = 0;
+        int lineEnd;
+        while ((lineEnd = content.indexOf('\n', lineStart)) != -1) {
+            int end = lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            LogRecord record = LogRecord.parse(content.substring(lineStart, end));
+            if (record != null) {
+                records.add(record);
+            }
+            lineStart = lineEnd + 1;
+        }
+        size = records.size();
+        return records;
+    }
+
+    /**
+     * Deletes all records from the log.
+     *
+     * @throws RuntimeException if the log file could not be deleted
+     */
+    public synchronized void truncate() {
+        try {
+            Files.deleteIfExists(Paths.get(FILE_PATH));
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be deleted from file: " + FILE_PATH);
+        }
+        truncated();
+    }
+
+    /**
+     * Records that the log file has been deleted by a {@link FileChange}.
+     */
+    public synchronized void truncated() {
+        size = 0;
+        fileStamp = FileStamp.MISSING;
+    }
+
+    /**
+     * Gets the number of records in the log.
+     *
+     * @return the number of records in the log
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the log file has been changed since it was last read or written by this object.
+     *
+     * @return true if the log file has been modified by someone else, false otherwise
+     */
+    public boolean isModified() {
+        return !FileStamp.of(FILE_PATH).equals(fileStamp);
+    }
+}
@@ -14,6 +14,10 @@ import java.util.regex.Pattern;
  * strings.
  */
 public class CSVReader {
+    /**
+     * The regex pattern that matches the CSV values of a line, either quoted or up to the next comma
+     */
+    private static final Pattern VALUE_PATTERN = Pattern.compile("\"([^\"]*)\"|(?<=,|^)([^,]*)(?=,|$)");
 
     /**
      * Reads a CSV file and returns its contents as a list of rows,
@@ -35,9 +39,7 @@ public class CSVReader {
             }
             while ((line = br.readLine()) != null) {
                 List<String> row = new ArrayList<>();
-                // Define a regex pattern to match the CSV values
-                Pattern pattern = Pattern.compile("\"([^\"]*)\"|(?<=,|^)([^,]*)(?=,|$)");
-                Matcher matcher = pattern.matcher(line);
+                Matcher matcher = VALUE_PATTERN.matcher(line);
                 // Extract the CSV values from the line
                 while (matcher.find()) {
                     String value = matcher.group().replace("\"", "");
@@ -0,0 +1,211 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * The ChunkedRecordLoader class decodes a large data file in parallel.
+ * <p>
+ * The file is memory-mapped and split into chunks that end on line boundaries, the chunks are decoded
+ * on the common fork/join pool, and the decoded objects are joined back in file order.
+ * Lines are split exactly like {@link java.io.BufferedReader#readLine()}, so the result is the same as reading
+ * the file line by line.
+ */
+public final class ChunkedRecordLoader {
+
+    /**
+     * The charsets in which a line feed is always the single byte {@code '\n'},
+     * so that the file can be split on raw bytes.
+     */
+    private static final Set<Charset> SPLITTABLE_CHARSETS =
+            Set.of(StandardCharsets.UTF_8, StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1);
+
+    /**
+     * The smallest chunk worth decoding on its own thread, in bytes.
+     */
+    public static final int MIN_CHUNK_BYTES = 1 << 20;
+
+    private ChunkedRecordLoader() {
+    }
+
+    /**
+     * Decodes every line of the specified file in parallel, in chunks of about {@link #MIN_CHUNK_BYTES}
+     * or more, so that each thread of the common pool gets a few chunks.
+     *
+     * @param FILE_PATH the path of the file
+     * @param decoder   creates an object from a line, or returns null if lines cannot be decoded this way
+     * @param <T>       the class of the decoded objects
+     * @return the decoded objects in file order, or null if the file cannot be loaded this way,
+     * in which case it has to be read line by line
+     * @throws RuntimeException if the file could not be read
+     */
+    public static <T> List<T> load(final String FILE_PATH, Function<CharSequence, T> decoder) {
+        long size = Path.of(FILE_PATH).toFile().length();
+        long chunks = Math.min(size / MIN_CHUNK_BYTES, ForkJoinPool.getCommonPoolParallelism() * 4L);
+        return load(FILE_PATH, decoder, (int) Math.max(MIN_CHUNK_BYTES, size / Math.max(1, chunks)));
+    }
+
+    /**
+     * Decodes every line of the specified file in parallel, in chunks of about the specified size.
+     *
+     * @param FILE_PATH  the path of the file
+     * @param decoder    creates an object from a line, or returns null if lines cannot be decoded this way
+     * @param chunkBytes the size of the chunks before they are extended to the next line boundary
+     * @param <T>        the class of the decoded objects
+     * @return the decoded objects in file order, or null if the file cannot be loaded this way,
+     * in which case it has to be read line by line
+     * @throws RuntimeException if the file could not be read
+     */
+    public static <T> List<T> load(final String FILE_PATH, Function<CharSequence, T> decoder, int chunkBytes) {
+        Charset charset = Charset.defaultCharset();
+        if (!SPLITTABLE_CHARSETS.contains(charset)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(Path.of(FILE_PATH), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            List<Integer> boundaries = findChunkBoundaries(buffer, chunkBytes);
+            ChunkTask<T> task = new ChunkTask<>(buffer, boundaries, 0, boundaries.size() - 1, charset, decoder);
+            return ForkJoinPool.commonPool().invoke(task);
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+        }
+    }
+
+    /**
+     * Splits the file into chunks of about the specified size, each ending just after a line feed or at the end of the file.
+     *
+     * @param buffer     the contents of the file
+     * @param chunkBytes the size of the chunks before they are extended to the next line boundary
+     * @return the offset of the start of each chunk, followed by the size of the file
+     */
+    private static List<Integer> findChunkBoundaries(ByteBuffer buffer, int chunkBytes) {
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+        int limit = buffer.limit();
+        int position = 0;
+        while (limit - position > chunkBytes) {
+            position += chunkBytes;
+            while (position < limit && buffer.get(position - 1) != '\n') {
+                position++;
+            }
+            if (position < limit) {
+                boundaries.add(position);
+            }
+        }
+        boundaries.add(limit);
+        return boundaries;
+    }
+
+    /**
+     * Decodes a range of chunks, splitting it in halves until a single chunk is left,
+     * and joins the decoded objects of the halves in order.
+     *
+     * @param <T> the class of the decoded objects
+     */
+    private static final class ChunkTask<T> extends RecursiveTask<List<T>> {
+        private static final long serialVersionUID = 1L;
+
+        // A task is never serialized, so what it decodes need not be serializable either
+        private final transient ByteBuffer buffer;
+        private final transient List<Integer> boundaries;
+        private final int fromChunk;
+        private final int toChunk;
+        private final transient Charset charset;
+        private final transient Function<CharSequence, T> decoder;
+
+        /**
+         * Creates a task that decodes the chunks from {@code fromChunk} (inclusive) to {@code toChunk} (exclusive).
+         */
+        ChunkTask(ByteBuffer buffer, List<Integer> boundaries, int fromChunk, int toChunk, Charset charset,
+                  Function<CharSequence, T> decoder) {
+            this.buffer = buffer;
+            this.boundaries = boundaries;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.charset = charset;
+            this.decoder = decoder;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                ChunkTask<T> right = new ChunkTask<>(buffer, boundaries, middle, toChunk, charset, decoder);
+                right.fork();
+                List<T> left = new ChunkTask<>(buffer, boundaries, fromChunk, middle, charset, decoder).compute();
+                List<T> rightResult = right.join();
+                if (left == null || rightResult == null) {
+                    return null;
+                }
+                left.addAll(rightResult);
+                return left;
+            }
+            return decodeChunk(boundaries.get(fromChunk), boundaries.get(toChunk));
+        }
+
+        /**
+         * Decodes the lines of one chunk.
+         * Line terminators are single bytes in the supported charsets, so lines are split on the raw bytes
+         * and each line is decoded straight into its string.
+         *
+         * @param start the offset of the first byte of the chunk
+         * @param end   the offset after the last byte of the chunk
+         * @return the decoded objects in file order, or null if a line could not be decoded this way
+         */
+        private List<T> decodeChunk(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            List<T> decoded = new ArrayList<>();
+            int lineStart = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                byte b = bytes[i];
+                if (b == '\n' || b == '\r') {
+                    if (!add(decoded, new String(bytes, lineStart, i - lineStart, charset))) {
+                        return null;
+                    }
+                    // A carriage return followed by a line feed ends a single line
+                    if (b == '\r' && i + 1 < bytes.length && bytes[i + 1] == '\n') {
+                        i++;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            // The last line of the file may have no line terminator
+            if (lineStart < bytes.length && !add(decoded, new String(bytes, lineStart, bytes.length - lineStart, charset))) {
+                return null;
+            }
+            return decoded;
+        }
+
+        /**
+         * Decodes a line and adds the result to the specified list.
+         *
+         * @param decoded the objects decoded so far
+         * @param line    the line to decode
+         * @return true if the line was decoded, false if lines cannot be decoded this way
+         */
+        private boolean add(List<T> decoded, String line) {
+            T object = decoder.apply(line);
+            if (object == null) {
+                return false;
+            }
+            decoded.add(object);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package utils.iocontrol;
+
+/**
+ * Receives the key-value pairs of a record from {@link RecordDecoder} as slices of the record,
+ * so that no intermediate map or key strings have to be created.
+ */
+public interface FieldSink {
+
+    /**
+     * Accepts one key-value pair of a record.
+     *
+     * @param record     the record being decoded
+     * @param keyStart   the index of the first character of the key
+     * @param keyEnd     the index after the last character of the key
+     * @param valueStart the index of the first character of the value
+     * @param valueEnd   the index after the last character of the value
+     */
+    void accept(CharSequence record, int keyStart, int keyEnd, int valueStart, int valueEnd);
+}
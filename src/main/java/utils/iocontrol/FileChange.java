@@ -0,0 +1,162 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A single change to a data file, prepared in memory so that it can be journaled before it is applied.
+ * <p>
+ * Applying a change twice leaves the file in the same state as applying it once, so the changes of an interrupted
+ * {@link UnitOfWork} can simply be applied again when its journal is recovered.
+ *
+ * @param kind      what the change does to the file
+ * @param FILE_PATH the path of the file
+ * @param offset    the length the file is cut back to before {@link Kind#APPEND} writes the content, 0 otherwise
+ * @param content   the bytes to write, empty for {@link Kind#DELETE}
+ */
+public record FileChange(Kind kind, String FILE_PATH, long offset, byte[] content) {
+
+    /**
+     * The kinds of change.
+     */
+    public enum Kind {
+        /**
+         * Replaces the whole file with the content.
+         */
+        REPLACE,
+        /**
+         * Writes the content at the offset, dropping anything after it.
+         */
+        APPEND,
+        /**
+         * Deletes the file.
+         */
+        DELETE
+    }
+
+    /**
+     * Creates a change that replaces the whole file.
+     *
+     * @param FILE_PATH the path of the file
+     * @param content   the new content of the file
+     * @return the change
+     */
+    public static FileChange replace(final String FILE_PATH, byte[] content) {
+        return new FileChange(Kind.REPLACE, FILE_PATH, 0, content);
+    }
+
+    /**
+     * Creates a change that appends to the file as it is now.
+     *
+     * @param FILE_PATH the path of the file
+     * @param content   the bytes to append
+     * @return the change
+     * @throws RuntimeException if the current length of the file could not be read
+     */
+    public static FileChange append(final String FILE_PATH, byte[] content) {
+        Path path = Paths.get(FILE_PATH);
+        try {
+            return new FileChange(Kind.APPEND, FILE_PATH, Files.exists(path) ? Files.size(path) : 0, content);
+        } catch (IOException e) {
+            throw new RuntimeException("File attributes could not be read: " + FILE_PATH);
+        }
+    }
+
+    /**
+     * Creates a change that deletes the file.
+     *
+     * @param FILE_PATH the path of the file
+     * @return the change
+     */
+    public static FileChange delete(final String FILE_PATH) {
+        return new FileChange(Kind.DELETE, FILE_PATH, 0, new byte[0]);
+    }
+
+    /**
+     * Applies the change to the file and forces it to disk, so that it is durable once this method returns.
+     * A replaced file is written next to the old one and moved over it, so it is never seen half-written.
+     *
+     * @throws RuntimeException if the file could not be changed, or is shorter than the offset of an append
+     */
+    public void apply() {
+        Path path = Paths.get(FILE_PATH);
+        try {
+            switch (kind) {
+                case REPLACE -> {
+                    createParentDirectories(path);
+                    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+                    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        write(channel, 0);
+                        FileSync.force(channel, temporary);
+                    }
+                    try {
+                        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    FileSync.forceDirectoryOf(path);
+                }
+                case APPEND -> {
+                    createParentDirectories(path);
+                    boolean created = Files.notExists(path);
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                        // The bytes before the offset were on disk when the change was made, so a shorter file has lost data
+                        if (channel.size() < offset) {
+                            throw new RuntimeException("Data file is shorter than expected and may be corrupted: " + FILE_PATH);
+                        }
+                        // Anything past the offset was written by an earlier attempt at this change
+                        if (channel.size() > offset) {
+                            channel.truncate(offset);
+                        }
+                        write(channel, offset);
+                        FileSync.force(channel, path);
+                    }
+                    if (created) {
+                        FileSync.forceDirectoryOf(path);
+                    }
+                }
+                case DELETE -> {
+                    if (Files.deleteIfExists(path)) {
+                        FileSync.forceDirectoryOf(path);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + FILE_PATH);
+        }
+    }
+
+    /**
+     * Writes the whole content to a file.
+     *
+     * @param channel  the open channel of the file
+     * @param position the position to write the content at
+     * @throws IOException if the content could not be written
+     */
+    private void write(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Creates the missing parent directories of a file.
+     *
+     * @param path the path of the file
+     * @throws IOException if a directory could not be created
+     */
+    private static void createParentDirectories(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+    }
+}
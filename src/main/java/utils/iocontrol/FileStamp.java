@@ -0,0 +1,42 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * A snapshot of the modification time and size of a data file.
+ * Two stamps of the same file are equal only if the file has not been changed in between,
+ * which lets a cached copy of the file decide whether it needs to be read again.
+ *
+ * @param lastModified the last modification time of the file in milliseconds, or -1 if the file does not exist
+ * @param size         the size of the file in bytes, or -1 if the file does not exist
+ */
+public record FileStamp(long lastModified, long size) {
+
+    /**
+     * The stamp of a file that does not exist (or has never been read).
+     */
+    public static final FileStamp MISSING = new FileStamp(-1, -1);
+
+    /**
+     * Reads the current stamp of the file at the specified path.
+     *
+     * @param FILE_PATH the path of the file
+     * @return the current stamp of the file, or {@link #MISSING} if the file does not exist
+     */
+    public static FileStamp of(final String FILE_PATH) {
+        Path path = Paths.get(FILE_PATH);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (NoSuchFileException e) {
+            return MISSING;
+        } catch (IOException e) {
+            throw new RuntimeException("File attributes could not be read: " + FILE_PATH);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Forces written files and the directory entries of created, renamed or deleted files to disk.
+ * A {@link FileChange} is only durable once it has been forced, so it has to be forced before the journal that could
+ * apply it again is deleted.
+ */
+public final class FileSync {
+
+    /**
+     * Told the path of each file or directory right after it has been forced, or null.
+     */
+    private static volatile Consumer<Path> listener;
+
+    private FileSync() {
+    }
+
+    /**
+     * Sets the listener told the path of each file or directory right after it has been forced,
+     * so that the order of the forces can be checked.
+     *
+     * @param listener the listener, or null to stop telling anyone
+     */
+    public static void setListener(Consumer<Path> listener) {
+        FileSync.listener = listener;
+    }
+
+    /**
+     * Forces the content and the metadata of a file to disk.
+     *
+     * @param channel the open channel of the file
+     * @param path    the path of the file
+     * @throws IOException if the file could not be forced
+     */
+    static void force(FileChannel channel, Path path) throws IOException {
+        channel.force(true);
+        forced(path);
+    }
+
+    /**
+     * Forces the entries of the directory holding a file to disk, so that creating, renaming or deleting the file
+     * survives a crash.
+     * Platforms that cannot open a directory, such as Windows, write directory entries through on their own.
+     *
+     * @param path the path of the file
+     */
+    static void forceDirectoryOf(Path path) {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The directory cannot be opened on this platform
+            return;
+        }
+        forced(directory);
+    }
+
+    /**
+     * Tells the listener that a file or directory has been forced.
+     *
+     * @param path the path of the file or directory
+     */
+    private static void forced(Path path) {
+        Consumer<Path> current = listener;
+        if (current != null) {
+            current.accept(path);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A persistent sequence of numbers for model IDs, handed out without looking at the existing model objects.
+ * <p>
+ * The sequence file holds the high-water mark: the first number that has not been leased yet.
+ * A sequence leases a block of numbers at a time by moving the high-water mark forward under a file lock,
+ * and then hands the numbers of the block out from an {@link AtomicLong}, so that getting the next number
+ * costs a single atomic increment and several processes sharing the file never get the same number.
+ * Numbers left in a block when the process stops are skipped.
+ */
+public class IdSequence {
+
+    /**
+     * The locks of the sequence files used by this process, keyed by path,
+     * since a file lock cannot be taken twice by the same process.
+     */
+    private static final Map<String, Object> FILE_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * The path of the sequence file.
+     */
+    private final String FILE_PATH;
+
+    /**
+     * The number of numbers leased at a time.
+     */
+    private final int blockSize;
+
+    /**
+     * The block the numbers are currently handed out from.
+     */
+    private volatile Block block = new Block(new AtomicLong(), 0);
+
+    /**
+     * A leased block of numbers.
+     *
+     * @param next the next number to hand out
+     * @param end  the number after the last number of the block
+     */
+    private record Block(AtomicLong next, long end) {
+    }
+
+    /**
+     * Creates a sequence backed by the specified file.
+     *
+     * @param FILE_PATH the path of the sequence file
+     * @param blockSize the number of numbers leased at a time
+     */
+    public IdSequence(final String FILE_PATH, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The block size must be positive: " + blockSize);
+        }
+        this.FILE_PATH = FILE_PATH;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Gets the next number of the sequence.
+     * The seed is passed on every call rather than kept, so that a repository can create its sequence
+     * in its constructor without handing itself out before it is fully constructed.
+     *
+     * @param seed gets the highest number already in use, called once if the sequence file does not exist
+     * @return a number that has not been handed out before by any sequence sharing the file
+     * @throws RuntimeException if a new block could not be leased
+     */
+    public long next(LongSupplier seed) {
+        while (true) {
+            Block current = block;
+            long number = current.next().getAndIncrement();
+            if (number < current.end()) {
+                return number;
+            }
+            synchronized (this) {
+                // Only the first thread to find the block used up leases the next one
+                if (block == current) {
+                    block = lease(seed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Leases the next block of numbers by moving the high-water mark in the sequence file forward.
+     *
+     * @param seed gets the highest number already in use, called if the sequence file does not exist
+     * @return the leased block
+     * @throws RuntimeException if the sequence file could not be read or written
+     */
+    private Block lease(LongSupplier seed) {
+        Path path = Paths.get(FILE_PATH);
+        synchronized (FILE_LOCKS.computeIfAbsent(path.toAbsolutePath().toString(), key -> new Object())) {
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        return lease(channel, seed);
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                throw new RuntimeException("Data could not be saved to file: " + FILE_PATH);
+            }
+        }
+    }
+
+    /**
+     * Moves the high-water mark in the sequence file forward while the file is locked.
+     *
+     * @param channel the locked channel of the sequence file
+     * @param seed    gets the highest number already in use, called if the sequence file is empty
+     * @return the leased block
+     * @throws IOException           if the sequence file could not be read or written
+     * @throws NumberFormatException if the sequence file does not hold a number
+     */
+    private Block lease(FileChannel channel, LongSupplier seed) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // Read the whole high-water mark
+        }
+        String content = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII).strip();
+        long start = content.isEmpty() ? seed.getAsLong() + 1 : Long.parseLong(content);
+        long end = start + blockSize;
+        channel.truncate(0);
+        channel.write(ByteBuffer.wrap((end + System.lineSeparator()).getBytes(StandardCharsets.US_ASCII)), 0);
+        channel.force(false);
+        return new Block(new AtomicLong(start), end);
+    }
+}
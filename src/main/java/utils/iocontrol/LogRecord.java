@@ -0,0 +1,99 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static utils.iocontrol.ObjectOutputControlCharacters.LOG_OPERATION_SEPARATOR;
+
+/**
+ * A single mutation recorded in an {@link AppendLog}.
+ * Each record is stored on its own line as the operation, a separator, and the payload.
+ *
+ * @param operation the recorded operation
+ * @param payload   the serialized object for {@link Operation#PUT}, the ID for {@link Operation#DELETE},
+ *                  and an empty string for {@link Operation#CLEAR}
+ */
+public record LogRecord(Operation operation, String payload) {
+
+    /**
+     * The operations that can be recorded in the log.
+     */
+    public enum Operation {
+        /**
+         * Adds an object, or replaces the object with the same ID.
+         */
+        PUT,
+        /**
+         * Removes the object with the given ID.
+         */
+        DELETE,
+        /**
+         * Removes all objects.
+         */
+        CLEAR
+    }
+
+    /**
+     * Creates a record that adds or replaces the specified object.
+     *
+     * @param mappable the object to store
+     * @return the log record
+     */
+    public static LogRecord put(Mappable mappable) {
+        StringBuilder payload = new StringBuilder();
+        try {
+            RecordCodecs.forObject(mappable).encode(mappable, payload);
+        } catch (IOException e) {
+            // A StringBuilder never fails
+            throw new UncheckedIOException(e);
+        }
+        return new LogRecord(Operation.PUT, payload.toString());
+    }
+
+    /**
+     * Creates a record that removes the object with the specified ID.
+     *
+     * @param ID the ID of the object to remove
+     * @return the log record
+     */
+    public static LogRecord delete(String ID) {
+        return new LogRecord(Operation.DELETE, ID);
+    }
+
+    /**
+     * Creates a record that removes all objects.
+     *
+     * @return the log record
+     */
+    public static LogRecord clear() {
+        return new LogRecord(Operation.CLEAR, "");
+    }
+
+    /**
+     * Parses a line of the log.
+     *
+     * @param line the line to parse
+     * @return the log record, or null if the line is incomplete (e.g. torn by a crash while it was being written)
+     */
+    public static LogRecord parse(String line) {
+        int separatorIndex = line.indexOf(LOG_OPERATION_SEPARATOR);
+        if (separatorIndex == -1) {
+            return null;
+        }
+        try {
+            Operation operation = Operation.valueOf(line.substring(0, separatorIndex));
+            return new LogRecord(operation, line.substring(separatorIndex + LOG_OPERATION_SEPARATOR.length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts the record to the line stored in the log.
+     *
+     * @return the line representing this record
+     */
+    public String toLine() {
+        return operation.name() + LOG_OPERATION_SEPARATOR + payload;
+    }
+}
@@ -0,0 +1,355 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link RecordCodec} that works out the fields of the class, their converters and their null values once,
+ * and then reads and writes the fields through method handles.
+ * <p>
+ * The conversion rules are those of {@link RecordCodecSupport}, so the output and the error handling
+ * are the same as those of {@link ReflectiveRecordCodec}.
+ *
+ * @param <T> the class of the objects converted by this codec
+ */
+final class MethodHandleRecordCodec<T extends Mappable> implements RecordCodec<T> {
+
+    /**
+     * The method type every getter is adapted to, so that all getters can be invoked exactly.
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * The method type every setter is adapted to, so that all setters can be invoked exactly.
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * The method type the no-argument constructor is adapted to.
+     */
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * The ways a field value can be parsed from its string representation.
+     */
+    private enum FieldKind {
+        LIST, ENUM, INTEGER, BOOLEAN, DOUBLE, LOCAL_DATE, STRING, UNSUPPORTED
+    }
+
+    /**
+     * Everything needed to convert one field, worked out when the codec is built.
+     *
+     * @param name      the name of the field, used as its key in the map
+     * @param type      the type of the field
+     * @param kind      how the field value is parsed
+     * @param primitive whether the field has a primitive type
+     * @param nullValue the value the field is set to when the map has no value for it
+     * @param constants the constants of the field type if it is an enum, null otherwise
+     * @param getter    reads the field, adapted to {@link #GETTER_TYPE}
+     * @param setter    writes the field, adapted to {@link #SETTER_TYPE}
+     */
+    private record FieldCodec(String name, Class<?> type, FieldKind kind, boolean primitive, Object nullValue,
+                              Object[] constants, MethodHandle getter, MethodHandle setter) {
+    }
+
+    /**
+     * The converters of the non-static, non-transient fields, in declaration order.
+     */
+    private final FieldCodec[] fieldCodecs;
+
+    /**
+     * The converters of the fields in the order {@link #toMap(Mappable)} iterates them,
+     * so that {@link #encode(Mappable, Appendable)} writes the same record as mapToString(toMap()).
+     */
+    private final FieldCodec[] encodeOrder;
+
+    /**
+     * Creates an object of the class, adapted to {@link #CONSTRUCTOR_TYPE}, or null if it has no
+     * no-argument constructor.
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * Creates a codec with the specified field converters.
+     *
+     * @param fieldCodecs the converters of the fields, in declaration order
+     * @param constructor creates an object of the class, or null if it has no no-argument constructor
+     */
+    private MethodHandleRecordCodec(FieldCodec[] fieldCodecs, MethodHandle constructor) {
+        this.fieldCodecs = fieldCodecs;
+        this.constructor = constructor;
+        // A HashMap filled in the same order as toMap() iterates its keys in the same order
+        Map<String, FieldCodec> byName = new HashMap<>();
+        for (FieldCodec fieldCodec : fieldCodecs) {
+            byName.put(fieldCodec.name(), fieldCodec);
+        }
+        this.encodeOrder = byName.values().toArray(new FieldCodec[0]);
+    }
+
+    /**
+     * Builds the codec of the specified class.
+     *
+     * @param modelClass the class of the objects converted by the codec
+     * @param <T>        the class of the objects converted by the codec
+     * @return the codec of the class
+     * @throws IllegalAccessException if a field cannot be accessed through a method handle
+     */
+    static <T extends Mappable> MethodHandleRecordCodec<T> of(Class<?> modelClass) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<FieldCodec> fieldCodecs = new ArrayList<>();
+        for (Field field : modelClass.getDeclaredFields()) {
+            // skip static or transient fields
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                continue;
+            }
+            // Allow access to private fields, and to final fields which are only set in constructors
+            field.setAccessible(true);
+            Class<?> type = field.getType();
+            fieldCodecs.add(new FieldCodec(
+                    field.getName(),
+                    type,
+                    kindOf(type),
+                    type.isPrimitive(),
+                    nullValueOf(type),
+                    type.getEnumConstants(),
+                    lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                    lookup.unreflectSetter(field).asType(SETTER_TYPE)));
+        }
+        MethodHandle constructor = null;
+        try {
+            Constructor<?> noArgumentConstructor = modelClass.getDeclaredConstructor();
+            noArgumentConstructor.setAccessible(true);
+            constructor = lookup.unreflectConstructor(noArgumentConstructor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException e) {
+            // Objects can still be populated, just not created by the codec
+        }
+        return new MethodHandleRecordCodec<>(fieldCodecs.toArray(new FieldCodec[0]), constructor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, String> toMap(T object) {
+        Map<String, String> map = new HashMap<>();
+        for (FieldCodec fieldCodec : fieldCodecs) {
+            map.put(fieldCodec.name(), RecordCodecSupport.encode(fieldCodec.name(), get(fieldCodec, object)));
+        }
+        return map;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fromMap(T object, Map<String, String> map) {
+        Objects.requireNonNull(map, "Input map cannot be null for fromMap");
+
+        for (FieldCodec fieldCodec : fieldCodecs) {
+            String stringValue = map.get(fieldCodec.name());
+            try {
+                if (RecordCodecSupport.isNull(stringValue)) {
+                    set(fieldCodec, object, fieldCodec.nullValue());
+                } else {
+                    set(fieldCodec, object, parse(fieldCodec, stringValue, 0, stringValue.length()));
+                }
+            } catch (RuntimeException e) {
+                RecordCodecSupport.handleFieldError(fieldCodec.name(), stringValue, e);
+                // Primitive fields keep their current value
+                if (!fieldCodec.primitive()) {
+                    set(fieldCodec, object, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void encode(T object, Appendable writer) throws IOException {
+        boolean first = true;
+        for (FieldCodec fieldCodec : encodeOrder) {
+            RecordEncoder.writeKey(writer, fieldCodec.name(), first);
+            RecordEncoder.writeValue(writer, fieldCodec.name(), get(fieldCodec, object));
+            first = false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void decode(T object, CharSequence record) {
+        boolean[] decoded = new boolean[fieldCodecs.length];
+        RecordDecoder.decode(record, (line, keyStart, keyEnd, valueStart, valueEnd) -> {
+            for (int i = 0; i < fieldCodecs.length; i++) {
+                if (RecordDecoder.keyEquals(line, keyStart, keyEnd, fieldCodecs[i].name())) {
+                    decodeField(fieldCodecs[i], object, line, valueStart, valueEnd);
+                    decoded[i] = true;
+                    break;
+                }
+            }
+        });
+        // Fields missing from the record are treated like the EmptyID placeholder, as in fromMap
+        for (int i = 0; i < fieldCodecs.length; i++) {
+            if (!decoded[i]) {
+                set(fieldCodecs[i], object, fieldCodecs[i].nullValue());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T decode(CharSequence record) {
+        if (constructor == null) {
+            return null;
+        }
+        T object;
+        try {
+            object = (T) (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw RecordCodecSupport.rethrow(e);
+        }
+        decode(object, record);
+        return object;
+    }
+
+    /**
+     * Sets a field of the specified object from a value slice of a record.
+     *
+     * @param fieldCodec the converter of the field
+     * @param object     the object to populate
+     * @param record     the record
+     * @param start      the index of the first character of the value
+     * @param end        the index after the last character of the value
+     */
+    private static void decodeField(FieldCodec fieldCodec, Object object, CharSequence record, int start, int end) {
+        try {
+            if (RecordCodecSupport.isNull(record, start, end)) {
+                set(fieldCodec, object, fieldCodec.nullValue());
+            } else {
+                set(fieldCodec, object, parse(fieldCodec, record, start, end));
+            }
+        } catch (RuntimeException e) {
+            RecordCodecSupport.handleFieldError(fieldCodec.name(), RecordCodecSupport.slice(record, start, end), e);
+            // Primitive fields keep their current value
+            if (!fieldCodec.primitive()) {
+                set(fieldCodec, object, null);
+            }
+        }
+    }
+
+    /**
+     * Parses the value of a field from a slice of its string representation.
+     *
+     * @param fieldCodec the converter of the field
+     * @param value      the string representation, neither null nor the EmptyID placeholder
+     * @param start      the index of the first character of the value
+     * @param end        the index after the last character of the value
+     * @return the value of the field
+     * @throws IllegalArgumentException if the value cannot be parsed or the field type is not supported
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(FieldCodec fieldCodec, CharSequence value, int start, int end) {
+        return switch (fieldCodec.kind()) {
+            case LIST -> RecordCodecSupport.decodeList(value, start, end);
+            case ENUM -> RecordCodecSupport.parseEnum((Class) fieldCodec.type(), (Enum[]) fieldCodec.constants(), value, start, end);
+            case INTEGER -> RecordCodecSupport.parseInt(value, start, end);
+            case BOOLEAN -> RecordCodecSupport.parseBoolean(value, start, end);
+            case DOUBLE -> Double.parseDouble(RecordCodecSupport.slice(value, start, end));
+            case LOCAL_DATE -> LocalDate.parse(RecordCodecSupport.slice(value, start, end));
+            case STRING -> RecordCodecSupport.slice(value, start, end);
+            case UNSUPPORTED -> throw RecordCodecSupport.unsupportedType(fieldCodec.type(), fieldCodec.name(),
+                    RecordCodecSupport.slice(value, start, end));
+        };
+    }
+
+    /**
+     * Reads a field of the specified object.
+     *
+     * @param fieldCodec the converter of the field
+     * @param object     the object to read
+     * @return the value of the field
+     */
+    private static Object get(FieldCodec fieldCodec, Object object) {
+        try {
+            return (Object) fieldCodec.getter().invokeExact(object);
+        } catch (Throwable e) {
+            throw RecordCodecSupport.rethrow(e);
+        }
+    }
+
+    /**
+     * Writes a field of the specified object.
+     *
+     * @param fieldCodec the converter of the field
+     * @param object     the object to write
+     * @param value      the new value of the field
+     */
+    private static void set(FieldCodec fieldCodec, Object object, Object value) {
+        try {
+            fieldCodec.setter().invokeExact(object, value);
+        } catch (Throwable e) {
+            throw RecordCodecSupport.rethrow(e);
+        }
+    }
+
+    /**
+     * Works out how a value of the specified type is parsed.
+     *
+     * @param type the type of the field
+     * @return how the value is parsed
+     */
+    private static FieldKind kindOf(Class<?> type) {
+        if (List.class.isAssignableFrom(type)) {
+            return FieldKind.LIST;
+        } else if (type.isEnum()) {
+            return FieldKind.ENUM;
+        } else if (type == Integer.class || type == int.class) {
+            return FieldKind.INTEGER;
+        } else if (type == Boolean.class || type == boolean.class) {
+            return FieldKind.BOOLEAN;
+        } else if (type == Double.class || type == double.class) {
+            return FieldKind.DOUBLE;
+        } else if (type == LocalDate.class) {
+            return FieldKind.LOCAL_DATE;
+        } else if (type == String.class) {
+            return FieldKind.STRING;
+        }
+        return FieldKind.UNSUPPORTED;
+    }
+
+    /**
+     * Gets the value a field of the specified type is set to when the map has no value for it:
+     * the default value for primitives and null otherwise.
+     *
+     * @param type the type of the field
+     * @return the value of a missing field
+     */
+    private static Object nullValueOf(Class<?> type) {
+        if (type == int.class) return 0;
+        if (type == boolean.class) return false;
+        if (type == double.class) return 0.0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\u0000';
+        return null;
+    }
+}
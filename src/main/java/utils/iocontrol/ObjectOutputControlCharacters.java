@@ -20,4 +20,10 @@ public record ObjectOutputControlCharacters() {
      * Using Unit Separator (US). Ensure this doesn't conflict with actual data.
      */
     public static final String LIST_ELEMENT_SEPARATOR = "\u001F"; // US (Unit Separator)
-}
\ No newline at end of file
+
+    /**
+     * The character sequence used to separate the operation of a log record from its payload.
+     * Using Record Separator (RS).
+     */
+    public static final String LOG_OPERATION_SEPARATOR = "\u001E"; // RS (Record Separator)
+}
@@ -0,0 +1,65 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Converts objects of one {@link Mappable} class to and from their Map&lt;String, String&gt; representation.
+ * <p>
+ * A codec is built once per class by {@link RecordCodecs} and follows the serialization rules described
+ * in {@link Mappable}.
+ *
+ * @param <T> the class of the objects converted by this codec
+ */
+public interface RecordCodec<T extends Mappable> {
+
+    /**
+     * Converts the non-static, non-transient fields of the specified object into a Map representation.
+     *
+     * @param object the object to convert
+     * @return a Map&lt;String, String&gt; representing the object's state
+     */
+    Map<String, String> toMap(T object);
+
+    /**
+     * Populates the non-static, non-transient fields of the specified object from a Map representation.
+     *
+     * @param object the object to populate
+     * @param map    a Map&lt;String, String&gt; containing the object's state. Must not be null.
+     */
+    void fromMap(T object, Map<String, String> map);
+
+    /**
+     * Writes the specified object as a record, in the same format as
+     * {@link StringAndMapConvertor#mapToString(Map)} applied to {@link #toMap(Mappable)}.
+     *
+     * @param object the object to write
+     * @param writer the writer or builder to write the record to, without a line terminator
+     * @throws IOException if the record could not be written
+     */
+    default void encode(T object, Appendable writer) throws IOException {
+        RecordEncoder.writeMap(toMap(object), writer);
+    }
+
+    /**
+     * Populates the fields of the specified object from a record, with the same result as
+     * {@link #fromMap(Mappable, Map)} applied to {@link StringAndMapConvertor#stringToMap(String)}.
+     *
+     * @param object the object to populate
+     * @param record the record to read
+     * @throws IllegalArgumentException if the record contains an invalid key-value pair
+     */
+    default void decode(T object, CharSequence record) {
+        fromMap(object, StringAndMapConvertor.stringToMap(record.toString()));
+    }
+
+    /**
+     * Creates an object from a record.
+     *
+     * @param record the record to read
+     * @return a new object populated from the record, or null if the class has no no-argument constructor
+     * and its objects have to be created from their map instead
+     * @throws IllegalArgumentException if the record contains an invalid key-value pair
+     */
+    T decode(CharSequence record);
+}
@@ -0,0 +1,269 @@
+package utils.iocontrol;
+
+import utils.parameters.EmptyID;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static utils.iocontrol.ObjectOutputControlCharacters.LIST_ELEMENT_SEPARATOR;
+
+/**
+ * The RecordCodecSupport class holds the conversion rules of {@link Mappable} that are shared by
+ * the {@link RecordCodec}s built at runtime and the ones generated at compile time,
+ * so that every codec writes the same records and handles bad values the same way.
+ */
+public final class RecordCodecSupport {
+
+    private RecordCodecSupport() {
+    }
+
+    /**
+     * Checks whether a value read from a record stands for a null field.
+     *
+     * @param stringValue the value read from the record, possibly null
+     * @return true if the value is missing or is the EmptyID placeholder, false otherwise
+     */
+    public static boolean isNull(String stringValue) {
+        // Never true for "", which stands for an empty List
+        return stringValue == null || stringValue.equals(EmptyID.EMPTY_ID);
+    }
+
+    /**
+     * Checks whether a value slice of a record stands for a null field.
+     *
+     * @param record the record
+     * @param start  the index of the first character of the value
+     * @param end    the index after the last character of the value
+     * @return true if the value is the EmptyID placeholder, false otherwise
+     */
+    public static boolean isNull(CharSequence record, int start, int end) {
+        return RecordDecoder.keyEquals(record, start, end, EmptyID.EMPTY_ID);
+    }
+
+    /**
+     * Gets a value slice of a record as a string.
+     *
+     * @param record the record
+     * @param start  the index of the first character of the value
+     * @param end    the index after the last character of the value
+     * @return the value
+     */
+    public static String slice(CharSequence record, int start, int end) {
+        return record.subSequence(start, end).toString();
+    }
+
+    /**
+     * Parses an Integer value slice of a record.
+     *
+     * @param record the record
+     * @param start  the index of the first character of the value
+     * @param end    the index after the last character of the value
+     * @return the value
+     * @throws NumberFormatException if the value is not an integer
+     */
+    public static int parseInt(CharSequence record, int start, int end) {
+        return Integer.parseInt(record, start, end, 10);
+    }
+
+    /**
+     * Parses a Boolean value slice of a record ("true" in any case is true, anything else is false).
+     *
+     * @param record the record
+     * @param start  the index of the first character of the value
+     * @param end    the index after the last character of the value
+     * @return the value
+     */
+    public static boolean parseBoolean(CharSequence record, int start, int end) {
+        if (end - start != 4) {
+            return false;
+        }
+        if (record instanceof String string) {
+            return string.regionMatches(true, start, "true", 0, 4);
+        }
+        return slice(record, start, end).equalsIgnoreCase("true");
+    }
+
+    /**
+     * Parses an Enum value slice of a record.
+     *
+     * @param type      the enum class
+     * @param constants the constants of the enum class
+     * @param record    the record
+     * @param start     the index of the first character of the value
+     * @param end       the index after the last character of the value
+     * @param <E>       the enum class
+     * @return the constant with the name in the slice
+     * @throws IllegalArgumentException if the enum class has no constant with that name
+     */
+    public static <E extends Enum<E>> E parseEnum(Class<E> type, E[] constants, CharSequence record, int start, int end) {
+        for (E constant : constants) {
+            if (RecordDecoder.keyEquals(record, start, end, constant.name())) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + type.getCanonicalName() + "." + slice(record, start, end));
+    }
+
+    /**
+     * Splits a List&lt;String&gt; value slice of a record.
+     *
+     * @param record the record
+     * @param start  the index of the first character of the value
+     * @param end    the index after the last character of the value
+     * @return a mutable list of the elements, empty if the slice is empty
+     */
+    public static ArrayList<String> decodeList(CharSequence record, int start, int end) {
+        ArrayList<String> list = new ArrayList<>();
+        if (start == end) {
+            return list;
+        }
+        char separator = LIST_ELEMENT_SEPARATOR.charAt(0);
+        int elementStart = start;
+        for (int i = start; i < end; i++) {
+            if (record.charAt(i) == separator) {
+                list.add(slice(record, elementStart, i));
+                elementStart = i + 1;
+            }
+        }
+        list.add(slice(record, elementStart, end));
+        return list;
+    }
+
+    /**
+     * Converts the value of a field into its string representation.
+     * Nulls become the EmptyID placeholder, lists are joined, and everything else uses toString().
+     *
+     * @param fieldName the name of the field
+     * @param value     the value of the field
+     * @return the string representation of the value
+     */
+    public static String encode(String fieldName, Object value) {
+        if (value == null) {
+            // Use the specific placeholder for null. MUST NOT BE ""
+            return EmptyID.EMPTY_ID;
+        } else if (value instanceof List<?> list) {
+            try {
+                return joinList(list);
+            } catch (ClassCastException e) {
+                // Log error if List contains non-String elements - design violation
+                System.err.println("ERROR: Field " + fieldName + " is a List but contains non-String elements in toMap: " + e.getMessage());
+                e.printStackTrace();
+                return EmptyID.EMPTY_ID;
+            }
+        }
+        // For other types (String, Enum, Integer, Boolean, Double, LocalDate),
+        // rely on their toString() method.
+        return value.toString();
+    }
+
+    /**
+     * Splits the string representation of a List&lt;String&gt; field.
+     *
+     * @param stringValue the string representation, neither null nor the EmptyID placeholder
+     * @return a mutable list of the elements, empty if the string is ""
+     */
+    public static ArrayList<String> decodeList(String stringValue) {
+        if (stringValue.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // The -1 limit ensures trailing empty strings are kept if separator is at the end.
+        return new ArrayList<>(Arrays.asList(stringValue.split(LIST_ELEMENT_SEPARATOR, -1)));
+    }
+
+    /**
+     * Reports a field whose type cannot be read from a record.
+     *
+     * @param type        the type of the field
+     * @param fieldName   the name of the field
+     * @param stringValue the value read from the record
+     * @return the exception to throw
+     */
+    public static IllegalArgumentException unsupportedType(Class<?> type, String fieldName, String stringValue) {
+        System.err.println("WARNING: Unsupported field type '" + type.getName() +
+                "' for field '" + fieldName +
+                "' during fromMap. Value: '" + stringValue + "'. Field will be left unchanged or potentially null if initialization failed.");
+        return new IllegalArgumentException("Unsupported field type in fromMap: " + type.getName() + " for field " + fieldName);
+    }
+
+    /**
+     * Reports a field that could not be read from a record.
+     * Bad values are logged and the caller sets the field to null, unless it is primitive;
+     * any other error is fatal.
+     *
+     * @param fieldName   the name of the field
+     * @param stringValue the value read from the record
+     * @param e           the error
+     * @throws RuntimeException if the error is not caused by a bad value
+     */
+    public static void handleFieldError(String fieldName, String stringValue, RuntimeException e) {
+        if (e instanceof DateTimeParseException) {
+            System.err.println("ERROR: Failed to parse LocalDate for field '" + fieldName +
+                    "' from value '" + stringValue + "'. Check format (YYYY-MM-DD). " + e.getMessage());
+        } else if (e instanceof NumberFormatException) {
+            System.err.println("ERROR: Failed to parse number for field '" + fieldName +
+                    "' from value '" + stringValue + "'. " + e.getMessage());
+        } else if (e instanceof IllegalArgumentException) {
+            // e.g. invalid Enum constant or unsupported field type
+            System.err.println("ERROR: Failed to process field '" + fieldName +
+                    "' with value '" + stringValue + "' in fromMap: " + e.getMessage());
+        } else {
+            System.err.println("FATAL: Unexpected error processing field " + fieldName + " in fromMap: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Unexpected error mapping field " + fieldName, e); // Fail fast
+        }
+        e.printStackTrace();
+    }
+
+    /**
+     * Creates a setter for a final field, which is only set in constructors otherwise.
+     *
+     * @param owner     the class declaring the field
+     * @param fieldName the name of the field
+     * @return a method handle taking the object and the new value of the field
+     * @throws ReflectiveOperationException if the field does not exist or cannot be made accessible
+     */
+    public static MethodHandle finalFieldSetter(Class<?> owner, String fieldName) throws ReflectiveOperationException {
+        Field field = owner.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return MethodHandles.lookup().unreflectSetter(field);
+    }
+
+    /**
+     * Converts a throwable caught while invoking a method handle into an unchecked exception.
+     *
+     * @param throwable the throwable that was caught
+     * @return the exception to throw
+     */
+    public static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        } else if (throwable instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException("Failed to map record due to access error", throwable);
+    }
+
+    /**
+     * Joins the elements of a List&lt;String&gt; field, mapping null elements to "".
+     *
+     * @param list the value of the field
+     * @return the joined elements, or "" if the list is empty
+     * @throws ClassCastException if the list contains an element that is not a String
+     */
+    private static String joinList(List<?> list) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                stringBuilder.append(LIST_ELEMENT_SEPARATOR);
+            }
+            String element = (String) list.get(i);
+            stringBuilder.append(element == null ? "" : element);
+        }
+        return stringBuilder.toString();
+    }
+}
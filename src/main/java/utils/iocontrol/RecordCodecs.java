@@ -0,0 +1,91 @@
+package utils.iocontrol;
+
+/**
+ * The RecordCodecs class provides the {@link RecordCodec} of each {@link Mappable} class.
+ * <p>
+ * A codec is built the first time a class is converted and cached for the lifetime of the class,
+ * so the fields of a class are looked up and made accessible only once.
+ * The codec generated at compile time by {@link utils.codegen.CodecProcessor}, named after the class with
+ * the suffix {@value #GENERATED_CODEC_SUFFIX}, is used if it exists; otherwise one is built from method handles.
+ */
+public class RecordCodecs {
+
+    /**
+     * The suffix of the name of a generated codec, appended to the name of the class it converts.
+     */
+    public static final String GENERATED_CODEC_SUFFIX = "Codec";
+
+    /**
+     * The codec of each class, built on first use.
+     */
+    private static final ClassValue<RecordCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected RecordCodec<?> computeValue(Class<?> type) {
+            RecordCodec<?> generatedCodec = findGeneratedCodec(type);
+            if (generatedCodec != null) {
+                return generatedCodec;
+            }
+            try {
+                return MethodHandleRecordCodec.of(type);
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Fields that cannot be turned into method handles can still be accessed one call at a time
+                return new ReflectiveRecordCodec<>(type);
+            }
+        }
+    };
+
+    /**
+     * Gets the codec of the specified class.
+     *
+     * @param type the class of the objects to convert
+     * @param <T>  the class of the objects to convert
+     * @return the codec of the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Mappable> RecordCodec<T> forClass(Class<T> type) {
+        return (RecordCodec<T>) CODECS.get(type);
+    }
+
+    /**
+     * Gets the codec of the class of the specified object.
+     *
+     * @param object the object to convert
+     * @return the codec of the class of the object
+     */
+    @SuppressWarnings("unchecked")
+    static RecordCodec<Mappable> forObject(Mappable object) {
+        return (RecordCodec<Mappable>) CODECS.get(object.getClass());
+    }
+
+    /**
+     * Finds and instantiates the codec generated at compile time for the specified class.
+     *
+     * @param type the class of the objects to convert
+     * @return the generated codec, or null if there is none or it cannot be used
+     */
+    private static RecordCodec<?> findGeneratedCodec(Class<?> type) {
+        try {
+            Class<?> codecClass = Class.forName(type.getName() + GENERATED_CODEC_SUFFIX, true, type.getClassLoader());
+            if (RecordCodec.class.isAssignableFrom(codecClass)) {
+                return (RecordCodec<?>) codecClass.getDeclaredConstructor().newInstance();
+            }
+        } catch (ClassNotFoundException e) {
+            // Classes compiled without the processor have no generated codec
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            System.err.println("WARNING: Generated codec of " + type.getName() + " could not be used: " + e);
+        }
+        return null;
+    }
+
+    /**
+     * Gets a codec of the specified class that looks up and accesses the fields reflectively on every call.
+     * It is not cached, and is only meant as a baseline to compare the cached codecs against.
+     *
+     * @param type the class of the objects to convert
+     * @param <T>  the class of the objects to convert
+     * @return a reflective codec of the class
+     */
+    public static <T extends Mappable> RecordCodec<T> reflective(Class<T> type) {
+        return new ReflectiveRecordCodec<>(type);
+    }
+}
@@ -0,0 +1,114 @@
+package utils.iocontrol;
+
+import static utils.iocontrol.ObjectOutputControlCharacters.DELIMITER_STRING;
+import static utils.iocontrol.ObjectOutputControlCharacters.SEPARATOR_STRING;
+
+/**
+ * The RecordDecoder class splits a record written by {@link StringAndMapConvertor#mapToString(java.util.Map)}
+ * or a {@link RecordCodec} into its key-value pairs in a single pass, handing each pair to a {@link FieldSink}
+ * as slices of the record.
+ * <p>
+ * Empty pairs are skipped, and the key and value of a pair are separated by the first delimiter in it,
+ * exactly as in {@link StringAndMapConvertor#stringToMap(String)}.
+ */
+public final class RecordDecoder {
+
+    private RecordDecoder() {
+    }
+
+    /**
+     * Decodes the key-value pairs of a record.
+     *
+     * @param record the record to decode, possibly null or empty
+     * @param sink   receives the key-value pairs in the order in which they appear
+     * @throws IllegalArgumentException if a pair has no delimiter
+     */
+    public static void decode(CharSequence record, FieldSink sink) {
+        if (record == null) {
+            return;
+        }
+        int length = record.length();
+        int pairStart = 0;
+        while (pairStart < length) {
+            int pairEnd = indexOf(record, SEPARATOR_STRING, pairStart, length);
+            if (pairEnd == -1) {
+                pairEnd = length;
+            }
+            // Handle empty pairs
+            if (pairEnd > pairStart) {
+                int delimiterIndex = indexOf(record, DELIMITER_STRING, pairStart, pairEnd);
+                if (delimiterIndex == -1) {
+                    throw new IllegalArgumentException("Invalid key-value pair: " + record.subSequence(pairStart, pairEnd) + " (missing delimiter)");
+                }
+                sink.accept(record, pairStart, delimiterIndex, delimiterIndex + DELIMITER_STRING.length(), pairEnd);
+            }
+            pairStart = pairEnd + SEPARATOR_STRING.length();
+        }
+    }
+
+    /**
+     * Finds the value of the specified key in a record without decoding the other pairs.
+     *
+     * @param record the record to search
+     * @param key    the key to look for
+     * @return the value of the last pair with the key, or null if the record has no such pair
+     * @throws IllegalArgumentException if a pair has no delimiter
+     */
+    public static String findValue(CharSequence record, String key) {
+        String[] value = new String[1];
+        decode(record, (line, keyStart, keyEnd, valueStart, valueEnd) -> {
+            if (keyEquals(line, keyStart, keyEnd, key)) {
+                value[0] = line.subSequence(valueStart, valueEnd).toString();
+            }
+        });
+        return value[0];
+    }
+
+    /**
+     * Checks whether a slice of a record is equal to the specified key.
+     *
+     * @param record the record
+     * @param start  the index of the first character of the slice
+     * @param end    the index after the last character of the slice
+     * @param key    the key to compare with
+     * @return true if the slice is equal to the key, false otherwise
+     */
+    public static boolean keyEquals(CharSequence record, int start, int end, String key) {
+        if (end - start != key.length()) {
+            return false;
+        }
+        if (record instanceof String string) {
+            return string.regionMatches(start, key, 0, key.length());
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (record.charAt(start + i) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first occurrence of a string that lies entirely within a range of a record.
+     *
+     * @param record the record to search
+     * @param target the string to find
+     * @param from   the index to start searching from
+     * @param to     the index the occurrence has to end by
+     * @return the index of the occurrence, or -1 if there is none
+     */
+    static int indexOf(CharSequence record, String target, int from, int to) {
+        int last = to - target.length();
+        if (record instanceof String string) {
+            int index = string.indexOf(target, from);
+            return index != -1 && index <= last ? index : -1;
+        }
+        char first = target.charAt(0);
+        for (int i = from; i <= last; i++) {
+            if (record.charAt(i) == first && keyEquals(record, i, i + target.length(), target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,104 @@
+package utils.iocontrol;
+
+import utils.parameters.EmptyID;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static utils.iocontrol.ObjectOutputControlCharacters.DELIMITER_STRING;
+import static utils.iocontrol.ObjectOutputControlCharacters.LIST_ELEMENT_SEPARATOR;
+import static utils.iocontrol.ObjectOutputControlCharacters.SEPARATOR_STRING;
+
+/**
+ * The RecordEncoder class writes records straight to an {@link Appendable} such as a {@link java.io.Writer}
+ * or a reused StringBuilder, in the same format as {@link StringAndMapConvertor#mapToString(Map)}
+ * but without building the map or the joined string.
+ */
+public final class RecordEncoder {
+
+    private RecordEncoder() {
+    }
+
+    /**
+     * Writes a map as a record.
+     *
+     * @param map    the map to write
+     * @param writer the writer to write to
+     * @throws IOException if the record could not be written
+     */
+    public static void writeMap(Map<String, String> map, Appendable writer) throws IOException {
+        if (map == null) {
+            return;
+        }
+        boolean first = true;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeKey(writer, entry.getKey(), first);
+            writer.append(String.valueOf(entry.getValue()));
+            first = false;
+        }
+    }
+
+    /**
+     * Writes the key of a key-value pair, preceded by the separator unless it is the first pair of the record.
+     *
+     * @param writer the writer to write to
+     * @param key    the key
+     * @param first  whether this is the first pair of the record
+     * @throws IOException if the key could not be written
+     */
+    public static void writeKey(Appendable writer, String key, boolean first) throws IOException {
+        if (!first) {
+            writer.append(SEPARATOR_STRING);
+        }
+        writer.append(key);
+        writer.append(DELIMITER_STRING);
+    }
+
+    /**
+     * Writes the value of a field, following the same rules as {@link RecordCodecSupport#encode(String, Object)}.
+     *
+     * @param writer    the writer to write to
+     * @param fieldName the name of the field
+     * @param value     the value of the field
+     * @throws IOException if the value could not be written
+     */
+    public static void writeValue(Appendable writer, String fieldName, Object value) throws IOException {
+        if (value == null) {
+            writer.append(EmptyID.EMPTY_ID);
+        } else if (value instanceof String string) {
+            writer.append(string);
+        } else if (value instanceof List<?> list) {
+            writeList(writer, fieldName, list);
+        } else {
+            writer.append(value.toString());
+        }
+    }
+
+    /**
+     * Writes the elements of a List&lt;String&gt; field, mapping null elements to "".
+     *
+     * @param writer    the writer to write to
+     * @param fieldName the name of the field
+     * @param list      the value of the field
+     * @throws IOException if the value could not be written
+     */
+    private static void writeList(Appendable writer, String fieldName, List<?> list) throws IOException {
+        for (Object element : list) {
+            if (element != null && !(element instanceof String)) {
+                // Nothing has been written yet, so the field can still fall back to the null placeholder
+                writer.append(RecordCodecSupport.encode(fieldName, list));
+                return;
+            }
+        }
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                writer.append(LIST_ELEMENT_SEPARATOR);
+            }
+            Object element = list.get(i);
+            if (element != null) {
+                writer.append((String) element);
+            }
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package utils.iocontrol;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import utils.iocontrol.StringAndMapConvertor;
+
+import utils.config.Persistence;
 /**
  * An abstract class for managing objects that can be mapped to and from key-value pairs.
  *
@@ -12,6 +14,11 @@ import utils.iocontrol.StringAndMapConvertor;
  */
 public abstract class Savable<MappableObject extends Mappable> {
 
+    /**
+     * The stamp of the data file as of the last time it was loaded or saved by this object.
+     */
+    private volatile FileStamp fileStamp = FileStamp.MISSING;
+
     /**
      * Gets the list of mappable objects.
      *
@@ -26,21 +33,124 @@ public abstract class Savable<MappableObject extends Mappable> {
      */
     protected abstract void setAll(List<Map<String, String>> listOfMappableObjects);
 
+    /**
+     * Creates a mappable object straight from a record, without building its map.
+     * Subclasses whose objects can be created by a {@link RecordCodec} override this;
+     * the records of the others are passed to {@link #setAll(List)} as maps.
+     *
+     * @param record the record to decode
+     * @return the decoded mappable object, or null if records have to be decoded through {@link #setAll(List)}
+     * @throws IllegalArgumentException if the record is not valid
+     */
+    protected MappableObject decodeRecord(CharSequence record) {
+        return null;
+    }
+
     /**
      * Saves the list of mappable objects to a file.
+     * Inside a {@link UnitOfWork} the write is left to the unit of work, which performs it when it commits
+     * together with the writes of the other files it changed.
+     * In write-behind mode the write is handed to the {@link WriteBehindFlusher}, which performs it later
+     * together with other pending writes; otherwise the file is written straight away.
      *
      * @param FILE_PATH the path of the file to save to
      * @throws RuntimeException if the data could not be saved to the file
      */
     protected void save(final String FILE_PATH) {
-        try (PrintWriter printWriter = new PrintWriter(new FileWriter(FILE_PATH))) {
-            final List<MappableObject> listOfMappableObjects = getAll();
-            for (MappableObject mappableObject : listOfMappableObjects) {
-                printWriter.println(StringAndMapConvertor.mapToString(mappableObject.toMap()));
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null) {
+            unitOfWork.enlist(this, FILE_PATH);
+        } else if (isWriteBehind()) {
+            WriteBehindFlusher.getInstance().markDirty(this, FILE_PATH);
+        } else {
+            writeNow(FILE_PATH);
+        }
+    }
+
+    /**
+     * Checks whether saves are deferred to the {@link WriteBehindFlusher}.
+     * Defaults to the setting configured in {@link Persistence#WRITE_BEHIND}.
+     *
+     * @return true if saves are written behind, false if they are written straight away
+     */
+    protected boolean isWriteBehind() {
+        return Persistence.WRITE_BEHIND;
+    }
+
+    /**
+     * Writes the pending changes to the file while holding the lock of this object,
+     * so that the write never observes a half-applied change.
+     *
+     * @param FILE_PATH the path of the file to write to
+     */
+    final void writeNow(final String FILE_PATH) {
+        synchronized (this) {
+            write(FILE_PATH);
+        }
+    }
+
+    /**
+     * Writes the pending changes to the file.
+     *
+     * @param FILE_PATH the path of the file to write to
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    protected void write(final String FILE_PATH) {
+        for (FileChange fileChange : prepareWrite(FILE_PATH)) {
+            fileChange.apply();
+        }
+        completeWrite(FILE_PATH);
+    }
+
+    /**
+     * Prepares the changes that write the pending changes to the file, without applying them.
+     * By default the whole file is replaced with the list of mappable objects.
+     * Once the changes have been applied, {@link #completeWrite(String)} has to be called.
+     *
+     * @param FILE_PATH the path of the file to write to
+     * @return the changes to apply, in order
+     */
+    protected List<FileChange> prepareWrite(final String FILE_PATH) {
+        return List.of(FileChange.replace(FILE_PATH, encodeAll()));
+    }
+
+    /**
+     * Records that the changes prepared by {@link #prepareWrite(String)} have been applied.
+     *
+     * @param FILE_PATH the path of the file that has been written
+     */
+    protected void completeWrite(final String FILE_PATH) {
+        fileStamp = FileStamp.of(FILE_PATH);
+    }
+
+    /**
+     * Throws away the changes that have not been written and reads the file again.
+     * Used by a {@link UnitOfWork} that is closed without being committed.
+     *
+     * @param FILE_PATH the path of the file to load from
+     */
+    protected void discardChanges(final String FILE_PATH) {
+        getAll().clear();
+        load(FILE_PATH);
+    }
+
+    /**
+     * Encodes the list of mappable objects as the content of the file, one record per line.
+     *
+     * @return the content of the file
+     */
+    protected byte[] encodeAll() {
+        StringBuilder content = new StringBuilder();
+        try {
+            for (MappableObject mappableObject : getAll()) {
+                RecordCodecs.forObject(mappableObject).encode(mappableObject, content);
+                content.append(System.lineSeparator());
             }
         } catch (IOException e) {
-            throw new RuntimeException("Data could not be saved to file: " + FILE_PATH);
+            // A StringBuilder never fails
+            throw new UncheckedIOException(e);
         }
+        return content.toString().getBytes(Charset.defaultCharset());
     }
 
     /**
@@ -51,6 +161,10 @@ public abstract class Savable<MappableObject extends Mappable> {
      */
     protected void load(final String FILE_PATH) {
         List<Map<String, String>> listOfMappableObjects = new ArrayList<>();
+        if (new File(FILE_PATH).length() >= Persistence.PARALLEL_LOAD_BYTES && loadInChunks(FILE_PATH)) {
+            setAll(listOfMappableObjects);
+            return;
+        }
         BufferedReader bufferedReader;
         try {
             bufferedReader = new BufferedReader(new FileReader(FILE_PATH));
@@ -67,14 +181,52 @@ public abstract class Savable<MappableObject extends Mappable> {
                 throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
             }
         }
+        // Stamp the file before reading so that a concurrent change is picked up by the next check
+        fileStamp = FileStamp.of(FILE_PATH);
         String line;
-        try {
-            while ((line = bufferedReader.readLine()) != null) {
-                listOfMappableObjects.add(StringAndMapConvertor.stringToMap(line));
+        try (BufferedReader reader = bufferedReader) {
+            while ((line = reader.readLine()) != null) {
+                MappableObject mappableObject = decodeRecord(line);
+                if (mappableObject != null) {
+                    getAll().add(mappableObject);
+                } else {
+                    listOfMappableObjects.add(StringAndMapConvertor.stringToMap(line));
+                }
             }
         } catch (IOException e) {
             throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
         }
         setAll(listOfMappableObjects);
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads a large file by decoding chunks of it in parallel with {@link ChunkedRecordLoader}.
+     * The objects are added in file order, exactly as if the file had been read line by line.
+     *
+     * @param FILE_PATH the path of the file to load from
+     * @return true if the file was loaded, false if it has to be read line by line instead
+     * @throws RuntimeException if the data could not be loaded from the file
+     */
+    private boolean loadInChunks(final String FILE_PATH) {
+        // Stamp the file before reading so that a concurrent change is picked up by the next check
+        FileStamp stamp = FileStamp.of(FILE_PATH);
+        List<MappableObject> listOfMappableObjects = ChunkedRecordLoader.load(FILE_PATH, this::decodeRecord);
+        if (listOfMappableObjects == null) {
+            return false;
+        }
+        fileStamp = stamp;
+        getAll().addAll(listOfMappableObjects);
+        return true;
+    }
+
+    /**
+     * Checks whether the file has been changed since it was last loaded or saved by this object,
+     * for example by another process.
+     *
+     * @param FILE_PATH the path of the file to check
+     * @return true if the file has been modified since the last load or save, false otherwise
+     */
+    protected boolean isFileModified(final String FILE_PATH) {
+        return !FileStamp.of(FILE_PATH).equals(fileStamp);
+    }
+}
@@ -0,0 +1,122 @@
+package utils.iocontrol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+
+/**
+ * A small file kept next to a repository file that records which snapshot its {@link AppendLog} applies to.
+ * <p>
+ * The manifest is written together with the snapshot when the log is compacted. If the snapshot
+ * no longer matches the manifest when it is loaded, the snapshot was rewritten but the process stopped before
+ * the log was discarded, so the log is stale and must not be replayed on top of it.
+ *
+ * @param size     the size of the snapshot file in bytes
+ * @param checksum the CRC-32 checksum of the snapshot file
+ * @param records  the number of records in the snapshot file
+ */
+public record SnapshotManifest(long size, long checksum, int records) {
+
+    /**
+     * Creates the manifest of a snapshot that is about to be written.
+     *
+     * @param snapshot the content of the snapshot file
+     * @param records  the number of records in the snapshot
+     * @return the manifest
+     */
+    public static SnapshotManifest of(byte[] snapshot, int records) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(snapshot);
+        return new SnapshotManifest(snapshot.length, crc32.getValue(), records);
+    }
+
+    /**
+     * Creates the manifest of a snapshot file that has already been written.
+     *
+     * @param FILE_PATH the path of the snapshot file
+     * @param records   the number of records in the snapshot
+     * @return the manifest, or null if the snapshot file does not exist
+     * @throws RuntimeException if the snapshot file could not be read
+     */
+    public static SnapshotManifest of(final String FILE_PATH, int records) {
+        try {
+            return of(Files.readAllBytes(Paths.get(FILE_PATH)), records);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+        }
+    }
+
+    /**
+     * Reads the manifest at the specified path.
+     *
+     * @param FILE_PATH the path of the manifest
+     * @return the manifest, or null if it does not exist or cannot be parsed
+     * @throws RuntimeException if the manifest could not be read
+     */
+    public static SnapshotManifest read(final String FILE_PATH) {
+        String content;
+        try {
+            content = Files.readString(Paths.get(FILE_PATH), Charset.defaultCharset()).strip();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+        }
+        String[] parts = content.split(" ");
+        try {
+            return new SnapshotManifest(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            // A manifest torn by a crash tells nothing about the snapshot
+            return null;
+        }
+    }
+
+    /**
+     * Gets the content of the manifest file.
+     *
+     * @return the content of the manifest file
+     */
+    public byte[] toBytes() {
+        return (size + " " + checksum + " " + records + System.lineSeparator()).getBytes(Charset.defaultCharset());
+    }
+
+    /**
+     * Checks whether the snapshot file at the specified path is still the one this manifest was written for.
+     *
+     * @param FILE_PATH the path of the snapshot file
+     * @return true if the snapshot file has the size and checksum in this manifest, false otherwise
+     * @throws RuntimeException if the snapshot file could not be read
+     */
+    public boolean matches(final String FILE_PATH) {
+        CRC32 crc32 = new CRC32();
+        long length = 0;
+        try {
+            if (Files.size(Paths.get(FILE_PATH)) != size) {
+                return false;
+            }
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new RuntimeException("File attributes could not be read: " + FILE_PATH);
+        }
+        try (InputStream inputStream = Files.newInputStream(Paths.get(FILE_PATH))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                crc32.update(buffer, 0, read);
+                length += read;
+            }
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+        }
+        return length == size && crc32.getValue() == checksum;
+    }
+}
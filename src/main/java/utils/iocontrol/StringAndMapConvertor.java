@@ -23,24 +23,8 @@ public class StringAndMapConvertor {
         }
 
         Map<String, String> map = new HashMap<>();
-        String[] pairs = string.split(SEPARATOR_STRING);
-        for (String pair : pairs) {
-            // Handle empty pairs
-            if (pair.isEmpty()) {
-                continue;
-            }
-
-            // Split by the first occurrence of DELIMITER_STRING
-            int delimiterIndex = pair.indexOf(DELIMITER_STRING);
-            if (delimiterIndex == -1) {
-                throw new IllegalArgumentException("Invalid key-value pair: " + pair + " (missing delimiter)");
-            }
-
-            String key = pair.substring(0, delimiterIndex);
-            String value = pair.substring(delimiterIndex + DELIMITER_STRING.length());
-
-            map.put(key, value);
-        }
+        RecordDecoder.decode(string, (record, keyStart, keyEnd, valueStart, valueEnd) ->
+                map.put(record.subSequence(keyStart, keyEnd).toString(), record.subSequence(valueStart, valueEnd).toString()));
         return map;
     }
 
@@ -0,0 +1,341 @@
+package utils.iocontrol;
+
+import utils.config.Location;
+import utils.config.Persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The UnitOfWork class groups the saves of several {@link Savable} objects into a single all-or-nothing write.
+ * <p>
+ * While a unit of work is open on a thread, saves made on that thread are only staged. When the unit of work
+ * commits, every staged savable is written once: the changes to all files are first recorded in a journal that ends
+ * with a commit marker and is forced to disk, then applied and forced to disk, and only then is the journal deleted.
+ * If the process stops while the changes are being applied, {@link #recover(String)} applies them again
+ * on the next start; if it stops before the commit marker is on disk, none of the changes have been applied.
+ * A unit of work closed without being committed discards the staged changes by reloading the staged savables.
+ * <p>
+ * A unit of work only makes the files consistent with each other; it does not hide its changes from other threads,
+ * which see them in memory as soon as they are made.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    /**
+     * The path of the journal used by {@link #begin()}.
+     */
+    public static final String DEFAULT_JOURNAL_PATH = Location.RESOURCE_LOCATION + "/data/unit-of-work.journal";
+
+    /**
+     * Marks the start of a journal.
+     */
+    private static final long JOURNAL_MAGIC = 0x554F574A4F55524EL;
+
+    /**
+     * Marks the end of a complete journal.
+     */
+    private static final long COMMIT_MARKER = 0x434F4D4D49540A00L;
+
+    /**
+     * The unit of work open on each thread.
+     */
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Held while a journal is written, applied and deleted.
+     */
+    private static final Object JOURNAL_LOCK = new Object();
+
+    /**
+     * The path of the journal.
+     */
+    private final String JOURNAL_PATH;
+
+    /**
+     * The staged savables, mapped to the path of the file to write them to.
+     */
+    private final Map<Savable<?>, String> enlistedSavables = new LinkedHashMap<>();
+
+    /**
+     * The number of nested {@link #begin()} calls that have not been closed yet.
+     */
+    private int depth = 1;
+
+    /**
+     * Whether the unit of work has been committed.
+     */
+    private boolean committed = false;
+
+    /**
+     * Whether a nested unit of work was closed without being committed, so that the whole unit of work must roll back.
+     */
+    private boolean rollbackOnly = false;
+
+    /**
+     * Whether the innermost nested unit of work has been committed.
+     */
+    private boolean nestedCommitted = false;
+
+    private UnitOfWork(final String JOURNAL_PATH) {
+        this.JOURNAL_PATH = JOURNAL_PATH;
+    }
+
+    /**
+     * Begins a unit of work on the current thread, journaled at {@link #DEFAULT_JOURNAL_PATH}.
+     *
+     * @return the unit of work
+     */
+    public static UnitOfWork begin() {
+        return begin(DEFAULT_JOURNAL_PATH);
+    }
+
+    /**
+     * Begins a unit of work on the current thread.
+     * If a unit of work is already open on the thread, the new one joins it and is only committed with it.
+     *
+     * @param JOURNAL_PATH the path of the journal
+     * @return the unit of work
+     */
+    public static UnitOfWork begin(final String JOURNAL_PATH) {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            current.depth++;
+            return current;
+        }
+        // Saves queued before the unit of work began must not be written after it
+        if (Persistence.WRITE_BEHIND) {
+            WriteBehindFlusher.getInstance().flush();
+        }
+        UnitOfWork unitOfWork = new UnitOfWork(JOURNAL_PATH);
+        CURRENT.set(unitOfWork);
+        return unitOfWork;
+    }
+
+    /**
+     * Gets the unit of work open on the current thread.
+     *
+     * @return the unit of work, or null if there is none
+     */
+    static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Checks whether a unit of work is open on the current thread.
+     *
+     * @return true if a unit of work is open, false otherwise
+     */
+    public static boolean isOpen() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Stages the specified savable to be written when the unit of work commits.
+     *
+     * @param savable   the savable that has changed
+     * @param FILE_PATH the path of the file to write it to
+     */
+    void enlist(Savable<?> savable, final String FILE_PATH) {
+        enlistedSavables.put(savable, FILE_PATH);
+    }
+
+    /**
+     * Writes the staged savables.
+     * Inside a nested unit of work this only marks the nested part as committed.
+     *
+     * @throws IllegalStateException if a nested unit of work was closed without being committed
+     * @throws RuntimeException      if the data could not be saved to a file
+     */
+    public void commit() {
+        if (rollbackOnly) {
+            throw new IllegalStateException("The unit of work has been rolled back");
+        }
+        if (depth > 1) {
+            nestedCommitted = true;
+            return;
+        }
+        List<Map.Entry<Savable<?>, String>> entries = new ArrayList<>(enlistedSavables.entrySet());
+        // Locking in path order keeps two units of work from waiting on each other
+        entries.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+        commitLocked(entries, 0);
+        enlistedSavables.clear();
+        committed = true;
+    }
+
+    /**
+     * Locks the staged savables one after another, then writes them all.
+     *
+     * @param entries the staged savables in locking order
+     * @param index   the index of the next savable to lock
+     */
+    private void commitLocked(List<Map.Entry<Savable<?>, String>> entries, int index) {
+        if (index < entries.size()) {
+            synchronized (entries.get(index).getKey()) {
+                commitLocked(entries, index + 1);
+            }
+            return;
+        }
+        List<FileChange> fileChanges = new ArrayList<>();
+        for (Map.Entry<Savable<?>, String> entry : entries) {
+            fileChanges.addAll(entry.getKey().prepareWrite(entry.getValue()));
+        }
+        // Units of work committed by other threads share the journal
+        synchronized (JOURNAL_LOCK) {
+            // A single change is atomic on its own
+            boolean journaled = fileChanges.size() > 1;
+            if (journaled) {
+                writeJournal(JOURNAL_PATH, fileChanges);
+            }
+            // Each change is on disk once applied, so the journal is only deleted when it can no longer be needed
+            for (FileChange fileChange : fileChanges) {
+                fileChange.apply();
+            }
+            if (journaled) {
+                deleteJournal(JOURNAL_PATH);
+            }
+        }
+        for (Map.Entry<Savable<?>, String> entry : entries) {
+            entry.getKey().completeWrite(entry.getValue());
+        }
+    }
+
+    /**
+     * Closes the unit of work.
+     * If it has not been committed, the staged savables are reloaded from their files, discarding the staged changes.
+     */
+    @Override
+    public void close() {
+        if (depth > 1) {
+            depth--;
+            if (!nestedCommitted) {
+                rollbackOnly = true;
+            }
+            nestedCommitted = false;
+            return;
+        }
+        CURRENT.remove();
+        if (!committed) {
+            for (Map.Entry<Savable<?>, String> entry : enlistedSavables.entrySet()) {
+                entry.getKey().discardChanges(entry.getValue());
+            }
+            enlistedSavables.clear();
+        }
+    }
+
+    /**
+     * Applies the changes of the journal at the specified path if it is complete, and deletes it.
+     * Called on start-up, before the data files are loaded.
+     *
+     * @param JOURNAL_PATH the path of the journal
+     * @return true if the changes of a committed unit of work were applied, false otherwise
+     * @throws RuntimeException if the journal could not be read or a change could not be applied
+     */
+    public static boolean recover(final String JOURNAL_PATH) {
+        List<FileChange> fileChanges = readJournal(JOURNAL_PATH);
+        if (fileChanges != null) {
+            for (FileChange fileChange : fileChanges) {
+                fileChange.apply();
+            }
+        }
+        deleteJournal(JOURNAL_PATH);
+        return fileChanges != null;
+    }
+
+    /**
+     * Writes the specified changes to the journal, followed by the commit marker, and forces it to disk.
+     *
+     * @param JOURNAL_PATH the path of the journal
+     * @param fileChanges  the changes to journal
+     * @throws RuntimeException if the journal could not be written
+     */
+    private static void writeJournal(final String JOURNAL_PATH, List<FileChange> fileChanges) {
+        Path path = Paths.get(JOURNAL_PATH);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileOutputStream fileOutputStream = new FileOutputStream(JOURNAL_PATH);
+                 DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream))) {
+                dataOutputStream.writeLong(JOURNAL_MAGIC);
+                dataOutputStream.writeInt(fileChanges.size());
+                for (FileChange fileChange : fileChanges) {
+                    dataOutputStream.writeByte(fileChange.kind().ordinal());
+                    dataOutputStream.writeUTF(fileChange.FILE_PATH());
+                    dataOutputStream.writeLong(fileChange.offset());
+                    dataOutputStream.writeInt(fileChange.content().length);
+                    dataOutputStream.write(fileChange.content());
+                }
+                dataOutputStream.writeLong(COMMIT_MARKER);
+                dataOutputStream.flush();
+                fileOutputStream.getFD().sync();
+            }
+            FileSync.forceDirectoryOf(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + JOURNAL_PATH);
+        }
+    }
+
+    /**
+     * Reads the changes from the journal.
+     *
+     * @param JOURNAL_PATH the path of the journal
+     * @return the journaled changes, or null if there is no journal or it does not end with the commit marker
+     * @throws RuntimeException if the journal could not be read
+     */
+    private static List<FileChange> readJournal(final String JOURNAL_PATH) {
+        try (DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(JOURNAL_PATH))))) {
+            if (dataInputStream.readLong() != JOURNAL_MAGIC) {
+                return null;
+            }
+            int count = dataInputStream.readInt();
+            List<FileChange> fileChanges = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int kind = dataInputStream.readUnsignedByte();
+                if (kind >= FileChange.Kind.values().length) {
+                    return null;
+                }
+                String FILE_PATH = dataInputStream.readUTF();
+                long offset = dataInputStream.readLong();
+                byte[] content = new byte[dataInputStream.readInt()];
+                dataInputStream.readFully(content);
+                fileChanges.add(new FileChange(FileChange.Kind.values()[kind], FILE_PATH, offset, content));
+            }
+            return dataInputStream.readLong() == COMMIT_MARKER ? fileChanges : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (EOFException | NegativeArraySizeException e) {
+            // The process stopped while the journal was being written, before anything was applied
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + JOURNAL_PATH);
+        }
+    }
+
+    /**
+     * Deletes the journal.
+     *
+     * @param JOURNAL_PATH the path of the journal
+     * @throws RuntimeException if the journal could not be deleted
+     */
+    private static void deleteJournal(final String JOURNAL_PATH) {
+        try {
+            Files.deleteIfExists(Paths.get(JOURNAL_PATH));
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + JOURNAL_PATH);
+        }
+    }
+}
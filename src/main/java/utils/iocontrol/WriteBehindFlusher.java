@@ -0,0 +1,160 @@
+package utils.iocontrol;
+
+import utils.config.Persistence;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The WriteBehindFlusher class collects the saves of {@link Savable} objects and writes them in the background.
+ * <p>
+ * A savable that is saved several times before the next flush is written only once, so a burst of logical
+ * writes to the same file turns into a single physical write.
+ * Pending saves are flushed when the oldest of them has waited for the maximum delay,
+ * or as soon as the number of pending saves reaches the dirty-record limit, whichever comes first.
+ * {@link #flush()} writes everything that is pending before it returns, and a shutdown hook flushes
+ * whatever is left when the program exits.
+ */
+public class WriteBehindFlusher {
+
+    /**
+     * The shared flusher, created on first use.
+     */
+    private static WriteBehindFlusher instance;
+
+    /**
+     * The savables waiting to be written, mapped to the path of the file to write them to.
+     */
+    private final Map<Savable<?>, String> dirtySavables = new LinkedHashMap<>();
+
+    /**
+     * The longest time in milliseconds a save may wait before it is flushed.
+     */
+    private final long maxDelayMillis;
+
+    /**
+     * The number of pending saves after which they are flushed straight away.
+     */
+    private final int maxDirtyRecords;
+
+    /**
+     * The thread that performs the background flushes.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Held while a batch is being written, so that {@link #flush()} waits for a background flush in progress.
+     */
+    private final Object flushLock = new Object();
+
+    /**
+     * The number of saves since the last flush.
+     */
+    private int dirtyRecordCount;
+
+    /**
+     * The pending background flush, or null if none is scheduled.
+     */
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Creates a flusher with the specified limits.
+     *
+     * @param maxDelayMillis  the longest time in milliseconds a save may wait before it is flushed
+     * @param maxDirtyRecords the number of pending saves after which they are flushed straight away
+     */
+    WriteBehindFlusher(long maxDelayMillis, int maxDirtyRecords) {
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxDirtyRecords = maxDirtyRecords;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "write-behind-shutdown"));
+    }
+
+    /**
+     * Gets the shared flusher, configured with the limits in {@link Persistence}.
+     *
+     * @return the shared flusher
+     */
+    public static synchronized WriteBehindFlusher getInstance() {
+        if (instance == null) {
+            instance = new WriteBehindFlusher(Persistence.FLUSH_DELAY_MILLIS, Persistence.FLUSH_DIRTY_RECORDS);
+        }
+        return instance;
+    }
+
+    /**
+     * Records that the specified savable has to be written to the specified file.
+     *
+     * @param savable   the savable that has changed
+     * @param FILE_PATH the path of the file to write it to
+     */
+    synchronized void markDirty(Savable<?> savable, final String FILE_PATH) {
+        dirtySavables.put(savable, FILE_PATH);
+        dirtyRecordCount++;
+        if (dirtyRecordCount >= maxDirtyRecords) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+            scheduledFlush = executor.schedule(this::flush, 0, TimeUnit.MILLISECONDS);
+        } else if (scheduledFlush == null) {
+            scheduledFlush = executor.schedule(this::flush, maxDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all pending saves and waits until they are on disk.
+     * Saves made by other threads while the flush is running may be left for the next flush.
+     *
+     * @throws RuntimeException if one of the pending saves could not be written; it stays pending
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Savable<?>, String> batch;
+            synchronized (this) {
+                batch = new LinkedHashMap<>(dirtySavables);
+                dirtySavables.clear();
+                dirtyRecordCount = 0;
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+            }
+            List<RuntimeException> failures = new ArrayList<>();
+            for (Map.Entry<Savable<?>, String> entry : batch.entrySet()) {
+                try {
+                    entry.getKey().writeNow(entry.getValue());
+                } catch (RuntimeException e) {
+                    // Keep the savable pending so that the next flush tries again
+                    synchronized (this) {
+                        dirtySavables.putIfAbsent(entry.getKey(), entry.getValue());
+                    }
+                    failures.add(e);
+                }
+            }
+            if (!failures.isEmpty()) {
+                RuntimeException exception = failures.get(0);
+                failures.stream().skip(1).forEach(exception::addSuppressed);
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of saves waiting to be flushed.
+     *
+     * @return the number of pending saves
+     */
+    public synchronized int getDirtyRecordCount() {
+        return dirtyRecordCount;
+    }
+}
@@ -0,0 +1,130 @@
+import boundary.api.ApiServer;
+import boundary.api.JsonBody;
+import boundary.api.JsonWriter;
+import controller.account.password.PasswordHashManager;
+import model.project.Project;
+import model.user.Applicant;
+import model.user.ApplicantStatus;
+import model.user.Manager;
+import model.user.MaritalStatus;
+import model.user.Officer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.project.ProjectRepository;
+import repository.user.ApplicantRepository;
+import repository.user.ManagerRepository;
+import repository.user.OfficerRepository;
+import utils.exception.ModelAlreadyExistsException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the JSON API served by the {@link ApiServer} from login to the approval of an application.
+ */
+@ExtendWith(TestRepositories.class)
+public class ApiServerTest {
+
+    private static final String APPLICANT = "S1234567A";
+    private static final String MANAGER = "S5678901G";
+    private static final String OFFICER = "T2109876H";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ApiServer server;
+
+    @BeforeEach
+    void setUp() throws ModelAlreadyExistsException, IOException {
+        String hashedPassword = PasswordHashManager.hashPassword("password");
+        ApplicantRepository.getInstance().add(new Applicant("John", APPLICANT, 40, MaritalStatus.MARRIED, hashedPassword));
+        ManagerRepository.getInstance().add(new Manager(MANAGER, hashedPassword, "Jessica"));
+        OfficerRepository.getInstance().add(new Officer(OFFICER, "Daniel", hashedPassword));
+        ProjectRepository.getInstance().add(new Project("P001", "Sky \"Ville\"", "Yishun",
+                LocalDate.now().minusDays(10), LocalDate.now().plusDays(10),
+                2, 3, 200000.0, 300000.0, MANAGER, new ArrayList<>(List.of(OFFICER)), true));
+        server = ApiServer.start(0, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String login(String userType, String nric) throws Exception {
+        HttpResponse<String> response = send("POST", "/api/login", null,
+                "{\"userType\": \"" + userType + "\", \"nric\": \"" + nric + "\", \"password\": \"password\"}");
+        assertEquals(200, response.statusCode(), response.body());
+        return response.body().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+    }
+
+    @Test
+    void api_AppliesAndApprovesThroughEndpoints() throws Exception {
+        assertEquals(401, send("GET", "/api/projects", null, null).statusCode());
+        assertEquals(401, send("POST", "/api/login", null,
+                "{\"userType\":\"APPLICANT\",\"nric\":\"" + APPLICANT + "\",\"password\":\"wrong\"}").statusCode());
+
+        String applicant = login("applicant", APPLICANT);
+        HttpResponse<String> projects = send("GET", "/api/projects", applicant, null);
+        assertEquals(200, projects.statusCode());
+        assertTrue(projects.body().startsWith("[{\"projectID\":\"P001\",\"title\":\"Sky \\\"Ville\\\"\""), projects.body());
+        assertEquals("{\"projectID\":\"P001\",\"eligible\":true}", send("GET", "/api/projects/P001/eligibility", applicant, null).body());
+        assertEquals(403, send("GET", "/api/requests/pending", applicant, null).statusCode());
+
+        HttpResponse<String> applied = send("POST", "/api/applications", applicant, "{\"projectID\":\"P001\",\"roomType\":\"THREE_ROOM_FLAT\"}");
+        assertEquals(201, applied.statusCode(), applied.body());
+        String requestID = JsonBody.parse(applied.body()).get("id");
+        assertEquals(409, send("POST", "/api/applications", applicant, "{\"projectID\":\"P001\",\"roomType\":\"TWO_ROOM_FLAT\"}").statusCode());
+
+        String manager = login("MANAGER", MANAGER);
+        assertTrue(send("GET", "/api/requests/pending", manager, null).body().contains("\"requestID\":\"" + requestID + "\""));
+        HttpResponse<String> approved = send("POST", "/api/requests/" + requestID + "/approve", manager, null);
+        assertEquals("{\"requestID\":\"" + requestID + "\",\"status\":\"APPROVED\"}", approved.body());
+        assertEquals(ApplicantStatus.SUCCESSFUL, ApplicantRepository.getInstance().getByID(APPLICANT).getApplicantStatus());
+
+        HttpResponse<String> booked = send("POST", "/api/bookings", applicant, null);
+        assertEquals(201, booked.statusCode(), booked.body());
+        assertEquals(409, send("POST", "/api/bookings", applicant, null).statusCode());
+        String bookingID = JsonBody.parse(booked.body()).get("id");
+        Map<String, String> confirmed = JsonBody.parse(send("POST", "/api/requests/" + bookingID + "/approve", login("OFFICER", OFFICER), null).body());
+        assertEquals("APPROVED", confirmed.get("status"));
+        assertTrue(confirmed.get("receipt").contains("Booking Receipt"), confirmed.get("receipt"));
+        assertEquals("[{\"applicantName\":\"John\",\"age\":40,\"maritalStatus\":\"MARRIED\",\"projectName\":\"Sky \\\"Ville\\\"\",\"roomType\":\"THREE_ROOM_FLAT\"}]",
+                send("GET", "/api/reports/applicants?maritalStatus=married", manager, null).body());
+        assertEquals("[]", send("GET", "/api/reports/applicants?maritalStatus=single", manager, null).body());
+        assertEquals(404, send("GET", "/api/nothing", manager, null).statusCode());
+        assertEquals(200, send("POST", "/api/logout", manager, null).statusCode());
+        assertEquals(401, send("GET", "/api/requests/pending", manager, null).statusCode());
+    }
+
+    @Test
+    void json_RoundTripsEscapedText() throws IOException {
+        StringWriter text = new StringWriter();
+        JsonWriter json = new JsonWriter(text);
+        json.beginObject().name("title").value("Line\n\"quoted\" \\ tab\t").name("units").value(3)
+                .name("open").value(true).name("none").value((String) null).endObject().flush();
+
+        assertEquals("{\"title\":\"Line\\n\\\"quoted\\\" \\\\ tab\\t\",\"units\":3,\"open\":true,\"none\":null}", text.toString());
+        assertEquals(Map.of("title", "Line\n\"quoted\" \\ tab\t", "units", "3", "open", "true"), JsonBody.parse(text.toString()));
+        assertThrows(IllegalArgumentException.class, () -> JsonBody.parse("{\"nested\": {}}"));
+    }
+}
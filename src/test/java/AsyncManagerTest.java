@@ -0,0 +1,58 @@
+import controller.project.AsyncProjectManager;
+import controller.request.AsyncApplicantManager;
+import controller.request.AsyncRequestManager;
+import model.project.Project;
+import model.project.RoomType;
+import model.request.ProjectBookingRequest;
+import model.request.RequestStatus;
+import model.user.Applicant;
+import model.user.ApplicantStatus;
+import model.user.MaritalStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.project.ProjectRepository;
+import repository.request.RequestRepository;
+import repository.user.ApplicantRepository;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the asynchronous managers complete their futures with the results of the blocking operations.
+ */
+@ExtendWith(TestRepositories.class)
+public class AsyncManagerTest {
+
+    @BeforeEach
+    void setUp() throws ModelAlreadyExistsException {
+        ApplicantRepository.getInstance().add(new Applicant("John", "S1234567A", 40, MaritalStatus.MARRIED, "hash",
+                ApplicantStatus.SUCCESSFUL, RoomType.NONE, null));
+        ProjectRepository.getInstance().add(TestRepositories.skyVille(2, 3));
+        RequestRepository.getInstance().add(new ProjectBookingRequest("R001", "P001", "S1234567A", "R000", RoomType.THREE_ROOM_FLAT));
+    }
+
+    @Test
+    void approveBookingRequest_CompletesWithReceipt() throws Exception {
+        String receipt = AsyncRequestManager.approveBookingRequest("R001").get();
+
+        assertTrue(receipt.contains("John"), receipt);
+        assertTrue(receipt.contains("SkyVille"), receipt);
+        assertEquals(RequestStatus.APPROVED, RequestRepository.getInstance().getByID("R001").getStatus());
+        assertEquals(ApplicantStatus.BOOKED, AsyncApplicantManager.getApplicantStatus("S1234567A").get());
+    }
+
+    @Test
+    void futures_RunIndependentReadsTogetherAndPassOnFailures() throws Exception {
+        CompletableFuture<Applicant> applicant = AsyncApplicantManager.getByNRIC("S1234567A");
+        CompletableFuture<Project> project = AsyncProjectManager.getByID("P001");
+        assertEquals("John SkyVille", applicant.thenCombine(project, (a, p) -> a.getName() + " " + p.getProjectTitle()).get());
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> AsyncRequestManager.getRequest("R999").get());
+        assertInstanceOf(ModelNotFoundException.class, failure.getCause());
+    }
+}
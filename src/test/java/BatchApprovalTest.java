@@ -0,0 +1,97 @@
+import controller.request.ApplicantManager;
+import controller.request.BatchResult;
+import controller.request.RequestManager;
+import model.project.RoomType;
+import model.request.OfficerApplicationRequest;
+import model.request.ProjectApplicationRequest;
+import model.request.ProjectBookingRequest;
+import model.request.ProjectWithdrawalRequest;
+import model.request.RequestStatus;
+import model.user.Applicant;
+import model.user.ApplicantStatus;
+import model.user.MaritalStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.project.ProjectRepository;
+import repository.request.RequestRepository;
+import repository.user.ApplicantRepository;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the batch approvals of the {@link RequestManager} check the whole batch and report each request.
+ */
+@ExtendWith(TestRepositories.class)
+public class BatchApprovalTest {
+
+    @BeforeEach
+    void setUp() throws ModelAlreadyExistsException {
+        for (int i = 1; i <= 3; i++) {
+            ApplicantRepository.getInstance().add(new Applicant("Applicant " + i, "S000000" + i + "A", 40,
+                    MaritalStatus.MARRIED, "hash", ApplicantStatus.PENDING, RoomType.NONE, null));
+        }
+        ProjectRepository.getInstance().add(TestRepositories.skyVille(5, 2));
+    }
+
+    @Test
+    void approveProjectApplications_UsesReservedFlatsAndReportsEachItem() throws ModelAlreadyExistsException, ModelNotFoundException {
+        String first = ApplicantManager.createProjectApplicationRequest("S0000001A", "P001", RoomType.THREE_ROOM_FLAT);
+        String second = ApplicantManager.createProjectApplicationRequest("S0000002A", "P001", RoomType.THREE_ROOM_FLAT);
+        String rejected = ApplicantManager.createProjectApplicationRequest("S0000003A", "P001", RoomType.TWO_ROOM_FLAT);
+        RequestManager.rejectProjectApplication(rejected);
+        assertEquals(0, ProjectRepository.getInstance().getByID("P001").getThreeRoomFlatAvailable());
+
+        BatchResult result = RequestManager.approveProjectApplications(List.of(first, "R999", second, first, rejected));
+
+        assertEquals(2, result.getSucceededCount());
+        assertEquals(List.of(first, "R999", second, first, rejected), result.items().stream().map(BatchResult.Item::requestID).toList());
+        assertEquals(List.of("R999", first, rejected), result.getFailures().stream().map(BatchResult.Item::requestID).toList());
+        assertEquals("Request " + rejected + " is REJECTED", result.items().get(4).reason());
+        // The flats were taken when the applicants applied, not again on approval
+        assertEquals(0, ProjectRepository.getInstance().getByID("P001").getThreeRoomFlatAvailable());
+        assertEquals(5, ProjectRepository.getInstance().getByID("P001").getTwoRoomFlatAvailable());
+        assertEquals(RequestStatus.APPROVED, RequestRepository.getInstance().getByID(second).getStatus());
+        assertEquals(ApplicantStatus.SUCCESSFUL, ApplicantRepository.getInstance().getByID("S0000001A").getApplicantStatus());
+
+        // Requests that are no longer pending are left alone
+        assertEquals(0, RequestManager.rejectProjectApplications(List.of(first)).getSucceededCount());
+    }
+
+    @Test
+    void approveWithdrawalRequests_RejectsEarlierRequestsAndReturnsFlat() throws ModelAlreadyExistsException, ModelNotFoundException {
+        ProjectApplicationRequest application = new ProjectApplicationRequest("R001", "P001", "S0000001A", RoomType.TWO_ROOM_FLAT);
+        application.setStatus(RequestStatus.APPROVED);
+        ProjectBookingRequest booking = new ProjectBookingRequest("R002", "P001", "S0000001A", "R001", RoomType.TWO_ROOM_FLAT);
+        booking.setStatus(RequestStatus.APPROVED);
+        RequestRepository.getInstance().add(application);
+        RequestRepository.getInstance().add(booking);
+        RequestRepository.getInstance().add(new ProjectWithdrawalRequest("R003", "P001", "S0000001A", RoomType.TWO_ROOM_FLAT, "Moving"));
+
+        BatchResult result = RequestManager.approveWithdrawalRequests(List.of("R003", "R001"));
+
+        assertEquals(1, result.getSucceededCount());
+        assertEquals("Request R001 is a PROJECT_APPLICATION_REQUEST", result.getFailures().get(0).reason());
+        assertEquals(RequestStatus.REJECTED, RequestRepository.getInstance().getByID("R001").getStatus());
+        assertEquals(RequestStatus.REJECTED, RequestRepository.getInstance().getByID("R002").getStatus());
+        assertEquals(ApplicantStatus.NO_REGISTRATION, ApplicantRepository.getInstance().getByID("S0000001A").getApplicantStatus());
+        assertEquals(6, ProjectRepository.getInstance().getByID("P001").getTwoRoomFlatAvailable());
+    }
+
+    @Test
+    void approveOfficerApplicationRequests_AddsEachOfficerOnce() throws ModelAlreadyExistsException, ModelNotFoundException {
+        RequestRepository.getInstance().add(new OfficerApplicationRequest("R001", "P001", "T1111111B"));
+        RequestRepository.getInstance().add(new OfficerApplicationRequest("R002", "P001", "T1111111B"));
+        RequestRepository.getInstance().add(new OfficerApplicationRequest("R003", "P002", "T2222222C"));
+
+        BatchResult result = RequestManager.approveOfficerApplicationRequests(List.of("R001", "R002", "R003"));
+
+        assertEquals(List.of(true, false, false), result.items().stream().map(BatchResult.Item::succeeded).toList());
+        assertEquals(List.of("T1111111B"), ProjectRepository.getInstance().getByID("P001").getOfficerIDs());
+        assertEquals(RequestStatus.PENDING, RequestRepository.getInstance().getByID("R002").getStatus());
+    }
+}
@@ -0,0 +1,84 @@
+import controller.account.password.PasswordHashManager;
+import controller.importer.BulkImporter;
+import model.project.Project;
+import model.user.Applicant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import repository.project.ProjectRepository;
+import repository.user.ApplicantRepository;
+import repository.user.ManagerRepository;
+import repository.user.OfficerRepository;
+import utils.exception.ModelNotFoundException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the {@link BulkImporter} validates, deduplicates and resolves the CSV rows before writing them.
+ */
+@ExtendWith(TestRepositories.class)
+public class BulkImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final String USER_HEADER = "Name,NRIC,Age,Marital Status,Password\n";
+
+    private String write(String name, String contents) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, contents);
+        return file.toString();
+    }
+
+    @Test
+    void importAll_ValidatesDedupesAndResolvesNames() throws IOException, ModelNotFoundException {
+        String applicants = write("applicants.csv", USER_HEADER
+                + "John,S1234567A,35,Single,secret\n"
+                + "Sarah,T7654321B,40,Married,password\n"
+                + "Copy,S1234567A,50,Married,password\n"
+                + "Bad,X1,30,Single,password\n"
+                + "Old,S7777777C,old,Single,password\n");
+        String managers = write("managers.csv", USER_HEADER + "Jessica,S5678901G,26,Married,password\n");
+        String officers = write("officers.csv", USER_HEADER
+                + "Daniel,T2109876H,36,Single,password\n"
+                + "Emily,S6543210I,28,Single,password\n");
+        String projects = write("projects.csv",
+                "Project Name,Neighborhood,Type 1,Units 1,Price 1,Type 2,Units 2,Price 2,Open,Close,Manager,Slot,Officer\n"
+                        + "Acacia Breeze,Yishun,2-Room,2,350000,3-Room,3,450000,15/2/2025,20/3/2025,Jessica,3,\"Daniel,Emily,Nobody\"\n"
+                        + "Overlap,Yishun,2-Room,2,350000,3-Room,3,450000,1/3/2025,30/3/2025,Jessica,3,\n"
+                        + "Orphan,Yishun,2-Room,2,350000,3-Room,3,450000,1/5/2025,30/5/2025,Someone,3,\n");
+
+        BulkImporter.Report report = BulkImporter.importAll(applicants, managers, officers, projects);
+
+        assertEquals(6, report.imported(), "2 applicants, 1 manager, 2 officers and 1 project");
+        assertEquals(5, report.rejected().size(), report.rejected().toString());
+        assertEquals(List.of("parse", "validate", "dedupe", "hash", "resolve", "write"),
+                report.stageTimes().stream().map(BulkImporter.StageTime::stage).toList());
+
+        Applicant john = ApplicantRepository.getInstance().getByID("S1234567A");
+        assertEquals(35, john.getAge(), "The first row with an NRIC wins");
+        assertEquals(PasswordHashManager.hashPassword("secret"), john.getHashedPassword());
+        assertEquals(2, ApplicantRepository.getInstance().size());
+
+        List<Project> imported = ProjectRepository.getInstance().getAll();
+        assertEquals(1, imported.size());
+        assertEquals("S5678901G", imported.get(0).getManagerNRIC());
+        assertEquals(List.of("T2109876H", "S6543210I"), imported.get(0).getOfficerIDs());
+    }
+
+    @Test
+    void importAll_SkipsUsersAlreadyInRepository() throws IOException {
+        String managers = write("managers.csv", USER_HEADER + "Jessica,S5678901G,26,Married,password\n");
+        BulkImporter.importAll(null, managers, null, null);
+
+        BulkImporter.Report report = BulkImporter.importAll(null, managers, null, null);
+
+        assertEquals(0, report.imported());
+        assertEquals(1, ManagerRepository.getInstance().size());
+    }
+}
@@ -0,0 +1,79 @@
+import model.enquiry.Enquiry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.iocontrol.ChunkedRecordLoader;
+import utils.iocontrol.RecordCodecs;
+import utils.iocontrol.StringAndMapConvertor;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the {@link ChunkedRecordLoader} decodes a file exactly like reading it line by line.
+ */
+public class ChunkedRecordLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final Function<CharSequence, Enquiry> DECODER = record -> RecordCodecs.forClass(Enquiry.class).decode(record);
+
+    private static List<Map<String, String>> readLineByLine(Path file) throws IOException {
+        List<Map<String, String>> maps = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                maps.add(DECODER.apply(line).toMap());
+            }
+        }
+        return maps;
+    }
+
+    private static List<Map<String, String>> toMaps(List<Enquiry> enquiries) {
+        List<Map<String, String>> maps = new ArrayList<>();
+        for (Enquiry enquiry : enquiries) {
+            maps.add(enquiry.toMap());
+        }
+        return maps;
+    }
+
+    @Test
+    void load_KeepsFileOrderAcrossChunks() throws IOException {
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            Enquiry enquiry = new Enquiry("E" + i, "Title " + i, "S" + i, "Content é " + i, i % 3 == 0 ? null : "Answer", i % 2 == 0);
+            contents.append(StringAndMapConvertor.mapToString(enquiry.toMap()))
+                    .append(i % 7 == 0 ? "\r\n" : "\n");
+        }
+        // An empty line in the middle and no line terminator after the last line
+        contents.append("\n");
+        contents.append(StringAndMapConvertor.mapToString(new Enquiry("E500", "Last", "S", "C", null, false).toMap()));
+        Path file = tempDir.resolve("enquiry.txt");
+        Files.writeString(file, contents);
+
+        List<Map<String, String>> expected = readLineByLine(file);
+        for (int chunkBytes : new int[]{1, 97, 4096, Integer.MAX_VALUE}) {
+            List<Enquiry> loaded = ChunkedRecordLoader.load(file.toString(), DECODER, chunkBytes);
+            assertNotNull(loaded);
+            assertEquals(expected, toMaps(loaded), "Chunks of " + chunkBytes + " bytes should decode like the serial path");
+        }
+        assertEquals(502, expected.size());
+    }
+
+    @Test
+    void load_ReturnsNullWhenRecordsCannotBeDecodedDirectly() throws IOException {
+        Path file = tempDir.resolve("enquiry.txt");
+        Files.writeString(file, StringAndMapConvertor.mapToString(new Enquiry("E1", "T", "S", "C", null, false).toMap()) + "\n");
+
+        assertNull(ChunkedRecordLoader.load(file.toString(), record -> null, 16));
+    }
+}
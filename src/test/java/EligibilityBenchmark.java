@@ -0,0 +1,108 @@
+import controller.project.ProjectManager;
+import model.project.Project;
+import model.project.RoomType;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+import repository.project.ProjectRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares listing the projects each applicant is eligible for by filtering every project, as
+ * {@link ProjectManager#getAvailableProject(String)} used to, with the eligibility bitsets of the {@link ProjectRepository}.
+ * The projects span ten years of application windows, so only a small share of them is open on any day.
+ * <p>
+ * The projects are stored in the temporary directory of {@link TestRepositories}, so the real data files are not touched.
+ * Run it from the IDE; it is not part of the test suite.
+ */
+public class EligibilityBenchmark {
+
+    private static final int PROJECTS = 10_000;
+    private static final int APPLICANTS = 1_000_000;
+    private static final int SCANNED_APPLICANTS = 2_000;
+    private static final int ROUNDS = 3;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of applicants, optional; defaults to 1,000,000
+     */
+    public static void main(String[] args) throws Exception {
+        int applicantCount = args != null && args.length > 0 ? Integer.parseInt(args[0]) : APPLICANTS;
+
+        // Must happen before anything reads the resource location
+        TestRepositories.getRoot();
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Project> projects = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            LocalDate openingDate = today.minusDays(random.nextInt(3650));
+            List<String> officerIDs = new ArrayList<>(List.of("T" + random.nextInt(1000), "T" + random.nextInt(1000)));
+            projects.add(new Project("P" + i, "Project " + i, "Yishun", openingDate, openingDate.plusDays(30),
+                    random.nextInt(3), random.nextInt(3), 200000.0, 300000.0, "S" + random.nextInt(200), officerIDs,
+                    random.nextInt(10) != 0));
+        }
+        ProjectRepository.getInstance().addAll(projects);
+
+        List<Applicant> applicants = new ArrayList<>(applicantCount);
+        for (int i = 0; i < applicantCount; i++) {
+            applicants.add(new Applicant("Applicant " + i, "S" + (1_000_000 + i), 21 + random.nextInt(50),
+                    random.nextBoolean() ? MaritalStatus.SINGLE : MaritalStatus.MARRIED));
+        }
+
+        System.out.printf("%,d projects, %,d applicants, %,d open and visible today%n", PROJECTS, applicantCount,
+                ProjectManager.viewApplicantEligibleProjects(null).size());
+        for (int round = 1; round <= ROUNDS; round++) {
+            long found = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < SCANNED_APPLICANTS; i++) {
+                found += scan(applicants.get(i)).size();
+            }
+            double scanNanos = (double) (System.nanoTime() - start) / SCANNED_APPLICANTS;
+
+            long indexedFound = 0;
+            start = System.nanoTime();
+            for (Applicant applicant : applicants) {
+                indexedFound += ProjectManager.getAvailableProject(applicant, RoomType.NONE).size();
+            }
+            double indexedNanos = (double) (System.nanoTime() - start) / applicantCount;
+
+            long checked = 0;
+            for (int i = 0; i < SCANNED_APPLICANTS; i++) {
+                checked += ProjectManager.getAvailableProject(applicants.get(i), RoomType.NONE).size();
+            }
+            if (checked != found) {
+                throw new IllegalStateException("The bitsets found " + checked + " projects but the scan found " + found);
+            }
+            System.out.printf("Round %d: scan %.1f us/listing (%,d sampled), bitsets %.1f us/listing (%,d listings, %,d projects listed), speedup %.0fx%n",
+                    round, scanNanos / 1000, SCANNED_APPLICANTS, indexedNanos / 1000, applicantCount, indexedFound, scanNanos / indexedNanos);
+        }
+    }
+
+    /**
+     * Lists the projects an applicant is eligible for the way {@link ProjectManager#getAvailableProject(String)} used to,
+     * by filtering every project.
+     */
+    private static List<Project> scan(Applicant applicant) {
+        String applicantNRIC = applicant.getNRIC();
+        if (applicant.getMaritalStatus() == MaritalStatus.SINGLE && applicant.getAge() < 35) {
+            return new ArrayList<>();
+        }
+        List<Project> availableProjects = ProjectRepository.getInstance().getList().stream()
+                .filter(project -> project.getVisibility() == Boolean.TRUE && project.getApplicationOpeningDate().isBefore(LocalDate.now()) && project.getApplicationClosingDate().isAfter(LocalDate.now()))
+                .toList();
+        availableProjects = availableProjects.stream()
+                .filter(project -> !project.getManagerNRIC().equals(applicantNRIC) && !project.getOfficerIDs().contains(applicantNRIC))
+                .toList();
+        if (applicant.getMaritalStatus() == MaritalStatus.SINGLE) {
+            availableProjects = availableProjects.stream()
+                    .filter(project -> project.getTwoRoomFlatAvailable() > 0)
+                    .toList();
+        }
+        return availableProjects;
+    }
+}
@@ -0,0 +1,104 @@
+import controller.project.ApplicantCategory;
+import controller.project.FlatInventory;
+import controller.project.ProjectManager;
+import model.project.Project;
+import model.project.RoomType;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.project.ProjectRepository;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the projects found through the eligibility bitsets follow changes to the projects.
+ */
+@ExtendWith(TestRepositories.class)
+public class EligibilityIndexTest {
+
+    private static final Applicant SINGLE = new Applicant("Single", "S1111111A", 40, MaritalStatus.SINGLE, "hash");
+    private static final Applicant YOUNG_SINGLE = new Applicant("Young", "S2222222B", 30, MaritalStatus.SINGLE, "hash");
+    private static final Applicant MARRIED = new Applicant("Married", "S3333333C", 25, MaritalStatus.MARRIED, "hash");
+
+    private static Project project(String projectID, int daysAgo, int twoRoomFlats, int threeRoomFlats, boolean visible) {
+        LocalDate today = LocalDate.now();
+        return new Project(projectID, "Project " + projectID, "Yishun", today.minusDays(daysAgo), today.minusDays(daysAgo).plusDays(20),
+                twoRoomFlats, threeRoomFlats, 200000.0, 300000.0, TestRepositories.MANAGER_NRIC, new ArrayList<>(List.of("T1111111B")), visible);
+    }
+
+    private static List<String> ids(List<Project> projects) {
+        return projects.stream().map(Project::getID).toList();
+    }
+
+    @BeforeEach
+    void setUp() throws ModelAlreadyExistsException {
+        ProjectRepository.getInstance().addAll(List.of(
+                project("P001", 10, 1, 0, true),
+                project("P002", 10, 0, 5, true),
+                project("P003", 10, 5, 5, false),
+                project("P004", 30, 5, 5, true)));
+    }
+
+    @Test
+    void getAvailableProject_MatchesEachCategory() {
+        assertEquals(ApplicantCategory.SINGLE_UNDER_35, ApplicantCategory.of(YOUNG_SINGLE));
+        assertEquals(List.of("P001"), ids(ProjectManager.getAvailableProject(SINGLE, RoomType.NONE)));
+        assertEquals(List.of(), ProjectManager.getAvailableProject(SINGLE, RoomType.THREE_ROOM_FLAT));
+        assertEquals(List.of(), ProjectManager.getAvailableProject(YOUNG_SINGLE, RoomType.NONE));
+        assertEquals(List.of("P001", "P002"), ids(ProjectManager.getAvailableProject(MARRIED, RoomType.NONE)));
+        assertEquals(List.of("P002"), ids(ProjectManager.getAvailableProject(MARRIED, RoomType.THREE_ROOM_FLAT)));
+
+        Applicant officer = new Applicant("Officer", "T1111111B", 50, MaritalStatus.MARRIED, "hash");
+        assertEquals(List.of(), ProjectManager.getAvailableProject(officer, RoomType.NONE));
+    }
+
+    @Test
+    void getAvailableProject_FollowsStockAndVisibility() throws ModelNotFoundException {
+        assertTrue(FlatInventory.tryReserve("P001", RoomType.TWO_ROOM_FLAT));
+        FlatInventory.commit("P001");
+        assertEquals(List.of(), ProjectManager.getAvailableProject(SINGLE, RoomType.NONE));
+
+        Project hidden = ProjectRepository.getInstance().getByID("P003");
+        hidden.setVisibility(true);
+        ProjectRepository.getInstance().update(hidden);
+        assertEquals(List.of("P003"), ids(ProjectManager.getAvailableProject(SINGLE, RoomType.NONE)));
+
+        ProjectRepository.getInstance().remove("P002");
+        assertEquals(List.of("P001", "P003"), ids(ProjectManager.getAvailableProject(MARRIED, RoomType.NONE)));
+        assertEquals(List.of("P001", "P003"), ids(ProjectManager.viewApplicantEligibleProjects(MARRIED.getNRIC())));
+    }
+
+    @Test
+    void findOpenByFlags_FollowsTheListingDate() {
+        LocalDate today = LocalDate.now();
+        ProjectRepository repository = ProjectRepository.getInstance();
+        assertEquals(List.of("P001", "P002", "P003"), ids(repository.findOpenByFlags(today, List.of())));
+        assertEquals(List.of("P004"), ids(repository.findOpenByFlags(today.minusDays(25), List.of())));
+        // The window is open strictly between its opening and closing dates
+        assertEquals(List.of(), ids(repository.findOpenByFlags(today.minusDays(30), List.of())));
+        assertEquals(List.of("P001", "P002"), ids(repository.findOpenByFlags(today, List.of(ProjectRepository.VISIBLE_FLAG))));
+    }
+
+    @Test
+    void getAvailableProject_KeepsOrderAcrossManyRemovals() throws ModelAlreadyExistsException, ModelNotFoundException {
+        List<Project> added = new ArrayList<>();
+        for (int i = 100; i < 300; i++) {
+            added.add(project("P" + i, 10, i % 2, 1, true));
+        }
+        ProjectRepository.getInstance().addAll(added);
+        for (int i = 100; i < 290; i++) {
+            ProjectRepository.getInstance().remove("P" + i);
+        }
+
+        assertEquals(List.of("P001", "P291", "P293", "P295", "P297", "P299"), ids(ProjectManager.getAvailableProject(SINGLE, RoomType.NONE)));
+        assertEquals(11, ProjectManager.getAvailableProject(MARRIED, RoomType.THREE_ROOM_FLAT).size());
+    }
+}
@@ -0,0 +1,130 @@
+import controller.project.FlatInventory;
+import controller.request.ApplicantManager;
+import controller.request.RequestManager;
+import model.project.RoomType;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.project.ProjectRepository;
+import repository.user.ApplicantRepository;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the {@link FlatInventory} never hands out more flats than a project has.
+ */
+@ExtendWith(TestRepositories.class)
+public class FlatInventoryTest {
+
+    private ProjectRepository projectRepository;
+
+    @BeforeEach
+    void setUp() throws ModelAlreadyExistsException {
+        projectRepository = ProjectRepository.getInstance();
+        projectRepository.add(TestRepositories.skyVille(5, 1));
+    }
+
+    @Test
+    void tryReserve_NeverReservesMoreFlatsThanAvailable() throws Exception {
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            attempts.add(() -> FlatInventory.tryReserve("P001", RoomType.TWO_ROOM_FLAT));
+        }
+        int reserved = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<Boolean> future : executor.invokeAll(attempts)) {
+                if (future.get()) {
+                    reserved++;
+                }
+            }
+        }
+
+        assertEquals(5, reserved);
+        assertEquals(0, FlatInventory.getAvailable("P001", RoomType.TWO_ROOM_FLAT));
+        assertEquals(5, projectRepository.getByID("P001").getTwoRoomFlatAvailable(), "Reservations are only persisted on commit");
+
+        FlatInventory.commit("P001");
+        assertEquals(0, projectRepository.getByID("P001").getTwoRoomFlatAvailable());
+        assertEquals(1, projectRepository.getByID("P001").getThreeRoomFlatAvailable());
+    }
+
+    @Test
+    void tryReserve_SharesCountersBetweenIDsThatDifferInCase() throws Exception {
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String projectID = i % 2 == 0 ? "P001" : "p001";
+            attempts.add(() -> FlatInventory.tryReserve(projectID, RoomType.TWO_ROOM_FLAT));
+        }
+        int reserved = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<Boolean> future : executor.invokeAll(attempts)) {
+                if (future.get()) {
+                    reserved++;
+                }
+            }
+        }
+
+        assertEquals(5, reserved);
+        assertEquals(0, FlatInventory.getAvailable("p001", RoomType.TWO_ROOM_FLAT));
+
+        projectRepository.getByID("P001").setTwoRoomFlatAvailable(2);
+        FlatInventory.invalidate("p001");
+        assertEquals(2, FlatInventory.getAvailable("P001", RoomType.TWO_ROOM_FLAT));
+    }
+
+    @Test
+    void release_ReturnsFlatAndReseedsAfterReloadKeepingReservations() throws ModelNotFoundException {
+        assertTrue(FlatInventory.tryReserve("P001", RoomType.THREE_ROOM_FLAT));
+        assertFalse(FlatInventory.tryReserve("P001", RoomType.THREE_ROOM_FLAT));
+        FlatInventory.release("P001", RoomType.THREE_ROOM_FLAT);
+        assertTrue(FlatInventory.tryReserve("P001", RoomType.THREE_ROOM_FLAT));
+        FlatInventory.commit("P001");
+
+        // Reserved but not committed yet, so it is carried over when the project is reloaded from its file
+        assertTrue(FlatInventory.tryReserve("P001", RoomType.TWO_ROOM_FLAT));
+        projectRepository.load();
+        assertEquals(4, FlatInventory.getAvailable("P001", RoomType.TWO_ROOM_FLAT));
+        assertEquals(0, FlatInventory.getAvailable("P001", RoomType.THREE_ROOM_FLAT));
+        FlatInventory.commit("P001");
+        assertEquals(4, projectRepository.getByID("P001").getTwoRoomFlatAvailable());
+
+        projectRepository.getByID("P001").setThreeRoomFlatAvailable(3);
+        FlatInventory.invalidate("P001");
+        assertEquals(3, FlatInventory.getAvailable("P001", RoomType.THREE_ROOM_FLAT));
+    }
+
+    @Test
+    void approveProjectApplication_UsesTheFlatReservedOnApply() throws Exception {
+        ApplicantRepository.getInstance().add(new Applicant("First", "S0000001A", 40, MaritalStatus.MARRIED, "hash"));
+        ApplicantRepository.getInstance().add(new Applicant("Second", "S0000002A", 40, MaritalStatus.MARRIED, "hash"));
+        String approved = ApplicantManager.createProjectApplicationRequest("S0000001A", "P001", RoomType.THREE_ROOM_FLAT);
+        String rejected = ApplicantManager.createProjectApplicationRequest("S0000002A", "P001", RoomType.TWO_ROOM_FLAT);
+        assertEquals(0, projectRepository.getByID("P001").getThreeRoomFlatAvailable());
+        assertEquals(4, projectRepository.getByID("P001").getTwoRoomFlatAvailable());
+
+        assertTrue(RequestManager.approveProjectApplication(approved));
+        assertEquals(0, projectRepository.getByID("P001").getThreeRoomFlatAvailable(), "Approving should not take a second flat");
+
+        // A rejected application has given its flat back, so it cannot be approved
+        assertTrue(RequestManager.rejectProjectApplication(rejected));
+        assertFalse(RequestManager.approveProjectApplication(rejected));
+        assertEquals(5, projectRepository.getByID("P001").getTwoRoomFlatAvailable());
+
+        // Nor can a decided application be rejected, which would give its flat back a second time
+        assertFalse(RequestManager.rejectProjectApplication(rejected));
+        assertFalse(RequestManager.rejectProjectApplication(approved));
+        assertEquals(5, projectRepository.getByID("P001").getTwoRoomFlatAvailable());
+        assertEquals(0, projectRepository.getByID("P001").getThreeRoomFlatAvailable());
+    }
+}
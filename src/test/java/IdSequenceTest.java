@@ -0,0 +1,71 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.iocontrol.IdSequence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that an {@link IdSequence} hands out each number once, across threads and across sequences sharing a file.
+ */
+public class IdSequenceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void next_StartsAfterSeedAndPersistsHighWaterMark() throws IOException {
+        Path file = tempDir.resolve("request.txt.sequence");
+        AtomicInteger seedCalls = new AtomicInteger();
+        LongSupplier seed = () -> {
+            seedCalls.incrementAndGet();
+            return 10;
+        };
+        IdSequence sequence = new IdSequence(file.toString(), 4);
+
+        assertEquals(11, sequence.next(seed));
+        assertEquals(12, sequence.next(seed));
+        assertEquals("15", Files.readString(file).strip(), "The whole block should be leased");
+
+        // A new process continues after the leased block, without seeding again
+        IdSequence restarted = new IdSequence(file.toString(), 4);
+        assertEquals(15, restarted.next(() -> {
+            seedCalls.incrementAndGet();
+            return 0;
+        }));
+        assertEquals(1, seedCalls.get());
+    }
+
+    @Test
+    void next_NeverRepeatsAcrossThreadsAndSequences() throws Exception {
+        String file = tempDir.resolve("enquiry.txt.sequence").toString();
+        IdSequence first = new IdSequence(file, 3);
+        IdSequence second = new IdSequence(file, 5);
+        List<Callable<Long>> calls = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            IdSequence sequence = i % 2 == 0 ? first : second;
+            calls.add(() -> sequence.next(() -> 0));
+        }
+
+        Set<Long> numbers = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<Long> future : executor.invokeAll(calls)) {
+                assertTrue(numbers.add(future.get()), "Number handed out twice: " + future.get());
+            }
+        }
+        assertEquals(1000, numbers.size());
+    }
+}
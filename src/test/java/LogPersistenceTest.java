@@ -0,0 +1,192 @@
+import model.enquiry.Enquiry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.Repository;
+import utils.config.PersistenceMode;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+import utils.iocontrol.StringAndMapConvertor;
+import utils.iocontrol.WriteBehindFlusher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the log-structured persistence mode of {@link Repository}:
+ * changes are appended to the log, replayed on load and compacted into the repository file.
+ */
+public class LogPersistenceTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * An enquiry repository in log mode, backed by a temporary file.
+     */
+    class LogEnquiryRepository extends Repository<Enquiry> {
+        LogEnquiryRepository() {
+            super();
+            load();
+        }
+
+        @Override
+        public String getFilePath() {
+            return tempDir.resolve("enquiry.txt").toString();
+        }
+
+        @Override
+        protected PersistenceMode getPersistenceMode() {
+            return PersistenceMode.LOG;
+        }
+
+        @Override
+        protected int getCompactionThreshold() {
+            return 5;
+        }
+
+        @Override
+        public void setAll(List<Map<String, String>> listOfMappableObjects) {
+            for (Map<String, String> map : listOfMappableObjects) {
+                getAll().add(new Enquiry(map));
+            }
+        }
+    }
+
+    /**
+     * An enquiry repository in log mode whose saves are written behind.
+     */
+    class WriteBehindLogEnquiryRepository extends LogEnquiryRepository {
+        @Override
+        protected boolean isWriteBehind() {
+            return true;
+        }
+    }
+
+    private LogEnquiryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new LogEnquiryRepository();
+    }
+
+    private long lineCount(String filePath) throws IOException {
+        Path path = Path.of(filePath);
+        return Files.exists(path) ? Files.readAllLines(path).size() : 0;
+    }
+
+    @Test
+    void mutations_AreAppendedToLogAndReplayedOnLoad() throws ModelAlreadyExistsException, ModelNotFoundException, IOException {
+        repository.add(new Enquiry("E1", "First", "S1", "Content 1", null, false));
+        repository.add(new Enquiry("E2", "Second", "S2", "Content 2", null, false));
+        Enquiry answered = new Enquiry("E1", "First", "S1", "Content 1", "Answer", true);
+        repository.update(answered);
+        repository.remove("E2");
+
+        assertEquals(0, lineCount(repository.getFilePath()), "The repository file should not be rewritten");
+        assertEquals(4, lineCount(repository.getLogFilePath()), "Each change should append one log record");
+
+        LogEnquiryRepository reloaded = new LogEnquiryRepository();
+        assertEquals(1, reloaded.size());
+        assertEquals("Answer", reloaded.getByID("E1").getAnswer());
+        assertFalse(reloaded.contains("E2"));
+    }
+
+    @Test
+    void log_IsCompactedIntoRepositoryFile() throws ModelAlreadyExistsException, IOException {
+        for (int i = 1; i <= 5; i++) {
+            repository.add(new Enquiry("E" + i, "Title", "S1", "Content", null, false));
+        }
+
+        assertEquals(5, lineCount(repository.getFilePath()), "Reaching the threshold should write the snapshot");
+        assertEquals(0, lineCount(repository.getLogFilePath()), "Compaction should discard the log");
+        assertEquals(5, new LogEnquiryRepository().size());
+    }
+
+    @Test
+    void load_IgnoresTornLastRecord() throws ModelAlreadyExistsException, IOException {
+        repository.add(new Enquiry("E1", "Title", "S1", "Content", null, false));
+        Files.writeString(Path.of(repository.getLogFilePath()), "PUT\u001EenquiryID", StandardOpenOption.APPEND);
+
+        LogEnquiryRepository reloaded = new LogEnquiryRepository();
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.contains("E1"));
+    }
+
+    @Test
+    void clear_IsReplayed() throws ModelAlreadyExistsException {
+        repository.add(new Enquiry("E1", "Title", "S1", "Content", null, false));
+        repository.clear();
+        repository.add(new Enquiry("E2", "Title", "S1", "Content", null, false));
+
+        LogEnquiryRepository reloaded = new LogEnquiryRepository();
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.contains("E2"));
+    }
+
+    @Test
+    void writeBehind_WritesOneRecordPerChangedObject() throws ModelAlreadyExistsException, ModelNotFoundException, IOException {
+        WriteBehindLogEnquiryRepository writeBehind = new WriteBehindLogEnquiryRepository();
+        writeBehind.add(new Enquiry("E1", "First", "S1", "Content", null, false));
+        writeBehind.add(new Enquiry("E2", "Second", "S1", "Content", null, false));
+        writeBehind.add(new Enquiry("E3", "Third", "S1", "Content", null, false));
+        for (int i = 0; i < 3; i++) {
+            Enquiry enquiry = writeBehind.getByID("E1");
+            enquiry.setAnswer("Answer " + i);
+            writeBehind.update(enquiry);
+        }
+        // E2 is removed and added again, so it moves behind E3
+        writeBehind.remove("E2");
+        writeBehind.add(new Enquiry("E2", "Second again", "S1", "Content", null, false));
+        assertEquals(3, writeBehind.getDirtyCount());
+
+        WriteBehindFlusher.getInstance().flush();
+
+        assertEquals(0, writeBehind.getDirtyCount());
+        assertEquals(4, lineCount(writeBehind.getLogFilePath()), "The changes should be coalesced per enquiry");
+        LogEnquiryRepository reloaded = new LogEnquiryRepository();
+        assertEquals(List.of("E1", "E3", "E2"), reloaded.getAll().stream().map(Enquiry::getID).toList());
+        assertEquals("Answer 2", reloaded.getByID("E1").getAnswer());
+        assertEquals("Second again", reloaded.getByID("E2").getEnquiryTitle());
+    }
+
+    @Test
+    void load_DiscardsLogLeftOverFromRewrittenSnapshot() throws ModelAlreadyExistsException, IOException {
+        for (int i = 1; i <= 5; i++) {
+            repository.add(new Enquiry("E" + i, "Title", "S1", "Content", null, false));
+        }
+        repository.add(new Enquiry("E6", "Title", "S1", "Content", null, false));
+        assertEquals(1, lineCount(repository.getLogFilePath()));
+
+        // As if the snapshot had been rewritten by a compaction that stopped before discarding the log
+        Files.writeString(Path.of(repository.getFilePath()), StringAndMapConvertor.mapToString(
+                new Enquiry("E7", "Title", "S1", "Content", null, false).toMap()) + System.lineSeparator());
+
+        LogEnquiryRepository reloaded = new LogEnquiryRepository();
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.contains("E7"));
+        assertEquals(0, lineCount(repository.getLogFilePath()), "The stale log should be discarded");
+    }
+
+    @Test
+    void load_KeepsChangesAppendedAfterDiscardingStaleLog() throws ModelAlreadyExistsException, IOException {
+        repository.add(new Enquiry("E1", "Title", "S1", "Content", null, false));
+        // A manifest written for another snapshot, as if the repository file had been rewritten since
+        Files.writeString(Path.of(repository.getManifestFilePath()), "1 1 1" + System.lineSeparator());
+
+        LogEnquiryRepository reloaded = new LogEnquiryRepository();
+        assertEquals(0, reloaded.size());
+        reloaded.add(new Enquiry("E2", "Title", "S1", "Content", null, false));
+        reloaded.add(new Enquiry("E3", "Title", "S1", "Content", null, false));
+
+        LogEnquiryRepository reloadedAgain = new LogEnquiryRepository();
+        assertEquals(List.of("E2", "E3"), reloadedAgain.getAll().stream().map(Enquiry::getID).toList());
+        assertEquals(2, lineCount(repository.getLogFilePath()), "The appended changes should stay in the log");
+    }
+}
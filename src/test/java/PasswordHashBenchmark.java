@@ -0,0 +1,121 @@
+import controller.account.password.PasswordHashManager;
+import controller.account.password.PasswordManager;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Compares the throughput of login verification under concurrency with the per-thread digests of
+ * {@link PasswordHashManager} and with a single digest shared behind a lock, which is the only safe way to share one,
+ * and the time taken to hash a batch of passwords serially and with {@link PasswordHashManager#hashPasswords(List)}.
+ * Run it from the IDE; it is not part of the test suite.
+ */
+public class PasswordHashBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int LOGINS_PER_THREAD = 200_000;
+    private static final int ROUNDS = 5;
+
+    private static final MessageDigest SHARED_DIGEST;
+
+    static {
+        try {
+            SHARED_DIGEST = MessageDigest.getInstance("SHA3-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of threads, optional; defaults to the number of available processors
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args != null && args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        List<Applicant> applicants = new ArrayList<>();
+        List<String> passwords = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            passwords.add("password" + i);
+            applicants.add(new Applicant("Applicant " + i, "S" + i, 30, MaritalStatus.SINGLE,
+                    PasswordHashManager.hashPassword("password" + i)));
+        }
+
+        System.out.println("Threads: " + threads);
+        for (int round = 1; round <= ROUNDS; round++) {
+            double locked = run(threads, applicants, passwords, PasswordHashBenchmark::checkWithSharedDigest);
+            double perThread = run(threads, applicants, passwords, (user, password) -> PasswordManager.checkPassword(user, password));
+            System.out.printf("Round %d: shared digest %.0f logins/s, per-thread digests %.0f logins/s, speedup %.1fx%n",
+                    round, locked, perThread, perThread / locked);
+
+            List<String> batch = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                batch.addAll(passwords);
+            }
+            long start = System.nanoTime();
+            for (String password : batch) {
+                PasswordHashManager.hashPassword(password);
+            }
+            long serial = System.nanoTime() - start;
+            start = System.nanoTime();
+            PasswordHashManager.hashPasswords(batch);
+            long parallel = System.nanoTime() - start;
+            System.out.printf("Round %d: %d passwords serially %d ms, in parallel %d ms, speedup %.1fx%n",
+                    round, batch.size(), serial / 1_000_000, parallel / 1_000_000, (double) serial / parallel);
+        }
+    }
+
+    /**
+     * Checks a password with the digest shared by all threads.
+     */
+    private static boolean checkWithSharedDigest(Applicant applicant, String password) {
+        byte[] hash;
+        synchronized (SHARED_DIGEST) {
+            hash = SHARED_DIGEST.digest(password.getBytes());
+        }
+        return applicant.getHashedPassword().equals(Base64.getEncoder().encodeToString(hash));
+    }
+
+    /**
+     * Verifies logins on the specified number of threads at once.
+     *
+     * @return the number of logins verified per second
+     */
+    private static double run(int threads, List<Applicant> applicants, List<String> passwords,
+                              BiPredicate<Applicant, String> check) throws InterruptedException {
+        LongAdder failures = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                executor.execute(() -> {
+                    for (int i = 0; i < LOGINS_PER_THREAD; i++) {
+                        int user = (i + offset) % applicants.size();
+                        if (!check.test(applicants.get(user), passwords.get(user))) {
+                            failures.increment();
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+            done.await();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (failures.sum() != 0) {
+            throw new IllegalStateException(failures.sum() + " logins failed");
+        }
+        return (double) threads * LOGINS_PER_THREAD * 1e9 / elapsed;
+    }
+}
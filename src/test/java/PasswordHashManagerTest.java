@@ -0,0 +1,40 @@
+import controller.account.password.PasswordHashManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link PasswordHashManager} gives the same hashes when it is used by several threads at once.
+ */
+public class PasswordHashManagerTest {
+
+    @Test
+    void hashPassword_IsConsistentAcrossThreads() throws Exception {
+        List<String> passwords = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            passwords.add("password" + i);
+            expected.add(PasswordHashManager.hashPassword("password" + i));
+        }
+
+        List<Callable<String>> calls = new ArrayList<>();
+        for (String password : passwords) {
+            calls.add(() -> PasswordHashManager.hashPassword(password));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<String>> futures = executor.invokeAll(calls);
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(expected.get(i), futures.get(i).get());
+            }
+        }
+
+        assertEquals(expected, PasswordHashManager.hashPasswords(passwords), "Batch hashes should keep the order of the passwords");
+    }
+}
@@ -0,0 +1,78 @@
+import controller.project.FlatInventory;
+import controller.project.ProjectCatalogue;
+import model.project.Project;
+import model.project.RoomType;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.Page;
+import repository.project.ProjectRepository;
+import repository.project.ProjectSortOrder;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the {@link ProjectCatalogue} lists every project exactly once, in order, across pages.
+ */
+@ExtendWith(TestRepositories.class)
+public class ProjectCatalogueTest {
+
+    private static Project project(String projectID, String title, int twoRoomFlats, int threeRoomFlats) {
+        return new Project(projectID, title, "Yishun", LocalDate.now().minusDays(10), LocalDate.now().plusDays(10),
+                twoRoomFlats, threeRoomFlats, 200000.0, 300000.0, TestRepositories.MANAGER_NRIC, new ArrayList<>(), true);
+    }
+
+    private static List<String> ids(Page<Project> page) {
+        return page.items().stream().map(Project::getID).toList();
+    }
+
+    @BeforeEach
+    void setUp() throws ModelAlreadyExistsException {
+        ProjectRepository.getInstance().addAll(List.of(
+                project("P001", "Sky", 1, 0),
+                project("P002", "Acacia", 0, 4),
+                project("P003", "Sky", 2, 2),
+                project("P004", "Maple", 3, 0),
+                project("P005", "Birch", 0, 1)));
+    }
+
+    @Test
+    void getPage_WalksTitlesWithCursorsAndKeepsSharedTitles() throws ModelAlreadyExistsException {
+        Page<Project> first = ProjectCatalogue.getPage(ProjectSortOrder.TITLE, RoomType.NONE, null, 2);
+        assertEquals(List.of("P002", "P005"), ids(first));
+
+        // A project added before the cursor does not shift the pages after it
+        ProjectRepository.getInstance().add(project("P006", "Aspen", 1, 1));
+        Page<Project> second = ProjectCatalogue.getPage(ProjectSortOrder.TITLE, RoomType.NONE, first.next(), 2);
+        assertEquals(List.of("P004", "P001"), ids(second));
+        Page<Project> third = ProjectCatalogue.getPage(ProjectSortOrder.TITLE, RoomType.NONE, second.next(), 2);
+        assertEquals(List.of("P003"), ids(third));
+        assertFalse(third.hasNext());
+
+        assertEquals(List.of("P006", "P004", "P001", "P003"), ids(ProjectCatalogue.getPage(ProjectSortOrder.TITLE, RoomType.TWO_ROOM_FLAT, null, 10)));
+    }
+
+    @Test
+    void getPage_FollowsStockInAvailabilityOrder() throws ModelNotFoundException {
+        // Projects with as many flats left are listed by descending ID too
+        assertEquals(List.of("P003", "P002", "P004"), ids(ProjectCatalogue.getPage(ProjectSortOrder.AVAILABILITY, RoomType.NONE, null, 3)));
+
+        assertTrue(FlatInventory.tryReserve("P002", RoomType.THREE_ROOM_FLAT));
+        assertTrue(FlatInventory.tryReserve("P002", RoomType.THREE_ROOM_FLAT));
+        FlatInventory.commit("P002");
+        assertEquals(List.of("P003", "P004", "P002"), ids(ProjectCatalogue.getPage(ProjectSortOrder.AVAILABILITY, RoomType.NONE, null, 3)));
+
+        Applicant single = new Applicant("Single", "S1111111A", 40, MaritalStatus.SINGLE, "hash");
+        Page<Project> available = ProjectCatalogue.getAvailablePage(single, ProjectSortOrder.TITLE, RoomType.NONE, null, 2);
+        assertEquals(List.of("P004", "P001"), ids(available));
+        assertEquals(List.of("P003"), ids(ProjectCatalogue.getAvailablePage(single, ProjectSortOrder.TITLE, RoomType.NONE, available.next(), 2)));
+    }
+}
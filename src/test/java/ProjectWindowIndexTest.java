@@ -0,0 +1,80 @@
+import controller.project.ProjectManager;
+import model.project.Project;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.project.ProjectRepository;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the index of project application windows finds the same projects as a scan of the repository.
+ */
+@ExtendWith(TestRepositories.class)
+public class ProjectWindowIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2020, 1, 1);
+
+    private static Project project(String projectID, String managerNRIC, LocalDate openingDate, LocalDate closingDate) {
+        return new Project(projectID, "Project " + projectID, "Yishun", openingDate, closingDate,
+                2, 3, 200000.0, 300000.0, managerNRIC, new ArrayList<>(), true);
+    }
+
+    private static List<Project> scan(String managerNRIC, LocalDate from, LocalDate to) {
+        return ProjectRepository.getInstance().findByRules(p -> (managerNRIC == null || p.getManagerNRIC().equals(managerNRIC))
+                && !p.getApplicationClosingDate().isBefore(from) && !p.getApplicationOpeningDate().isAfter(to));
+    }
+
+    @Test
+    void findByInterval_MatchesScanThroughUpdatesAndRemovals() throws ModelAlreadyExistsException, ModelNotFoundException {
+        ProjectRepository repository = ProjectRepository.getInstance();
+        Random random = new Random(7);
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            LocalDate openingDate = BASE.plusDays(random.nextInt(2000));
+            projects.add(project("P" + i, "M" + random.nextInt(5), openingDate, openingDate.plusDays(random.nextInt(90))));
+        }
+        repository.addAll(projects);
+        for (int i = 0; i < 60; i++) {
+            Project moved = repository.getByID("P" + random.nextInt(400));
+            moved.setApplicationOpeningDate(moved.getApplicationOpeningDate().minusDays(random.nextInt(30)));
+            moved.setManagerNRIC("M" + random.nextInt(5));
+            repository.update(moved);
+        }
+        for (int i = 0; i < 40; i += 2) {
+            repository.remove("P" + (i * 7));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = BASE.plusDays(random.nextInt(2100));
+            LocalDate to = from.plusDays(random.nextInt(3) == 0 ? 0 : random.nextInt(60));
+            String managerNRIC = random.nextBoolean() ? null : "M" + random.nextInt(6);
+            assertEquals(scan(managerNRIC, from, to),
+                    repository.findByInterval(ProjectRepository.APPLICATION_WINDOW_INDEX, managerNRIC, from, to),
+                    "Projects overlapping " + from + " to " + to + " for " + managerNRIC);
+        }
+        assertThrows(IllegalArgumentException.class, () -> repository.findByIndex(ProjectRepository.APPLICATION_WINDOW_INDEX, "M1"));
+    }
+
+    @Test
+    void createProject_RejectsOverlapOnlyForSameManager() throws ModelAlreadyExistsException {
+        LocalDate today = LocalDate.now();
+        ProjectManager.createProject("P001", "SkyVille", "Yishun", today.minusDays(10), today.plusDays(10),
+                2, 3, 200000.0, 300000.0, "S5678901G", new ArrayList<>(), true);
+        ProjectManager.createProject("P002", "Closed", "Yishun", today.minusDays(30), today.minusDays(20),
+                2, 3, 200000.0, 300000.0, "S8765432H", new ArrayList<>(), true);
+
+        assertThrows(ModelAlreadyExistsException.class, () -> ProjectManager.createProject("P003", "Clash", "Yishun",
+                today.plusDays(10), today.plusDays(40), 2, 3, 200000.0, 300000.0, "S5678901G", new ArrayList<>(), true));
+        ProjectManager.createProject("P004", "Other manager", "Yishun", today.plusDays(5), today.plusDays(40),
+                2, 3, 200000.0, 300000.0, "S8765432H", new ArrayList<>(), false);
+
+        assertEquals(List.of("P001"), ProjectManager.viewApplicantEligibleProjects("S1234567A").stream().map(Project::getID).toList());
+    }
+}
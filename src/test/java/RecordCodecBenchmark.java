@@ -0,0 +1,119 @@
+import model.project.RoomType;
+import model.request.ProjectWithdrawalRequest;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+import utils.iocontrol.Mappable;
+import utils.iocontrol.RecordCodec;
+import utils.iocontrol.RecordCodecs;
+import utils.iocontrol.StringAndMapConvertor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Compares the time taken to convert model objects to and from maps by the cached codecs
+ * with the reflective baseline that looks up the fields on every call,
+ * and the time taken to write and read whole records through maps with the streaming encoder and decoder.
+ * Run it from the IDE; it is not part of the test suite.
+ */
+public class RecordCodecBenchmark {
+
+    private static final int RECORDS = 100_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of records to convert per round, optional
+     */
+    public static void main(String[] args) {
+        int records = args != null && args.length > 0 ? Integer.parseInt(args[0]) : RECORDS;
+
+        List<Applicant> applicants = new ArrayList<>();
+        List<ProjectWithdrawalRequest> requests = new ArrayList<>();
+        for (int i = 0; i < records; i++) {
+            applicants.add(new Applicant("Applicant " + i, "S" + i, 20 + i % 50, MaritalStatus.values()[i % 2]));
+            requests.add(new ProjectWithdrawalRequest("R" + i, "P" + i % 100, "S" + i, RoomType.TWO_ROOM_FLAT, "Reason " + i));
+        }
+
+        System.out.println("Codec used: " + RecordCodecs.forClass(Applicant.class).getClass().getSimpleName());
+        for (int round = 1; round <= ROUNDS; round++) {
+            long reflective = run(RecordCodecs.reflective(Applicant.class), applicants, Applicant::new)
+                    + run(RecordCodecs.reflective(ProjectWithdrawalRequest.class), requests, RecordCodecBenchmark::emptyRequest);
+            long cached = run(RecordCodecs.forClass(Applicant.class), applicants, Applicant::new)
+                    + run(RecordCodecs.forClass(ProjectWithdrawalRequest.class), requests, RecordCodecBenchmark::emptyRequest);
+            System.out.printf("Round %d: reflective %d ms, cached %d ms, speedup %.1fx%n",
+                    round, reflective / 1_000_000, cached / 1_000_000, (double) reflective / cached);
+            long throughMaps = runRecords(RecordCodecs.forClass(Applicant.class), applicants, Applicant::new, false)
+                    + runRecords(RecordCodecs.forClass(ProjectWithdrawalRequest.class), requests, RecordCodecBenchmark::emptyRequest, false);
+            long streaming = runRecords(RecordCodecs.forClass(Applicant.class), applicants, Applicant::new, true)
+                    + runRecords(RecordCodecs.forClass(ProjectWithdrawalRequest.class), requests, RecordCodecBenchmark::emptyRequest, true);
+            System.out.printf("Round %d: records through maps %d ms, streaming %d ms, speedup %.1fx%n",
+                    round, throughMaps / 1_000_000, streaming / 1_000_000, (double) throughMaps / streaming);
+        }
+    }
+
+    private static ProjectWithdrawalRequest emptyRequest() {
+        return new ProjectWithdrawalRequest(null, null, null, null, null);
+    }
+
+    /**
+     * Converts every object to a map and back into a new object.
+     *
+     * @return the time taken in nanoseconds
+     */
+    private static <T extends Mappable> long run(RecordCodec<T> codec, List<T> objects, Supplier<T> factory) {
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (T object : objects) {
+            Map<String, String> map = codec.toMap(object);
+            T copy = factory.get();
+            codec.fromMap(copy, map);
+            checksum += map.size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            System.out.println("No fields converted");
+        }
+        return elapsed;
+    }
+
+    /**
+     * Writes every object as a record and reads it back into a new object.
+     *
+     * @param streaming whether to use the streaming encoder and decoder instead of building maps
+     * @return the time taken in nanoseconds
+     */
+    private static <T extends Mappable> long runRecords(RecordCodec<T> codec, List<T> objects, Supplier<T> factory,
+                                                        boolean streaming) {
+        long start = System.nanoTime();
+        long checksum = 0;
+        StringBuilder record = new StringBuilder();
+        for (T object : objects) {
+            T copy = factory.get();
+            if (streaming) {
+                record.setLength(0);
+                try {
+                    codec.encode(object, record);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                codec.decode(copy, record);
+                checksum += record.length();
+            } else {
+                String line = StringAndMapConvertor.mapToString(codec.toMap(object));
+                codec.fromMap(copy, StringAndMapConvertor.stringToMap(line));
+                checksum += line.length();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            System.out.println("No records converted");
+        }
+        return elapsed;
+    }
+}
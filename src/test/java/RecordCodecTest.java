@@ -0,0 +1,201 @@
+import model.enquiry.Enquiry;
+import model.project.Project;
+import model.project.RoomType;
+import model.request.ProjectWithdrawalRequest;
+import model.request.Request;
+import model.request.RequestFactory;
+import model.request.RequestStatus;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+import org.junit.jupiter.api.Test;
+import utils.iocontrol.Mappable;
+import utils.iocontrol.RecordCodec;
+import utils.iocontrol.RecordCodecs;
+import utils.iocontrol.StringAndMapConvertor;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the cached and generated {@link RecordCodec}s convert model objects exactly like the reflective baseline.
+ */
+public class RecordCodecTest {
+
+    /**
+     * A class without a generated codec, so that it is converted by the codec built at runtime.
+     */
+    static class Sample implements Mappable {
+        private final String kind = "sample";
+        private String name;
+        private Integer count;
+        private boolean active;
+        private RoomType roomType;
+        private LocalDate date;
+        private List<String> tags;
+
+        Sample() {
+        }
+
+        Sample(String name, Integer count, boolean active, RoomType roomType, LocalDate date, List<String> tags) {
+            this.name = name;
+            this.count = count;
+            this.active = active;
+            this.roomType = roomType;
+            this.date = date;
+            this.tags = tags;
+        }
+    }
+
+    /**
+     * A class without a no-argument constructor, whose objects have to be created from their map.
+     */
+    static class Named implements Mappable {
+        private String name;
+
+        Named(String name) {
+            this.name = name;
+        }
+    }
+
+    private static <T extends Mappable> void assertStreamingMatchesMaps(Class<T> type, T object) throws IOException {
+        String expected = StringAndMapConvertor.mapToString(RecordCodecs.reflective(type).toMap(object));
+        StringWriter writer = new StringWriter();
+        RecordCodecs.forClass(type).encode(object, writer);
+
+        assertEquals(expected, writer.toString(), "The record written to file should not change");
+        T copy = RecordCodecs.forClass(type).decode(expected);
+        assertEquals(RecordCodecs.reflective(type).toMap(object), RecordCodecs.reflective(type).toMap(copy));
+    }
+
+    private static <T extends Mappable> void assertSameAsReflective(Class<T> type, T object) {
+        Map<String, String> expected = RecordCodecs.reflective(type).toMap(object);
+        Map<String, String> actual = RecordCodecs.forClass(type).toMap(object);
+
+        assertEquals(expected, actual);
+        assertEquals(StringAndMapConvertor.mapToString(expected), StringAndMapConvertor.mapToString(actual),
+                "The record written to file should not change");
+    }
+
+    @Test
+    void toMap_MatchesReflectiveCodec() {
+        assertSameAsReflective(Project.class, new Project("P1", "Acacia", "Yishun",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1), 10, 5, 100000.0, 200000.0,
+                "M1", new ArrayList<>(List.of("O1", "O2")), true));
+        assertSameAsReflective(Project.class, new Project("P2", "Birch", null, null, null, 0, 0, 0.0, 0.0,
+                "M1", new ArrayList<>(), false));
+        assertSameAsReflective(Applicant.class, new Applicant("Alice", "S1234567A", 35, MaritalStatus.SINGLE));
+        assertSameAsReflective(Enquiry.class, new Enquiry("E1", "Title", "S1", "Content", null, false));
+        assertSameAsReflective(ProjectWithdrawalRequest.class,
+                new ProjectWithdrawalRequest("R1", "P1", "S1", RoomType.TWO_ROOM_FLAT, "Moving"));
+    }
+
+    @Test
+    void forClass_UsesGeneratedCodec() {
+        assertEquals("ProjectCodec", RecordCodecs.forClass(Project.class).getClass().getSimpleName());
+        assertEquals("ProjectWithdrawalRequestCodec",
+                RecordCodecs.forClass(ProjectWithdrawalRequest.class).getClass().getSimpleName());
+    }
+
+    @Test
+    void fromMap_RestoresFieldsIncludingFinalOnes() {
+        ProjectWithdrawalRequest request = new ProjectWithdrawalRequest("R1", "P1", "S1", RoomType.THREE_ROOM_FLAT, "Moving");
+        request.setStatus(RequestStatus.APPROVED);
+
+        ProjectWithdrawalRequest copy = new ProjectWithdrawalRequest(request.toMap());
+
+        assertEquals(request.toMap(), copy.toMap());
+        assertEquals(RequestStatus.APPROVED, copy.getStatus());
+        assertEquals(request.getRequestType(), copy.getRequestType());
+    }
+
+    @Test
+    void fromMap_HandlesPlaceholdersAndBadValuesLikeBefore() {
+        Project project = new Project("P1", "Acacia", "Yishun",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1), 10, 5, 100000.0, 200000.0,
+                "M1", new ArrayList<>(List.of("O1")), true);
+        Map<String, String> map = project.toMap();
+        map.put("neighbourhood", "null");
+        map.put("officerIDs", "");
+        map.put("twoRoomFlatAvailable", "ten");
+        map.put("applicationClosingDate", "not a date");
+
+        Project copy = new Project(map);
+
+        assertNull(copy.getNeighbourhood());
+        assertEquals(List.of(), copy.getOfficerIDs());
+        assertNull(copy.getTwoRoomFlatAvailable());
+        assertNull(copy.getApplicationClosingDate());
+        assertEquals("Acacia", copy.getProjectTitle());
+    }
+
+    @Test
+    void encodeAndDecode_MatchMapConversion() throws IOException {
+        assertStreamingMatchesMaps(Project.class, new Project("P1", "Acacia", "Yishun",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1), 10, 5, 100000.0, 200000.0,
+                "M1", new ArrayList<>(List.of("O1", "", "O2")), true));
+        assertStreamingMatchesMaps(Applicant.class, new Applicant("Alice", "S1234567A", 35, MaritalStatus.SINGLE));
+        assertStreamingMatchesMaps(Enquiry.class, new Enquiry("E1", "Title", "S1", "Content", null, false));
+        assertStreamingMatchesMaps(ProjectWithdrawalRequest.class,
+                new ProjectWithdrawalRequest("R1", "P1", "S1", RoomType.TWO_ROOM_FLAT, "Moving"));
+        assertStreamingMatchesMaps(Sample.class, new Sample("a", 3, true, RoomType.THREE_ROOM_FLAT,
+                LocalDate.of(2025, 3, 1), new ArrayList<>(List.of("x", "y"))));
+        assertStreamingMatchesMaps(Sample.class, new Sample(null, null, false, null, null, new ArrayList<>()));
+    }
+
+    @Test
+    void decode_HandlesPlaceholdersAndBadValuesLikeFromMap() {
+        Project project = new Project("P1", "Acacia", "Yishun",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1), 10, 5, 100000.0, 200000.0,
+                "M1", new ArrayList<>(List.of("O1")), true);
+        Map<String, String> map = project.toMap();
+        map.put("neighbourhood", "null");
+        map.put("officerIDs", "");
+        map.put("twoRoomFlatAvailable", "ten");
+        map.put("applicationClosingDate", "not a date");
+        map.remove("visibility");
+        String record = StringAndMapConvertor.mapToString(map);
+
+        Project copy = RecordCodecs.forClass(Project.class).decode(record);
+
+        assertEquals(new Project(map).toMap(), copy.toMap());
+        assertNull(copy.getTwoRoomFlatAvailable());
+        assertNull(copy.getVisibility());
+    }
+
+    @Test
+    void decode_CreatesObjectsLikeTheReflectiveCodec() {
+        Sample sample = new Sample("a", 3, true, RoomType.TWO_ROOM_FLAT, LocalDate.of(2025, 1, 1), List.of("x", "y"));
+        String record = StringAndMapConvertor.mapToString(RecordCodecs.reflective(Sample.class).toMap(sample));
+
+        Sample reflective = RecordCodecs.reflective(Sample.class).decode(record);
+        Sample cached = RecordCodecs.forClass(Sample.class).decode(record);
+
+        assertEquals(RecordCodecs.reflective(Sample.class).toMap(sample), RecordCodecs.reflective(Sample.class).toMap(reflective));
+        assertEquals(RecordCodecs.reflective(Sample.class).toMap(sample), RecordCodecs.reflective(Sample.class).toMap(cached));
+    }
+
+    @Test
+    void decode_ReturnsNullWithoutNoArgumentConstructor() {
+        String record = StringAndMapConvertor.mapToString(RecordCodecs.reflective(Named.class).toMap(new Named("a")));
+
+        assertNull(RecordCodecs.reflective(Named.class).decode(record));
+        assertNull(RecordCodecs.forClass(Named.class).decode(record));
+    }
+
+    @Test
+    void createRequest_DecodesRecordOfRightType() {
+        ProjectWithdrawalRequest request = new ProjectWithdrawalRequest("R1", "P1", "S1", RoomType.TWO_ROOM_FLAT, "Moving");
+        request.setStatus(RequestStatus.REJECTED);
+
+        Request copy = RequestFactory.createRequest(StringAndMapConvertor.mapToString(request.toMap()));
+
+        assertInstanceOf(ProjectWithdrawalRequest.class, copy);
+        assertEquals(request.toMap(), copy.toMap());
+    }
+}
@@ -0,0 +1,114 @@
+import model.enquiry.Enquiry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.Repository;
+import repository.RepositoryBootstrap;
+import repository.RepositoryRegistry;
+import utils.iocontrol.StringAndMapConvertor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the {@link RepositoryBootstrap} loads repositories at the same time and publishes them in the registry.
+ */
+public class RepositoryBootstrapTest {
+
+    @TempDir
+    static Path tempDir;
+
+    /**
+     * Counts down when a repository starts loading, and is awaited before it finishes,
+     * so that loading only completes if both repositories load at the same time.
+     */
+    static CountDownLatch loading;
+
+    /**
+     * An enquiry repository backed by a temporary file, which waits for the other repository while loading.
+     */
+    abstract static class WaitingRepository extends Repository<Enquiry> {
+        @Override
+        public void setAll(List<Map<String, String>> listOfMappableObjects) {
+            loading.countDown();
+            try {
+                assertTrue(loading.await(10, TimeUnit.SECONDS), "The other repository should be loading too");
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            for (Map<String, String> map : listOfMappableObjects) {
+                getAll().add(new Enquiry(map));
+            }
+        }
+    }
+
+    static class FirstRepository extends WaitingRepository {
+        FirstRepository() {
+            super();
+            load();
+        }
+
+        static FirstRepository getInstance() {
+            return RepositoryRegistry.getInstance(FirstRepository.class, FirstRepository::new);
+        }
+
+        @Override
+        public String getFilePath() {
+            return tempDir.resolve("first.txt").toString();
+        }
+    }
+
+    static class SecondRepository extends WaitingRepository {
+        SecondRepository() {
+            super();
+            load();
+        }
+
+        static SecondRepository getInstance() {
+            return RepositoryRegistry.getInstance(SecondRepository.class, SecondRepository::new);
+        }
+
+        @Override
+        public String getFilePath() {
+            return tempDir.resolve("second.txt").toString();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        RepositoryRegistry.clear();
+        loading = new CountDownLatch(2);
+        Enquiry enquiry = new Enquiry("E1", "Title", "S1234567A", "Content", null, false);
+        Files.writeString(tempDir.resolve("first.txt"), StringAndMapConvertor.mapToString(enquiry.toMap()) + System.lineSeparator());
+        Files.deleteIfExists(tempDir.resolve("second.txt"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RepositoryRegistry.clear();
+    }
+
+    @Test
+    void loadAll_LoadsRepositoriesConcurrentlyAndPublishesThem() {
+        RepositoryBootstrap.Report report = RepositoryBootstrap.loadAll(List.of(
+                FirstRepository::getInstance, SecondRepository::getInstance));
+
+        assertEquals(2, report.loadTimes().size());
+        assertEquals(FirstRepository.class, report.loadTimes().get(0).repositoryClass());
+        assertEquals(1, report.loadTimes().get(0).size());
+        assertEquals(0, report.loadTimes().get(1).size());
+        assertTrue(report.format().contains("FirstRepository"));
+
+        assertEquals(1, FirstRepository.getInstance().size());
+        assertEquals(2, RepositoryRegistry.getMissCount(), "Each file should have been read once");
+        assertEquals(1, RepositoryRegistry.getHitCount());
+    }
+}
@@ -0,0 +1,97 @@
+import model.enquiry.Enquiry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.Repository;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that looking up model objects by ID or by a secondary index in a {@link Repository}
+ * stays consistent with its list.
+ */
+public class RepositoryLookupTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * An enquiry repository backed by a temporary file.
+     */
+    class TempEnquiryRepository extends Repository<Enquiry> {
+        TempEnquiryRepository() {
+            super();
+            registerIndex("answered", Enquiry::getAnswered);
+            load();
+        }
+
+        @Override
+        public String getFilePath() {
+            return tempDir.resolve("enquiry.txt").toString();
+        }
+
+        @Override
+        public void setAll(List<Map<String, String>> listOfMappableObjects) {
+            for (Map<String, String> map : listOfMappableObjects) {
+                getAll().add(new Enquiry(map));
+            }
+        }
+    }
+
+    @Test
+    void getByID_IgnoresCase() throws ModelAlreadyExistsException, ModelNotFoundException {
+        TempEnquiryRepository repository = new TempEnquiryRepository();
+        repository.add(new Enquiry("E1", "Title", "S1", "Content", null, false));
+
+        assertEquals("E1", repository.getByID("e1").getID());
+        assertTrue(repository.contains("e1"));
+        assertFalse(repository.contains(null));
+        assertThrows(ModelNotFoundException.class, () -> repository.getByID("E2"));
+    }
+
+    @Test
+    void lookups_FollowUpdatesAndRemovals() throws ModelAlreadyExistsException, ModelNotFoundException {
+        TempEnquiryRepository repository = new TempEnquiryRepository();
+        repository.add(new Enquiry("E1", "Title", "S1", "Content", null, false));
+        repository.add(new Enquiry("E2", "Title", "S1", "Content", null, false));
+
+        Enquiry answered = new Enquiry("E1", "Title", "S1", "Content", "Answer", true);
+        repository.update(answered);
+        repository.remove("E2");
+
+        assertSame(answered, repository.getByID("E1"));
+        assertSame(answered, repository.getAll().get(0));
+        assertFalse(repository.contains("E2"));
+        assertEquals("Answer", new TempEnquiryRepository().getByID("E1").getAnswer());
+    }
+
+    @Test
+    void findByIndex_FollowsChangesInPlace() throws ModelAlreadyExistsException, ModelNotFoundException {
+        TempEnquiryRepository repository = new TempEnquiryRepository();
+        for (int i = 1; i <= 3; i++) {
+            repository.add(new Enquiry("E" + i, "Title", "S1", "Content", null, false));
+        }
+
+        Enquiry enquiry = repository.getByID("E2");
+        enquiry.setAnswer("Answer");
+        enquiry.setAnswered(true);
+        repository.update(enquiry);
+        Enquiry first = repository.getByID("E1");
+        first.setAnswered(true);
+        repository.update(first);
+
+        assertEquals(List.of("E1", "E2"), repository.findByIndex("answered", true).stream().map(Enquiry::getID).toList(),
+                "Results should follow the order of the repository");
+        assertEquals(List.of("E3"), repository.findByIndex("answered", false).stream().map(Enquiry::getID).toList());
+
+        repository.remove("E1");
+        assertEquals(1, repository.countByIndex("answered", true));
+        assertEquals(1, new TempEnquiryRepository().countByIndex("answered", true), "Indexes should be rebuilt on load");
+        assertThrows(IllegalArgumentException.class, () -> repository.findByIndex("creatorID", "S1"));
+    }
+}
@@ -0,0 +1,120 @@
+import model.enquiry.Enquiry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.Repository;
+import repository.RepositoryLock;
+import repository.RepositoryRegistry;
+import utils.exception.ModelAlreadyExistsException;
+import utils.iocontrol.StringAndMapConvertor;
+import utils.iocontrol.UnitOfWork;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the {@link RepositoryRegistry} shares one loaded repository per process
+ * and reloads it when the data file is changed by someone else.
+ */
+public class RepositoryRegistryTest {
+
+    @TempDir
+    static Path tempDir;
+
+    /**
+     * An enquiry repository backed by a temporary file.
+     */
+    static class TempEnquiryRepository extends Repository<Enquiry> {
+        static int loadCount = 0;
+
+        TempEnquiryRepository() {
+            super();
+            load();
+        }
+
+        static TempEnquiryRepository getInstance() {
+            return RepositoryRegistry.getInstance(TempEnquiryRepository.class, TempEnquiryRepository::new);
+        }
+
+        @Override
+        public String getFilePath() {
+            return tempDir.resolve("enquiry.txt").toString();
+        }
+
+        @Override
+        public void setAll(List<Map<String, String>> listOfMappableObjects) {
+            loadCount++;
+            for (Map<String, String> map : listOfMappableObjects) {
+                getAll().add(new Enquiry(map));
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        RepositoryRegistry.clear();
+        Files.deleteIfExists(tempDir.resolve("enquiry.txt"));
+        TempEnquiryRepository.loadCount = 0;
+    }
+
+    @AfterEach
+    void tearDown() {
+        RepositoryRegistry.clear();
+    }
+
+    @Test
+    void getInstance_ReturnsSameLoadedRepository() throws ModelAlreadyExistsException {
+        TempEnquiryRepository first = TempEnquiryRepository.getInstance();
+        first.add(new Enquiry("E1", "Title", "S1234567A", "Content", null, false));
+        TempEnquiryRepository second = TempEnquiryRepository.getInstance();
+
+        assertSame(first, second, "The registry should hand out the same repository");
+        assertEquals(1, TempEnquiryRepository.loadCount, "Saving should not make the repository reload its own file");
+        assertEquals(1, RepositoryRegistry.getMissCount());
+        assertEquals(1, RepositoryRegistry.getHitCount());
+    }
+
+    @Test
+    void getInstance_ReloadsWhenFileModifiedExternally() throws IOException {
+        TempEnquiryRepository repository = TempEnquiryRepository.getInstance();
+        assertTrue(repository.isEmpty());
+
+        Enquiry enquiry = new Enquiry("E2", "Title", "S1234567A", "Content", null, false);
+        Files.writeString(Path.of(repository.getFilePath()),
+                StringAndMapConvertor.mapToString(enquiry.toMap()) + System.lineSeparator(),
+                StandardOpenOption.APPEND);
+
+        TempEnquiryRepository reloaded = TempEnquiryRepository.getInstance();
+        assertSame(repository, reloaded);
+        assertEquals(1, reloaded.size(), "The externally added enquiry should be visible after the reload");
+        assertEquals(2, RepositoryRegistry.getMissCount());
+    }
+
+    @Test
+    void getInstance_ReloadsOnlyWhenNoOneCanBeReading() throws IOException {
+        TempEnquiryRepository repository = TempEnquiryRepository.getInstance();
+        Enquiry enquiry = new Enquiry("E3", "Title", "S1234567A", "Content", null, false);
+        Files.writeString(Path.of(repository.getFilePath()),
+                StringAndMapConvertor.mapToString(enquiry.toMap()) + System.lineSeparator(),
+                StandardOpenOption.APPEND);
+
+        // Other sessions may be walking the repository while this one holds the read lock
+        assertTrue(RepositoryLock.read(() -> TempEnquiryRepository.getInstance().isEmpty()));
+        // Reloading would discard the changes staged by the unit of work
+        try (UnitOfWork ignored = UnitOfWork.begin(tempDir.resolve("unit-of-work.journal").toString())) {
+            assertTrue(TempEnquiryRepository.getInstance().isEmpty());
+        }
+        assertEquals(1, TempEnquiryRepository.loadCount);
+
+        assertEquals(1, TempEnquiryRepository.getInstance().size());
+        assertEquals(1, RepositoryLock.write(() -> TempEnquiryRepository.getInstance().size()));
+        assertEquals(2, TempEnquiryRepository.loadCount);
+    }
+}
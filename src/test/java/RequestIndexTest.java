@@ -0,0 +1,72 @@
+import controller.request.RequestManager;
+import model.project.RoomType;
+import model.request.OfficerApplicationRequest;
+import model.request.ProjectApplicationRequest;
+import model.request.ProjectBookingRequest;
+import model.request.ProjectWithdrawalRequest;
+import model.request.Request;
+import model.request.RequestStatus;
+import model.request.RequestType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.request.RequestRepository;
+import repository.request.RequestRepository.RequestKey;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the indexes of the {@link RequestRepository} follow the requests as their status changes.
+ */
+@ExtendWith(TestRepositories.class)
+public class RequestIndexTest {
+
+    @BeforeEach
+    void setUp() throws ModelAlreadyExistsException {
+        RequestRepository repository = RequestRepository.getInstance();
+        repository.add(new ProjectApplicationRequest("R001", "P001", "S1234567A", RoomType.TWO_ROOM_FLAT));
+        repository.add(new OfficerApplicationRequest("R002", "P001", "T1111111B"));
+        repository.add(new ProjectApplicationRequest("R003", "P002", "S7654321B", RoomType.THREE_ROOM_FLAT));
+        repository.add(new ProjectBookingRequest("R004", "P001", "S1234567A", "R001", RoomType.TWO_ROOM_FLAT));
+        repository.add(new ProjectWithdrawalRequest("R005", "P002", "S7654321B", RoomType.THREE_ROOM_FLAT, "Moving"));
+    }
+
+    private static List<String> ids(List<? extends Request> requests) {
+        return requests.stream().map(Request::getID).toList();
+    }
+
+    @Test
+    void findByIndex_LooksUpEachKind() {
+        RequestRepository repository = RequestRepository.getInstance();
+
+        assertEquals(List.of("R001", "R003"), ids(repository.findByIndex(RequestRepository.TYPE_INDEX, RequestType.PROJECT_APPLICATION_REQUEST)));
+        assertEquals(List.of("R001", "R004"), ids(repository.findByIndex(RequestRepository.APPLICANT_INDEX, "S1234567A")));
+        assertEquals(List.of("R002"), ids(repository.findByIndex(RequestRepository.OFFICER_INDEX, "T1111111B")));
+        assertEquals(List.of("R003", "R005"), ids(repository.findByIndex(RequestRepository.PROJECT_INDEX, "P002")));
+        assertEquals(List.of("R001"), ids(repository.findByIndex(RequestRepository.TYPE_AND_STATUS_INDEX,
+                RequestKey.of("P001", RequestType.PROJECT_APPLICATION_REQUEST, RequestStatus.PENDING))));
+        assertEquals(List.of(), repository.findByIndex(RequestRepository.APPLICANT_INDEX, "T1111111B"));
+    }
+
+    @Test
+    void statusChanges_MoveRequestsBetweenKeys() throws ModelNotFoundException {
+        RequestRepository repository = RequestRepository.getInstance();
+        Request request = repository.getByID("R001");
+        request.setStatus(RequestStatus.APPROVED);
+        repository.update(request);
+
+        assertEquals(List.of("R003"), ids(RequestManager.getAllPendingApplicationRequests()));
+        assertEquals(1, repository.countByIndex(RequestRepository.TYPE_AND_STATUS_INDEX,
+                RequestKey.of(RequestType.PROJECT_APPLICATION_REQUEST, RequestStatus.APPROVED)));
+        assertEquals("R001", RequestManager.getAllApprovedApplicationRequestsByUser("S1234567A").getID());
+        assertNull(RequestManager.getAllApprovedApplicationRequestsByUser("S7654321B"));
+        assertEquals(List.of("R005"), ids(new RequestManager().getAllPendingWithdrawalRequests()));
+
+        repository.remove("R005");
+        assertEquals(List.of(), new RequestManager().getAllPendingWithdrawalRequests());
+    }
+}
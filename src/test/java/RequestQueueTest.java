@@ -0,0 +1,79 @@
+import controller.project.ProjectManager;
+import controller.request.OfficerManager;
+import controller.request.RequestManager;
+import model.project.Project;
+import model.project.RoomType;
+import model.request.OfficerApplicationRequest;
+import model.request.ProjectApplicationRequest;
+import model.request.ProjectBookingRequest;
+import model.request.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.project.ProjectRepository;
+import repository.request.RequestRepository;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the queues of managers and officers only hold the requests of their own projects.
+ */
+@ExtendWith(TestRepositories.class)
+public class RequestQueueTest {
+
+    private static Project project(String projectID, String managerNRIC, String... officerIDs) {
+        return new Project(projectID, "Project " + projectID, "Yishun", LocalDate.now().minusDays(10), LocalDate.now().plusDays(10),
+                2, 3, 200000.0, 300000.0, managerNRIC, new ArrayList<>(List.of(officerIDs)), true);
+    }
+
+    private static List<String> ids(List<? extends Request> requests) {
+        return requests.stream().map(Request::getID).toList();
+    }
+
+    @BeforeEach
+    void setUp() throws ModelAlreadyExistsException {
+        ProjectRepository.getInstance().add(project("P001", "S5678901G", "T1111111B"));
+        ProjectRepository.getInstance().add(project("P002", "S8765432H"));
+        ProjectRepository.getInstance().add(project("P003", "S5678901G"));
+        RequestRepository requests = RequestRepository.getInstance();
+        requests.add(new ProjectApplicationRequest("R001", "P001", "S1234567A", RoomType.TWO_ROOM_FLAT));
+        requests.add(new ProjectApplicationRequest("R002", "P002", "S2345678B", RoomType.TWO_ROOM_FLAT));
+        requests.add(new ProjectApplicationRequest("R003", "P003", "S3456789C", RoomType.THREE_ROOM_FLAT));
+        requests.add(new OfficerApplicationRequest("R004", "P003", "T2222222C"));
+        requests.add(new ProjectBookingRequest("R005", "P001", "S1234567A", "R001", RoomType.TWO_ROOM_FLAT));
+        requests.add(new ProjectBookingRequest("R006", "P002", "S2345678B", "R002", RoomType.TWO_ROOM_FLAT));
+    }
+
+    @Test
+    void managerQueues_HoldOnlyTheirProjects() throws ModelNotFoundException {
+        assertEquals(List.of("R001", "R003"), ids(RequestManager.getAllPendingApplicationRequestsByManager("S5678901G")));
+        assertEquals(List.of("R002"), ids(RequestManager.getAllPendingApplicationRequestsByManager("S8765432H")));
+        assertEquals(List.of("R004"), ids(RequestManager.getAllPendingOfficerApplicationRequestsForManager("S5678901G")));
+        assertEquals(List.of(), RequestManager.getAllPendingOfficerApplicationRequestsForManager("S8765432H"));
+        assertEquals(List.of(), RequestManager.getAllPendingApplicationRequestsByManager("S0000000Z"));
+    }
+
+    @Test
+    void managerQueue_KeepsSubmissionOrderAcrossProjects() throws ModelAlreadyExistsException, ModelNotFoundException {
+        RequestRepository.getInstance().add(new ProjectApplicationRequest("R007", "P001", "S4567890D", RoomType.TWO_ROOM_FLAT));
+
+        assertEquals(List.of("R001", "R003", "R007"), ids(RequestManager.getAllPendingApplicationRequestsByManager("S5678901G")));
+    }
+
+    @Test
+    void officerQueue_FollowsOfficersJoiningProjects() throws ModelNotFoundException {
+        assertEquals(List.of("R005"), ids(RequestManager.getOfficerPendingBookingRequests("T1111111B")));
+
+        ProjectManager.addOfficerToProject("P002", "T1111111B");
+
+        assertEquals(List.of("P001", "P002"), OfficerManager.getProjectsByOfficerID("T1111111B"));
+        assertEquals(List.of("R005", "R006"), ids(RequestManager.getOfficerPendingBookingRequests("T1111111B")));
+        assertEquals(List.of(), RequestManager.getOfficerPendingBookingRequests("T2222222C"));
+    }
+}
@@ -0,0 +1,124 @@
+import boundary.server.SessionServer;
+import controller.account.password.PasswordHashManager;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+import repository.project.ProjectRepository;
+import repository.user.ApplicantRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the {@link SessionServer} with thousands of sessions connected at the same time, each of which logs in,
+ * browses the projects, checks its status and submits an enquiry, and reports the throughput and latency.
+ * <p>
+ * The server runs in the same process against the temporary directory of {@link TestRepositories}, so the real data
+ * files are not touched. Run it from the IDE; it is not part of the test suite.
+ */
+public class SessionLoadTest {
+
+    private static final String[] COMMANDS = {"PROJECTS", "STATUS", "ENQUIRE Parking | Is there parking?", "ENQUIRIES", "PROJECTS"};
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the number of concurrent sessions, optional; defaults to 2000
+     */
+    public static void main(String[] args) throws Exception {
+        int sessions = args != null && args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+
+        // Must happen before anything reads the resource location
+        TestRepositories.getRoot();
+
+        String hashedPassword = PasswordHashManager.hashPassword("password");
+        List<Applicant> applicants = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            applicants.add(new Applicant("Applicant " + i, nric(i), 40, MaritalStatus.MARRIED, hashedPassword));
+        }
+        ApplicantRepository.getInstance().addAll(applicants);
+        ProjectRepository.getInstance().add(TestRepositories.skyVille(100, 100));
+
+        try (SessionServer server = SessionServer.start(0, sessions)) {
+            LongAdder failures = new LongAdder();
+            AtomicInteger peakSessions = new AtomicInteger();
+            long[] latencies = new long[sessions * (COMMANDS.length + 2)];
+            AtomicInteger latencyCount = new AtomicInteger();
+            CountDownLatch connected = new CountDownLatch(sessions);
+
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < sessions; i++) {
+                    String nric = nric(i);
+                    clients.execute(() -> {
+                        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                            send(in, out, "LOGIN APPLICANT " + nric + " password", latencies, latencyCount, failures);
+                            // Hold every session open until all of them are logged in
+                            connected.countDown();
+                            connected.await();
+                            peakSessions.accumulateAndGet(server.getActiveSessions(), Math::max);
+                            for (String command : COMMANDS) {
+                                send(in, out, command, latencies, latencyCount, failures);
+                            }
+                            send(in, out, "QUIT", latencies, latencyCount, failures);
+                        } catch (IOException | InterruptedException e) {
+                            failures.increment();
+                            connected.countDown();
+                        }
+                    });
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long[] sorted = Arrays.copyOf(latencies, latencyCount.get());
+            Arrays.sort(sorted);
+            System.out.printf("%d sessions, peak %d open at once, %d commands in %d ms (%.0f commands/s), %d failures%n",
+                    sessions, peakSessions.get(), server.getCommandCount(), elapsed / 1_000_000,
+                    server.getCommandCount() * 1e9 / elapsed, failures.sum());
+            System.out.printf("Latency p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+    }
+
+    /**
+     * Sends a command and records how long the reply took.
+     */
+    private static void send(BufferedReader in, PrintWriter out, String command, long[] latencies,
+                             AtomicInteger latencyCount, LongAdder failures) throws IOException {
+        long start = System.nanoTime();
+        out.println(command);
+        String reply = in.readLine();
+        latencies[latencyCount.getAndIncrement()] = System.nanoTime() - start;
+        if (reply == null || !reply.startsWith("OK")) {
+            failures.increment();
+        }
+    }
+
+    /**
+     * Gets a percentile of the sorted latencies, in milliseconds.
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(fraction * (sorted.length - 1)))] / 1e6;
+    }
+
+    private static String nric(int i) {
+        return String.format("S%07dA", i);
+    }
+}
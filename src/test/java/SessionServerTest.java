@@ -0,0 +1,102 @@
+import boundary.server.Session;
+import boundary.server.SessionServer;
+import controller.account.password.PasswordHashManager;
+import model.user.Applicant;
+import model.user.MaritalStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import repository.project.ProjectRepository;
+import repository.request.RequestRepository;
+import repository.user.ApplicantRepository;
+import utils.exception.ModelAlreadyExistsException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the {@link SessionServer} serves many sessions at once against the same repositories.
+ */
+@ExtendWith(TestRepositories.class)
+public class SessionServerTest {
+
+    private static final int APPLICANTS = 60;
+    private static final int FLATS = 25;
+
+    @BeforeEach
+    void setUp() throws ModelAlreadyExistsException {
+        List<Applicant> applicants = new ArrayList<>();
+        String hashedPassword = PasswordHashManager.hashPassword("password");
+        for (int i = 0; i < APPLICANTS; i++) {
+            applicants.add(new Applicant("Applicant " + i, String.format("S%07dA", i), 40, MaritalStatus.MARRIED, hashedPassword));
+        }
+        ApplicantRepository.getInstance().addAll(applicants);
+        ProjectRepository.getInstance().add(TestRepositories.skyVille(0, FLATS));
+    }
+
+    @Test
+    void handle_ChecksLoginAndRole() {
+        Session session = new Session();
+        assertEquals("ERR Please log in first", session.handle("PROJECTS"));
+        assertTrue(session.handle("LOGIN APPLICANT S0000000A wrong").startsWith("ERR"));
+        assertEquals("OK Welcome Applicant 0", session.handle("login applicant S0000000A password"));
+        assertEquals("OK 1 P001 SkyVille 2-room:0 3-room:" + FLATS, session.handle("PROJECTS"));
+        assertTrue(session.handle("PENDING").startsWith("ERR This command is only available to managers"));
+        assertTrue(session.handle("ENQUIRE Parking | Is there parking?").startsWith("OK "));
+        assertTrue(session.handle("ENQUIRIES").startsWith("OK 1 "));
+        assertEquals("ERR Unknown command: FLY", session.handle("fly"));
+        assertEquals("OK Bye", session.handle("QUIT"));
+        assertTrue(session.isClosed());
+    }
+
+    @Test
+    void server_ConcurrentApplicationsNeverOverbook() throws Exception {
+        List<Callable<String>> clients = new ArrayList<>();
+        try (SessionServer server = SessionServer.start(0, APPLICANTS)) {
+            for (int i = 0; i < APPLICANTS; i++) {
+                String nric = String.format("S%07dA", i);
+                clients.add(() -> {
+                    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                         BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                         PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                        assertTrue(send(in, out, "LOGIN APPLICANT " + nric + " password").startsWith("OK"));
+                        String reply = send(in, out, "APPLY P001 THREE_ROOM_FLAT");
+                        send(in, out, "QUIT");
+                        return reply;
+                    }
+                });
+            }
+
+            int accepted = 0;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Future<String> future : executor.invokeAll(clients)) {
+                    if (future.get().startsWith("OK")) {
+                        accepted++;
+                    }
+                }
+            }
+            assertEquals(FLATS, accepted);
+            assertEquals(3 * APPLICANTS, server.getCommandCount());
+        }
+        assertEquals(FLATS, RequestRepository.getInstance().size());
+        assertEquals(0, ProjectRepository.getInstance().getByID("P001").getThreeRoomFlatAvailable());
+    }
+
+    private static String send(BufferedReader in, PrintWriter out, String command) throws IOException {
+        out.println(command);
+        return in.readLine();
+    }
+}
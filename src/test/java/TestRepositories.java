@@ -0,0 +1,113 @@
+import controller.project.FlatInventory;
+import model.project.Project;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import repository.enquiry.EnquiryRepository;
+import repository.project.ProjectRepository;
+import repository.request.RequestRepository;
+import repository.user.ApplicantRepository;
+import repository.user.ManagerRepository;
+import repository.user.OfficerRepository;
+import utils.config.Location;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * The fixture shared by the tests that use the repositories of the application.
+ * Extending a test class with it clears every repository before and after each test.
+ * <p>
+ * The repositories keep their files under {@link Location#RESOURCE_LOCATION}, which is read from user.dir only once.
+ * {@link Isolation} is registered for the whole test run through junit-platform.properties, so user.dir points at
+ * a new temporary directory before any test runs, and the tests never write the data files of the application.
+ */
+public class TestRepositories implements BeforeEachCallback, AfterEachCallback {
+
+    /**
+     * The NRIC of the manager of the projects made by {@link #skyVille(int, int)}.
+     */
+    public static final String MANAGER_NRIC = "S5678901G";
+
+    /**
+     * Points user.dir at a new temporary directory as soon as the test run starts,
+     * before anything can read the resource location.
+     */
+    public static final class Isolation implements Extension {
+
+        /**
+         * The temporary directory standing in for the project root.
+         */
+        private static final Path ROOT = isolate();
+
+        private static Path isolate() {
+            try {
+                Path root = Files.createTempDirectory("bto-test");
+                Files.createDirectories(root.resolve("src/main/resources/data"));
+                System.setProperty("user.dir", root.toString());
+                if (!Location.RESOURCE_LOCATION.startsWith(root.toString())) {
+                    throw new IllegalStateException("The resource location was read before the tests were isolated: "
+                            + Location.RESOURCE_LOCATION);
+                }
+                return root;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the temporary directory the repositories keep their files under, isolating the tests first if a test
+     * or a benchmark run outside of JUnit gets here before anything has read the resource location.
+     *
+     * @return the temporary directory standing in for the project root
+     */
+    public static Path getRoot() {
+        return Isolation.ROOT;
+    }
+
+    /**
+     * Makes project P001, SkyVille in Yishun, open from ten days ago to ten days from now, visible and managed
+     * by {@link #MANAGER_NRIC}.
+     *
+     * @param twoRoomFlats   the number of 2-room flats left
+     * @param threeRoomFlats the number of 3-room flats left
+     * @return the project
+     */
+    public static Project skyVille(int twoRoomFlats, int threeRoomFlats) {
+        return new Project("P001", "SkyVille", "Yishun", LocalDate.now().minusDays(10), LocalDate.now().plusDays(10),
+                twoRoomFlats, threeRoomFlats, 200000.0, 300000.0, MANAGER_NRIC, new ArrayList<>(), true);
+    }
+
+    /**
+     * Empties every repository and drops the flat inventory of every project.
+     */
+    public static void clear() {
+        // Reading the root isolates the tests if nothing has yet
+        getRoot();
+        for (Project project : ProjectRepository.getInstance().getAll()) {
+            FlatInventory.invalidate(project.getID());
+        }
+        ApplicantRepository.getInstance().clear();
+        ManagerRepository.getInstance().clear();
+        OfficerRepository.getInstance().clear();
+        ProjectRepository.getInstance().clear();
+        RequestRepository.getInstance().clear();
+        EnquiryRepository.getInstance().clear();
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        clear();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        clear();
+    }
+}
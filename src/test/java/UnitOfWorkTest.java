@@ -0,0 +1,201 @@
+import model.enquiry.Enquiry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.Repository;
+import utils.config.PersistenceMode;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+import utils.iocontrol.FileChange;
+import utils.iocontrol.FileSync;
+import utils.iocontrol.UnitOfWork;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that a {@link UnitOfWork} writes the repositories it stages all together, or not at all.
+ */
+public class UnitOfWorkTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * An enquiry repository in snapshot mode, backed by a temporary file, which counts its writes.
+     */
+    static class EnquiryFileRepository extends Repository<Enquiry> {
+        private final Path filePath;
+        int writes = 0;
+
+        EnquiryFileRepository(Path filePath) {
+            super();
+            this.filePath = filePath;
+            load();
+        }
+
+        @Override
+        public String getFilePath() {
+            return filePath.toString();
+        }
+
+        @Override
+        protected PersistenceMode getPersistenceMode() {
+            return PersistenceMode.SNAPSHOT;
+        }
+
+        @Override
+        protected synchronized List<FileChange> prepareWrite(final String FILE_PATH) {
+            writes++;
+            return super.prepareWrite(FILE_PATH);
+        }
+
+        @Override
+        public void setAll(List<Map<String, String>> listOfMappableObjects) {
+            for (Map<String, String> map : listOfMappableObjects) {
+                getAll().add(new Enquiry(map));
+            }
+        }
+    }
+
+    private String journalPath() {
+        return tempDir.resolve("unit-of-work.journal").toString();
+    }
+
+    private static Enquiry enquiry(String ID) {
+        return new Enquiry(ID, "Title " + ID, "S1234567A", "Content", null, false);
+    }
+
+    @Test
+    void commit_WritesEachStagedRepositoryOnce() throws ModelAlreadyExistsException, ModelNotFoundException, IOException {
+        EnquiryFileRepository first = new EnquiryFileRepository(tempDir.resolve("first.txt"));
+        EnquiryFileRepository second = new EnquiryFileRepository(tempDir.resolve("second.txt"));
+
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(journalPath())) {
+            first.add(enquiry("E1"));
+            first.add(enquiry("E2"));
+            first.remove("E1");
+            second.add(enquiry("E3"));
+            assertEquals(0, Files.size(tempDir.resolve("first.txt")), "Nothing should be written before the commit");
+            unitOfWork.commit();
+        }
+
+        assertEquals(1, first.writes);
+        assertEquals(1, second.writes);
+        assertEquals(1, Files.readAllLines(tempDir.resolve("first.txt")).size());
+        assertEquals(1, Files.readAllLines(tempDir.resolve("second.txt")).size());
+        assertFalse(Files.exists(Path.of(journalPath())), "The journal should be deleted once the changes are applied");
+        assertFalse(first.isModifiedOnDisk());
+    }
+
+    @Test
+    void commit_ForcesEachChangeBeforeDeletingTheJournal() throws ModelAlreadyExistsException {
+        EnquiryFileRepository first = new EnquiryFileRepository(tempDir.resolve("first.txt"));
+        EnquiryFileRepository second = new EnquiryFileRepository(tempDir.resolve("second.txt"));
+        Path journal = Path.of(journalPath());
+        List<String> forced = new ArrayList<>();
+        FileSync.setListener(path -> {
+            assertTrue(Files.exists(journal), "Forced after the journal was deleted: " + path);
+            if (path.getFileName().toString().endsWith(".tmp")) {
+                assertTrue(Files.exists(path), "A replaced file should be forced before it is moved: " + path);
+            }
+            forced.add(tempDir.relativize(path).toString());
+        });
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(journalPath())) {
+            first.add(enquiry("E1"));
+            second.add(enquiry("E2"));
+            unitOfWork.commit();
+        } finally {
+            FileSync.setListener(null);
+        }
+
+        int firstForced = forced.indexOf("first.txt.tmp");
+        int secondForced = forced.indexOf("second.txt.tmp");
+        assertTrue(firstForced >= 0 && secondForced >= 0, forced.toString());
+        // The directory is forced after each rename
+        assertEquals("", forced.get(firstForced + 1), forced.toString());
+        assertEquals("", forced.get(secondForced + 1), forced.toString());
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    void apply_RefusesToAppendPastTheEndOfAShorterFile() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        Files.write(file, "abc".getBytes());
+
+        FileChange fileChange = new FileChange(FileChange.Kind.APPEND, file.toString(), 10, "def".getBytes());
+
+        assertThrows(RuntimeException.class, fileChange::apply);
+        assertEquals("abc", Files.readString(file));
+    }
+
+    @Test
+    void close_WithoutCommitDiscardsStagedChanges() throws ModelAlreadyExistsException, IOException {
+        EnquiryFileRepository first = new EnquiryFileRepository(tempDir.resolve("first.txt"));
+        first.add(enquiry("E1"));
+
+        try (UnitOfWork unitOfWork = UnitOfWork.begin(journalPath())) {
+            first.add(enquiry("E2"));
+        }
+
+        assertEquals(1, first.size());
+        assertTrue(first.contains("E1"));
+        assertEquals(1, Files.readAllLines(tempDir.resolve("first.txt")).size());
+    }
+
+    /**
+     * Commits a unit of work whose second file cannot be replaced, leaving its journal behind
+     * as if the process had stopped after applying the changes to the first file.
+     */
+    private Path failCommit() throws ModelAlreadyExistsException, IOException {
+        EnquiryFileRepository first = new EnquiryFileRepository(tempDir.resolve("first.txt"));
+        EnquiryFileRepository second = new EnquiryFileRepository(tempDir.resolve("second.txt"));
+        // A non-empty directory cannot be replaced by a file
+        Files.delete(tempDir.resolve("second.txt"));
+        Files.createDirectories(tempDir.resolve("second.txt"));
+        Files.createFile(tempDir.resolve("second.txt").resolve("blocker"));
+
+        assertThrows(RuntimeException.class, () -> {
+            try (UnitOfWork unitOfWork = UnitOfWork.begin(journalPath())) {
+                first.add(enquiry("E1"));
+                second.add(enquiry("E2"));
+                unitOfWork.commit();
+            }
+        });
+        Files.delete(tempDir.resolve("second.txt").resolve("blocker"));
+        Files.delete(tempDir.resolve("second.txt"));
+        assertEquals(1, Files.readAllLines(tempDir.resolve("first.txt")).size(), "The first file should have been written");
+        return Path.of(journalPath());
+    }
+
+    @Test
+    void recover_AppliesChangesOfCommittedJournal() throws ModelAlreadyExistsException, IOException {
+        Path journal = failCommit();
+        assertTrue(Files.exists(journal));
+
+        assertTrue(UnitOfWork.recover(journalPath()));
+
+        assertFalse(Files.exists(journal));
+        assertTrue(new EnquiryFileRepository(tempDir.resolve("first.txt")).contains("E1"));
+        assertTrue(new EnquiryFileRepository(tempDir.resolve("second.txt")).contains("E2"));
+    }
+
+    @Test
+    void recover_IgnoresJournalWithoutCommitMarker() throws ModelAlreadyExistsException, IOException {
+        Path journal = failCommit();
+        byte[] content = Files.readAllBytes(journal);
+        // Drop the commit marker, as if the process had stopped while the journal was being written
+        Files.write(journal, Arrays.copyOf(content, content.length - Long.BYTES));
+
+        assertFalse(UnitOfWork.recover(journalPath()));
+
+        assertFalse(Files.exists(journal));
+        assertFalse(Files.exists(tempDir.resolve("second.txt")));
+    }
+}
@@ -0,0 +1,78 @@
+import model.enquiry.Enquiry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.Repository;
+import utils.exception.ModelAlreadyExistsException;
+import utils.exception.ModelNotFoundException;
+import utils.iocontrol.WriteBehindFlusher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that saves in write-behind mode are coalesced into one physical write per file.
+ */
+public class WriteBehindTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * An enquiry repository in write-behind mode that counts its physical writes.
+     */
+    class WriteBehindEnquiryRepository extends Repository<Enquiry> {
+        int writeCount = 0;
+
+        WriteBehindEnquiryRepository() {
+            super();
+            load();
+        }
+
+        @Override
+        public String getFilePath() {
+            return tempDir.resolve("enquiry.txt").toString();
+        }
+
+        @Override
+        protected boolean isWriteBehind() {
+            return true;
+        }
+
+        @Override
+        protected synchronized void write(String FILE_PATH) {
+            writeCount++;
+            super.write(FILE_PATH);
+        }
+
+        @Override
+        public void setAll(List<Map<String, String>> listOfMappableObjects) {
+            for (Map<String, String> map : listOfMappableObjects) {
+                getAll().add(new Enquiry(map));
+            }
+        }
+    }
+
+    @Test
+    void burstOfSaves_IsFlushedAsOneWrite() throws ModelAlreadyExistsException, ModelNotFoundException, IOException {
+        WriteBehindEnquiryRepository repository = new WriteBehindEnquiryRepository();
+        WriteBehindFlusher.getInstance().flush();
+        repository.writeCount = 0;
+
+        repository.add(new Enquiry("E1", "Title", "S1", "Content", null, false));
+        repository.add(new Enquiry("E2", "Title", "S1", "Content", null, false));
+        Enquiry enquiry = repository.getByID("E1");
+        enquiry.setAnswer("Answer");
+        repository.update(enquiry);
+
+        WriteBehindFlusher.getInstance().flush();
+
+        assertEquals(1, repository.writeCount, "Three saves should turn into a single physical write");
+        assertEquals(2, Files.readAllLines(Path.of(repository.getFilePath())).size());
+        assertEquals("Answer", new WriteBehindEnquiryRepository().getByID("E1").getAnswer());
+    }
+}